@@ -32,7 +32,7 @@ import org.teiid.adminapi.VDB.ConnectionType;
 
 public interface Admin {
 
-	public enum Cache {PREPARED_PLAN_CACHE, QUERY_SERVICE_RESULT_SET_CACHE};
+	public enum Cache {PREPARED_PLAN_CACHE, QUERY_SERVICE_RESULT_SET_CACHE, PARSED_COMMAND_CACHE, AUTHENTICATION_CACHE};
 
 	public enum SchemaObjectType {TABLES, PROCEDURES, FUNCTIONS};
 
@@ -60,6 +60,7 @@ import org.teiid.adminapi.impl.VDBMetadataMapper.RequestMetadataMapper;
 import org.teiid.adminapi.impl.VDBMetadataMapper.SessionMetadataMapper;
 import org.teiid.adminapi.impl.VDBMetadataMapper.TransactionMetadataMapper;
 import org.teiid.adminapi.impl.VDBTranslatorMetaData;
+import org.teiid.adminapi.impl.WorkerPoolStatisticsMetadata;
 import org.teiid.core.util.ObjectConverterUtil;
 
 
@@ -1056,7 +1057,15 @@ public class AdminFactory {
 		            	}
 		            	if (outcome.hasDefined("result")) {
 		            		ModelNode result = outcome.get("result");
-		            		return Arrays.asList(VDBMetadataMapper.WorkerPoolStatisticsMetadataMapper.INSTANCE.unwrap(result));
+		            		if (result.getType() != ModelType.LIST) {
+		            			//a single pool from an older server
+		            			return Arrays.asList(VDBMetadataMapper.WorkerPoolStatisticsMetadataMapper.INSTANCE.unwrap(result));
+		            		}
+		            		List<WorkerPoolStatisticsMetadata> stats = new ArrayList<WorkerPoolStatisticsMetadata>();
+		            		for (ModelNode node : result.asList()) {
+		            			stats.add(VDBMetadataMapper.WorkerPoolStatisticsMetadataMapper.INSTANCE.unwrap(node));
+		            		}
+		            		return stats;
 		            	}
 		            }
 		        } catch (IOException e) {
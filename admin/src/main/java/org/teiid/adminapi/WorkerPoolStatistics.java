@@ -70,4 +70,14 @@ public interface WorkerPoolStatistics extends AdminObject, DomainAware{
      * @return Returns the highest queue size
      */
     public int getHighestQueued();
+    
+    /**
+     * @return The average time in milliseconds that tasks waited in the queue
+     */
+    public double getAverageQueueWaitTime();
+    
+    /**
+     * @return The maximum time in milliseconds that a task waited in the queue
+     */
+    public long getMaxQueueWaitTime();
 }
@@ -1518,6 +1518,8 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
 		private static final String TOTAL_COMPLETED = "total-completed"; //$NON-NLS-1$
 		private static final String HIGHEST_ACTIVE_THREADS = "highest-active-threads"; //$NON-NLS-1$
 		private static final String ACTIVE_THREADS = "active-threads"; //$NON-NLS-1$
+		private static final String AVERAGE_QUEUE_WAIT_TIME = "average-queue-wait-time"; //$NON-NLS-1$
+		private static final String MAX_QUEUE_WAIT_TIME = "max-queue-wait-time"; //$NON-NLS-1$
 		
 		public static WorkerPoolStatisticsMetadataMapper INSTANCE = new WorkerPoolStatisticsMetadataMapper();
 		
@@ -1533,6 +1535,8 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
 			node.get(QUEUED).set(stats.getQueued());
 			node.get(HIGHEST_QUEUED).set(stats.getHighestQueued());
 			node.get(MAX_THREADS).set(stats.getMaxThreads());
+			node.get(AVERAGE_QUEUE_WAIT_TIME).set(stats.getAverageQueueWaitTime());
+			node.get(MAX_QUEUE_WAIT_TIME).set(stats.getMaxQueueWaitTime());
 			wrapDomain(stats, node);
 			return node;
 		}
@@ -1550,6 +1554,12 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
 			stats.setQueued(node.get(QUEUED).asInt());
 			stats.setHighestQueued(node.get(HIGHEST_QUEUED).asInt());
 			stats.setMaxThreads(node.get(MAX_THREADS).asInt());
+			if (node.has(AVERAGE_QUEUE_WAIT_TIME)) {
+				stats.setAverageQueueWaitTime(node.get(AVERAGE_QUEUE_WAIT_TIME).asDouble());
+			}
+			if (node.has(MAX_QUEUE_WAIT_TIME)) {
+				stats.setMaxQueueWaitTime(node.get(MAX_QUEUE_WAIT_TIME).asLong());
+			}
 			unwrapDomain(stats, node);
 			return stats;
 		}
@@ -1563,6 +1573,8 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
 			addAttribute(node, QUEUED, ModelType.INT, true);
 			addAttribute(node, HIGHEST_QUEUED, ModelType.INT, true);
 			addAttribute(node, MAX_THREADS, ModelType.INT, true);
+			addAttribute(node, AVERAGE_QUEUE_WAIT_TIME, ModelType.DOUBLE, true);
+			addAttribute(node, MAX_QUEUE_WAIT_TIME, ModelType.LONG, true);
 			return node;
 		}
 
@@ -1575,7 +1587,9 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
 					new SimpleAttributeDefinition(QUEUE_NAME, ModelType.STRING, false),
 					new SimpleAttributeDefinition(QUEUED, ModelType.INT, false),
 					new SimpleAttributeDefinition(HIGHEST_QUEUED, ModelType.INT, false),
-					new SimpleAttributeDefinition(MAX_THREADS, ModelType.INT, false)
+					new SimpleAttributeDefinition(MAX_THREADS, ModelType.INT, false),
+					new SimpleAttributeDefinition(AVERAGE_QUEUE_WAIT_TIME, ModelType.DOUBLE, false),
+					new SimpleAttributeDefinition(MAX_QUEUE_WAIT_TIME, ModelType.LONG, false)
 				};
 		}
 	}
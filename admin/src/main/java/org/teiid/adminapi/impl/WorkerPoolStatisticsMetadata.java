@@ -39,6 +39,8 @@ public class WorkerPoolStatisticsMetadata extends AdminObjectImpl implements Wor
     private int highestActiveThreads;
     private long totalSubmitted;
     private long totalCompleted;
+    private double averageQueueWaitTime;
+    private long maxQueueWaitTime;
             
     @Override
     public int getActiveThreads() {
@@ -79,6 +81,16 @@ public class WorkerPoolStatisticsMetadata extends AdminObjectImpl implements Wor
     public int getMaxThreads() {
 		return maxThreads;
 	}
+    
+    @Override
+    public double getAverageQueueWaitTime() {
+		return averageQueueWaitTime;
+	}
+    
+    @Override
+    public long getMaxQueueWaitTime() {
+		return maxQueueWaitTime;
+	}
 
 	public void setQueued(int queued) {
 		this.queued = queued;
@@ -108,6 +120,14 @@ public class WorkerPoolStatisticsMetadata extends AdminObjectImpl implements Wor
 		this.totalCompleted = totalCompleted;
 	}
 	
+	public void setAverageQueueWaitTime(double averageQueueWaitTime) {
+		this.averageQueueWaitTime = averageQueueWaitTime;
+	}
+	
+	public void setMaxQueueWaitTime(long maxQueueWaitTime) {
+		this.maxQueueWaitTime = maxQueueWaitTime;
+	}
+	
     public void setQueueName(String name) {
 		setName(name);
 	}	
@@ -124,6 +144,8 @@ public class WorkerPoolStatisticsMetadata extends AdminObjectImpl implements Wor
         str.append("; highestActiveThreads = " + highestActiveThreads);     //$NON-NLS-1$
         str.append("; totalSubmitted = " + totalSubmitted);     //$NON-NLS-1$
         str.append("; totalCompleted = " + totalCompleted);     //$NON-NLS-1$
+        str.append("; averageQueueWaitTime = " + averageQueueWaitTime);     //$NON-NLS-1$
+        str.append("; maxQueueWaitTime = " + maxQueueWaitTime);     //$NON-NLS-1$
         return str.toString();
     }    
 
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.translator;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A thread-safe holder of rows for executions that obtain their results asynchronously, 
+ * for example from a callback or completion handler of a non-blocking client.
+ * <br>
+ * The producer adds batches with {@link #addBatch(List)} and ends the results with either 
+ * {@link #finished()} or {@link #failed(Throwable)}.  Each of those calls {@link ExecutionContext#dataAvailable()} 
+ * so that the engine resumes processing as soon as rows arrive.
+ * <br>
+ * The execution should delegate {@link ResultSetExecution#next()} to {@link #next()}, which will throw 
+ * {@link DataNotAvailableException#NO_POLLING} rather than block when no rows are available.  
+ * No engine thread is then held while waiting on the source.
+ */
+public class AsynchResults {
+	
+	private ExecutionContext context;
+	private LinkedList<List<?>> rows = new LinkedList<List<?>>();
+	private boolean done;
+	private Throwable failure;
+	private boolean closed;
+	
+	public AsynchResults(ExecutionContext context) {
+		this.context = context;
+	}
+	
+	/**
+	 * Add a batch of rows
+	 * @param batch
+	 * @return false if the results have been closed and the producer should stop 
+	 */
+	public boolean addBatch(List<? extends List<?>> batch) {
+		synchronized (this) {
+			if (closed) {
+				return false;
+			}
+			if (done) {
+				throw new IllegalStateException();
+			}
+			rows.addAll(batch);
+		}
+		context.dataAvailable();
+		return true;
+	}
+	
+	/**
+	 * Indicate that no more rows will be added
+	 */
+	public void finished() {
+		synchronized (this) {
+			if (closed || done) {
+				return;
+			}
+			done = true;
+		}
+		context.dataAvailable();
+	}
+	
+	/**
+	 * Indicate that the results could not be obtained.  The failure will 
+	 * be thrown from {@link #next()} after any rows already added.
+	 * @param t
+	 */
+	public void failed(Throwable t) {
+		synchronized (this) {
+			if (closed || done) {
+				return;
+			}
+			failure = t;
+			done = true;
+		}
+		context.dataAvailable();
+	}
+	
+	/**
+	 * Get the next row
+	 * @return the next row or null if there are no more rows
+	 * @throws DataNotAvailableException if the next row has not yet been produced
+	 * @throws TranslatorException if the results {@link #failed(Throwable)}
+	 */
+	public synchronized List<?> next() throws TranslatorException, DataNotAvailableException {
+		if (!rows.isEmpty()) {
+			return rows.removeFirst();
+		}
+		if (!done) {
+			throw DataNotAvailableException.NO_POLLING;
+		}
+		if (failure != null) {
+			Throwable t = failure;
+			failure = null;
+			if (t instanceof TranslatorException) {
+				throw (TranslatorException)t;
+			}
+			throw new TranslatorException(t);
+		}
+		return null;
+	}
+	
+	/**
+	 * @return true if no more rows will be added
+	 */
+	public synchronized boolean isDone() {
+		return done;
+	}
+	
+	/**
+	 * Discard any rows and ignore further batches.  Should be called from the execution close or cancel.
+	 */
+	public synchronized void close() {
+		closed = true;
+		rows.clear();
+	}
+
+}
@@ -33,6 +33,8 @@ import org.teiid.core.TeiidRuntimeException;
  * of time before the plan will be re-queued for execution. There are several scenarios that would cause the delay to be shorter, such as 
  * multiple sources where one source returns a shorter delay or if the engine believes more work is to be done before allowing the plan to sit idle.
  * <br>
+ * Executions that are notified of results, rather than polling for them, should use {@link #NO_POLLING} - see {@link AsynchResults}.
+ * <br>
  */
 public class DataNotAvailableException extends TeiidRuntimeException {
 
@@ -207,6 +207,7 @@ public interface ExecutionContext {
     /**
      * Signal the engine that data is available and processing should be
      * resumed.
+     * @see AsynchResults
      */
     void dataAvailable();
     
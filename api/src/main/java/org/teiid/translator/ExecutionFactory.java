@@ -125,6 +125,13 @@ public class ExecutionFactory<F, C> {
 	@SuppressWarnings("unused")
 	public void start() throws TranslatorException {
 	}
+	
+	/**
+	 * Release any resources held by the connector.  Called when an instance that Teiid 
+	 * started is no longer in use, such as when the vdb that it was created for is removed.
+	 */
+	public void stop() {
+	}
 	    
 	/**
 	 * Defines if the Connector is read-only connector 
@@ -56,6 +56,7 @@ import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.types.*;
+import org.teiid.core.types.InputStreamFactory.FileInputStreamFactory;
 import org.teiid.core.types.InputStreamFactory.StreamFactoryReference;
 import org.teiid.core.util.ReaderInputStream;
 import org.teiid.jdbc.JDBCPlugin;
@@ -186,7 +187,13 @@ public class CompactObjectOutputStream extends ObjectOutputStream {
 		    		references.add(sfr);
 		    		return sfr;
 		    	} else if (obj instanceof BlobImpl) {
-		    		streams.add(((Blob)obj).getBinaryStream());
+		    		InputStreamFactory isf = ((BlobImpl)obj).getStreamFactory();
+		    		if (isf instanceof FileInputStreamFactory) {
+		    			//use the unbuffered file stream so that the transport may transfer the file directly
+		    			streams.add(new FileInputStream(((FileInputStreamFactory)isf).getFile()));
+		    		} else {
+		    			streams.add(((Blob)obj).getBinaryStream());
+		    		}
 		    		StreamFactoryReference sfr = new BlobImpl();
 		    		references.add(sfr);
 		    		return sfr;
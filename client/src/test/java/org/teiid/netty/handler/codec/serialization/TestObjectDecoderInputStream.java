@@ -27,6 +27,9 @@ import static org.junit.Assert.*;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
@@ -36,10 +39,12 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
+import org.teiid.core.types.BlobImpl;
 import org.teiid.core.types.ClobImpl;
 import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.Streamable;
 import org.teiid.core.util.AccessibleBufferedInputStream;
+import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.ReaderInputStream;
 
 public class TestObjectDecoderInputStream {
@@ -91,4 +96,20 @@ public class TestObjectDecoderInputStream {
 		Object result = in.readObject();
 		assertTrue(result instanceof ClobImpl);
 	}	
+	@Test public void testFileBackedBlobStream() throws Exception {
+		File f = File.createTempFile("blob", null); //$NON-NLS-1$
+		f.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(f);
+		fos.write(new byte[] {1, 2, 3});
+		fos.close();
+		
+		CompactObjectOutputStream out = new CompactObjectOutputStream(new ByteArrayOutputStream());
+		out.writeObject(new BlobImpl(new InputStreamFactory.FileInputStreamFactory(f)));
+		out.close();
+		
+		assertEquals(1, out.getStreams().size());
+		InputStream is = out.getStreams().get(0);
+		assertTrue(is instanceof FileInputStream);
+		assertArrayEquals(new byte[] {1, 2, 3}, ObjectConverterUtil.convertToByteArray(is));
+	}
 }
@@ -120,6 +120,10 @@ public abstract class InputStreamFactory implements Source {
     		return f.length();
     	}
     	
+    	public File getFile() {
+			return f;
+		}
+    	
     	@Override
     	public InputStream getInputStream() throws IOException {
     		return new BufferedInputStream(new FileInputStream(f));
@@ -22,7 +22,9 @@
 
 package org.teiid.translator.file;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -33,6 +35,11 @@ import java.sql.SQLXML;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.resource.ResourceException;
 import javax.resource.cci.ConnectionFactory;
@@ -43,7 +50,9 @@ import org.teiid.core.types.BlobImpl;
 import org.teiid.core.types.BlobType;
 import org.teiid.core.types.ClobImpl;
 import org.teiid.core.types.ClobType;
+import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.InputStreamFactory.FileInputStreamFactory;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.ReaderInputStream;
 import org.teiid.language.Call;
@@ -73,12 +82,16 @@ public class FileExecutionFactory extends ExecutionFactory<ConnectionFactory, Fi
 		private File[] files = null;
 		boolean isText = false;
 		private int index;
+		private Future<byte[]>[] prefetched;
+		private long[] prefetchedLengths;
+		private int prefetchIndex;
 
 		private FileProcedureExecution(Call command, FileConnection fc) {
 			this.command = command;
 			this.fc = fc;
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void execute() throws TranslatorException {
 			String path = (String)command.getArguments().get(0).getArgumentValue().getValue();
@@ -97,16 +110,83 @@ public class FileExecutionFactory extends ExecutionFactory<ConnectionFactory, Fi
 			} else if (!name.equalsIgnoreCase(GETFILES)) {
 				throw new TeiidRuntimeException("Unknown procedure name " + name); //$NON-NLS-1$
 			}
+			if (files != null && prefetchThreads > 0) {
+				prefetched = new Future[files.length];
+				prefetchedLengths = new long[files.length];
+				prefetch();
+			}
+		}
+		
+		/**
+		 * Read ahead the contents of files into memory, while the bytes held by all executions 
+		 * stay under the {@link FileExecutionFactory#getPrefetchMaxBytes()}.
+		 * Larger files are left to be read lazily.
+		 */
+		private void prefetch() {
+			ExecutorService executor = getPrefetchExecutor();
+			while (prefetchIndex < files.length) {
+				final File file = files[prefetchIndex];
+				long length = file.length();
+				if (length > prefetchMaxBytes) {
+					prefetchIndex++;
+					continue;
+				}
+				if (!reservePrefetch(length)) {
+					break;
+				}
+				prefetchedLengths[prefetchIndex] = length;
+				prefetched[prefetchIndex++] = executor.submit(new Callable<byte[]>() {
+					@Override
+					public byte[] call() throws Exception {
+						return ObjectConverterUtil.convertToByteArray(new FileInputStream(file));
+					}
+				});
+			}
+		}
+		
+		private byte[] getPrefetched(int i) throws TranslatorException {
+			if (prefetched == null) {
+				return null;
+			}
+			Future<byte[]> future = prefetched[i];
+			if (future == null) {
+				//read lazily, but continue reading ahead if memory is now available
+				prefetchIndex = Math.max(prefetchIndex, i + 1);
+				prefetch();
+				return null;
+			}
+			prefetched[i] = null;
+			releasePrefetch(prefetchedLengths[i]);
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				throw new TranslatorException(e);
+			} catch (ExecutionException e) {
+				//read the file lazily instead
+				LogManager.logDetail(LogConstants.CTX_CONNECTOR, e.getCause(), "Could not prefetch", files[i]); //$NON-NLS-1$
+				return null;
+			} finally {
+				prefetch();
+			}
 		}
 
 		@Override
 		public void close() {
-			
+			if (prefetched != null) {
+				for (int i = 0; i < prefetched.length; i++) {
+					Future<byte[]> future = prefetched[i];
+					if (future != null) {
+						future.cancel(true);
+						releasePrefetch(prefetchedLengths[i]);
+					}
+				}
+				prefetched = null;
+			}
 		}
 
 		@Override
 		public void cancel() throws TranslatorException {
-			
+			close();
 		}
 
 		@Override
@@ -115,10 +195,27 @@ public class FileExecutionFactory extends ExecutionFactory<ConnectionFactory, Fi
 				return null;
 			}
 			ArrayList<Object> result = new ArrayList<Object>(2);
+			final byte[] contents = getPrefetched(index);
 			final File file = files[index++];
 			LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Getting", file); //$NON-NLS-1$
-			FileInputStreamFactory isf = new FileInputStreamFactory(file);
-			isf.setLength(file.length());
+			InputStreamFactory isf = null;
+			if (contents != null) {
+				isf = new InputStreamFactory() {
+					@Override
+					public InputStream getInputStream() throws IOException {
+						return new ByteArrayInputStream(contents);
+					}
+					
+					@Override
+					public StorageMode getStorageMode() {
+						return StorageMode.MEMORY;
+					}
+				};
+				isf.setLength(contents.length);
+			} else {
+				isf = new FileInputStreamFactory(file);
+				isf.setLength(file.length());
+			}
 			Object value = null;
 			if (isText) {
 				ClobImpl clob = new ClobImpl(isf, -1);
@@ -146,6 +243,10 @@ public class FileExecutionFactory extends ExecutionFactory<ConnectionFactory, Fi
 	
 	private Charset encoding = Charset.defaultCharset();
 	private boolean exceptionIfFileNotFound = true;
+	private int prefetchThreads;
+	private long prefetchMaxBytes = 1 << 24;
+	private ExecutorService prefetchExecutor;
+	private AtomicLong prefetchedBytes = new AtomicLong();
 	
 	public FileExecutionFactory() {
 		setSourceRequiredForMetadata(false);
@@ -169,6 +270,63 @@ public class FileExecutionFactory extends ExecutionFactory<ConnectionFactory, Fi
 		this.exceptionIfFileNotFound = exceptionIfFileNotFound;
 	}
 	
+	@TranslatorProperty(display="Prefetch Threads", description="The number of threads used to read file contents ahead of getFiles/getTextFiles results.  0 disables prefetching.", advanced=true)
+	public int getPrefetchThreads() {
+		return prefetchThreads;
+	}
+	
+	public void setPrefetchThreads(int prefetchThreads) {
+		this.prefetchThreads = prefetchThreads;
+	}
+	
+	@TranslatorProperty(display="Prefetch Max Bytes", description="The maximum number of bytes held in prefetched file contents across all procedure executions.  Larger files are always read lazily.", advanced=true)
+	public long getPrefetchMaxBytes() {
+		return prefetchMaxBytes;
+	}
+	
+	public void setPrefetchMaxBytes(long prefetchMaxBytes) {
+		this.prefetchMaxBytes = prefetchMaxBytes;
+	}
+	
+	synchronized ExecutorService getPrefetchExecutor() {
+		if (prefetchExecutor == null) {
+			prefetchExecutor = ExecutorUtils.newFixedThreadPool(prefetchThreads, "File Translator Prefetch"); //$NON-NLS-1$
+		}
+		return prefetchExecutor;
+	}
+	
+	/**
+	 * Reserve memory for prefetched contents against the limit shared by all executions.
+	 * @return true if the length could be reserved
+	 */
+	boolean reservePrefetch(long length) {
+		while (true) {
+			long current = prefetchedBytes.get();
+			if (current + length > prefetchMaxBytes) {
+				return false;
+			}
+			if (prefetchedBytes.compareAndSet(current, current + length)) {
+				return true;
+			}
+		}
+	}
+	
+	void releasePrefetch(long length) {
+		prefetchedBytes.addAndGet(-length);
+	}
+	
+	long getPrefetchedBytes() {
+		return prefetchedBytes.get();
+	}
+	
+	@Override
+	public synchronized void stop() {
+		if (prefetchExecutor != null) {
+			prefetchExecutor.shutdownNow();
+			prefetchExecutor = null;
+		}
+	}
+	
 	//@Override
 	public ProcedureExecution createProcedureExecution(final Call command,
 			final ExecutionContext executionContext, final RuntimeMetadata metadata,
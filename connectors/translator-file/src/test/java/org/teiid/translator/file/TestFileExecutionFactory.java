@@ -26,9 +26,15 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.teiid.core.types.ClobType;
+import org.teiid.core.types.InputStreamFactory;
+import org.teiid.core.types.InputStreamFactory.StorageMode;
+import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.UnitTestUtil;
 import org.teiid.language.Argument;
 import org.teiid.language.Call;
@@ -58,4 +64,57 @@ public class TestFileExecutionFactory {
 		assertEquals(2, count);
 	}
 	
+	@Test public void testGetTextFilesPrefetch() throws Exception {
+		FileExecutionFactory fef = new FileExecutionFactory();
+		fef.setPrefetchThreads(2);
+		FileConnection fc = Mockito.mock(FileConnection.class);
+		Mockito.stub(fc.getFile("*.txt")).toReturn(new File(UnitTestUtil.getTestDataPath(), "*.txt"));
+		Call call = fef.getLanguageFactory().createCall("getTextFiles", Arrays.asList(new Argument(Direction.IN, new Literal("*.txt", TypeFacility.RUNTIME_TYPES.STRING), TypeFacility.RUNTIME_TYPES.STRING, null)), null);
+		ProcedureExecution pe = fef.createProcedureExecution(call, null, null, fc);
+		pe.execute();
+		int count = 0;
+		while (true) {
+			List<?> row = pe.next();
+			if (row == null) {
+				break;
+			}
+			ClobType clob = (ClobType)row.get(0);
+			assertEquals(StorageMode.MEMORY, InputStreamFactory.getStorageMode(clob));
+			String expected = ObjectConverterUtil.convertFileToString(new File(UnitTestUtil.getTestDataPath(), (String)row.get(1)));
+			assertEquals(expected, ClobType.getString(clob));
+			count++;
+		}
+		assertEquals(2, count);
+		pe.close();
+	}
+	
+	@Test public void testPrefetchLimitShared() throws Exception {
+		FileExecutionFactory fef = new FileExecutionFactory();
+		fef.setPrefetchThreads(2);
+		File file = new File(UnitTestUtil.getTestDataPath(), "file.txt");
+		File file1 = new File(UnitTestUtil.getTestDataPath(), "file1.txt");
+		fef.setPrefetchMaxBytes(Math.max(file.length(), file1.length()));
+		FileConnection fc = Mockito.mock(FileConnection.class);
+		Mockito.stub(fc.getFile("*.txt")).toReturn(new File(UnitTestUtil.getTestDataPath(), "*.txt"));
+		Call call = fef.getLanguageFactory().createCall("getTextFiles", Arrays.asList(new Argument(Direction.IN, new Literal("*.txt", TypeFacility.RUNTIME_TYPES.STRING), TypeFacility.RUNTIME_TYPES.STRING, null)), null);
+		ProcedureExecution pe = fef.createProcedureExecution(call, null, null, fc);
+		pe.execute();
+		ProcedureExecution pe1 = fef.createProcedureExecution(call, null, null, fc);
+		pe1.execute();
+		//the limit applies across executions
+		assertTrue(fef.getPrefetchedBytes() <= fef.getPrefetchMaxBytes());
+		int count = 0;
+		while (pe1.next() != null) {
+			count++;
+		}
+		assertEquals(2, count);
+		pe.close();
+		pe1.close();
+		assertEquals(0, fef.getPrefetchedBytes());
+		
+		ExecutorService executor = fef.getPrefetchExecutor();
+		fef.stop();
+		assertTrue(executor.isShutdown());
+	}
+	
 }
@@ -83,6 +83,7 @@ public class WSExecutionFactory extends ExecutionFactory<ConnectionFactory, WSCo
 	private Mode defaultServiceMode = Mode.PAYLOAD;
 	private Binding defaultBinding = Binding.SOAP12;
 	private String xmlParamName;
+	private boolean asynchInvoke;
 	
 	public WSExecutionFactory() {
 		setSourceRequiredForMetadata(true);
@@ -115,6 +116,15 @@ public class WSExecutionFactory extends ExecutionFactory<ConnectionFactory, WSCo
 		this.xmlParamName = xmlParamName;
 	}
 	
+	@TranslatorProperty(description="Set to true to use asynchronous invocations for the invoke procedure, so that an engine thread is not held while waiting on the response.", display="Asynch Invoke", advanced=true)
+	public boolean isAsynchInvoke() {
+		return asynchInvoke;
+	}
+	
+	public void setAsynchInvoke(boolean asynchInvoke) {
+		this.asynchInvoke = asynchInvoke;
+	}
+	
     @Override
     public ProcedureExecution createProcedureExecution(Call command, ExecutionContext executionContext, RuntimeMetadata metadata, WSConnection connection)
     		throws TranslatorException {
@@ -28,6 +28,8 @@ import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.Transformer;
@@ -35,7 +37,9 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.ws.AsyncHandler;
 import javax.xml.ws.Dispatch;
+import javax.xml.ws.Response;
 import javax.xml.ws.WebServiceException;
 import javax.xml.ws.handler.MessageContext;
 
@@ -45,6 +49,7 @@ import org.teiid.core.types.XMLType.Type;
 import org.teiid.language.Argument;
 import org.teiid.language.Call;
 import org.teiid.metadata.RuntimeMetadata;
+import org.teiid.translator.AsynchResults;
 import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.ProcedureExecution;
@@ -62,7 +67,9 @@ public class WSProcedureExecution implements ProcedureExecution {
 	RuntimeMetadata metadata;
     ExecutionContext context;
     private Call procedure;
-    private StAXSource returnValue;
+    private volatile StAXSource returnValue;
+    private AsynchResults asynchResults;
+    private Future<?> response;
     private WSConnection conn;
     private WSExecutionFactory executionFactory;
     
@@ -132,7 +139,11 @@ public class WSProcedureExecution implements ProcedureExecution {
 				// JBoss Native DispatchImpl throws exception when the source is null
 				source = new StAXSource(XMLType.getXmlInputFactory().createXMLEventReader(new StringReader("<none/>"))); //$NON-NLS-1$
 			}
-			this.returnValue = dispatch.invoke(source);
+			if (this.executionFactory.isAsynchInvoke()) {
+				invokeAsynch(dispatch, source);
+			} else {
+				this.returnValue = dispatch.invoke(source);
+			}
 		} catch (SQLException e) {
 			throw new TranslatorException(e);
 		} catch (WebServiceException e) {
@@ -144,6 +155,24 @@ public class WSProcedureExecution implements ProcedureExecution {
 		}
     }
 
+	private void invokeAsynch(Dispatch<StAXSource> dispatch, StAXSource source) {
+		final AsynchResults results = new AsynchResults(this.context);
+		this.asynchResults = results;
+		this.response = dispatch.invokeAsync(source, new AsyncHandler<StAXSource>() {
+			@Override
+			public void handleResponse(Response<StAXSource> res) {
+				try {
+					returnValue = res.get();
+					results.finished();
+				} catch (ExecutionException e) {
+					results.failed(e.getCause());
+				} catch (InterruptedException e) {
+					results.failed(e);
+				}
+			}
+		});
+	}
+
 	private StAXSource convertToSource(SQLXML xml) throws SQLException {
 		if (xml == null) {
 			return null;
@@ -153,6 +182,10 @@ public class WSProcedureExecution implements ProcedureExecution {
     
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
+    	if (this.asynchResults != null) {
+    		//no rows are added, so this returns null once the response has arrived
+    		return this.asynchResults.next();
+    	}
     	return null;
     }  
     
@@ -169,10 +202,14 @@ public class WSProcedureExecution implements ProcedureExecution {
     }    
     
     public void close() {
-    	
+    	if (this.asynchResults != null) {
+    		this.asynchResults.close();
+    	}
     }
 
     public void cancel() throws TranslatorException {
-        // no-op
+    	if (this.response != null) {
+    		this.response.cancel(true);
+    	}
     }    
 }
@@ -31,14 +31,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Future;
 
 import javax.activation.DataSource;
 import javax.xml.transform.stax.StAXSource;
+import javax.xml.ws.AsyncHandler;
 import javax.xml.ws.Dispatch;
+import javax.xml.ws.Response;
 import javax.xml.ws.Service;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.teiid.cdk.CommandBuilder;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.dqp.internal.datamgr.RuntimeMetadataImpl;
@@ -48,6 +53,7 @@ import org.teiid.metadata.Procedure;
 import org.teiid.query.metadata.SystemMetadata;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.WSConnection;
 
@@ -121,6 +127,46 @@ public class TestWSTranslator {
 		}
 	}
 
+	@Test public void testAsynchInvoke() throws Exception {
+		WSExecutionFactory ef = new WSExecutionFactory();
+		ef.setAsynchInvoke(true);
+    	MetadataFactory mf = new MetadataFactory("vdb", 1, "x", SystemMetadata.getInstance().getRuntimeTypeMap(), new Properties(), null);
+		ef.getMetadata(mf, null);
+		
+		TransformationMetadata tm = RealMetadataFactory.createTransformationMetadata(mf.asMetadataStore(), "vdb");
+		RuntimeMetadataImpl rm = new RuntimeMetadataImpl(tm);
+		WSConnection mockConnection = Mockito.mock(WSConnection.class);
+		Dispatch<StAXSource> mockDispatch = Mockito.mock(Dispatch.class);
+		final Response<StAXSource> response = Mockito.mock(Response.class);
+		StAXSource result = Mockito.mock(StAXSource.class);
+		Mockito.stub(response.get()).toReturn(result);
+		final AsyncHandler<StAXSource>[] handler = new AsyncHandler[1];
+		Mockito.stub(mockDispatch.invokeAsync(Mockito.any(StAXSource.class), Mockito.any(AsyncHandler.class))).toAnswer(new Answer<Future<?>>() {
+			@Override
+			public Future<?> answer(InvocationOnMock invocation) throws Throwable {
+				handler[0] = (AsyncHandler<StAXSource>)invocation.getArguments()[1];
+				return response;
+			}
+		});
+		Mockito.stub(mockConnection.createDispatch(Mockito.any(String.class), Mockito.any(String.class), Mockito.any(Class.class), Mockito.any(Service.Mode.class))).toReturn(mockDispatch);
+		CommandBuilder cb = new CommandBuilder(tm);
+		
+		Call call = (Call)cb.getCommand("call invoke()");
+		ExecutionContext ec = Mockito.mock(ExecutionContext.class);
+		WSProcedureExecution wpe = new WSProcedureExecution(call, rm, ec, ef, mockConnection);
+		wpe.execute();
+		try {
+			wpe.next();
+			fail();
+		} catch (DataNotAvailableException e) {
+			//the response has not yet arrived
+		}
+		handler[0].handleResponse(response);
+		Mockito.verify(ec).dataAvailable();
+		assertNull(wpe.next());
+		assertSame(result, wpe.getOutputParameterValues().get(0));
+	}
+
 	private Dispatch<Object> mockDispatch() {
 		Dispatch<Object> mockDispatch = Mockito.mock(Dispatch.class);
 		Map<String, Object> map = new HashMap<String, Object>();
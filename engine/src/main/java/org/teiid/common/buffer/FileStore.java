@@ -27,6 +27,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.teiid.common.buffer.AutoCleanupUtil.Removable;
@@ -136,6 +138,7 @@ public abstract class FileStore implements Removable {
 	}
 
 	private AtomicBoolean removed = new AtomicBoolean();
+	private Map<String, Long> contentOffsets;
 	
 	public abstract long getLength();
 	
@@ -186,6 +189,17 @@ public abstract class FileStore implements Removable {
     	} while (n < length);
 	}
 
+	/**
+	 * Get the offsets of the content persisted to this store keyed by content key.  Must be accessed
+	 * holding the store lock.
+	 */
+	Map<String, Long> getContentOffsets() {
+		if (contentOffsets == null) {
+			contentOffsets = new HashMap<String, Long>();
+		}
+		return contentOffsets;
+	}
+
 	public void remove() {
 		if (removed.compareAndSet(false, true)) {
 			this.removeDirect();
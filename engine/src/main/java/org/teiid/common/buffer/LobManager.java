@@ -25,6 +25,10 @@ package org.teiid.common.buffer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigInteger;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.SQLException;
@@ -49,6 +53,11 @@ import org.teiid.query.sql.symbol.Expression;
 
 /**
  * Tracks lob references so they are not lost during serialization.
+ * <br>
+ * Persisted lobs are content addressed by length and digest within each {@link FileStore}, 
+ * so that the same value persisted more than once to a store, such as a value repeated 
+ * in the rows of a single tuple buffer, temp table or source result, will share the same bytes.
+ * Content is not shared between stores, since each store is removed independently by its owner.
  * TODO: for temp tables we may need to have a copy by value management strategy
  */
 public class LobManager {
@@ -251,8 +260,15 @@ public class LobManager {
 			long offset = store.getLength();
 			Streamable<?> persistedLob;
 						
+			MessageDigest digest = getDigest();
 			OutputStream fsos = store.createOutputStream();
+			if (digest != null) {
+				fsos = new DigestOutputStream(fsos, digest);
+			}
 			byteLength = ObjectConverterUtil.write(fsos, is, bytes, -1);
+			if (digest != null) {
+				offset = deduplicate(store, offset, byteLength, digest.digest());
+			}
 			
 			// re-construct the new lobs based on the file store
 			final long lobOffset = offset;
@@ -293,6 +309,36 @@ public class LobManager {
 		}
 	}
 	
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Check for an existing copy of the lob just written at the given offset.  If one exists, 
+	 * the new bytes are truncated and the existing offset is returned.
+	 */
+	static long deduplicate(FileStore store, long offset, long length, byte[] digest) throws IOException {
+		String key = length + ":" + new BigInteger(1, digest).toString(Character.MAX_RADIX); //$NON-NLS-1$
+		synchronized (store) {
+			Map<String, Long> lobs = store.getContentOffsets();
+			Long existing = lobs.get(key);
+			if (existing == null || existing + length > offset) {
+				//new content, or the existing copy overlaps the new bytes since the store was truncated
+				lobs.put(key, offset);
+				return offset;
+			}
+			//only reclaim the space if nothing else has been written since
+			if (store.getLength() == offset + length) {
+				store.setLength(offset);
+			}
+			return existing;
+		}
+	}
+	
 	public int getLobCount() {
 		return this.lobReferences.size();
 	}
@@ -1259,6 +1259,15 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
 		return this.getTupleBuffer(stateId) != null;
 	}
 	
+	@Override
+	public Collection<String> getPendingStates() {
+		return Collections.emptyList();
+	}
+	
+	@Override
+	public void pendingStateFailed(String stateId) {
+	}
+	
 	public long getReferenceHits() {
 		return referenceHit.get();
 	}
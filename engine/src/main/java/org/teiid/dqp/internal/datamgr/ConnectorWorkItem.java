@@ -28,6 +28,7 @@ import java.io.Reader;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.activation.DataSource;
 import javax.resource.ResourceException;
@@ -116,6 +117,12 @@ public class ConnectorWorkItem implements ConnectorWork {
 	private boolean areLobsUsableAfterClose;
 	
 	private TeiidException conversionError;
+	
+	/*
+	 * Guards the execution state.  A lock is used rather than the monitor so that work 
+	 * run on a virtual thread does not pin its carrier while blocked in the translator.
+	 */
+	private ReentrantLock lock = new ReentrantLock();
     
     ConnectorWorkItem(AtomicRequestMessage message, ConnectorManager manager) throws TeiidComponentException {
         this.id = message.getAtomicRequestID();
@@ -185,7 +192,16 @@ public class ConnectorWorkItem implements ConnectorWork {
         }
     }
     
-    public synchronized AtomicResultsMessage more() throws TranslatorException {
+    public AtomicResultsMessage more() throws TranslatorException {
+    	lock.lock();
+    	try {
+    		return moreDirect();
+    	} finally {
+    		lock.unlock();
+    	}
+    }
+    
+    private AtomicResultsMessage moreDirect() throws TranslatorException {
     	if (this.dnae != null) {
     		//clear the exception if it has been set
     		DataNotAvailableException e = this.dnae;
@@ -203,7 +219,16 @@ public class ConnectorWorkItem implements ConnectorWork {
     	}
     }
     
-    public synchronized void close() {
+    public void close() {
+    	lock.lock();
+    	try {
+    		closeDirect();
+    	} finally {
+    		lock.unlock();
+    	}
+    }
+    
+    private void closeDirect() {
     	lobBuffer = null;
     	lobStore = null; //can still be referenced by lobs and will be cleaned-up by reference
     	if (!manager.removeState(this.id)) {
@@ -262,7 +287,16 @@ public class ConnectorWorkItem implements ConnectorWork {
 		return new TranslatorException(t);
     }
     
-	public synchronized void execute() throws TranslatorException {
+	public void execute() throws TranslatorException {
+		lock.lock();
+		try {
+			executeDirect();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void executeDirect() throws TranslatorException {
         if(isCancelled()) {
     		 throw new TranslatorException(QueryPlugin.Event.TEIID30476, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30476));
     	}
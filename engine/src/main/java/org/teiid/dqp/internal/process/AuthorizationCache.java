@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.dqp.internal.process;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.teiid.adminapi.DataPolicy;
+import org.teiid.adminapi.DataPolicy.DataPermission;
+import org.teiid.adminapi.DataPolicy.PermissionType;
+import org.teiid.adminapi.impl.DataPolicyMetadata.PermissionMetaData;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.core.util.LRUCache;
+
+/**
+ * A vdb scoped cache of authorization state.
+ * <br>
+ * Holds the {@link DataRolePermissions} for each set of data roles that has been seen 
+ * and optionally the commands that have already been authorized for a set of data roles.
+ * <br>
+ * The cache lives as long as the vdb and is cleared whenever the data role mappings are changed.
+ */
+public class AuthorizationCache {
+	
+	private static final int MAX_ROLE_SETS = 256;
+	private static final PermissionType[] TYPES = new PermissionType[] {PermissionType.CREATE, PermissionType.READ, 
+		PermissionType.UPDATE, PermissionType.DELETE, PermissionType.ALTER, PermissionType.EXECUTE, PermissionType.LANGUAGE};
+	
+	/**
+	 * The merged permissions of a set of data roles.  For each resource and action the result 
+	 * is allowed if any role allows it, otherwise denied if any role denies it, otherwise 
+	 * not determined.
+	 */
+	public static class DataRolePermissions {
+		private Map<String, Boolean[]> permissions = new HashMap<String, Boolean[]>();
+		private Map<String, Boolean[]> languagePermissions = new HashMap<String, Boolean[]>();
+		
+		public DataRolePermissions(Collection<? extends DataPolicy> policies) {
+			for (DataPolicy policy : policies) {
+				for (DataPermission permission : policy.getPermissions()) {
+					PermissionMetaData p = (PermissionMetaData)permission;
+					if (p.getAllowLanguage() != null) {
+						merge(languagePermissions, p.getResourceName(), p);
+					} else {
+						merge(permissions, p.getResourceName().toLowerCase(), p);
+					}
+				}
+			}
+		}
+		
+		private void merge(Map<String, Boolean[]> map, String key, PermissionMetaData p) {
+			Boolean[] values = map.get(key);
+			if (values == null) {
+				values = new Boolean[PermissionType.values().length];
+				map.put(key, values);
+			}
+			for (PermissionType type : TYPES) {
+				Boolean allows = p.allows(type);
+				if (allows != null && values[type.ordinal()] != Boolean.TRUE) {
+					values[type.ordinal()] = allows;
+				}
+			}
+		}
+		
+		/**
+		 * @return the merged permission for the given resource, or null if no role specifies one 
+		 */
+		public Boolean allows(String resourceName, PermissionType type) {
+			Boolean[] values = null;
+			if (type == PermissionType.LANGUAGE) {
+				values = languagePermissions.get(resourceName);
+			} else {
+				values = permissions.get(resourceName.toLowerCase());
+			}
+			if (values == null) {
+				return null;
+			}
+			return values[type.ordinal()];
+		}
+	}
+	
+	private Map<Set<String>, DataRolePermissions> rolePermissions = Collections.synchronizedMap(new LRUCache<Set<String>, DataRolePermissions>(MAX_ROLE_SETS));
+	private LRUCache<CommandKey, Boolean> authorizedCommands;
+	
+	private static class CommandKey {
+		private Set<String> roles;
+		private String command;
+		
+		public CommandKey(Set<String> roles, String command) {
+			this.roles = roles;
+			this.command = command;
+		}
+		
+		@Override
+		public int hashCode() {
+			return command.hashCode() * 31 + roles.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof CommandKey)) {
+				return false;
+			}
+			CommandKey other = (CommandKey)obj;
+			return this.command.equals(other.command) && this.roles.equals(other.roles);
+		}
+	}
+	
+	/**
+	 * Get the {@link AuthorizationCache} for the vdb, creating it if needed
+	 */
+	public static AuthorizationCache getAuthorizationCache(VDBMetaData vdb) {
+		synchronized (vdb) {
+			AuthorizationCache cache = vdb.getAttachment(AuthorizationCache.class);
+			if (cache == null) {
+				cache = new AuthorizationCache();
+				vdb.addAttchment(AuthorizationCache.class, cache);
+			}
+			return cache;
+		}
+	}
+	
+	/**
+	 * Get the merged permissions for the given data roles, computing them if needed
+	 */
+	public DataRolePermissions getPermissions(Map<String, DataPolicy> policies) {
+		DataRolePermissions result = rolePermissions.get(policies.keySet());
+		if (result == null) {
+			result = new DataRolePermissions(policies.values());
+			rolePermissions.put(new HashSet<String>(policies.keySet()), result);
+		}
+		return result;
+	}
+	
+	/**
+	 * @return true if the command string has already been authorized for the data roles 
+	 */
+	public boolean isAuthorized(Set<String> roles, String command) {
+		synchronized (this) {
+			if (authorizedCommands == null) {
+				return false;
+			}
+			return authorizedCommands.get(new CommandKey(roles, command)) != null;
+		}
+	}
+	
+	public void setAuthorized(Set<String> roles, String command, int maxEntries) {
+		synchronized (this) {
+			if (authorizedCommands == null) {
+				authorizedCommands = new LRUCache<CommandKey, Boolean>(maxEntries);
+			}
+			authorizedCommands.put(new CommandKey(new HashSet<String>(roles), command), Boolean.TRUE);
+		}
+	}
+	
+	public synchronized int getAuthorizedCommandCount() {
+		if (authorizedCommands == null) {
+			return 0;
+		}
+		return authorizedCommands.size();
+	}
+	
+	public void clear() {
+		synchronized (this) {
+			authorizedCommands = null;
+		}
+		rolePermissions.clear();
+	}
+
+}
@@ -145,7 +145,7 @@ abstract class ChildRecordExtractionTable<P extends AbstractMetadataRecord, T> e
 	}
 	
 	@Override
-	public TupleSource processQuery(Query query, VDBMetaData vdb,
+	public TupleSource processQuery(Query query, final VDBMetaData vdb,
 			TransformationMetadata metadata, CommandContext cc) {
 		BaseIndexInfo<?> ii = baseTable.planQuery(query, query.getCriteria());
 		final SimpleIterator<P> iter = baseTable.processQuery(vdb, metadata.getMetadataStore(), ii);
@@ -157,7 +157,7 @@ abstract class ChildRecordExtractionTable<P extends AbstractMetadataRecord, T> e
 			SimpleIteratorWrapper<T> wrapper = new SimpleIteratorWrapper<T>(null);
 			
 			protected RecordTable.SimpleIterator<T> getChildIterator(P parent) {
-				Collection<? extends T> children = getChildren(parent);
+				Collection<? extends T> children = getChildren(parent, vdb);
 				if (children.isEmpty()) {
 					return RecordTable.emptyIterator();
 				}
@@ -170,4 +170,12 @@ abstract class ChildRecordExtractionTable<P extends AbstractMetadataRecord, T> e
 	
 	protected abstract Collection<? extends T> getChildren(P parent);
 	
+	/**
+	 * Get the children for the parent in the context of the given vdb.
+	 * Defaults to {@link #getChildren(AbstractMetadataRecord)}
+	 */
+	protected Collection<? extends T> getChildren(P parent, VDBMetaData vdb) {
+		return getChildren(parent);
+	}
+	
 }
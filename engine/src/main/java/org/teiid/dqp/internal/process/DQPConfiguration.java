@@ -22,6 +22,10 @@
 package org.teiid.dqp.internal.process;
 
 import org.teiid.client.RequestMessage;
+import org.teiid.core.util.PropertiesUtils;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.query.QueryPlugin;
 
 
 public class DQPConfiguration{
@@ -32,6 +36,7 @@ public class DQPConfiguration{
     static final int DEFAULT_MAX_RESULTSET_CACHE_ENTRIES = 1024;
     static final int DEFAULT_QUERY_THRESHOLD = 600000;
     static final String PROCESS_PLAN_QUEUE_NAME = "QueryProcessorQueue"; //$NON-NLS-1$
+    static final String SOURCE_QUEUE_NAME = "SourceQueue"; //$NON-NLS-1$
     public static final int DEFAULT_MAX_PROCESS_WORKERS = 64;
 	public static final int DEFAULT_MAX_SOURCE_ROWS = -1;
 	public static final int DEFAULT_MAX_ACTIVE_PLANS = 20;
@@ -49,8 +54,13 @@ public class DQPConfiguration{
     private int userRequestSourceConcurrency = DEFAULT_USER_REQUEST_SOURCE_CONCURRENCY;
     private boolean detectingChangeEvents = true;
     private long queryTimeout;
+    private int parseCacheSize;
+    private int maxQueuedWorkPerTenant;
+    private boolean useVirtualThreadsForSources = PropertiesUtils.getBooleanProperty(System.getProperties(), "org.teiid.useVirtualThreadsForSources", false); //$NON-NLS-1$
     
     private transient AuthorizationValidator authorizationValidator;
+    private transient VirtualThreadExecutor sourceExecutor;
+    private transient boolean virtualThreadsUnsupported;
 
 	public int getMaxActivePlans() {
 		return maxActivePlans;
@@ -166,7 +176,67 @@ public class DQPConfiguration{
 	}
 
 	public TeiidExecutor getTeiidExecutor() {
-		return new ThreadReuseExecutor(DQPConfiguration.PROCESS_PLAN_QUEUE_NAME, getMaxThreads());
+		ThreadReuseExecutor executor = new ThreadReuseExecutor(DQPConfiguration.PROCESS_PLAN_QUEUE_NAME, getMaxThreads());
+		executor.setMaxQueuedPerTenant(getMaxQueuedWorkPerTenant());
+		return executor;
+	}
+	
+	public int getMaxQueuedWorkPerTenant() {
+		return maxQueuedWorkPerTenant;
+	}
+	
+	/**
+	 * Set the maximum amount of queued work for a single user of a vdb before new 
+	 * requests from that user are rejected.  0 or less means no limit.
+	 * @param maxQueuedWorkPerTenant
+	 */
+	public void setMaxQueuedWorkPerTenant(int maxQueuedWorkPerTenant) {
+		this.maxQueuedWorkPerTenant = maxQueuedWorkPerTenant;
+	}
+	
+	public int getParseCacheSize() {
+		return parseCacheSize;
+	}
+	
+	/**
+	 * Set the number of parsed commands cached per vdb.  0 or less disables the cache.
+	 * @param parseCacheSize
+	 */
+	public void setParseCacheSize(int parseCacheSize) {
+		this.parseCacheSize = parseCacheSize;
+	}
+	
+	public boolean isUseVirtualThreadsForSources() {
+		return useVirtualThreadsForSources;
+	}
+	
+	/**
+	 * Set to true to run source work, which typically blocks on I/O, on 
+	 * virtual threads rather than on the processing threads.  Requires a JRE with 
+	 * virtual thread support.
+	 * @param useVirtualThreadsForSources
+	 */
+	public void setUseVirtualThreadsForSources(boolean useVirtualThreadsForSources) {
+		this.useVirtualThreadsForSources = useVirtualThreadsForSources;
+	}
+	
+	/**
+	 * Get the executor for source work.  The executor is created once and reused
+	 * until it has been shutdown.
+	 * @return the executor or null if source work should use the {@link #getTeiidExecutor()}
+	 */
+	public synchronized TeiidExecutor getSourceExecutor() {
+		if (!useVirtualThreadsForSources || virtualThreadsUnsupported) {
+			return null;
+		}
+		if (sourceExecutor == null || sourceExecutor.isShutdown()) {
+			sourceExecutor = VirtualThreadExecutor.newInstance(SOURCE_QUEUE_NAME);
+			if (sourceExecutor == null) {
+				virtualThreadsUnsupported = true;
+				LogManager.logWarning(LogConstants.CTX_DQP, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31154));
+			}
+		}
+		return sourceExecutor;
 	}
 
 }
@@ -97,6 +97,7 @@ public class DQPCore implements DQP {
 	}
 	
 	private TeiidExecutor processWorkerPool;
+	private TeiidExecutor sourceWorkerPool;
     
     // Resources
     private BufferManager bufferManager;
@@ -129,8 +130,14 @@ public class DQPCore implements DQP {
      */
     public void stop() {
     	processWorkerPool.shutdownNow();
+    	if (sourceWorkerPool != null) {
+    		sourceWorkerPool.shutdownNow();
+    	}
     	try {
 			processWorkerPool.awaitTermination(10, TimeUnit.SECONDS);
+			if (sourceWorkerPool != null) {
+				sourceWorkerPool.awaitTermination(10, TimeUnit.SECONDS);
+			}
 		} catch (InterruptedException e) {
 		}
     	// TODO: Should we be doing more cleanup here??
@@ -238,10 +245,18 @@ public class DQPCore implements DQP {
     	DQPWorkContext workContext = DQPWorkContext.getWorkContext();
     	checkActive(workContext);
 		RequestID requestID = workContext.getRequestID(reqID);
+		if (this.processWorkerPool instanceof ThreadReuseExecutor) {
+			ThreadReuseExecutor executor = (ThreadReuseExecutor)this.processWorkerPool;
+			if (executor.isQueueFull(workContext)) {
+				throw new TeiidProcessingException(QueryPlugin.Event.TEIID31153, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31153, workContext.getUserName(), workContext.getVdbName(), workContext.getVdbVersion(), executor.getMaxQueuedPerTenant()));
+			}
+		}
 		requestMsg.setFetchSize(Math.min(requestMsg.getFetchSize(), this.config.getMaxRowsFetchSize()));
 		Request request = null;
 	    if ( requestMsg.isPreparedStatement() || requestMsg.isCallableStatement() || requestMsg.getRequestOptions().isContinuous()) {
 	    	request = new PreparedStatementRequest(prepPlanCache);
+	    } else if (options.isAutoParameterize() && !requestMsg.isBatchedUpdate() && requestMsg.getCommand() == null) {
+	    	request = new PreparedStatementRequest(prepPlanCache, true);
 	    } else {
 	    	request = new Request();
 	    }
@@ -390,6 +405,18 @@ public class DQPCore implements DQP {
 		this.processWorkerPool.execute(work);
     }
     
+    /**
+     * Add work that executes against a source, which will use
+     * the source pool if one is configured
+     */
+    void addSourceWork(Runnable work) {
+    	if (this.sourceWorkerPool == null) {
+    		addWork(work);
+    		return;
+    	}
+    	this.sourceWorkerPool.execute(work);
+    }
+    
     Future<Void> scheduleWork(final Runnable r, long delay) {
     	return this.cancellationTimer.add(r, delay);
     }
@@ -432,8 +459,16 @@ public class DQPCore implements DQP {
     	return this.requests.get(processorID);
 	}
 	
-    public WorkerPoolStatisticsMetadata getWorkerPoolStatistics() {
-    	return this.processWorkerPool.getStats();
+    /**
+     * @return the statistics for the processing pool followed by the source pool, if one is in use 
+     */
+    public List<WorkerPoolStatisticsMetadata> getWorkerPoolStatistics() {
+    	List<WorkerPoolStatisticsMetadata> result = new ArrayList<WorkerPoolStatisticsMetadata>(2);
+    	result.add(this.processWorkerPool.getStats());
+    	if (this.sourceWorkerPool != null) {
+    		result.add(this.sourceWorkerPool.getStats());
+    	}
+    	return result;
     }
            
     public void terminateSession(String sessionId) {
@@ -600,6 +635,7 @@ public class DQPCore implements DQP {
         this.chunkSize = config.getLobChunkSizeInKB() * 1024;
 
         this.processWorkerPool = config.getTeiidExecutor();
+        this.sourceWorkerPool = config.getSourceExecutor();
         //we don't want cancellations waiting on normal processing, so they get a small dedicated pool
         //TODO: overflow to the worker pool
         Executor timeoutExecutor = ExecutorUtils.newFixedThreadPool(3, "Server Side Timeout"); //$NON-NLS-1$
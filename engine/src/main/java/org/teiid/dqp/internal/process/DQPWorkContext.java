@@ -33,6 +33,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -136,6 +137,7 @@ public class DQPWorkContext implements Serializable {
     private String clientHostname;
     private SecurityHelper securityHelper;
     private HashMap<String, DataPolicy> policies;
+    private String dataRolesKey;
     private boolean useCallingThread;
     private Version clientVersion = Version.SEVEN_4;
     private boolean admin;
@@ -161,6 +163,7 @@ public class DQPWorkContext implements Serializable {
     public void setSession(SessionMetadata session) {
 		this.session = session;
 		this.policies = null;
+		this.dataRolesKey = null;
 	}
     
     public void setSecurityHelper(SecurityHelper securityHelper) {
@@ -302,8 +305,27 @@ public class DQPWorkContext implements Serializable {
         return this.policies;
     }
 	
+	/**
+	 * @return a key identifying the set of allowed data roles, or null if there is no vdb or no allowed data roles
+	 */
+	public String getDataRolesKey() {
+		if (this.dataRolesKey == null && getVDB() != null) {
+			HashMap<String, DataPolicy> allowed = getAllowedDataPolicies();
+			if (allowed.isEmpty()) {
+				return null;
+			}
+			StringBuilder key = new StringBuilder();
+			for (String name : new TreeSet<String>(allowed.keySet())) {
+				key.append(name).append('\u0000');
+			}
+			this.dataRolesKey = key.toString();
+		}
+		return this.dataRolesKey;
+	}
+	
 	public void setPolicies(HashMap<String, DataPolicy> policies) {
 		this.policies = policies;
+		this.dataRolesKey = null;
 	}
     
 	private boolean matchesPrincipal(Set<String> userRoles, DataPolicy policy) {
@@ -22,12 +22,11 @@
 
 package org.teiid.dqp.internal.process;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.teiid.CommandContext;
@@ -36,7 +35,9 @@ import org.teiid.adminapi.DataPolicy;
 import org.teiid.adminapi.DataPolicy.Context;
 import org.teiid.adminapi.DataPolicy.PermissionType;
 import org.teiid.adminapi.impl.DataPolicyMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.util.PropertiesUtils;
+import org.teiid.dqp.internal.process.AuthorizationCache.DataRolePermissions;
 
 public class DataRolePolicyDecider implements PolicyDecider {
 
@@ -49,32 +50,38 @@ public class DataRolePolicyDecider implements PolicyDecider {
 		if (action == PermissionType.EXECUTE && context == Context.FUNCTION && allowFunctionCallsByDefault) {
 			return Collections.emptySet();
 		}
-		List<DataPolicy> policies = new ArrayList<DataPolicy>(commandContext.getAllowedDataPolicies().values());
-		int policyCount = policies.size();
+		DataRolePermissions permissions = getPermissions(commandContext);
 		outer:for (Iterator<String> iter = resources.iterator(); iter.hasNext();) {
 			String resource = iter.next();
 			while (resource.length() > 0) {
-				boolean isFalse = false;
-				for (int j = 0; j < policyCount; j++) {
-					DataPolicyMetadata policy = (DataPolicyMetadata)policies.get(j);
-					Boolean allows = policy.allows(resource, action);
-					if (allows != null) {
-						if (allows) {
-							iter.remove();
-							continue outer;
-						}
-						isFalse = true;
+				Boolean allows = permissions.allows(resource, action);
+				if (allows != null) {
+					if (allows) {
+						iter.remove();
+						continue outer;
 					}
-				}
-				if (isFalse || action == PermissionType.LANGUAGE) {
 					break; //don't check less specific permissions
 				}
+				if (action == PermissionType.LANGUAGE) {
+					break;
+				}
 				resource = resource.substring(0, Math.max(0, resource.lastIndexOf('.')));
 			}
 		}
 		return resources;
 	}
 
+	/**
+	 * Get the merged permissions of the allowed data roles, which are cached with the vdb
+	 */
+	private DataRolePermissions getPermissions(CommandContext commandContext) {
+		Map<String, DataPolicy> policies = commandContext.getAllowedDataPolicies();
+		if (commandContext.getVdb() instanceof VDBMetaData) {
+			return AuthorizationCache.getAuthorizationCache((VDBMetaData)commandContext.getVdb()).getPermissions(policies);
+		}
+		return new DataRolePermissions(policies.values());
+	}
+
 	@Override
 	public boolean hasRole(String roleName, CommandContext context) {
 		return context.getAllowedDataPolicies().containsKey(roleName);
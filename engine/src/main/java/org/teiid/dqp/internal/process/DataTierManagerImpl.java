@@ -30,6 +30,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +82,10 @@ import org.teiid.logging.MessageLevel;
 import org.teiid.metadata.*;
 import org.teiid.metadata.Table.TriggerEvent;
 import org.teiid.query.QueryPlugin;
+import org.teiid.query.analysis.PlanningStatistics;
+import org.teiid.query.analysis.PlanningStatistics.Aggregate;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedback.ObservedCardinality;
 import org.teiid.query.metadata.CompositeMetadataStore;
 import org.teiid.query.metadata.CompositeMetadataStore.RecordHolder;
 import org.teiid.query.metadata.SystemMetadata;
@@ -191,7 +196,9 @@ public class DataTierManagerImpl implements ProcessorDataManager {
 	private enum SystemAdminTables {
 		MATVIEWS,
 		VDBRESOURCES,
-		TRIGGERS
+		TRIGGERS,
+		OBSERVEDCARDINALITIES,
+		PLANNINGPROFILES
 	}
 	
 	private enum SystemAdminProcs {
@@ -200,6 +207,7 @@ public class DataTierManagerImpl implements ProcessorDataManager {
 		SETPROPERTY,
 		LOGMSG,
 		ISLOGGABLE,
+		CLEAROBSERVEDSTATS,
 	}
 	
 	private enum SystemProcs {
@@ -523,6 +531,78 @@ public class DataTierManagerImpl implements ProcessorDataManager {
         	protected Collection<Map.Entry<String,String>> getChildren(AbstractMetadataRecord parent) {
         		return parent.getProperties().entrySet();
         	}
+        	
+        	@Override
+        	protected Collection<Map.Entry<String,String>> getChildren(AbstractMetadataRecord parent, VDBMetaData vdb) {
+        		CardinalityFeedback feedback = vdb.getAttachment(CardinalityFeedback.class);
+        		if (feedback == null) {
+        			return getChildren(parent);
+        		}
+        		Map<String, String> observed = feedback.getProperties(parent);
+        		if (observed.isEmpty()) {
+        			return getChildren(parent);
+        		}
+        		//observed values are shown, but not stored, on the record
+        		TreeMap<String, String> result = new TreeMap<String, String>(parent.getProperties());
+        		result.putAll(observed);
+        		return result.entrySet();
+        	}
+		});
+        name = SystemAdminTables.OBSERVEDCARDINALITIES.name();
+        columns = getColumns(tm, name);
+        systemAdminTables.put(SystemAdminTables.OBSERVEDCARDINALITIES, new BaseExtractionTable<Map.Entry<Table, ObservedCardinality>>(columns) {
+        	
+        	@Override
+        	public SimpleIterator<Map.Entry<Table, ObservedCardinality>> createIterator(VDBMetaData vdb,
+        			TransformationMetadata metadata, CommandContext cc) {
+        		CardinalityFeedback feedback = vdb.getAttachment(CardinalityFeedback.class);
+        		List<Map.Entry<Table, ObservedCardinality>> entries = new ArrayList<Map.Entry<Table, ObservedCardinality>>();
+        		if (feedback != null) {
+        			entries.addAll(feedback.getObservedCardinalities().entrySet());
+        		}
+        		return new SimpleIteratorWrapper<Map.Entry<Table, ObservedCardinality>>(entries.iterator());
+        	}
+        	
+        	@Override
+        	public void fillRow(List<Object> row, Map.Entry<Table, ObservedCardinality> entry,
+        			VDBMetaData v, TransformationMetadata m, CommandContext cc, SimpleIterator<Map.Entry<Table, ObservedCardinality>> iter) {
+        		Table table = entry.getKey();
+        		ObservedCardinality observed = entry.getValue();
+        		row.add(v.getName());
+        		row.add(table.getParent().getName());
+        		row.add(table.getName());
+        		row.add((int)Math.min(Integer.MAX_VALUE, observed.getCardinality()));
+        		row.add(observed.getObservations());
+        		row.add(new Timestamp(observed.getLastObserved()));
+        		row.add(table.getUUID());
+        	}
+		});
+        name = SystemAdminTables.PLANNINGPROFILES.name();
+        columns = getColumns(tm, name);
+        systemAdminTables.put(SystemAdminTables.PLANNINGPROFILES, new BaseExtractionTable<Aggregate>(columns) {
+        	
+        	@Override
+        	public SimpleIterator<Aggregate> createIterator(VDBMetaData vdb,
+        			TransformationMetadata metadata, CommandContext cc) {
+        		PlanningStatistics stats = vdb.getAttachment(PlanningStatistics.class);
+        		List<Aggregate> aggregates = Collections.emptyList();
+        		if (stats != null) {
+        			aggregates = stats.getAggregates();
+        		}
+        		return new SimpleIteratorWrapper<Aggregate>(aggregates.iterator());
+        	}
+        	
+        	@Override
+        	public void fillRow(List<Object> row, Aggregate aggregate,
+        			VDBMetaData v, TransformationMetadata m, CommandContext cc, SimpleIterator<Aggregate> iter) {
+        		row.add(v.getName());
+        		row.add(aggregate.getType());
+        		row.add(aggregate.getName());
+        		row.add(aggregate.getPlans());
+        		row.add(aggregate.getExecutions());
+        		row.add(aggregate.getTotalTime()/1000);
+        		row.add(aggregate.getMaxTime()/1000);
+        	}
 		});
         name = SystemAdminTables.TRIGGERS.name();
         columns = getColumns(tm, name);
@@ -1024,6 +1104,20 @@ public class DataTierManagerImpl implements ProcessorDataManager {
 				} catch (IOException e) {
 					 throw new TeiidProcessingException(QueryPlugin.Event.TEIID30551, e);
 				}
+			case CLEAROBSERVEDSTATS:
+				String tableName = (String)((Constant)proc.getParameter(1).getExpression()).getValue();
+				CardinalityFeedback observed = vdb.getAttachment(CardinalityFeedback.class);
+				if (tableName == null) {
+					if (observed != null) {
+						observed.reset();
+					}
+				} else {
+					Table observedTable = indexMetadata.getGroupID(tableName);
+					if (observed != null) {
+						observed.reset(observedTable);
+					}
+				}
+				return new CollectionTupleSource(rows.iterator());
 			}
 			Table table = indexMetadata.getGroupID((String)((Constant)proc.getParameter(1).getExpression()).getValue());
 			switch (sysProc) {
@@ -1065,6 +1159,11 @@ public class DataTierManagerImpl implements ProcessorDataManager {
 					getMetadataRepository(table, vdb).setTableStats(vdbName, vdbVersion, table, tableStats);
 				}
 				table.setTableStats(tableStats);
+				//explicitly set stats take precedence over observed values
+				CardinalityFeedback feedback = vdb.getAttachment(CardinalityFeedback.class);
+				if (feedback != null) {
+					feedback.reset(table);
+				}
 				if (eventDistributor != null) {
 					eventDistributor.setTableStats(vdbName, vdbVersion, table.getParent().getName(), table.getName(), tableStats);
 				}
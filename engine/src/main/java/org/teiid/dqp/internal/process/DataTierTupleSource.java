@@ -165,6 +165,11 @@ public class DataTierTupleSource implements TupleSource, CompletionListener<Atom
     					errored = true;
     				}
     			}
+    			if (this.scheduledFuture != null) {
+    				//results arrived before the poll, so it is no longer needed
+    				this.scheduledFuture.cancel(false);
+    				this.scheduledFuture = null;
+    			}
     			receiveResults(results, partial);
     		}
 	    	if (index < arm.getResults().length) {
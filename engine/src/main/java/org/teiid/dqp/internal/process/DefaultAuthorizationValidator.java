@@ -25,8 +25,12 @@ package org.teiid.dqp.internal.process;
 import org.teiid.PolicyDecider;
 import org.teiid.api.exception.query.QueryValidatorException;
 import org.teiid.core.TeiidComponentException;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.logging.MessageLevel;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.tempdata.TempTableStore;
 import org.teiid.query.util.CommandContext;
 
 /**
@@ -45,12 +49,42 @@ public class DefaultAuthorizationValidator implements AuthorizationValidator {
 			CommandType commandType) throws QueryValidatorException,
 			TeiidComponentException {
 		if (policyDecider != null && policyDecider.validateCommand(commandContext)) {
+			AuthorizationCache cache = getAuthorizationCache(commandContext);
+			String key = null;
+			if (cache != null) {
+				key = command.toString();
+				if (cache.isAuthorized(commandContext.getAllowedDataPolicies().keySet(), key)) {
+					return false;
+				}
+			}
 			AuthorizationValidationVisitor visitor = new AuthorizationValidationVisitor(this.policyDecider, commandContext);
 			Request.validateWithVisitor(visitor, metadata, command);
+			if (cache != null) {
+				cache.setAuthorized(commandContext.getAllowedDataPolicies().keySet(), key, commandContext.getOptions().getAuthorizationCacheSize());
+			}
 		}		
 		return false;
 	}
 	
+	/**
+	 * The authorization of a command string is only cached for the {@link DataRolePolicyDecider}, which 
+	 * depends only upon the data roles, and is not used when the session has temporary tables that could 
+	 * change name resolution or when the audit log expects each request.
+	 */
+	private AuthorizationCache getAuthorizationCache(CommandContext commandContext) {
+		if (!(policyDecider instanceof DataRolePolicyDecider) 
+				|| commandContext.getOptions().getAuthorizationCacheSize() <= 0 
+				|| commandContext.getVdb() == null
+				|| LogManager.isMessageToBeRecorded(LogConstants.CTX_AUDITLOGGING, MessageLevel.DETAIL)) {
+			return null;
+		}
+		TempTableStore tempTableStore = commandContext.getSessionTempTableStore();
+		if (tempTableStore != null && !tempTableStore.getMetadataStore().getData().isEmpty()) {
+			return null;
+		}
+		return AuthorizationCache.getAuthorizationCache(commandContext.getVdb());
+	}
+	
 	@Override
 	public boolean hasRole(String roleName, CommandContext commandContext) {
 		if (policyDecider == null) {
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.dqp.internal.process;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.teiid.api.exception.query.QueryParserException;
+import org.teiid.core.util.LRUCache;
+import org.teiid.query.parser.ParseInfo;
+import org.teiid.query.parser.QueryParser;
+import org.teiid.query.sql.lang.Command;
+
+/**
+ * A bounded cache of parsed {@link Command}s for a vdb keyed by the sql string and {@link ParseInfo}.
+ * It is attached to the vdb when the deployment finishes and is discarded with the vdb.
+ * <br>
+ * Entries are cloned both when added and when returned, so callers are free to resolve and 
+ * otherwise modify the result.  Resolving is not cached as it is dependent upon the session
+ * scoped temporary metadata and the data roles of the user, and resolved commands are already 
+ * reused through the prepared plan cache.
+ */
+public class ParsedCommandCache {
+	
+	private static class CacheKey {
+		private String sql;
+		private ParseInfo parseInfo;
+		
+		public CacheKey(String sql, ParseInfo parseInfo) {
+			this.sql = sql;
+			this.parseInfo = parseInfo;
+		}
+		
+		@Override
+		public int hashCode() {
+			return sql.hashCode() * 31 + parseInfo.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey)obj;
+			return this.sql.equals(other.sql) && this.parseInfo.equals(other.parseInfo);
+		}
+	}
+	
+	private static class CacheEntry {
+		private Command command;
+		private long parseTime;
+	}
+	
+	private LRUCache<CacheKey, CacheEntry> cache;
+	private AtomicLong hits = new AtomicLong();
+	private AtomicLong misses = new AtomicLong();
+	private AtomicLong timeSaved = new AtomicLong();
+	
+	public ParsedCommandCache(int maxEntries) {
+		this.cache = new LRUCache<CacheKey, CacheEntry>(maxEntries);
+	}
+	
+	/**
+	 * Return a copy of the cached parse of the sql, or parse and cache it if not present.
+	 */
+	public Command parseCommand(String sql, ParseInfo parseInfo) throws QueryParserException {
+		CacheKey key = new CacheKey(sql, parseInfo);
+		CacheEntry entry = null;
+		synchronized (cache) {
+			entry = cache.get(key);
+		}
+		if (entry != null) {
+			hits.incrementAndGet();
+			timeSaved.addAndGet(entry.parseTime);
+			return (Command)entry.command.clone();
+		}
+		misses.incrementAndGet();
+		long start = System.nanoTime();
+		Command command = QueryParser.getQueryParser().parseCommand(sql, parseInfo);
+		entry = new CacheEntry();
+		entry.parseTime = System.nanoTime() - start;
+		entry.command = (Command)command.clone();
+		synchronized (cache) {
+			cache.put(key, entry);
+		}
+		return command;
+	}
+	
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+	
+	public int getSize() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+	
+	public long getHitCount() {
+		return hits.get();
+	}
+	
+	public long getMissCount() {
+		return misses.get();
+	}
+	
+	/**
+	 * @return the hit ratio or 0 if there have been no requests
+	 */
+	public double getHitRatio() {
+		long h = hits.get();
+		long total = h + misses.get();
+		if (total == 0) {
+			return 0;
+		}
+		return (double)h/total;
+	}
+	
+	/**
+	 * @return the total parsing time in nanoseconds avoided by cache hits
+	 */
+	public long getTimeSaved() {
+		return timeSaved.get();
+	}
+	
+	@Override
+	public String toString() {
+		return "ParsedCommandCache size=" + getSize() + " hits=" + hits.get() + " misses=" + misses.get() + " timeSaved=" + timeSaved.get() / 1000000 + "ms"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ 
+	}
+
+}
@@ -40,6 +40,7 @@ public class PreparedPlan implements Cachable {
 	private Command command;
 	private List<Reference> refs;
 	private AnalysisRecord analysisRecord;
+	private boolean literalSensitive;
 	
 	private AccessInfo accessInfo = new AccessInfo();
 	
@@ -108,6 +109,18 @@ public class PreparedPlan implements Cachable {
 		refs = refsValue;
 	}
 	
+	/**
+	 * @return true if this is an auto parameterized plan that should not be used 
+	 * since the plan may depend upon the literal values
+	 */
+	public boolean isLiteralSensitive() {
+		return literalSensitive;
+	}
+	
+	public void setLiteralSensitive(boolean literalSensitive) {
+		this.literalSensitive = literalSensitive;
+	}
+	
 	@Override
 	public AccessInfo getAccessInfo() {
 		return accessInfo;
@@ -23,12 +23,21 @@
 package org.teiid.dqp.internal.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.teiid.adminapi.DataPolicy;
+import org.teiid.adminapi.impl.DataPolicyMetadata;
+import org.teiid.adminapi.impl.DataPolicyMetadata.PermissionMetaData;
 
 import org.teiid.api.exception.query.ExpressionEvaluationException;
 import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.api.exception.query.QueryParserException;
 import org.teiid.api.exception.query.QueryPlannerException;
 import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.api.exception.query.QueryValidatorException;
@@ -37,43 +46,91 @@ import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.DataTypeManager;
 import org.teiid.dqp.internal.process.AuthorizationValidator.CommandType;
 import org.teiid.dqp.internal.process.SessionAwareCache.CacheID;
+import org.teiid.language.SQLConstants;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
+import org.teiid.query.analysis.PlanningProfile;
 import org.teiid.query.eval.Evaluator;
+import org.teiid.query.metadata.Histogram;
 import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.metadata.TempMetadataID;
 import org.teiid.query.optimizer.BatchedUpdatePlanner;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities;
 import org.teiid.query.processor.ProcessorPlan;
 import org.teiid.query.processor.relational.AccessNode;
+import org.teiid.query.optimizer.relational.PartitionAnalyzer;
 import org.teiid.query.processor.relational.RelationalPlan;
+import org.teiid.query.resolver.QueryResolver;
 import org.teiid.query.resolver.util.ResolverUtil;
+import org.teiid.query.sql.LanguageVisitor;
 import org.teiid.query.sql.lang.BatchedUpdateCommand;
+import org.teiid.query.sql.lang.BetweenCriteria;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.CompoundCriteria;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.JoinPredicate;
+import org.teiid.query.sql.lang.NotCriteria;
+import org.teiid.query.sql.lang.Option;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.QueryCommand;
+import org.teiid.query.sql.lang.SetQuery;
+import org.teiid.query.sql.lang.SubqueryFromClause;
 import org.teiid.query.sql.lang.SPParameter;
 import org.teiid.query.sql.lang.StoredProcedure;
+import org.teiid.query.sql.navigator.PreOrPostOrderNavigator;
 import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.symbol.Reference;
 import org.teiid.query.sql.util.VariableContext;
+import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
 import org.teiid.query.util.CommandContext;
 
 
 /**
  * Specific request for handling prepared statement calls.
+ * <br>
+ * May also be used to auto parameterize a plain statement, in which case the literal
+ * operands of its comparisons are replaced by references so that the {@link PreparedPlan}
+ * may be shared by statements that differ only by those literals.  If the parameterized plan 
+ * could depend upon the literal values, see {@link #isLiteralSensitive}, it is marked as such 
+ * and statements of that form are planned with their literal values instead.
  */
 public class PreparedStatementRequest extends Request {
     private SessionAwareCache<PreparedPlan> prepPlanCache;
     private PreparedPlan prepPlan;
+    private boolean autoParameterize;
+    private Command parsedCommand;
     
     public PreparedStatementRequest(SessionAwareCache<PreparedPlan> prepPlanCache) {
     	this.prepPlanCache = prepPlanCache;
     }
     
+    public PreparedStatementRequest(SessionAwareCache<PreparedPlan> prepPlanCache, boolean autoParameterize) {
+    	this.prepPlanCache = prepPlanCache;
+    	this.autoParameterize = autoParameterize;
+    }
+    
+    @Override
+    protected Command parseCommand() throws QueryParserException {
+    	if (this.parsedCommand != null) {
+    		return this.parsedCommand;
+    	}
+    	return super.parseCommand();
+    }
+    
     @Override
     protected void checkReferences(List<Reference> references)
     		throws QueryValidatorException {
+    	if (prepPlan == null) {
+    		//auto parameterization is not being used
+    		super.checkReferences(references);
+    		return;
+    	}
     	for (Iterator<Reference> i = references.iterator(); i.hasNext();) {
     		if (i.next().isOptional()) {
     			i.remove(); //remove any optional parameter, which accounts for out params - the client does not send any bindings
@@ -89,22 +146,52 @@ public class PreparedStatementRequest extends Request {
      */
 	@Override
     protected void generatePlan(boolean addLimit) throws TeiidComponentException, TeiidProcessingException {
+    	if (this.planningProfile == null && isRecordPlanningProfile()) {
+    		//the profile is held by the request rather than the possibly cached analysis record
+    		this.planningProfile = new PlanningProfile();
+    	}
+    	long start = System.nanoTime();
     	String sqlQuery = requestMsg.getCommands()[0];
+    	List<?> literals = null;
+    	if (autoParameterize) {
+    		this.parsedCommand = parseCommand(sqlQuery, Request.createParseInfo(this.requestMsg));
+    		start = recordPhase(this.planningProfile, "Parse", start, this.parsedCommand); //$NON-NLS-1$
+    		literals = parameterize(this.parsedCommand);
+    		start = recordPhase(this.planningProfile, "Parameterize", start); //$NON-NLS-1$
+    		if (literals == null) {
+    			super.generatePlan(addLimit);
+    			return;
+    		}
+    		sqlQuery = this.parsedCommand.toString();
+    	}
     	CacheID id = new CacheID(this.workContext, Request.createParseInfo(this.requestMsg), sqlQuery);
+    	if (this.workContext.getVDB() != null) {
+    		id.setOriginalDataRoles(this.workContext.getDataRolesKey());
+    	}
+    	boolean limit = literals != null && addLimit && requestMsg.getRowLimit() > 0;
+    	if (limit) {
+    		//the row limit will be part of the plan
+    		id.setParameters(Arrays.asList(requestMsg.getRowLimit()));
+    	}
         prepPlan = prepPlanCache.get(id);
         
+        start = recordPhase(this.planningProfile, "Plan Cache Lookup", start); //$NON-NLS-1$
+        
         if (prepPlan != null) {
         	//already in cache. obtain the values from cache
             analysisRecord = prepPlan.getAnalysisRecord();
         	ProcessorPlan cachedPlan = prepPlan.getPlan();
         	this.userCommand = prepPlan.getCommand();
-        	if (validateAccess(requestMsg.getCommands(), userCommand, CommandType.PREPARED)) {
+        	boolean denied = validateAccess(requestMsg.getCommands(), userCommand, CommandType.PREPARED);
+        	start = recordPhase(this.planningProfile, "Authorize", start); //$NON-NLS-1$
+        	if (denied) {
         		LogManager.logDetail(LogConstants.CTX_DQP, requestId, "AuthorizationValidator indicates that the prepared plan for command will not be used"); //$NON-NLS-1$
             	prepPlan = null;
             	analysisRecord = null;
             } else {
 	        	LogManager.logTrace(LogConstants.CTX_DQP, new Object[] { "Query exist in cache: ", sqlQuery }); //$NON-NLS-1$
 	            processPlan = cachedPlan.clone();
+	            start = recordPhase(this.planningProfile, "Plan Clone", start); //$NON-NLS-1$
             }
         }
         
@@ -112,8 +199,26 @@ public class PreparedStatementRequest extends Request {
             //if prepared plan does not exist, create one
             prepPlan = new PreparedPlan();
             LogManager.logTrace(LogConstants.CTX_DQP, new Object[] { "Query does not exist in cache: ", sqlQuery}); //$NON-NLS-1$
-            super.generatePlan(false);
+            if (literals == null) {
+            	super.generatePlan(limit);
+            } else {
+            	try {
+            		super.generatePlan(limit);
+            	} catch (QueryResolverException e) {
+            		LogManager.logDetail(LogConstants.CTX_DQP, e, requestId, "Could not plan the auto parameterized form, the statement will be planned with its literal values"); //$NON-NLS-1$
+            		planWithLiterals(addLimit);
+            		return;
+            	} catch (QueryValidatorException e) {
+            		LogManager.logDetail(LogConstants.CTX_DQP, e, requestId, "Could not plan the auto parameterized form, the statement will be planned with its literal values"); //$NON-NLS-1$
+            		planWithLiterals(addLimit);
+            		return;
+            	}
+            }
+            start = System.nanoTime();
         	prepPlan.setCommand(this.userCommand);
+        	if (literals != null) {
+        		prepPlan.setLiteralSensitive(isLiteralSensitive(this.userCommand, this.metadata, this.workContext.getVDB() != null?this.workContext.getAllowedDataPolicies():null));
+        	}
         	
         	//there's no need to cache the plan if it's a stored procedure, since we already do that in the optimizer
         	boolean cache = !(this.userCommand instanceof StoredProcedure);
@@ -127,22 +232,273 @@ public class PreparedStatementRequest extends Request {
 				if (userCommand.getCacheHint() != null && userCommand.getCacheHint().getDeterminism() != null) {
 					LogManager.logTrace(LogConstants.CTX_DQP, new Object[] { "Cache hint modified the query determinism from ",this.context.getDeterminismLevel(), " to ", determinismLevel }); //$NON-NLS-1$ //$NON-NLS-2$
 					determinismLevel = userCommand.getCacheHint().getDeterminism();
-				}		        
+				} else {
+					//plans that depend only on row filters and column masks can be shared by users with the same data roles
+					id.setDataRoleScoped(this.context.isDataRoleDeterministic());
+				}
 		        
 		        this.prepPlanCache.put(id, determinismLevel, prepPlan, userCommand.getCacheHint() != null?userCommand.getCacheHint().getTtl():null);
 	        }
+	        start = recordPhase(this.planningProfile, "Plan Cache Put", start); //$NON-NLS-1$
         }
         
-        if (requestMsg.isBatchedUpdate()) {
+        if (literals != null) {
+        	if (prepPlan.isLiteralSensitive()) {
+        		LogManager.logDetail(LogConstants.CTX_DQP, requestId, "The auto parameterized plan may depend upon the literal values, the statement will be planned with its literal values"); //$NON-NLS-1$
+        		planWithLiterals(addLimit);
+        		return;
+        	}
+        	List<Object> values = new ArrayList<Object>(literals.size());
+        	for (Reference ref : prepPlan.getReferences()) {
+        		values.add(literals.get(ref.getIndex()));
+        	}
+        	try {
+        		PreparedStatementRequest.resolveParameterValues(prepPlan.getReferences(), values, this.context, this.metadata);
+        		recordPhase(this.planningProfile, "Parameter Resolution", start); //$NON-NLS-1$
+        	} catch (QueryResolverException e) {
+        		//the literal cannot be used as the type inferred for its reference, so plan the original form 
+        		LogManager.logDetail(LogConstants.CTX_DQP, e, requestId, "Could not use the auto parameterized plan, the statement will be planned with its literal values"); //$NON-NLS-1$
+        		planWithLiterals(addLimit);
+        	}
+        } else if (requestMsg.isBatchedUpdate()) {
 	        handlePreparedBatchUpdate();
+	        recordPhase(this.planningProfile, "Parameter Resolution", start); //$NON-NLS-1$
         } else {
 	        List<Reference> params = prepPlan.getReferences();
 	        List<?> values = requestMsg.getParameterValues();
 	
 	    	PreparedStatementRequest.resolveParameterValues(params, values, this.context, this.metadata);
+	    	recordPhase(this.planningProfile, "Parameter Resolution", start); //$NON-NLS-1$
         }
     }
 
+    private void planWithLiterals(boolean addLimit) throws TeiidComponentException, TeiidProcessingException {
+		this.prepPlan = null;
+		this.analysisRecord = null;
+		this.processPlan = null;
+		this.parsedCommand = null;
+		this.autoParameterize = false;
+		super.generatePlan(addLimit);
+	}
+
+    /**
+     * Replace the literal operands of comparison and between predicates with positional references.  
+     * Only the predicates of where, having, and join criteria - including those of nested queries - 
+     * are considered, and only if they are not nested in other expressions.  Literals that are compared 
+     * with other literals, nulls, and literals in other positions - such as function arguments, case 
+     * expressions, limits, or the select, group by, and order by clauses - are left in place since they 
+     * may change how the command is typed, rewritten, or planned.  In particular a select or group by 
+     * expression must still match its repeated use after replacement.
+     * 
+     * <br>
+     * Commands using OPTION NOCACHE are not parameterized since they request that the plan 
+     * reflect the current source values.
+     * 
+     * @return the replaced literal values by reference index, or null if the command cannot be parameterized
+     */
+    static List<?> parameterize(Command command) {
+    	if (!(command instanceof QueryCommand) || !ReferenceCollectorVisitor.getReferences(command).isEmpty()) {
+    		return null;
+    	}
+    	Option option = command.getOption();
+    	if (option != null && (option.isNoCache() || (option.getNoCacheGroups() != null && !option.getNoCacheGroups().isEmpty()))) {
+    		return null;
+    	}
+    	final List<Object> literals = new ArrayList<Object>();
+    	final LanguageVisitor visitor = new LanguageVisitor() {
+    		@Override
+    		public void visit(CompareCriteria obj) {
+    			if (obj.getLeftExpression() instanceof Constant) {
+    				if (!(obj.getRightExpression() instanceof Constant)) {
+    					obj.setLeftExpression(replace((Constant)obj.getLeftExpression()));
+    				}
+    			} else if (obj.getRightExpression() instanceof Constant) {
+    				obj.setRightExpression(replace((Constant)obj.getRightExpression()));
+    			}
+    		}
+    		
+    		@Override
+    		public void visit(BetweenCriteria obj) {
+    			if (obj.getExpression() instanceof Constant) {
+    				return;
+    			}
+    			if (obj.getLowerExpression() instanceof Constant) {
+    				obj.setLowerExpression(replace((Constant)obj.getLowerExpression()));
+    			}
+    			if (obj.getUpperExpression() instanceof Constant) {
+    				obj.setUpperExpression(replace((Constant)obj.getUpperExpression()));
+    			}
+    		}
+    		
+    		private Expression replace(Constant constant) {
+    			if (constant.isNull() || constant.isMultiValued()) {
+    				return constant;
+    			}
+    			literals.add(constant.getValue());
+    			return new Reference(literals.size() - 1);
+    		}
+    	};
+    	LanguageVisitor queryVisitor = new LanguageVisitor() {
+    		@Override
+    		public void visit(Query obj) {
+    			replaceLiterals(obj.getCriteria(), visitor);
+    			replaceLiterals(obj.getHaving(), visitor);
+    		}
+    		
+    		@Override
+    		public void visit(JoinPredicate obj) {
+    			for (Object crit : obj.getJoinCriteria()) {
+    				replaceLiterals((Criteria)crit, visitor);
+    			}
+    		}
+    	};
+    	PreOrPostOrderNavigator.doVisit(command, queryVisitor, PreOrPostOrderNavigator.PRE_ORDER, true);
+    	if (literals.isEmpty()) {
+    		return null;
+    	}
+    	return literals;
+    }
+    
+    /**
+     * Visit only the predicates of the criteria, not the expressions that they contain
+     */
+    private static void replaceLiterals(Criteria crit, LanguageVisitor visitor) {
+    	if (crit instanceof CompoundCriteria) {
+    		for (Criteria conjunct : ((CompoundCriteria)crit).getCriteria()) {
+    			replaceLiterals(conjunct, visitor);
+    		}
+    	} else if (crit instanceof NotCriteria) {
+    		replaceLiterals(((NotCriteria)crit).getCriteria(), visitor);
+    	} else if (crit != null) {
+    		crit.acceptVisitor(visitor);
+    	}
+    }
+
+    /**
+     * Determine if the plan for the resolved auto parameterized command may depend upon the values 
+     * of the references.  This is the case if a reference is compared with: 
+     * <ul>
+     * <li>a partitioned column of a union view or inline view, or a multi-source column, since the literal is used to prune branches and sources</li>
+     * <li>a column with a min/max value or histogram in a range predicate, since the literal is used to cost the predicate and the dependent joins it affects</li>
+     * <li>a column with a mask, or a column of a group with a condition, in one of the allowed data roles, since the literal may be simplified together with the mask or condition</li>
+     * </ul>
+     * Equality predicates are otherwise costed only by the number of distinct values, which does not depend upon the literal.
+     */
+    static boolean isLiteralSensitive(Command command, QueryMetadataInterface metadata, Map<String, DataPolicy> policies) 
+    		throws TeiidComponentException {
+    	final List<ElementSymbol> elements = new ArrayList<ElementSymbol>();
+    	final List<ElementSymbol> rangeElements = new ArrayList<ElementSymbol>();
+    	final List<SubqueryFromClause> inlineViews = new ArrayList<SubqueryFromClause>();
+    	LanguageVisitor visitor = new LanguageVisitor() {
+    		@Override
+    		public void visit(CompareCriteria obj) {
+    			List<ElementSymbol> target = elements;
+    			if (obj.getOperator() != CompareCriteria.EQ && obj.getOperator() != CompareCriteria.NE) {
+    				target = rangeElements;
+    			}
+    			if (obj.getLeftExpression() instanceof Reference && obj.getRightExpression() instanceof ElementSymbol) {
+    				target.add((ElementSymbol)obj.getRightExpression());
+    			} else if (obj.getRightExpression() instanceof Reference && obj.getLeftExpression() instanceof ElementSymbol) {
+    				target.add((ElementSymbol)obj.getLeftExpression());
+    			}
+    		}
+    		
+    		@Override
+    		public void visit(BetweenCriteria obj) {
+    			if (obj.getExpression() instanceof ElementSymbol 
+    					&& (obj.getLowerExpression() instanceof Reference || obj.getUpperExpression() instanceof Reference)) {
+    				rangeElements.add((ElementSymbol)obj.getExpression());
+    			}
+    		}
+    		
+    		@Override
+    		public void visit(SubqueryFromClause obj) {
+    			inlineViews.add(obj);
+    		}
+    	};
+    	PreOrPostOrderNavigator.doVisit(command, visitor, PreOrPostOrderNavigator.PRE_ORDER, true);
+    	elements.addAll(rangeElements);
+    	if (elements.isEmpty()) {
+    		return false;
+    	}
+    	try {
+	    	Set<Object> partitioned = new HashSet<Object>();
+	    	for (SubqueryFromClause sfc : inlineViews) {
+	    		if (!(sfc.getCommand() instanceof SetQuery) || !(sfc.getGroupSymbol().getMetadataID() instanceof TempMetadataID)) {
+	    			continue;
+	    		}
+	    		if (!ReferenceCollectorVisitor.getReferences(sfc.getCommand()).isEmpty()) {
+	    			//the replaced literals may have partitioned the branches
+	    			return true;
+	    		}
+	    		List<ElementSymbol> columns = new ArrayList<ElementSymbol>();
+	    		for (TempMetadataID column : ((TempMetadataID)sfc.getGroupSymbol().getMetadataID()).getElements()) {
+	    			ElementSymbol es = new ElementSymbol(column.getName());
+	    			es.setMetadataID(column);
+	    			columns.add(es);
+	    		}
+	    		addPartitionedColumns(partitioned, (SetQuery)sfc.getCommand(), columns);
+	    	}
+	    	for (int i = 0; i < elements.size(); i++) {
+	    		ElementSymbol element = elements.get(i);
+	    		Object id = element.getMetadataID();
+	    		GroupSymbol group = element.getGroupSymbol();
+	    		if (id == null || group == null) {
+	    			continue;
+	    		}
+	    		if (!(id instanceof TempMetadataID)) {
+	    			if (metadata.isMultiSourceElement(id)) {
+	    				return true;
+	    			}
+	    			if (metadata.isVirtualGroup(group.getMetadataID())) {
+	    				Command view = QueryResolver.resolveView(group, metadata.getVirtualPlan(group.getMetadataID()), SQLConstants.Reserved.SELECT, metadata).getCommand();
+	    				if (view instanceof SetQuery) {
+	    					addPartitionedColumns(partitioned, (SetQuery)view, ResolverUtil.resolveElementsInGroup(group, metadata));
+	    				}
+	    			}
+	    			if (i >= elements.size() - rangeElements.size() && (metadata.getMinimumValue(id) != null || metadata.getMaximumValue(id) != null 
+	    					|| metadata.getExtensionProperty(id, Histogram.HISTOGRAM, false) != null)) {
+	    				return true;
+	    			}
+	    			if (policies != null && hasMaskOrCondition(metadata.getFullName(id), metadata.getFullName(group.getMetadataID()), policies)) {
+	    				return true;
+	    			}
+	    		}
+	    		if (partitioned.contains(id)) {
+	    			return true;
+	    		}
+	    	}
+    	} catch (TeiidProcessingException e) {
+    		//treat a view that can't be resolved as sensitive, planning will report the error
+    		return true;
+    	}
+    	return false;
+    }
+
+	private static void addPartitionedColumns(Set<Object> partitioned, SetQuery setQuery, List<ElementSymbol> columns) {
+		for (ElementSymbol partitionedColumn : PartitionAnalyzer.extractPartionInfo(setQuery, columns).keySet()) {
+			partitioned.add(partitionedColumn.getMetadataID());
+		}
+	}
+
+	private static boolean hasMaskOrCondition(String column, String group, Map<String, DataPolicy> policies) {
+		for (DataPolicy policy : policies.values()) {
+			if (!(policy instanceof DataPolicyMetadata)) {
+				continue;
+			}
+			Map<String, PermissionMetaData> permissions = ((DataPolicyMetadata)policy).getPermissionMap();
+			PermissionMetaData pmd = permissions.get(column);
+			if (pmd != null && pmd.getMask() != null) {
+				return true;
+			}
+			pmd = permissions.get(group);
+			if (pmd != null && pmd.getCondition() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
     /**
      * There are two cases
      *   if 
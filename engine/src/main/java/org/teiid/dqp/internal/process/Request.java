@@ -54,6 +54,10 @@ import org.teiid.logging.MessageLevel;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.analysis.PlanningStatistics;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedbackMetadataWrapper;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempCapabilitiesFinder;
 import org.teiid.query.metadata.TempMetadataAdapter;
@@ -67,12 +71,15 @@ import org.teiid.query.processor.QueryProcessor;
 import org.teiid.query.processor.xml.XMLPlan;
 import org.teiid.query.resolver.QueryResolver;
 import org.teiid.query.rewriter.QueryRewriter;
+import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.LanguageVisitor;
 import org.teiid.query.sql.lang.BatchedUpdateCommand;
 import org.teiid.query.sql.lang.Command;
 import org.teiid.query.sql.lang.Insert;
 import org.teiid.query.sql.lang.Limit;
 import org.teiid.query.sql.lang.QueryCommand;
 import org.teiid.query.sql.lang.StoredProcedure;
+import org.teiid.query.sql.navigator.PreOrderNavigator;
 import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.symbol.Reference;
@@ -115,6 +122,7 @@ public class Request {
     protected ProcessorPlan processPlan;
     // external results
     protected AnalysisRecord analysisRecord;
+    protected PlanningProfile planningProfile;
     protected CommandContext context;
     protected QueryProcessor processor;
     
@@ -191,6 +199,10 @@ public class Request {
              throw new TeiidComponentException(QueryPlugin.Event.TEIID30489, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30489, this.vdbName, this.vdbVersion));
         }
         
+        if (this.options != null && this.options.isCardinalityFeedback()) {
+        	metadata = new CardinalityFeedbackMetadataWrapper(metadata, CardinalityFeedback.getCardinalityFeedback(vdbMetadata));
+        }
+        
         TempMetadataAdapter tma = new TempMetadataAdapter(metadata, this.tempTableStore.getMetadataStore());
         tma.setSession(true);
         this.metadata = tma;
@@ -268,7 +280,7 @@ public class Request {
         validateWithVisitor(visitor, metadata, command);
     }
     
-    private Command parseCommand() throws QueryParserException {
+    protected Command parseCommand() throws QueryParserException {
     	if (requestMsg.getCommand() != null) {
     		return (Command)requestMsg.getCommand();
     	}
@@ -276,16 +288,29 @@ public class Request {
         ParseInfo parseInfo = createParseInfo(this.requestMsg);
         if (requestMsg.isPreparedStatement() || requestMsg.isCallableStatement() || !requestMsg.isBatchedUpdate()) {
         	String commandStr = commands[0];
-            return QueryParser.getQueryParser().parseCommand(commandStr, parseInfo);
+            return parseCommand(commandStr, parseInfo);
         } 
         List<Command> parsedCommands = new ArrayList<Command>(commands.length);
         for (int i = 0; i < commands.length; i++) {
         	String updateCommand = commands[i];
-            parsedCommands.add(QueryParser.getQueryParser().parseCommand(updateCommand, parseInfo));
+            parsedCommands.add(parseCommand(updateCommand, parseInfo));
         }
         return new BatchedUpdateCommand(parsedCommands);
     }
 
+    /**
+     * Parse the given string using the vdb scoped {@link ParsedCommandCache} if one is attached
+     */
+	protected Command parseCommand(String commandStr, ParseInfo parseInfo) throws QueryParserException {
+		if (workContext.getVDB() != null) {
+			ParsedCommandCache cache = workContext.getVDB().getAttachment(ParsedCommandCache.class);
+			if (cache != null) {
+				return cache.parseCommand(commandStr, parseInfo);
+			}
+		}
+		return QueryParser.getQueryParser().parseCommand(commandStr, parseInfo);
+	}
+
 	public static ParseInfo createParseInfo(RequestMessage requestMsg) {
 		ParseInfo parseInfo = new ParseInfo();
     	parseInfo.ansiQuotedIdentifiers = requestMsg.isAnsiQuotedIdentifiers();
@@ -360,18 +385,26 @@ public class Request {
      * @throws TeiidProcessingException 
      */
     protected void generatePlan(boolean addLimit) throws TeiidComponentException, TeiidProcessingException {
+        getAnalysisRecord();
+        PlanningProfile profile = analysisRecord.getPlanningProfile();
+        long start = System.nanoTime();
+
         Command command = parseCommand();
         
+        start = recordPhase(profile, "Parse", start, command); //$NON-NLS-1$
+        
         List<Reference> references = ReferenceCollectorVisitor.getReferences(command);
         
-        getAnalysisRecord();
-                
         resolveCommand(command);
 
         checkReferences(references);
         
+        start = recordPhase(profile, "Resolve", start, command); //$NON-NLS-1$
+        
         validateAccess(requestMsg.getCommands(), command, CommandType.USER);
         
+        start = recordPhase(profile, "Authorize", start); //$NON-NLS-1$
+        
     	this.userCommand = (Command) command.clone();
         
         Collection<GroupSymbol> groups = GroupCollectorVisitor.getGroups(command, true);
@@ -382,10 +415,16 @@ public class Request {
 			}
 		}
 
+        start = System.nanoTime();
+        
         validateQuery(command);
         
+        start = recordPhase(profile, "Validate", start); //$NON-NLS-1$
+        
         command = QueryRewriter.rewrite(command, metadata, context);
         
+        recordPhase(profile, "Rewrite", start, command); //$NON-NLS-1$
+        
         /*
          * Adds a row limit to a query if Statement.setMaxRows has been called and the command
          * doesn't already have a limit clause.
@@ -404,9 +443,18 @@ public class Request {
             analysisRecord.println("USER COMMAND:\n" + command);		 //$NON-NLS-1$
         }
         // Run the optimizer
+        start = System.nanoTime();
         try {
             processPlan = QueryOptimizer.optimizePlan(command, metadata, idGenerator, capabilitiesFinder, analysisRecord, context);
         } finally {
+        	recordPhase(profile, "Optimize", start); //$NON-NLS-1$
+        	if (analysisRecord.recordDebug() && profile != null) {
+        		analysisRecord.println("\n============================================================================"); //$NON-NLS-1$
+        		analysisRecord.println(profile.toString());
+        	}
+        	if (analysisRecord.recordPlanningProfile()) {
+        		LogManager.logDetail(LogConstants.CTX_QUERY_PLANNER, requestId, profile);
+        	}
             String debugLog = analysisRecord.getDebugLog();
             if(debugLog != null && debugLog.length() > 0) {
                 LogManager.log(requestMsg.getShowPlan()==ShowPlan.DEBUG?MessageLevel.INFO:MessageLevel.TRACE, LogConstants.CTX_QUERY_PLANNER, debugLog);               
@@ -421,9 +469,57 @@ public class Request {
 	private AnalysisRecord getAnalysisRecord() {
 		if (this.analysisRecord == null) {
 			this.analysisRecord = new AnalysisRecord(requestMsg.getShowPlan() != ShowPlan.OFF, requestMsg.getShowPlan() == ShowPlan.DEBUG);
+			if (this.planningProfile != null) {
+				this.analysisRecord.setPlanningProfile(this.planningProfile);
+			} else if (isRecordPlanningProfile()) {
+				this.analysisRecord.setRecordPlanningProfile(true);
+				this.planningProfile = this.analysisRecord.getPlanningProfile();
+			}
 		}
 		return this.analysisRecord;
 	}
+	
+	/**
+	 * @return true if the {@link PlanningProfile} should be recorded.  It is added to the query plan, if requested, 
+	 * and to the {@link PlanningStatistics} of the vdb.
+	 */
+	protected boolean isRecordPlanningProfile() {
+		return this.options != null && this.options.isPlanningProfile();
+	}
+	
+	/**
+	 * Add the time since start to the given phase
+	 * @return the current time
+	 */
+	static long recordPhase(PlanningProfile profile, String phase, long start) {
+		return recordPhase(profile, phase, start, null);
+	}
+	
+	/**
+	 * Add the time since start and the number of language objects in the command to the given phase
+	 * @return the current time
+	 */
+	static long recordPhase(PlanningProfile profile, String phase, long start, LanguageObject command) {
+		long now = System.nanoTime();
+		if (profile != null) {
+			profile.addPhaseTime(phase, now - start, command != null?countObjects(command):0);
+		}
+		return now;
+	}
+	
+	static int countObjects(LanguageObject obj) {
+		final int[] count = new int[] {1};
+		obj.acceptVisitor(new PreOrderNavigator(new LanguageVisitor() {}) {
+			@Override
+			protected void visitNode(LanguageObject node) {
+				if (node != null) {
+					count[0]++;
+				}
+				super.visitNode(node);
+			}
+		});
+		return count[0];
+	}
 
     public void processRequest() 
         throws TeiidComponentException, TeiidProcessingException {
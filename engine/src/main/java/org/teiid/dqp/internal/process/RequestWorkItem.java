@@ -41,6 +41,7 @@ import org.teiid.client.ResizingArrayList;
 import org.teiid.client.ResultsMessage;
 import org.teiid.client.lob.LobChunk;
 import org.teiid.client.metadata.ParameterInfo;
+import org.teiid.client.plan.PlanNode;
 import org.teiid.client.util.ResultsReceiver;
 import org.teiid.client.xa.XATransactionException;
 import org.teiid.common.buffer.BlockedException;
@@ -70,6 +71,8 @@ import org.teiid.logging.MessageLevel;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.analysis.PlanningStatistics;
 import org.teiid.query.parser.ParseInfo;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.BatchCollector;
@@ -139,7 +142,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
 				}
 			}
 			if (nextWork != null) {
-				dqpCore.addWork(nextWork.work);
+				dqpCore.addSourceWork(nextWork.work);
 			}    		
 		}
 	}
@@ -173,6 +176,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
     private BatchCollector collector;
     private Command originalCommand;
     private AnalysisRecord analysisRecord;
+    private PlanningProfile planningProfile;
     private TransactionContext transactionContext;
     TupleBuffer resultsBuffer;
     private boolean returnsUpdateCount;
@@ -423,7 +427,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
 			synchronized (queue) {
 				while (!queue.isEmpty() && totalThreads < dqpCore.getUserRequestSourceConcurrency()) {
 					WorkWrapper<?> w = queue.removeFirst();
-	        		dqpCore.addWork(w.work);
+	        		dqpCore.addSourceWork(w.work);
 	        		w.submitted = true;
 	        		totalThreads++;
 	        	}
@@ -600,6 +604,10 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
 			request.processRequest();
 		} finally {
 			analysisRecord = request.analysisRecord;
+			planningProfile = request.planningProfile;
+		}
+		if (planningProfile != null && this.dqpWorkContext.getVDB() != null) {
+			PlanningStatistics.getPlanningStatistics(this.dqpWorkContext.getVDB()).add(planningProfile);
 		}
 		originalCommand = request.userCommand;
         if (cachable && (requestMsg.useResultSetCache() || originalCommand.getCacheHint() != null) && rsCache != null && originalCommand.areResultsCachable()) {
@@ -936,7 +944,11 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
 		if(analysisRecord != null) {
         	if (requestMsg.getShowPlan() != ShowPlan.OFF) {
         		if (processor != null) {
-            		response.setPlanDescription(processor.getProcessorPlan().getDescriptionProperties());
+        			PlanNode planDescription = processor.getProcessorPlan().getDescriptionProperties();
+        			if (planningProfile != null) {
+        				planDescription.addProperty(AnalysisRecord.PROP_PLANNING_PROFILE, planningProfile.getDescriptionProperties());
+        			}
+            		response.setPlanDescription(planDescription);
         		}
         		if (analysisRecord.getAnnotations() != null && !analysisRecord.getAnnotations().isEmpty()) {
 		            response.setAnnotations(analysisRecord.getAnnotations());
@@ -1190,7 +1202,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
     	work.addCompletionListener(listener);
     	synchronized (queue) {
         	if (totalThreads < dqpCore.getUserRequestSourceConcurrency()) {
-        		dqpCore.addWork(work);
+        		dqpCore.addSourceWork(work);
         		totalThreads++;
         		wl.submitted = true;
         	} else {
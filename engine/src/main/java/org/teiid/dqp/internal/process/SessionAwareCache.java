@@ -101,8 +101,15 @@ public class SessionAwareCache<T> {
 			id.setUserName(id.originalUserName);
 			result = distributedCache.get(id);
 			
+			if (result == null && id.originalDataRoles != null) {
+				id.setUserName(null);
+				id.setDataRoles(id.originalDataRoles);
+				result = distributedCache.get(id);
+			}
+			
 			if (result == null) {
 				id.setUserName(null);
+				id.setDataRoles(null);
 				result = distributedCache.get(id);
 			}
 			
@@ -163,12 +170,7 @@ public class SessionAwareCache<T> {
 		} 
 		id.setSessionId(null);
 		
-		if (determinismLevel == Determinism.USER_DETERMINISTIC) {
-			id.setUserName(id.originalUserName);
-		}
-		else {
-			id.setUserName(null);
-		}
+		setUserScope(id, determinismLevel);
 		
 		LogManager.logTrace(LogConstants.CTX_DQP, "Removing from global/distributed cache", id); //$NON-NLS-1$
 		return this.distributedCache.remove(id);
@@ -187,12 +189,7 @@ public class SessionAwareCache<T> {
 			
 			id.setSessionId(null);
 			
-			if (determinismLevel == Determinism.USER_DETERMINISTIC) {
-				id.setUserName(id.originalUserName);
-			}
-			else {
-				id.setUserName(null);
-			}
+			setUserScope(id, determinismLevel);
 			
 			if (t instanceof Cachable) {
 				Cachable c = (Cachable)t;
@@ -206,6 +203,21 @@ public class SessionAwareCache<T> {
 		}
 	}
 	
+	/**
+	 * Scope a non-session entry to the data roles, the user, or neither 
+	 */
+	private void setUserScope(CacheID id, Determinism determinismLevel) {
+		id.setUserName(null);
+		id.setDataRoles(null);
+		if (determinismLevel == Determinism.USER_DETERMINISTIC) {
+			if (id.dataRoleScoped && id.originalDataRoles != null) {
+				id.setDataRoles(id.originalDataRoles);
+			} else {
+				id.setUserName(id.originalUserName);
+			}
+		}
+	}
+	
 	/**
 	 * Clear all the cached plans for all the clientConns
 	 * @param clientConn ClientConnection
@@ -243,6 +255,9 @@ public class SessionAwareCache<T> {
 		private List<Serializable> parameters;
 		private String userName;
 		private String originalUserName;
+		private String dataRoles;
+		private String originalDataRoles;
+		private boolean dataRoleScoped;
 		
 		public CacheID(DQPWorkContext context, ParseInfo pi, String sql){
 			this(pi, sql, context.getVdbName(), context.getVdbVersion(), context.getSessionId(), context.getUserName());
@@ -296,6 +311,29 @@ public class SessionAwareCache<T> {
 			this.userName = name;
 		}
 		
+		public String getDataRoles() {
+			return dataRoles;
+		}
+		
+		void setDataRoles(String dataRoles) {
+			this.dataRoles = dataRoles;
+		}
+		
+		/**
+		 * Set the key of the allowed data roles, which allows for entries to be shared 
+		 * by users with the same data roles
+		 */
+		public void setOriginalDataRoles(String originalDataRoles) {
+			this.originalDataRoles = originalDataRoles;
+		}
+		
+		/**
+		 * Set to true if a user deterministic entry depends only upon the data roles
+		 */
+		public void setDataRoleScoped(boolean dataRoleScoped) {
+			this.dataRoleScoped = dataRoleScoped;
+		}
+		
 		public VDBKey getVDBKey() {
 			return vdbInfo;
 		}
@@ -310,12 +348,13 @@ public class SessionAwareCache<T> {
         	CacheID that = (CacheID)obj;
             return ansiIdentifiers == that.ansiIdentifiers && this.vdbInfo.equals(that.vdbInfo) && this.sql.equals(that.sql) 
             	&& EquivalenceUtil.areEqual(this.userName, that.userName)            	
+            	&& EquivalenceUtil.areEqual(this.dataRoles, that.dataRoles)
             	&& EquivalenceUtil.areEqual(this.sessionId, that.sessionId)
             	&& EquivalenceUtil.areEqual(this.parameters, that.parameters);
 		}
 		
 	    public int hashCode() {
-	        return HashCodeUtil.hashCode(0, vdbInfo, sql, this.userName, sessionId, parameters);
+	        return HashCodeUtil.hashCode(0, vdbInfo, sql, this.userName, this.dataRoles, sessionId, parameters);
 	    }
 	    
 	    @Override
@@ -337,6 +376,8 @@ public class SessionAwareCache<T> {
     	ArrayList<String> caches = new ArrayList<String>();
     	caches.add(Admin.Cache.PREPARED_PLAN_CACHE.toString());
     	caches.add(Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE.toString());
+    	caches.add(Admin.Cache.PARSED_COMMAND_CACHE.toString());
+    	caches.add(Admin.Cache.AUTHENTICATION_CACHE.toString());
     	return caches;
     }    
     
@@ -23,12 +23,15 @@
 package org.teiid.dqp.internal.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
@@ -38,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.resource.spi.work.Work;
 
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.adminapi.impl.WorkerPoolStatisticsMetadata;
 import org.teiid.core.util.NamedThreadFactory;
 import org.teiid.logging.LogConstants;
@@ -61,6 +65,15 @@ import org.teiid.query.QueryPlugin;
  * backed {@link ThreadPoolExecutor}.
  * <br/>
  * There is also only a single master scheduling thread with actual executions deferred.
+ * <br/>
+ * Queued work is fairly shared between tenants, which are the users of each vdb.  Work is taken
+ * first by priority, then from the tenant that has used the least thread time relative to its weight, 
+ * then in the order queued.  So a tenant with long running work cannot starve the others and
+ * no queued work is starved by newer work of the same tenant.  The weight is taken from the 
+ * {@link #FAIR_SHARE_WEIGHT} vdb property.
+ * <br/>
+ * A limit on the queued work per tenant may be set, which is checked by {@link #isQueueFull(DQPWorkContext)}
+ * prior to accepting new requests.  Work for existing requests is never rejected.
  * 
  * TODO: there is a race condition between retiring threads and adding work, which may create extra threads.  
  * That is a flaw with attempting to reuse, rather than create threads.  
@@ -69,6 +82,9 @@ import org.teiid.query.QueryPlugin;
  */
 public class ThreadReuseExecutor implements TeiidExecutor {
 	
+	public static final String FAIR_SHARE_WEIGHT = "fair-share-weight"; //$NON-NLS-1$
+	private static final int MAX_IDLE_TENANTS = 64;
+	
 	public interface PrioritizedRunnable extends Runnable {
 		
 		final static int NO_WAIT_PRIORITY = 0;
@@ -130,6 +146,54 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 		
 	}
 	
+	/**
+	 * The scheduling state of a tenant
+	 */
+	private static class Tenant {
+		Object key;
+		double weight = 1;
+		/**
+		 * the thread time in nanos used relative to the weight, which is kept no less than the 
+		 * executor virtual time when work is queued
+		 */
+		double virtualTime;
+		PriorityQueue<QueuedWork> queue = new PriorityQueue<QueuedWork>(11, QUEUED_WORK_COMPARATOR);
+		int active;
+	}
+	
+	private static class QueuedWork {
+		PrioritizedRunnable runnable;
+		Tenant tenant;
+		long sequence;
+		long queueTime = System.nanoTime();
+	}
+	
+	private static final Comparator<QueuedWork> QUEUED_WORK_COMPARATOR = new Comparator<QueuedWork>() {
+		@Override
+		public int compare(QueuedWork qw1, QueuedWork qw2) {
+			return compareWork(qw1, qw2);
+		}
+	};
+	
+	/**
+	 * Order by priority, then creation time, then queue order
+	 */
+	private static int compareWork(QueuedWork qw1, QueuedWork qw2) {
+		int result = qw1.runnable.getPriority() - qw2.runnable.getPriority();
+		if (result == 0) {
+			result = compareCreation(qw1, qw2);
+		}
+		return result;
+	}
+
+	private static int compareCreation(QueuedWork qw1, QueuedWork qw2) {
+		int result = Long.signum(qw1.runnable.getCreationTime() - qw2.runnable.getCreationTime());
+		if (result == 0) {
+			result = Long.signum(qw1.sequence - qw2.sequence);
+		}
+		return result;
+	}
+	
 	private final ThreadPoolExecutor tpe; 
 	
 	private volatile int activeCount;
@@ -144,17 +208,15 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 	
 	private String poolName;
 	private int maximumPoolSize;
-	private Queue<PrioritizedRunnable> queue = new PriorityQueue<PrioritizedRunnable>(11, new Comparator<PrioritizedRunnable>() {
-		@Override
-		public int compare(PrioritizedRunnable pr1, PrioritizedRunnable pr2) {
-			int result = pr1.getPriority() - pr2.getPriority();
-			if (result == 0) {
-				return Long.signum(pr1.getCreationTime() - pr2.getCreationTime());
-			}
-			return result;
-		}
-	});
+	private Map<Object, Tenant> tenants = new HashMap<Object, Tenant>();
+	private int queueSize;
+	private long queueSequence;
+	private double virtualTime;
+	private volatile int maxQueuedPerTenant;
 	private long warnWaitTime = 500;
+	private long totalQueueWaitTime;
+	private long maxQueueWaitTime;
+	private int dequeuedCount;
 	
 	public ThreadReuseExecutor(String name, int maximumPoolSize) {
 		this.maximumPoolSize = maximumPoolSize;
@@ -179,17 +241,27 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 
 	private void executeDirect(final PrioritizedRunnable command) {
 		boolean atMaxThreads = false;
+		final Tenant tenant;
 		synchronized (poolLock) {
 			checkForTermination();
 			submittedCount++;
+			tenant = getTenant(command.getDqpWorkContext());
 			atMaxThreads = activeCount == maximumPoolSize;
 			if (atMaxThreads) {
-				queue.add(command);
-				int queueSize = queue.size();
+				QueuedWork work = new QueuedWork();
+				work.runnable = command;
+				work.tenant = tenant;
+				work.sequence = queueSequence++;
+				if (tenant.queue.isEmpty() && tenant.active == 0) {
+					tenant.virtualTime = Math.max(tenant.virtualTime, virtualTime);
+				}
+				tenant.queue.add(work);
+				queueSize++;
 				if (queueSize > highestQueueSize) {
 					highestQueueSize = queueSize;
 				}
 			} else {
+				tenant.active++;
 				activeCount++;
 				highestActiveCount = Math.max(activeCount, highestActiveCount);
 			}
@@ -208,17 +280,34 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 					LogManager.logTrace(LogConstants.CTX_RUNTIME, "Beginning work with virtual worker", t.getName()); //$NON-NLS-1$ 
 				}
 				PrioritizedRunnable r = command;
+				Tenant current = tenant;
 				while (r != null) {
 					boolean success = false;
+					long start = System.nanoTime();
+					long waitTime = 0;
 					try {
 						r.run();
 						success = true;
 					} finally {
 						synchronized (poolLock) {
+							long end = System.nanoTime();
+							current.virtualTime += (end - start) / current.weight;
+							current.active--;
+							releaseTenant(current);
 							if (success) {
 								completedCount++;
 								//we only poll if successful, to let the exception handling happen immediately otherwise
-								r = queue.poll();
+								QueuedWork work = pollQueue(end);
+								r = null;
+								if (work != null) {
+									r = work.runnable;
+									current = work.tenant;
+									current.active++;
+									waitTime = TimeUnit.NANOSECONDS.toMillis(end - work.queueTime);
+									totalQueueWaitTime += waitTime;
+									maxQueueWaitTime = Math.max(maxQueueWaitTime, waitTime);
+									dequeuedCount++;
+								}
 							}
 							if (!success || r == null) {
 								threads.remove(t);
@@ -230,7 +319,7 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 						}
 						if (success) {
 							long warnTime = warnWaitTime;
-							if (r != null && System.currentTimeMillis() - r.getCreationTime() > warnTime) {
+							if (r != null && waitTime > warnTime) {
 								LogManager.logWarning(LogConstants.CTX_RUNTIME, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30009, maximumPoolSize, poolName, highestQueueSize, warnTime));
 								warnWaitTime*=2; //we don't really care if this is synchronized
 							}
@@ -242,6 +331,139 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 		});
 	}
 
+	/**
+	 * Get the tenant for the work context, must be called holding the pool lock
+	 */
+	private Tenant getTenant(DQPWorkContext workContext) {
+		Object key = getTenantKey(workContext);
+		Tenant tenant = tenants.get(key);
+		if (tenant == null) {
+			if (tenants.size() >= MAX_IDLE_TENANTS) {
+				//remove idle tenants that no longer have a thread time debt
+				for (Iterator<Tenant> iter = tenants.values().iterator(); iter.hasNext();) {
+					Tenant idle = iter.next();
+					if (idle.active == 0 && idle.queue.isEmpty() && idle.virtualTime <= virtualTime) {
+						iter.remove();
+					}
+				}
+			}
+			tenant = new Tenant();
+			tenant.key = key;
+			VDBMetaData vdb = workContext == null?null:workContext.getVDB();
+			if (vdb != null) {
+				String weight = vdb.getPropertyValue(FAIR_SHARE_WEIGHT);
+				if (weight != null) {
+					try {
+						tenant.weight = Math.max(Double.parseDouble(weight), Double.MIN_VALUE);
+					} catch (NumberFormatException e) {
+						LogManager.logDetail(LogConstants.CTX_RUNTIME, "Invalid", FAIR_SHARE_WEIGHT, weight, "for", vdb.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			}
+			tenants.put(key, tenant);
+		}
+		return tenant;
+	}
+
+	private static Object getTenantKey(DQPWorkContext workContext) {
+		if (workContext == null || workContext.getVDB() == null) {
+			return null;
+		}
+		return Arrays.asList(workContext.getVdbName(), workContext.getVdbVersion(), workContext.getUserName());
+	}
+	
+	/**
+	 * Remove the tenant if it has no work, must be called holding the pool lock
+	 */
+	private void releaseTenant(Tenant tenant) {
+		if (tenant.active == 0 && tenant.queue.isEmpty() && tenant.virtualTime <= virtualTime) {
+			tenants.remove(tenant.key);
+		}
+	}
+	
+	/**
+	 * Take the next work by priority, then tenant virtual time less the time the work 
+	 * has waited, then creation and queue order.  The wait time ages the work of a tenant with 
+	 * a thread time debt so that it cannot be starved indefinitely.
+	 * Must be called holding the pool lock.
+	 */
+	private QueuedWork pollQueue(long now) {
+		if (queueSize == 0) {
+			return null;
+		}
+		Tenant next = null;
+		QueuedWork nextWork = null;
+		for (Tenant tenant : tenants.values()) {
+			QueuedWork work = tenant.queue.peek();
+			if (work == null) {
+				continue;
+			}
+			if (nextWork == null) {
+				next = tenant;
+				nextWork = work;
+				continue;
+			}
+			int result = work.runnable.getPriority() - nextWork.runnable.getPriority();
+			if (result == 0) {
+				result = Double.compare(tenant.virtualTime - (now - work.queueTime), next.virtualTime - (now - nextWork.queueTime));
+				if (result == 0) {
+					result = compareCreation(work, nextWork);
+				}
+			}
+			if (result < 0) {
+				next = tenant;
+				nextWork = work;
+			}
+		}
+		next.queue.poll();
+		queueSize--;
+		virtualTime = Math.max(virtualTime, next.virtualTime);
+		return nextWork;
+	}
+	
+	/**
+	 * Return true if the tenant of the work context has reached the queued work limit.  
+	 * Used to reject new requests rather than queue more work.
+	 */
+	public boolean isQueueFull(DQPWorkContext workContext) {
+		if (maxQueuedPerTenant <= 0) {
+			return false;
+		}
+		synchronized (poolLock) {
+			Tenant tenant = tenants.get(getTenantKey(workContext));
+			return tenant != null && tenant.queue.size() >= maxQueuedPerTenant;
+		}
+	}
+	
+	public void setMaxQueuedPerTenant(int maxQueuedPerTenant) {
+		this.maxQueuedPerTenant = maxQueuedPerTenant;
+	}
+	
+	public int getMaxQueuedPerTenant() {
+		return maxQueuedPerTenant;
+	}
+	
+	/**
+	 * @return the average time in milliseconds that work has waited in the queue
+	 */
+	public double getAverageQueueWaitTime() {
+		synchronized (poolLock) {
+			if (dequeuedCount == 0) {
+				return 0;
+			}
+			return (double)totalQueueWaitTime / dequeuedCount;
+		}
+	}
+	
+	/**
+	 * @return the maximum time in milliseconds that work has waited in the queue
+	 */
+	public long getMaxQueueWaitTime() {
+		synchronized (poolLock) {
+			return maxQueueWaitTime;
+		}
+	}
+
 	private void checkForTermination() {
 		if (terminated) {
 			throw new RejectedExecutionException();
@@ -279,13 +501,15 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 	public WorkerPoolStatisticsMetadata getStats() {
 		WorkerPoolStatisticsMetadata stats = new WorkerPoolStatisticsMetadata();
 		stats.setName(poolName);
-		stats.setQueued(queue.size());
+		stats.setQueued(queueSize);
 		stats.setHighestQueued(highestQueueSize);
 		stats.setActiveThreads(getActiveCount());
 		stats.setMaxThreads(this.maximumPoolSize);
 		stats.setTotalSubmitted(getSubmittedCount());
 		stats.setHighestActiveThreads(getLargestPoolSize());
 		stats.setTotalCompleted(getCompletedCount());
+		stats.setAverageQueueWaitTime(getAverageQueueWaitTime());
+		stats.setMaxQueueWaitTime(getMaxQueueWaitTime());
 		return stats;
 	}
 	
@@ -303,8 +527,14 @@ public class ThreadReuseExecutor implements TeiidExecutor {
 					t.interrupt();
 				}
 			}
-			List<Runnable> result = new ArrayList<Runnable>(queue);
-			queue.clear();
+			List<Runnable> result = new ArrayList<Runnable>(queueSize);
+			for (Tenant tenant : tenants.values()) {
+				for (QueuedWork work : tenant.queue) {
+					result.add(work.runnable);
+				}
+				tenant.queue.clear();
+			}
+			queueSize = 0;
 			result.addAll(this.tpe.shutdownNow());
 			return result;
 		}
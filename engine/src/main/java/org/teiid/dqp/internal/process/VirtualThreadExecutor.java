@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.dqp.internal.process;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.teiid.adminapi.impl.WorkerPoolStatisticsMetadata;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+
+/**
+ * A {@link TeiidExecutor} that runs each task on a new virtual thread.
+ * <br/>
+ * Intended for source work, which may block on I/O, so that the processing pool may stay 
+ * sized to the available cpus.  Virtual threads are obtained reflectively so that 
+ * this class may be compiled against and loaded on older JREs - use {@link #newInstance(String)}
+ * to check availability.
+ * <br/>
+ * Work submitted to this executor should not hold monitors while blocking, as that will pin
+ * the carrier thread.
+ */
+public class VirtualThreadExecutor implements TeiidExecutor {
+	
+	private ExecutorService executor;
+	private String poolName;
+	
+	private Object lock = new Object();
+	private int activeCount;
+	private int highestActiveCount;
+	private long submittedCount;
+	private long completedCount;
+	
+	VirtualThreadExecutor(String name, ExecutorService executor) {
+		this.poolName = name;
+		this.executor = executor;
+	}
+	
+	/**
+	 * Create a virtual thread executor
+	 * @param name
+	 * @return the executor or null if virtual threads are not supported by the running JRE
+	 */
+	public static VirtualThreadExecutor newInstance(String name) {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual"); //$NON-NLS-1$
+			Object builder = ofVirtual.invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "_", 0L); //$NON-NLS-1$ //$NON-NLS-2$
+			ThreadFactory factory = (ThreadFactory)builderClass.getMethod("factory").invoke(builder); //$NON-NLS-1$
+			ExecutorService executor = (ExecutorService)Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory); //$NON-NLS-1$
+			return new VirtualThreadExecutor(name, executor);
+		} catch (Exception e) {
+			LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Virtual threads are not available"); //$NON-NLS-1$
+			return null;
+		}
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		final ThreadReuseExecutor.RunnableWrapper wrapper = new ThreadReuseExecutor.RunnableWrapper(command);
+		synchronized (lock) {
+			submittedCount++;
+			activeCount++;
+			highestActiveCount = Math.max(activeCount, highestActiveCount);
+		}
+		boolean success = false;
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						wrapper.run();
+					} finally {
+						synchronized (lock) {
+							activeCount--;
+							completedCount++;
+						}
+					}
+				}
+			});
+			success = true;
+		} finally {
+			if (!success) {
+				synchronized (lock) {
+					activeCount--;
+				}
+			}
+		}
+	}
+	
+	@Override
+	public WorkerPoolStatisticsMetadata getStats() {
+		WorkerPoolStatisticsMetadata stats = new WorkerPoolStatisticsMetadata();
+		stats.setName(poolName);
+		synchronized (lock) {
+			stats.setActiveThreads(activeCount);
+			stats.setHighestActiveThreads(highestActiveCount);
+			stats.setMaxThreads(Integer.MAX_VALUE);
+			stats.setTotalSubmitted(submittedCount);
+			stats.setTotalCompleted(completedCount);
+		}
+		return stats;
+	}
+	
+	@Override
+	public List<Runnable> shutdownNow() {
+		return executor.shutdownNow();
+	}
+	
+	public boolean isShutdown() {
+		return executor.isShutdown();
+	}
+	
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+}
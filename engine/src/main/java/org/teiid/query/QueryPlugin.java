@@ -561,6 +561,14 @@ public class QueryPlugin { // extends Plugin {
     	TEIID31146,
     	TEIID31147, 
     	TEIID31148, 
-    	TEIID31149
+    	TEIID31149,
+    	TEIID31150,
+    	TEIID31151,
+    	TEIID31152,
+    	TEIID31153,
+    	TEIID31154,
+    	TEIID31155,
+    	TEIID31156,
+    	TEIID31157
 	}
 }
@@ -82,4 +82,17 @@ public interface ReplicatedObject<K extends Serializable> {
 	 */
 	boolean hasState(K state_id);
 	
+	/**
+	 * Return the ids of the partial states that were described, but not sent, by 
+	 * the last full state.  They will be pulled individually.
+	 * @return the state ids
+	 */
+	Collection<K> getPendingStates();
+	
+	/**
+	 * Called when a pending partial state could not be pulled
+	 * @param state_id
+	 */
+	void pendingStateFailed(K state_id);
+	
 }
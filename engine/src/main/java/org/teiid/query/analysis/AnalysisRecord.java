@@ -70,6 +70,7 @@ public class AnalysisRecord {
     public static final String PROP_MODEL_NAME = "Model Name"; //$NON-NLS-1$
     public static final String PROP_SHARING_ID = "Sharing ID"; //$NON-NLS-1$
     public static final String PROP_DEPENDENT = "Dependent Join"; //$NON-NLS-1$
+    public static final String PROP_DEPENDENT_DECISIONS = "Dependent Join Decisions"; //$NON-NLS-1$
     public static final String PROP_JOIN_STRATEGY = "Join Strategy"; //$NON-NLS-1$
     public static final String PROP_JOIN_TYPE = "Join Type"; //$NON-NLS-1$
     public static final String PROP_JOIN_CRITERIA = "Join Criteria"; //$NON-NLS-1$
@@ -83,6 +84,7 @@ public class AnalysisRecord {
     public static final String PROP_ROW_OFFSET = "Row Offset";  //$NON-NLS-1$
     public static final String PROP_ROW_LIMIT = "Row Limit";  //$NON-NLS-1$
     public static final String PROP_WITH = "With"; //$NON-NLS-1$
+    public static final String PROP_PLANNING_PROFILE = "Planning Profile"; //$NON-NLS-1$
     
     // XML
     public static final String PROP_MESSAGE = "Message"; //$NON-NLS-1$
@@ -120,6 +122,9 @@ public class AnalysisRecord {
     private StringWriter stringWriter;  // inner
     private PrintWriter debugWriter;    // public
     
+    private PlanningProfile planningProfile;
+    private boolean recordPlanningProfile;
+    
     public AnalysisRecord(boolean recordQueryPlan, boolean recordDebug) {
     	this.recordQueryPlan = recordQueryPlan | LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.DETAIL);
         this.recordDebug = recordDebug | LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.TRACE);
@@ -131,6 +136,7 @@ public class AnalysisRecord {
         if(this.recordDebug) {
             this.stringWriter = new StringWriter();
             this.debugWriter = new PrintWriter(this.stringWriter); 
+            this.planningProfile = new PlanningProfile();
         }
     }
     
@@ -210,6 +216,38 @@ public class AnalysisRecord {
         return null;
     }
     
+    /**
+     * Get the timings for planning.  Only recorded if {@link #recordDebug} or {@link #recordPlanningProfile} is true.
+     * @return the profile or null if not recording
+     */
+    public PlanningProfile getPlanningProfile() {
+		return planningProfile;
+	}
+    
+    /**
+     * Determine whether the planning profile, including plan node counts, 
+     * should be recorded and added to the query plan
+     * @return True to record
+     */
+    public boolean recordPlanningProfile() {
+		return recordPlanningProfile;
+	}
+    
+    /**
+     * Record to the given profile, which may already hold timings from prior phases of the request
+     */
+    public void setPlanningProfile(PlanningProfile planningProfile) {
+		this.planningProfile = planningProfile;
+		this.recordPlanningProfile = true;
+	}
+    
+    public void setRecordPlanningProfile(boolean recordPlanningProfile) {
+		this.recordPlanningProfile = recordPlanningProfile;
+		if (recordPlanningProfile && this.planningProfile == null) {
+			this.planningProfile = new PlanningProfile();
+		}
+	}
+    
     public void stopDebugLog() {
     	this.stringWriter = null;
     	this.recordDebug = false;
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.teiid.client.plan.PlanNode;
+
+/**
+ * Accumulates the time spent in each planning phase and optimizer rule.  
+ * It is created for debug planning or when {@link AnalysisRecord#setRecordPlanningProfile(boolean)} is set.
+ * <br>
+ * Rules may be executed re-entrantly, for example when a rule plans a subquery, so 
+ * the recorded rule times are exclusive of any nested rule execution.  Phase times are
+ * inclusive, so the Optimize phase contains the rule times.  Not thread-safe.
+ */
+public class PlanningProfile {
+	
+	public static class Timing {
+		private String name;
+		private int count;
+		private long time;
+		private int planNodes;
+		private int objects;
+		
+		public String getName() {
+			return name;
+		}
+		
+		public int getCount() {
+			return count;
+		}
+		
+		/**
+		 * @return the exclusive time in nanoseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+		
+		/**
+		 * @return the maximum number of plan nodes after the rule executed, or 0 if not recorded
+		 */
+		public int getPlanNodes() {
+			return planNodes;
+		}
+		
+		/**
+		 * @return the maximum number of language objects in the command after the phase, or 0 if not recorded
+		 */
+		public int getObjects() {
+			return objects;
+		}
+		
+		@Override
+		public String toString() {
+			String result = name + " count=" + count + " time=" + time/1000 + "us"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (planNodes > 0) {
+				result += " nodes=" + planNodes; //$NON-NLS-1$
+			}
+			if (objects > 0) {
+				result += " objects=" + objects; //$NON-NLS-1$
+			}
+			return result;
+		}
+	}
+	
+	private Map<String, Timing> phaseTimings = new LinkedHashMap<String, Timing>();
+	private Map<String, Timing> ruleTimings = new LinkedHashMap<String, Timing>();
+	private List<long[]> active = new ArrayList<long[]>();
+	private long nestedTime;
+	
+	/**
+	 * Mark the start of a rule execution.  Must be followed by a call to {@link #endRule(String)}
+	 */
+	public void startRule() {
+		active.add(new long[] {System.nanoTime(), nestedTime});
+	}
+	
+	/**
+	 * Mark the end of the most recently started rule execution
+	 */
+	public void endRule(String name) {
+		endRule(name, 0);
+	}
+	
+	/**
+	 * Mark the end of the most recently started rule execution
+	 * @param planNodes the number of plan nodes after the rule executed
+	 */
+	public void endRule(String name, int planNodes) {
+		long[] start = active.remove(active.size() - 1);
+		long elapsed = System.nanoTime() - start[0];
+		long exclusive = elapsed - (nestedTime - start[1]);
+		nestedTime += exclusive;
+		Timing timing = getTiming(ruleTimings, name);
+		timing.count++;
+		timing.time += exclusive;
+		timing.planNodes = Math.max(planNodes, timing.planNodes);
+	}
+	
+	/**
+	 * Add the inclusive time for a planning phase
+	 * @param name
+	 * @param time in nanoseconds
+	 */
+	public void addPhaseTime(String name, long time) {
+		addPhaseTime(name, time, 0);
+	}
+	
+	/**
+	 * Add the inclusive time for a planning phase
+	 * @param name
+	 * @param time in nanoseconds
+	 * @param objects the number of language objects in the command after the phase
+	 */
+	public void addPhaseTime(String name, long time, int objects) {
+		Timing timing = getTiming(phaseTimings, name);
+		timing.count++;
+		timing.time += time;
+		timing.objects = Math.max(objects, timing.objects);
+	}
+
+	private static Timing getTiming(Map<String, Timing> timings, String name) {
+		Timing timing = timings.get(name);
+		if (timing == null) {
+			timing = new Timing();
+			timing.name = name;
+			timings.put(name, timing);
+		}
+		return timing;
+	}
+	
+	/**
+	 * @return the phase timings in the order first recorded
+	 */
+	public List<Timing> getPhaseTimings() {
+		return new ArrayList<Timing>(phaseTimings.values());
+	}
+	
+	/**
+	 * @return the timings ordered by descending time
+	 */
+	public List<Timing> getRuleTimings() {
+		List<Timing> result = new ArrayList<Timing>(ruleTimings.values());
+		Collections.sort(result, new Comparator<Timing>() {
+			@Override
+			public int compare(Timing o1, Timing o2) {
+				if (o1.time == o2.time) {
+					return 0;
+				}
+				return o1.time > o2.time?-1:1;
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * @return the total time in nanoseconds spent executing rules
+	 */
+	public long getTotalRuleTime() {
+		return nestedTime;
+	}
+	
+	public PlanNode getDescriptionProperties() {
+		PlanNode node = new PlanNode("Planning Profile"); //$NON-NLS-1$
+		node.addProperty("Phases", toStrings(getPhaseTimings())); //$NON-NLS-1$
+		node.addProperty("Rules", toStrings(getRuleTimings())); //$NON-NLS-1$
+		return node;
+	}
+	
+	private static List<String> toStrings(List<Timing> timings) {
+		List<String> result = new ArrayList<String>(timings.size());
+		for (Timing timing : timings) {
+			result.add(timing.toString());
+		}
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		if (!phaseTimings.isEmpty()) {
+			sb.append("PHASE TIMINGS"); //$NON-NLS-1$
+			for (Timing timing : getPhaseTimings()) {
+				sb.append("\n  ").append(timing); //$NON-NLS-1$
+			}
+			sb.append("\n"); //$NON-NLS-1$
+		}
+		sb.append("RULE TIMINGS total=").append(nestedTime/1000).append("us"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (Timing timing : getRuleTimings()) {
+			sb.append("\n  ").append(timing); //$NON-NLS-1$
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (C) 2008 Red Hat, Inc.
+ * Licensed to Red Hat, Inc. under one or more contributor 
+ * license agreements.  See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.analysis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.query.analysis.PlanningProfile.Timing;
+
+/**
+ * Aggregates the {@link PlanningProfile}s recorded for the requests against a vdb, 
+ * which are shown by the SYSADMIN.PlanningProfiles table.
+ * <br>
+ * A statement using a cached prepared plan only records the prepared plan phases, so
+ * the optimizer rules are only aggregated for the statements that were actually planned. 
+ */
+public class PlanningStatistics {
+	
+	public static final String PHASE = "Phase"; //$NON-NLS-1$
+	public static final String RULE = "Rule"; //$NON-NLS-1$
+	
+	public static class Aggregate {
+		private String type;
+		private String name;
+		private int plans;
+		private int executions;
+		private long totalTime;
+		private long maxTime;
+		
+		Aggregate(String type, String name) {
+			this.type = type;
+			this.name = name;
+		}
+		
+		/**
+		 * @return {@link PlanningStatistics#PHASE} or {@link PlanningStatistics#RULE} 
+		 */
+		public String getType() {
+			return type;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return the number of profiles with this phase or rule
+		 */
+		public int getPlans() {
+			return plans;
+		}
+		
+		/**
+		 * @return the total number of executions of this phase or rule
+		 */
+		public int getExecutions() {
+			return executions;
+		}
+		
+		/**
+		 * @return the total time in nanoseconds
+		 */
+		public long getTotalTime() {
+			return totalTime;
+		}
+		
+		/**
+		 * @return the maximum time in nanoseconds recorded by a single profile
+		 */
+		public long getMaxTime() {
+			return maxTime;
+		}
+		
+		void add(Timing timing) {
+			plans++;
+			executions += timing.getCount();
+			totalTime += timing.getTime();
+			maxTime = Math.max(maxTime, timing.getTime());
+		}
+		
+		Aggregate copy() {
+			Aggregate result = new Aggregate(type, name);
+			result.plans = plans;
+			result.executions = executions;
+			result.totalTime = totalTime;
+			result.maxTime = maxTime;
+			return result;
+		}
+	}
+	
+	private Map<String, Aggregate> phases = new LinkedHashMap<String, Aggregate>();
+	private Map<String, Aggregate> rules = new LinkedHashMap<String, Aggregate>();
+	
+	/**
+	 * Get the {@link PlanningStatistics} for the vdb, creating it if needed
+	 */
+	public static PlanningStatistics getPlanningStatistics(VDBMetaData vdb) {
+		synchronized (vdb) {
+			PlanningStatistics stats = vdb.getAttachment(PlanningStatistics.class);
+			if (stats == null) {
+				stats = new PlanningStatistics();
+				vdb.addAttchment(PlanningStatistics.class, stats);
+			}
+			return stats;
+		}
+	}
+	
+	public synchronized void add(PlanningProfile profile) {
+		add(phases, PHASE, profile.getPhaseTimings());
+		add(rules, RULE, profile.getRuleTimings());
+	}
+	
+	private static void add(Map<String, Aggregate> aggregates, String type, List<Timing> timings) {
+		for (Timing timing : timings) {
+			Aggregate aggregate = aggregates.get(timing.getName());
+			if (aggregate == null) {
+				aggregate = new Aggregate(type, timing.getName());
+				aggregates.put(timing.getName(), aggregate);
+			}
+			aggregate.add(timing);
+		}
+	}
+	
+	/**
+	 * @return a copy of the phase aggregates followed by the rule aggregates
+	 */
+	public synchronized List<Aggregate> getAggregates() {
+		List<Aggregate> result = new ArrayList<Aggregate>(phases.size() + rules.size());
+		for (Aggregate aggregate : phases.values()) {
+			result.add(aggregate.copy());
+		}
+		for (Aggregate aggregate : rules.values()) {
+			result.add(aggregate.copy());
+		}
+		return result;
+	}
+
+}
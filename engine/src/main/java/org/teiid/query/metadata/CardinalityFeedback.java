@@ -0,0 +1,298 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.metadata;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Table;
+
+/**
+ * Holds the cardinalities observed for physical tables during processing
+ * so that they may be used as estimates by subsequent planning against the same vdb.
+ * <br>
+ * Column statistics - distinct values, null values, and a {@link Histogram} - are 
+ * also collected from the same scans.
+ * <br>
+ * Only unfiltered, unjoined scans of a single table are observed.  The row count of a filtered 
+ * or joined source query measures the selectivity of that query rather than the cardinality of
+ * the table, and the planner has no key other than the table under which to look it up.
+ * <br>
+ * The table observations are listed by SYSADMIN.ObservedCardinalities.  They are also visible as the 
+ * read-only {@link #OBSERVED_CARDINALITY}, {@link #OBSERVATIONS}, and {@link #LAST_OBSERVED} entries 
+ * of SYS.Properties for tables and the {@link #OBSERVED_DISTINCT_VALUES}, {@link #OBSERVED_NULL_VALUES}, 
+ * and {@link #OBSERVED_HISTOGRAM} entries for columns.  They are cleared by SYSADMIN.clearObservedStats 
+ * and SYSADMIN.setTableStats.
+ * <br>
+ * SYSADMIN.collectTableStats will gather the same statistics on demand from a sample of a table.
+ */
+public class CardinalityFeedback {
+	
+	public static final String OBSERVED_CARDINALITY = AbstractMetadataRecord.RELATIONAL_URI + "OBSERVED_CARDINALITY"; //$NON-NLS-1$
+	public static final String OBSERVATIONS = AbstractMetadataRecord.RELATIONAL_URI + "OBSERVATIONS"; //$NON-NLS-1$
+	public static final String LAST_OBSERVED = AbstractMetadataRecord.RELATIONAL_URI + "LAST_OBSERVED"; //$NON-NLS-1$
+	public static final String OBSERVED_DISTINCT_VALUES = AbstractMetadataRecord.RELATIONAL_URI + "OBSERVED_DISTINCT_VALUES"; //$NON-NLS-1$
+	public static final String OBSERVED_NULL_VALUES = AbstractMetadataRecord.RELATIONAL_URI + "OBSERVED_NULL_VALUES"; //$NON-NLS-1$
+	public static final String OBSERVED_HISTOGRAM = AbstractMetadataRecord.RELATIONAL_URI + "OBSERVED_HISTOGRAM"; //$NON-NLS-1$
+	
+	private static final int SAMPLE_SIZE = 1024;
+	private static final int HISTOGRAM_BUCKETS = 32;
+	private static final double DISTINCT_SCALE_RATIO = .9;
+	
+	public static class ObservedColumnStatistics {
+		private long distinctValues;
+		private long nullValues;
+		private Histogram histogram;
+		
+		public long getDistinctValues() {
+			return distinctValues;
+		}
+		
+		public long getNullValues() {
+			return nullValues;
+		}
+		
+		/**
+		 * @return the histogram or null if the column type is not supported
+		 */
+		public Histogram getHistogram() {
+			return histogram;
+		}
+	}
+	
+	/**
+	 * Collects the statistics for a single column.  Not thread-safe.
+	 */
+	public static class ColumnStatisticsCollector {
+		private Column column;
+		private HyperLogLog distinct = new HyperLogLog();
+		private long nullValues;
+		private long values;
+		private double[] sample;
+		private int sampleCount;
+		private boolean sampleable = true;
+		private Random random;
+		
+		public ColumnStatisticsCollector(Column column) {
+			this.column = column;
+		}
+		
+		public void collect(Object value) {
+			if (value == null) {
+				nullValues++;
+				return;
+			}
+			values++;
+			distinct.add(value);
+			if (!sampleable) {
+				return;
+			}
+			Double d = Histogram.getValue(value);
+			if (d == null) {
+				sampleable = false;
+				sample = null;
+				return;
+			}
+			if (sample == null) {
+				sample = new double[SAMPLE_SIZE];
+				random = new Random(column.hashCode());
+			}
+			//reservoir sampling
+			if (sampleCount < SAMPLE_SIZE) {
+				sample[sampleCount++] = d;
+			} else {
+				long index = (long)(random.nextDouble() * values);
+				if (index < SAMPLE_SIZE) {
+					sample[(int)index] = d;
+				}
+			}
+		}
+		
+		public Column getColumn() {
+			return column;
+		}
+		
+		ObservedColumnStatistics getStatistics() {
+			return getStatistics(nullValues + values);
+		}
+		
+		/**
+		 * Get the statistics scaled to the given cardinality when only a sample of the table was collected.
+		 * The null values are scaled proportionally.  The distinct values are only scaled if nearly every 
+		 * sampled value was distinct, since otherwise the sample is likely to have seen most of the values.
+		 */
+		ObservedColumnStatistics getStatistics(long cardinality) {
+			ObservedColumnStatistics result = new ObservedColumnStatistics();
+			long distinctValues = Math.min(distinct.estimate(), values);
+			long rows = nullValues + values;
+			if (cardinality > rows && rows > 0) {
+				double scale = (double)cardinality / rows;
+				result.nullValues = Math.round(nullValues * scale);
+				if (distinctValues >= values * DISTINCT_SCALE_RATIO) {
+					distinctValues = Math.round(distinctValues * scale);
+				}
+			} else {
+				result.nullValues = nullValues;
+			}
+			result.distinctValues = distinctValues;
+			if (sample != null) {
+				double[] sorted = Arrays.copyOf(sample, sampleCount);
+				Arrays.sort(sorted);
+				result.histogram = Histogram.build(sorted, HISTOGRAM_BUCKETS);
+			}
+			return result;
+		}
+	}
+	
+	public static class ObservedCardinality {
+		private long cardinality;
+		private int observations;
+		private long lastObserved;
+		
+		public long getCardinality() {
+			return cardinality;
+		}
+		
+		public int getObservations() {
+			return observations;
+		}
+		
+		public long getLastObserved() {
+			return lastObserved;
+		}
+	}
+	
+	private Map<Table, ObservedCardinality> observed = new ConcurrentHashMap<Table, ObservedCardinality>();
+	private Map<Column, ObservedColumnStatistics> observedColumns = new ConcurrentHashMap<Column, ObservedColumnStatistics>();
+	
+	/**
+	 * Get the {@link CardinalityFeedback} for the vdb, creating it if needed
+	 */
+	public static CardinalityFeedback getCardinalityFeedback(VDBMetaData vdb) {
+		synchronized (vdb) {
+			CardinalityFeedback feedback = vdb.getAttachment(CardinalityFeedback.class);
+			if (feedback == null) {
+				feedback = new CardinalityFeedback();
+				vdb.addAttchment(CardinalityFeedback.class, feedback);
+			}
+			return feedback;
+		}
+	}
+	
+	/**
+	 * Record the full row count of the given table
+	 */
+	public void observe(Table table, long cardinality) {
+		ObservedCardinality result = new ObservedCardinality();
+		result.cardinality = cardinality;
+		result.lastObserved = System.currentTimeMillis();
+		ObservedCardinality previous = observed.put(table, result);
+		result.observations = previous == null?1:previous.observations + 1;
+	}
+	
+	/**
+	 * Record the statistics of a column from a full scan of its table
+	 */
+	public void observe(ColumnStatisticsCollector collector) {
+		observedColumns.put(collector.getColumn(), collector.getStatistics());
+	}
+	
+	/**
+	 * Record the statistics of a column from a sample of its table
+	 * @param cardinality the cardinality of the table used to scale the sample
+	 */
+	public void observe(ColumnStatisticsCollector collector, long cardinality) {
+		observedColumns.put(collector.getColumn(), collector.getStatistics(cardinality));
+	}
+	
+	/**
+	 * @return the last observed statistics or null if the column has not been observed
+	 */
+	public ObservedColumnStatistics getObservedColumnStatistics(Column column) {
+		return observedColumns.get(column);
+	}
+	
+	/**
+	 * @return the last observed cardinality or null if the table has not been observed
+	 */
+	public ObservedCardinality getObservedCardinality(Table table) {
+		return observed.get(table);
+	}
+	
+	/**
+	 * Get the observed values for the record as extension properties
+	 * @return the properties, which will be empty if nothing has been observed
+	 */
+	public Map<String, String> getProperties(AbstractMetadataRecord record) {
+		if (record instanceof Column) {
+			ObservedColumnStatistics stats = observedColumns.get(record);
+			if (stats == null) {
+				return Collections.emptyMap();
+			}
+			Map<String, String> result = new LinkedHashMap<String, String>();
+			result.put(OBSERVED_DISTINCT_VALUES, String.valueOf(stats.distinctValues));
+			result.put(OBSERVED_NULL_VALUES, String.valueOf(stats.nullValues));
+			if (stats.histogram != null) {
+				result.put(OBSERVED_HISTOGRAM, stats.histogram.toString());
+			}
+			return result;
+		}
+		if (!(record instanceof Table)) {
+			return Collections.emptyMap();
+		}
+		ObservedCardinality cardinality = observed.get(record);
+		if (cardinality == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> result = new LinkedHashMap<String, String>();
+		result.put(OBSERVED_CARDINALITY, String.valueOf(cardinality.cardinality));
+		result.put(OBSERVATIONS, String.valueOf(cardinality.observations));
+		result.put(LAST_OBSERVED, String.valueOf(cardinality.lastObserved));
+		return result;
+	}
+	
+	public Map<Table, ObservedCardinality> getObservedCardinalities() {
+		return Collections.unmodifiableMap(observed);
+	}
+	
+	public void reset(Table table) {
+		observed.remove(table);
+		for (Column column : table.getColumns()) {
+			observedColumns.remove(column);
+		}
+	}
+	
+	public void reset() {
+		observed.clear();
+		observedColumns.clear();
+	}
+	
+}
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.metadata;
+
+import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Table;
+import org.teiid.query.metadata.CardinalityFeedback.ObservedCardinality;
+import org.teiid.query.metadata.CardinalityFeedback.ObservedColumnStatistics;
+
+/**
+ * Uses the observed cardinalities and column statistics from {@link CardinalityFeedback} in place of 
+ * the metadata values.
+ */
+public class CardinalityFeedbackMetadataWrapper extends BasicQueryMetadataWrapper {
+	
+	private CardinalityFeedback feedback;
+
+	public CardinalityFeedbackMetadataWrapper(QueryMetadataInterface actualMetadata, CardinalityFeedback feedback) {
+		super(actualMetadata);
+		this.feedback = feedback;
+	}
+	
+	@Override
+	public float getCardinality(Object groupID)
+			throws TeiidComponentException, QueryMetadataException {
+		if (groupID instanceof Table) {
+			ObservedCardinality observed = feedback.getObservedCardinality((Table)groupID);
+			if (observed != null) {
+				return observed.getCardinality();
+			}
+		}
+		return super.getCardinality(groupID);
+	}
+	
+	@Override
+	public float getDistinctValues(Object elementID)
+			throws TeiidComponentException, QueryMetadataException {
+		if (elementID instanceof Column) {
+			ObservedColumnStatistics observed = feedback.getObservedColumnStatistics((Column)elementID);
+			if (observed != null) {
+				return observed.getDistinctValues();
+			}
+		}
+		return super.getDistinctValues(elementID);
+	}
+	
+	@Override
+	public float getNullValues(Object elementID)
+			throws TeiidComponentException, QueryMetadataException {
+		if (elementID instanceof Column) {
+			ObservedColumnStatistics observed = feedback.getObservedColumnStatistics((Column)elementID);
+			if (observed != null) {
+				return observed.getNullValues();
+			}
+		}
+		return super.getNullValues(elementID);
+	}
+	
+	@Override
+	public String getExtensionProperty(Object metadataID, String key,
+			boolean checkUnqualified) {
+		if (metadataID instanceof Column && Histogram.HISTOGRAM.equals(key)) {
+			ObservedColumnStatistics observed = feedback.getObservedColumnStatistics((Column)metadataID);
+			if (observed != null && observed.getHistogram() != null) {
+				return observed.getHistogram().toString();
+			}
+		}
+		return super.getExtensionProperty(metadataID, key, checkUnqualified);
+	}
+	
+	@Override
+	protected QueryMetadataInterface createDesignTimeMetadata() {
+		return new CardinalityFeedbackMetadataWrapper(actualMetadata.getDesignTimeMetadata(), feedback);
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.metadata;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.teiid.core.util.LRUCache;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.query.sql.lang.CompareCriteria;
+
+/**
+ * An equi-depth histogram over numeric or date/time values.  Each of the buckets defined by 
+ * consecutive boundaries holds the same fraction of the non-null rows.
+ * <br>
+ * The string form is a comma separated list of the boundary values, which may be set as the 
+ * {@link #HISTOGRAM} extension property of a column, for example with SYSADMIN.setProperty.  
+ * When cardinality feedback is enabled a histogram observed from a full scan will be used instead.
+ */
+public class Histogram {
+	
+	public static final String HISTOGRAM = AbstractMetadataRecord.RELATIONAL_URI + "HISTOGRAM"; //$NON-NLS-1$
+	
+	private final static Map<String, Histogram> histogramCache = Collections.synchronizedMap(new LRUCache<String, Histogram>(1000));
+	
+	private double[] boundaries;
+	private String value;
+	
+	public Histogram(double[] boundaries) {
+		this.boundaries = boundaries;
+	}
+	
+	/**
+	 * Build a histogram from sorted values with up to the given number of buckets
+	 * @return the histogram or null if there are no values
+	 */
+	public static Histogram build(double[] sortedValues, int buckets) {
+		if (sortedValues.length == 0) {
+			return null;
+		}
+		buckets = Math.max(1, Math.min(buckets, sortedValues.length));
+		double[] boundaries = new double[buckets + 1];
+		for (int i = 0; i < buckets; i++) {
+			boundaries[i] = sortedValues[(int)((long)i * sortedValues.length / buckets)];
+		}
+		boundaries[buckets] = sortedValues[sortedValues.length - 1];
+		return new Histogram(boundaries);
+	}
+	
+	/**
+	 * Get the histogram for the property value, reusing the previously parsed histogram 
+	 * if the value has not changed.  The costing calls this for each comparison, so the
+	 * value should not be parsed every time.
+	 * @return the histogram or null if the value is not valid
+	 */
+	public static Histogram get(String value) {
+		if (value == null) {
+			return null;
+		}
+		Histogram result = histogramCache.get(value);
+		if (result == null) {
+			result = parse(value);
+			if (result != null) {
+				histogramCache.put(value, result);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * @return the histogram or null if the value is not valid
+	 */
+	public static Histogram parse(String value) {
+		if (value == null) {
+			return null;
+		}
+		String[] parts = value.split(","); //$NON-NLS-1$
+		if (parts.length < 2) {
+			return null;
+		}
+		double[] boundaries = new double[parts.length];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				boundaries[i] = Double.parseDouble(parts[i].trim());
+				if (i > 0 && boundaries[i] < boundaries[i - 1]) {
+					return null;
+				}
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return new Histogram(boundaries);
+	}
+	
+	/**
+	 * Get the histogram value for the given object
+	 * @return the double value or null if the type is not supported
+	 */
+	public static Double getValue(Object value) {
+		if (value instanceof Number) {
+			return ((Number)value).doubleValue();
+		}
+		if (value instanceof Date) {
+			return (double)((Date)value).getTime();
+		}
+		return null;
+	}
+	
+	/**
+	 * @return the estimated fraction of values less than the given value 
+	 */
+	public float getFractionBelow(double value) {
+		int buckets = boundaries.length - 1;
+		if (value <= boundaries[0]) {
+			return 0;
+		}
+		if (value > boundaries[buckets]) {
+			return 1;
+		}
+		int index = Arrays.binarySearch(boundaries, value);
+		if (index < 0) {
+			index = -index - 2;
+		} else {
+			//use the first occurrence for repeated boundaries
+			while (index > 0 && boundaries[index - 1] == value) {
+				index--;
+			}
+			return (float)index / buckets;
+		}
+		double width = boundaries[index + 1] - boundaries[index];
+		double within = width <= 0 ? 0 : (value - boundaries[index]) / width;
+		return (float)((index + within) / buckets);
+	}
+	
+	/**
+	 * @return the estimated fraction of non-null rows that will satisfy the comparison, 
+	 * or -1 if the operator is not supported
+	 */
+	public float getSelectivity(int operator, double value) {
+		switch (operator) {
+		case CompareCriteria.LT:
+		case CompareCriteria.LE:
+			return getFractionBelow(value);
+		case CompareCriteria.GT:
+		case CompareCriteria.GE:
+			return 1 - getFractionBelow(value);
+		}
+		return -1;
+	}
+	
+	/**
+	 * @return true if the value is within the range of the histogram
+	 */
+	public boolean contains(double value) {
+		return value >= boundaries[0] && value <= boundaries[boundaries.length - 1];
+	}
+	
+	public double[] getBoundaries() {
+		return boundaries;
+	}
+	
+	@Override
+	public String toString() {
+		if (value == null) {
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < boundaries.length; i++) {
+				if (i > 0) {
+					result.append(',');
+				}
+				result.append(boundaries[i]);
+			}
+			value = result.toString();
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.metadata;
+
+/**
+ * A HyperLogLog sketch for estimating the number of distinct values. 
+ */
+public class HyperLogLog {
+	
+	private static final int PRECISION = 12;
+	private static final int REGISTERS = 1 << PRECISION;
+	private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+	
+	private byte[] registers = new byte[REGISTERS];
+	
+	public void add(Object value) {
+		long hash = mix(value.hashCode());
+		int index = (int)(hash >>> (64 - PRECISION));
+		//leading zeros of the remaining bits, with a sentinel bit to bound the value
+		int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+		if (rank > registers[index]) {
+			registers[index] = (byte)rank;
+		}
+	}
+	
+	/**
+	 * 64 bit finalization mix from MurmurHash3
+	 */
+	static long mix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+	
+	public long estimate() {
+		double sum = 0;
+		int zeros = 0;
+		for (byte b : registers) {
+			sum += 1d / (1L << b);
+			if (b == 0) {
+				zeros++;
+			}
+		}
+		double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+		if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+			//small range correction
+			estimate = REGISTERS * Math.log((double)REGISTERS / zeros);
+		}
+		return Math.round(estimate);
+	}
+
+}
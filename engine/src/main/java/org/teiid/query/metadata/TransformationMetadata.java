@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -147,6 +148,13 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
     private Map<String, Object> groupInfoCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
     private Map<String, Collection<Table>> partialNameToFullNameCache = Collections.synchronizedMap(new LRUCache<String, Collection<Table>>(1000));
     private Map<String, Collection<StoredProcedureInfo>> procedureCache = Collections.synchronizedMap(new LRUCache<String, Collection<StoredProcedureInfo>>(200));
+    /*
+     * Successful lookups are cached by the lower case name, since name matching is case insensitive, 
+     * and full names by record.  Both are bounded by the number of records in the metadata, 
+     * which is not expected to remove or rename records once deployed.
+     */
+    private Map<String, Table> groupCache = new ConcurrentHashMap<String, Table>();
+    private Map<AbstractMetadataRecord, String> fullNameCache = new ConcurrentHashMap<AbstractMetadataRecord, String>();
     /**
      * TransformationMetadata constructor
      * @param context Object containing the info needed to lookup metadta.
@@ -197,7 +205,7 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 		if (columnIndex == -1) {
 			 throw new QueryMetadataException(QueryPlugin.Event.TEIID30355, elementName+TransformationMetadata.NOT_EXISTS_MESSAGE);
 		}
-		Table table = this.store.findGroup(elementName.substring(0, columnIndex));
+		Table table = getGroupID(elementName.substring(0, columnIndex));
 		String shortElementName = elementName.substring(columnIndex + 1);
 		return getColumn(elementName, table, shortElementName);
     }
@@ -212,7 +220,13 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 	}
 
     public Table getGroupID(final String groupName) throws TeiidComponentException, QueryMetadataException {
-        return getMetadataStore().findGroup(groupName);
+    	String key = groupName.toLowerCase();
+    	Table result = this.groupCache.get(key);
+    	if (result == null) {
+    		result = getMetadataStore().findGroup(groupName);
+    		this.groupCache.put(key, result);
+    	}
+        return result;
     }
     
     public Collection<String> getGroupsForPartialName(final String partialGroupName)
@@ -258,13 +272,19 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 
     public String getFullName(final Object metadataID) throws TeiidComponentException, QueryMetadataException {
         AbstractMetadataRecord metadataRecord = (AbstractMetadataRecord) metadataID;
+        String result = this.fullNameCache.get(metadataRecord);
+        if (result != null) {
+        	return result;
+        }
+        result = metadataRecord.getFullName();
         if (metadataRecord instanceof Column) {
         	Column c = (Column)metadataRecord;
         	if (c.getParent() != null && c.getParent().getParent() instanceof Procedure) {
-        		return c.getParent().getParent().getFullName() + '.' + c.getName();
+        		result = c.getParent().getParent().getFullName() + '.' + c.getName();
         	}
         }
-        return metadataRecord.getFullName();
+        this.fullNameCache.put(metadataRecord, result);
+        return result;
     }
     
     @Override
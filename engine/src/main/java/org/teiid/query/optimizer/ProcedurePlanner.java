@@ -34,11 +34,16 @@ import org.teiid.core.util.Assertion;
 import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
+import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
 import org.teiid.query.processor.ProcessorPlan;
 import org.teiid.query.processor.proc.*;
 import org.teiid.query.processor.proc.CreateCursorResultSetInstruction.Mode;
+import org.teiid.query.processor.relational.AccessNode;
+import org.teiid.query.processor.relational.RelationalNode;
+import org.teiid.query.processor.relational.RelationalPlan;
 import org.teiid.query.sql.lang.Command;
 import org.teiid.query.sql.lang.DynamicCommand;
+import org.teiid.query.sql.lang.Insert;
 import org.teiid.query.sql.lang.SPParameter;
 import org.teiid.query.sql.lang.StoredProcedure;
 import org.teiid.query.sql.proc.*;
@@ -46,6 +51,7 @@ import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.Reference;
 import org.teiid.query.sql.visitor.CommandCollectorVisitor;
+import org.teiid.query.sql.visitor.ValueIteratorProviderCollectorVisitor;
 import org.teiid.query.util.CommandContext;
 
 
@@ -309,6 +315,18 @@ public final class ProcedurePlanner implements CommandPlanner {
 
                 ProcessorPlan commandPlan = loopStmt.getCommand().getProcessorPlan();
 
+                int batchSize = context != null ? context.getOptions().getProcedureLoopBatchSize() : 0;
+                AccessNode batchedUpdate = null;
+                if (batchSize > 1) {
+                	batchedUpdate = getBatchedUpdate(loopStmt.getBlock(), metadata, capFinder);
+                }
+                if (batchedUpdate != null) {
+                	if(debug) {
+                		analysisRecord.println("\tLOOP BODY WILL BE EXECUTED AS BATCHED UPDATES: " + batchedUpdate.getCommand()); //$NON-NLS-1$
+                	}
+                	instruction = new BatchedLoopInstruction(rsName, commandPlan, batchedUpdate.getCommand(), batchedUpdate.getModelName(), batchSize);
+                	break;
+                }
                 Program loopProgram = planBlock(parentProcCommand, loopStmt.getBlock(), metadata, debug, idGenerator, capFinder, analysisRecord, context);
                 instruction = new LoopInstruction(loopProgram, rsName, commandPlan, loopStmt.getLabel());
                 break;
@@ -335,6 +353,52 @@ public final class ProcedurePlanner implements CommandPlanner {
 		return instruction;
     }
 
+	/**
+	 * Determine if the loop body is a single update that is fully pushed to a source 
+	 * supporting batched updates.
+	 * @return the access node for the update or null if the loop must be processed row by row
+	 */
+	private AccessNode getBatchedUpdate(Block block, QueryMetadataInterface metadata, CapabilitiesFinder capFinder) 
+		throws QueryMetadataException, TeiidComponentException {
+		if (block.isAtomic() || block.getExceptionGroup() != null || block.getStatements().size() != 1) {
+			return null;
+		}
+		Statement statement = block.getStatements().get(0);
+		if (statement.getType() != Statement.TYPE_COMMAND) {
+			return null;
+		}
+		Command command = ((CommandStatement)statement).getCommand();
+		switch (command.getType()) {
+		case Command.TYPE_INSERT:
+			if (((Insert)command).getQueryExpression() != null) {
+				return null;
+			}
+			break;
+		case Command.TYPE_UPDATE:
+		case Command.TYPE_DELETE:
+			break;
+		default:
+			return null;
+		}
+		if (!(command.getProcessorPlan() instanceof RelationalPlan)) {
+			return null;
+		}
+		RelationalNode root = ((RelationalPlan)command.getProcessorPlan()).getRootNode();
+		if (!(root instanceof AccessNode)) {
+			return null;
+		}
+		AccessNode accessNode = (AccessNode)root;
+		if (accessNode.getCommand().getType() != command.getType() 
+				|| !BatchedUpdatePlanner.isEligibleForBatching(command, metadata)
+				|| !ValueIteratorProviderCollectorVisitor.getValueIteratorProviders(accessNode.getCommand()).isEmpty()) {
+			return null;
+		}
+		if (!capFinder.findCapabilities(accessNode.getModelName()).supportsCapability(Capability.BATCHED_UPDATES)) {
+			return null;
+		}
+		return accessNode;
+	}
+
 	private Mode getMode(CreateProcedureCommand parentProcCommand,
 			CommandStatement cmdStmt, Command command) {
 		if (!command.returnsResultSet()&&!(command instanceof StoredProcedure)) { 
@@ -37,7 +37,6 @@ import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.DataTypeManager;
-import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.parser.QueryParser;
@@ -121,11 +120,6 @@ public class ColumnMaskingHelper {
 						mask = ResolverUtil.convertExpression(mask, elementType, metadata);
 					}
 			        pmd.setResolvedMask(mask.clone());
-					if (!dpm.isAnyAuthenticated()) {
-						//we treat this as user deterministic since the data roles won't change.  this may change if the logic becomes dynamic
-						//TODO: this condition may not even be used
-						cc.setDeterminismLevel(Determinism.USER_DETERMINISTIC);
-					}
 				} catch (QueryMetadataException e) {
 					throw e;
 				} catch (TeiidException e) {
@@ -134,6 +128,11 @@ public class ColumnMaskingHelper {
 			} else {
 				mask = (Expression) mask.clone();
 			}
+			if (!dpm.isAnyAuthenticated()) {
+				//we treat this as deterministic for the data roles since they won't change.  this may change if the logic becomes dynamic
+				//TODO: this condition may not even be used
+				cc.setDataRoleDeterministic();
+			}
 			if (group.getDefinition() != null) {
 		        PreOrPostOrderNavigator.doVisit(mask, emv, PreOrPostOrderNavigator.PRE_ORDER, true);
 			}
@@ -548,6 +548,14 @@ public class PlanToProcessConverter {
 					processNode = atn;
 					break;
 				}
+				if (source instanceof JSONTable) {
+					JSONTableNode jtn = new JSONTableNode(getID());
+					JSONTable jt = (JSONTable)source;
+					updateGroupName(node, jt);
+					jtn.setTable(jt);
+					processNode = jtn;
+					break;
+				}
 			    SymbolMap symbolMap = (SymbolMap) node.getProperty(NodeConstants.Info.SYMBOL_MAP);
 				if(symbolMap != null) {
 					PlanNode child = node.getLastChild();
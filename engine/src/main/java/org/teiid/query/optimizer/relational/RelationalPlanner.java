@@ -39,6 +39,7 @@ import org.teiid.language.SQLConstants;
 import org.teiid.metadata.Procedure;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.analysis.PlanningProfile;
 import org.teiid.query.function.FunctionDescriptor;
 import org.teiid.query.function.FunctionLibrary;
 import org.teiid.query.mapping.relational.QueryNode;
@@ -98,6 +99,19 @@ import org.teiid.query.validator.ValidationVisitor;
  * {@link PlanToProcessConverter PlanToProcessConverter}
  * to  produce a
  * {@link org.teiid.query.processor.relational.RelationalPlan RelationalPlan}.
+ * <br>
+ * Nested commands - union branches, subqueries, and procedure statements - are planned serially 
+ * on the calling thread.  They cannot simply be planned concurrently:
+ * <ul>
+ * <li>the {@link CommandContext} global state (planning stack, alias groups, plan map), the 
+ * {@link IDGenerator}, and the {@link AnalysisRecord} are unsynchronized and shared by the whole plan</li>
+ * <li>the temp metadata store of the {@link TempMetadataAdapter} is an unsynchronized map that 
+ * procedure statements and with clauses add groups to, and the local cache of a temp group is lazily created without locking</li>
+ * <li>the vdb {@link org.teiid.query.metadata.TransformationMetadata} caches are synchronized, but resolved views are cached with a 
+ * get then put, so concurrent planning would only duplicate work there</li>
+ * <li>the {@link org.teiid.query.parser.QueryParser} is held per thread, so parsing view definitions from pool threads 
+ * is safe, but the parsed and resolved commands are then shared through the metadata cache and must not be modified</li>
+ * </ul>
  */
 public class RelationalPlanner {
 	
@@ -254,7 +268,11 @@ public class RelationalPlanner {
         // Run rule-based optimizer
         plan = executeRules(rules, plan);
 
+        long start = System.nanoTime();
         RelationalPlan result = planToProcessConverter.convert(plan);
+        if (analysisRecord.getPlanningProfile() != null) {
+        	analysisRecord.getPlanningProfile().addPhaseTime("Plan Conversion", System.nanoTime() - start); //$NON-NLS-1$
+        }
         boolean fullPushdown = false;
         if (pushdownWith != null) {
         	AccessNode aNode = CriteriaCapabilityValidatorVisitor.getAccessNode(result);
@@ -593,6 +611,7 @@ public class RelationalPlanner {
         throws QueryPlannerException, QueryMetadataException, TeiidComponentException {
 
         boolean debug = analysisRecord.recordDebug();
+        PlanningProfile profile = analysisRecord.getPlanningProfile();
         while(! rules.isEmpty()) {
             if(debug) {
                 analysisRecord.println("\n============================================================================"); //$NON-NLS-1$
@@ -603,13 +622,30 @@ public class RelationalPlanner {
                 analysisRecord.println("EXECUTING " + rule); //$NON-NLS-1$
             }
 
-            plan = rule.execute(plan, metadata, capFinder, rules, analysisRecord, context);
+            if (profile != null) {
+            	profile.startRule();
+            }
+            try {
+            	plan = rule.execute(plan, metadata, capFinder, rules, analysisRecord, context);
+            } finally {
+            	if (profile != null) {
+            		profile.endRule(rule.toString(), analysisRecord.recordPlanningProfile()?countNodes(plan):0);
+            	}
+            }
             if(debug) {
                 analysisRecord.println("\nAFTER: \n" + plan.nodeToString(true)); //$NON-NLS-1$
             }
         }
         return plan;
     }
+    
+    private static int countNodes(PlanNode node) {
+    	int count = 1;
+    	for (PlanNode child : node.getChildren()) {
+			count += countNodes(child);
+		}
+    	return count;
+    }
 	
 	public PlanNode generatePlan(Command cmd) throws TeiidComponentException, TeiidProcessingException {
 		//cascade the option clause nocache
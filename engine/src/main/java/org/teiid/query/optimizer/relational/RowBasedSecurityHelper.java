@@ -45,7 +45,6 @@ import org.teiid.common.buffer.BlockedException;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidProcessingException;
-import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.eval.Evaluator;
 import org.teiid.query.metadata.QueryMetadataInterface;
@@ -151,9 +150,9 @@ public class RowBasedSecurityHelper {
 			};
 	        PreOrPostOrderNavigator.doVisit(result, emv, PreOrPostOrderNavigator.PRE_ORDER, true);
 		}
-		//we treat this as user deterministic since the data roles won't change.  this may change if the logic becomes dynamic
+		//we treat this as deterministic for the data roles since they won't change.  this may change if the logic becomes dynamic
 		if (user) {
-			cc.setDeterminismLevel(Determinism.USER_DETERMINISTIC);
+			cc.setDataRoleDeterministic();
 		}
 		Expression ex = QueryRewriter.rewriteExpression(result, cc, metadata, true);
 		if (ex instanceof Criteria) {
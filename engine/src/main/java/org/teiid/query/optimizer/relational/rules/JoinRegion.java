@@ -554,6 +554,17 @@ class JoinRegion {
         return result;
     }
     
+    /**
+     * Set the dependent join cost used by {@link #scoreRegion} for the given pair of source indexes
+     * in place of computing it.
+     */
+    void setDependentJoinCost(Integer independent, Integer dependent, Float cost) {
+    	if (depCache == null) {
+    		depCache = new HashMap<List<Object>, Float>();
+    	}
+    	depCache.put(Arrays.asList((Object)independent, dependent), cost);
+    }
+    
     public void changeJoinOrder(Object[] joinOrder) {
         List<Map.Entry<PlanNode, PlanNode>> joinSourceEntries = new ArrayList<Map.Entry<PlanNode, PlanNode>>(joinSourceNodes.entrySet());
         
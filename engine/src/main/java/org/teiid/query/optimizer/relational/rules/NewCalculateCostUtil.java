@@ -36,7 +36,9 @@ import org.teiid.core.types.DataTypeManager;
 import org.teiid.language.Like.MatchMode;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.AbstractMetadataRecord;
 import org.teiid.query.QueryPlugin;
+import org.teiid.query.metadata.Histogram;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempMetadataAdapter;
 import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
@@ -846,7 +848,12 @@ public class NewCalculateCostUtil {
             if (unknownChildCost) {
                 return UNKNOWN_VALUE;
             }
-            cost = childCost * setCriteria.getNumberOfValues() / ndv;
+            int values = getValuesInRange(setCriteria, metadata);
+            if (values < setCriteria.getNumberOfValues()) {
+            	cost = Math.max(childCost * values / ndv, 1);
+            } else {
+            	cost = childCost * values / ndv;
+            }
             
             isNegatedPredicateCriteria = setCriteria.isNegated();
             
@@ -927,6 +934,40 @@ public class NewCalculateCostUtil {
         return childCost / 3;
     }
 
+    /**
+     * Use the column histogram, if available, to count the values that may match.
+     * Constant values outside of the histogram range are not counted.
+     */
+    private static int getValuesInRange(SetCriteria setCriteria, QueryMetadataInterface metadata) 
+    		throws TeiidComponentException, QueryMetadataException {
+    	int count = setCriteria.getNumberOfValues();
+    	if (!(setCriteria.getExpression() instanceof ElementSymbol)) {
+    		return count;
+    	}
+    	ElementSymbol element = (ElementSymbol)setCriteria.getExpression();
+    	if (!(element.getMetadataID() instanceof AbstractMetadataRecord)) {
+    		return count;
+    	}
+    	Histogram histogram = Histogram.get(metadata.getExtensionProperty(element.getMetadataID(), Histogram.HISTOGRAM, false));
+    	if (histogram == null) {
+    		return count;
+    	}
+    	int inRange = 0;
+    	for (Object value : setCriteria.getValues()) {
+    		if (!(value instanceof Constant)) {
+    			return count;
+    		}
+    		Double compareValue = Histogram.getValue(((Constant)value).getValue());
+    		if (compareValue == null) {
+    			return count;
+    		}
+    		if (histogram.contains(compareValue)) {
+    			inRange++;
+    		}
+    	}
+    	return inRange;
+    }
+
     private static float getCostForComparison(float childCost,
                                               QueryMetadataInterface metadata,
                                               CompareCriteria compCrit, boolean unknownChildCost) throws TeiidComponentException,
@@ -940,6 +981,20 @@ public class NewCalculateCostUtil {
         ElementSymbol element = (ElementSymbol)compCrit.getLeftExpression();
         Class<?> dataType = compCrit.getRightExpression().getType();
     
+        if (element.getMetadataID() instanceof AbstractMetadataRecord) {
+        	Histogram histogram = Histogram.get(metadata.getExtensionProperty(element.getMetadataID(), Histogram.HISTOGRAM, false));
+        	Double compareValue = Histogram.getValue(((Constant)compCrit.getRightExpression()).getValue());
+        	if (histogram != null && compareValue != null) {
+        		float selectivity = histogram.getSelectivity(compCrit.getOperator(), compareValue);
+        		if (selectivity >= 0) {
+        			if (unknownChildCost) {
+        				return UNKNOWN_VALUE;
+        			}
+        			//the histogram is only an estimate, so don't assume that no rows will match
+        			return Math.max(childCost * selectivity, 1);
+        		}
+        	}
+        }
         String max = (String)metadata.getMaximumValue(element.getMetadataID());
         String min = (String)metadata.getMinimumValue(element.getMetadataID());
         if(max == null || min == null) {
@@ -27,6 +27,8 @@ import java.util.*;
 import org.teiid.api.exception.query.QueryMetadataException;
 import org.teiid.api.exception.query.QueryPlannerException;
 import org.teiid.core.TeiidComponentException;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.metadata.QueryMetadataInterface;
@@ -86,6 +88,7 @@ import org.teiid.translator.ExecutionFactory.SupportedJoinCriteria;
 public class RulePlanJoins implements OptimizerRule {
     
     public static final int EXHAUSTIVE_SEARCH_GROUPS = 6;
+    public static final int DYNAMIC_SEARCH_GROUPS = 16;
                 
     /** 
      * @see org.teiid.query.optimizer.relational.OptimizerRule#execute(org.teiid.query.optimizer.relational.plantree.PlanNode, org.teiid.query.metadata.QueryMetadataInterface, org.teiid.query.optimizer.capabilities.CapabilitiesFinder, org.teiid.query.optimizer.relational.RuleStack, org.teiid.query.analysis.AnalysisRecord, org.teiid.query.util.CommandContext)
@@ -526,6 +529,10 @@ public class RulePlanJoins implements OptimizerRule {
      * trees will be searched in O(n!) time.
      * 
      * Beyond this number, every join will be determined greedily in O(n^2) time.
+     * 
+     * If a join enumeration time limit is set, regions up to the dynamic search group 
+     * size will also be searched with {@link #findBestJoinOrderDynamic} in O(n^2 * 2^n) time
+     * and the better scoring of the two orders is used.
      *  
      * TODO: this method together with scoreRegion have not been optimized 
      * 
@@ -537,6 +544,25 @@ public class RulePlanJoins implements OptimizerRule {
     Object[] findBestJoinOrder(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
         int regionCount = region.getJoinSourceNodes().size();
         
+        Object[] result = findBestJoinOrderGreedy(region, metadata, capFinder, context);
+        
+        if (regionCount > EXHAUSTIVE_SEARCH_GROUPS && regionCount <= DYNAMIC_SEARCH_GROUPS && context != null) {
+        	int timeLimit = context.getOptions().getJoinEnumerationTimeLimit();
+        	if (timeLimit > 0) {
+        		Object[] dynamicResult = findBestJoinOrderDynamic(region, metadata, capFinder, context, timeLimit);
+        		if (dynamicResult != null && (result == null 
+        				|| region.scoreRegion(dynamicResult, 0, metadata, capFinder, context) <= region.scoreRegion(result, 0, metadata, capFinder, context))) {
+        			return dynamicResult;
+        		}
+        	}
+        }
+        
+        return result;
+    }
+    
+    private Object[] findBestJoinOrderGreedy(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+        int regionCount = region.getJoinSourceNodes().size();
+        
         List<Integer> orderList = new ArrayList<Integer>(regionCount);
         for(int i=0; i<regionCount; i++) {
             orderList.add(new Integer(i));
@@ -614,6 +640,60 @@ public class RulePlanJoins implements OptimizerRule {
         return result;
     }
     
+    /**
+     * Find the best left linear join order by building up the best order for each subset of the 
+     * join sources from the best orders of its subsets with one less source.  The best order 
+     * and score of each subset is memoized, so that each subset is only scored once per 
+     * possible last source.
+     * <br>
+     * This is a heuristic rather than an exact search.  {@link JoinRegion#scoreRegion} costs a 
+     * dependent join only for the first two sources, and applies the cross join and unknown 
+     * cardinality penalties based upon the sources already joined.  The cost of extending an order 
+     * therefore depends upon the order and not just the subset, so the best order of a subset may 
+     * not be the prefix of the best order overall.  The search is exact only when every source 
+     * has a known cardinality and no dependent join is costed. 
+     * 
+     * @return the best order, or null if the time limit was exceeded or there is no valid order
+     */
+    Object[] findBestJoinOrderDynamic(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context, long timeLimit) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+    	int regionCount = region.getJoinSourceNodes().size();
+    	int all = (1 << regionCount) - 1;
+    	Object[][] bestOrders = new Object[all + 1][];
+    	for (int i = 0; i < regionCount; i++) {
+    		bestOrders[1 << i] = new Object[] {Integer.valueOf(i)};
+    	}
+    	long end = System.currentTimeMillis() + timeLimit;
+    	//subsets are always numerically less than their supersets
+    	for (int set = 3; set <= all; set++) {
+    		if (Integer.bitCount(set) < 2) {
+    			continue;
+    		}
+    		if (System.currentTimeMillis() > end) {
+    			LogManager.logDetail(LogConstants.CTX_QUERY_PLANNER, "Join enumeration time limit exceeded, using the heuristic search instead for", region.getJoinSourceNodes().size(), "sources"); //$NON-NLS-1$ //$NON-NLS-2$
+    			return null;
+    		}
+    		double bestScore = Double.MAX_VALUE;
+    		for (int i = 0; i < regionCount; i++) {
+    			int bit = 1 << i;
+    			if ((set & bit) == 0) {
+    				continue;
+    			}
+    			Object[] subOrder = bestOrders[set ^ bit];
+    			if (subOrder == null) {
+    				continue;
+    			}
+    			Object[] order = Arrays.copyOf(subOrder, subOrder.length + 1);
+    			order[subOrder.length] = Integer.valueOf(i);
+    			double score = region.scoreRegion(order, 0, metadata, capFinder, context);
+    			if (score < bestScore) {
+    				bestScore = score;
+    				bestOrders[set] = order;
+    			}
+    		}
+    	}
+    	return bestOrders[all];
+    }
+    
     /** 
      * @see java.lang.Object#toString()
      */
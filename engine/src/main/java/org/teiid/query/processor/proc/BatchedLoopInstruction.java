@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.processor.proc;
+
+import static org.teiid.query.analysis.AnalysisRecord.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.teiid.client.plan.PlanNode;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.query.processor.ProcessorPlan;
+import org.teiid.query.processor.relational.BatchedUpdateNode;
+import org.teiid.query.processor.relational.RelationalPlan;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.symbol.Symbol;
+import org.teiid.query.sql.util.VariableContext;
+
+
+/**
+ * A loop whose body is a single update against a source that supports batched updates.
+ * <br/>
+ * Rather than executing the update once per cursor row, the rows are gathered into
+ * chunks and each chunk is sent to the source as a single batched update.  Each
+ * command in the batch is evaluated against its own row values.  After each chunk 
+ * the cursor variables and the rowcount reflect the last row processed, as they would
+ * for a row by row loop. 
+ */
+public class BatchedLoopInstruction extends CreateCursorResultSetInstruction {
+	
+	private Command command;
+	private String modelName;
+	private int batchSize;
+	
+	private List<ElementSymbol> elements;
+	private List<Command> commands;
+	private List<VariableContext> contexts;
+	private List<?> lastRow;
+	private ProcessorPlan batchPlan;
+	
+	public BatchedLoopInstruction(String rsName, ProcessorPlan plan, Command command, String modelName, int batchSize) {
+		super(rsName, plan, Mode.NOHOLD);
+		this.command = command;
+		this.modelName = modelName;
+		this.batchSize = batchSize;
+	}
+	
+	@Override
+	public void process(ProcedurePlan procEnv) throws TeiidComponentException,
+			TeiidProcessingException {
+		try {
+			while (true) {
+				if (batchPlan == null) {
+					if (!procEnv.resultSetExists(rsName)) {
+						procEnv.executePlan(plan, rsName, null, Mode.NOHOLD);
+						commands = new ArrayList<Command>(batchSize);
+						contexts = new ArrayList<VariableContext>(batchSize);
+					}
+					if (this.elements == null) {
+						List<?> schema = procEnv.getSchema(rsName);
+						elements = new ArrayList<ElementSymbol>(schema.size());
+						for(int i=0; i< schema.size(); i++){
+							Expression element = (Expression)schema.get(i);
+							ElementSymbol e = new ElementSymbol(rsName + Symbol.SEPARATOR + Symbol.getShortName(element));
+							e.setType(element.getType());
+							elements.add(e);              
+						}
+					}
+					while (commands.size() < batchSize && procEnv.iterateCursor(rsName)) {
+						List<?> currentRow = procEnv.getCurrentRow(rsName);
+						VariableContext rowContext = new VariableContext();
+						rowContext.setParentContext(procEnv.getCurrentVariableContext());
+						for (int i = 0; i < elements.size(); i++) {
+							rowContext.setValue(elements.get(i), currentRow.get(i));
+						}
+						commands.add(command);
+						contexts.add(rowContext);
+						lastRow = currentRow;
+					}
+					if (commands.isEmpty()) {
+						procEnv.removeResults(rsName);
+						return;
+					}
+					BatchedUpdateNode batchNode = new BatchedUpdateNode(0, commands, contexts, Collections.nCopies(commands.size(), Boolean.TRUE), modelName);
+					batchNode.setElements(Command.getUpdateCommandSymbol());
+					batchPlan = new RelationalPlan(batchNode);
+				}
+				String countsName = getCountsName();
+				procEnv.executePlan(batchPlan, countsName, null, Mode.NOHOLD);
+				Object rowCount = null;
+				while (procEnv.iterateCursor(countsName)) {
+					rowCount = procEnv.getCurrentRow(countsName).get(0);
+				}
+				procEnv.removeResults(countsName);
+				VariableContext varContext = procEnv.getCurrentVariableContext();
+				for (int i = 0; i < elements.size(); i++) {
+					varContext.setValue(elements.get(i), lastRow.get(i));
+				}
+				varContext.setValue(ProcedurePlan.ROWCOUNT, rowCount);
+				boolean done = commands.size() < batchSize;
+				batchPlan = null;
+				commands = new ArrayList<Command>(batchSize);
+				contexts = new ArrayList<VariableContext>(batchSize);
+				if (done) {
+					procEnv.removeResults(rsName);
+					return;
+				}
+			}
+		} catch (TeiidProcessingException e) {
+			//the failure is for the chunk as a whole, so processing of the loop stops here
+			batchPlan = null;
+			procEnv.removeResults(getCountsName());
+			procEnv.removeResults(rsName);
+			throw e;
+		}
+	}
+
+	private String getCountsName() {
+		return "#" + rsName; //$NON-NLS-1$
+	}
+	
+	/**
+	 * Returns a deep clone
+	 */
+	public BatchedLoopInstruction clone(){
+		return new BatchedLoopInstruction(this.rsName, this.plan.clone(), command, modelName, batchSize);
+	}
+	
+	public String toString() {
+		return "BATCHED LOOP INSTRUCTION: " + this.rsName; //$NON-NLS-1$
+	}
+	
+	public PlanNode getDescriptionProperties() {
+		PlanNode props = new PlanNode("LOOP"); //$NON-NLS-1$
+		props.addProperty(PROP_SQL, this.plan.getDescriptionProperties());
+		props.addProperty(PROP_RESULT_SET, this.rsName);
+		PlanNode update = new PlanNode("BATCHED UPDATE"); //$NON-NLS-1$
+		update.addProperty(PROP_MODEL_NAME, this.modelName);
+		update.addProperty(PROP_SQL, this.command.toString());
+		props.addProperty(PROP_PROGRAM, update);
+		return props;
+	}
+
+}
@@ -38,14 +38,17 @@ import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.id.IDGenerator;
 import org.teiid.core.types.DataTypeManager;
+import org.teiid.dqp.internal.process.PreparedPlan;
 import org.teiid.dqp.internal.process.Request;
 import org.teiid.language.SQLConstants.Reserved;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.metadata.Column;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempMetadataAdapter;
+import org.teiid.query.metadata.TempMetadataID;
 import org.teiid.query.metadata.TempMetadataStore;
 import org.teiid.query.optimizer.QueryOptimizer;
 import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
@@ -68,6 +71,7 @@ import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.util.VariableContext;
+import org.teiid.query.sql.visitor.GroupCollectorVisitor;
 import org.teiid.query.util.CommandContext;
 import org.teiid.query.validator.ValidationVisitor;
 
@@ -142,51 +146,60 @@ public class ExecDynamicSqlInstruction extends ProgramInstruction {
 			LogManager.logTrace(org.teiid.logging.LogConstants.CTX_DQP,
 					new Object[] { "Executing dynamic sql ", value }); //$NON-NLS-1$
 
-			Command command = QueryParser.getQueryParser().parseCommand(value.toString());
-			command.setExternalGroupContexts(dynamicCommand.getExternalGroupContexts());
-			command.setTemporaryMetadata(dynamicCommand.getTemporaryMetadata().clone());
+			String sql = value.toString();
 			updateContextWithUsingValues(procEnv, localContext);
 			
-			TempMetadataStore metadataStore = command.getTemporaryMetadata();
-            
-            if (dynamicCommand.getUsing() != null
-                            && !dynamicCommand.getUsing().isEmpty()) {
-                metadataStore.addTempGroup(Reserved.USING, new LinkedList<ElementSymbol>(dynamicCommand.getUsing().getClauseMap().keySet()));
-                GroupSymbol using = new GroupSymbol(Reserved.USING);
-                using.setMetadataID(metadataStore.getTempGroupID(Reserved.USING));
-                command.addExternalGroupToContext(using);
-                metadataStore.addTempGroup(ProcedureReservedWords.DVARS, new LinkedList<ElementSymbol>(dynamicCommand.getUsing().getClauseMap().keySet()));
-                using = new GroupSymbol(ProcedureReservedWords.DVARS);
-                using.setMetadataID(metadataStore.getTempGroupID(ProcedureReservedWords.DVARS));
-                command.addExternalGroupToContext(using);
-            }
-
-			QueryResolver.resolveCommand(command, metadata.getDesignTimeMetadata());
-
-			validateDynamicCommand(procEnv, command);
-
-			// create a new set of variables including vars
-			Map<ElementSymbol, Expression> nameValueMap = createVariableValuesMap(localContext);
-            ValidationVisitor visitor = new ValidationVisitor();
-            Request.validateWithVisitor(visitor, metadata, command);
-
-            if (dynamicCommand.getAsColumns() != null
-					&& !dynamicCommand.getAsColumns().isEmpty()) {
-        		command = QueryRewriter.createInlineViewQuery(new GroupSymbol("X"), command, metadata, dynamicCommand.getAsColumns()); //$NON-NLS-1$
-				if (dynamicCommand.getIntoGroup() != null) {
-					Insert insert = new Insert(dynamicCommand.getIntoGroup(), dynamicCommand.getAsColumns(), Collections.emptyList());
-					insert.setQueryExpression((Query)command);
-					command = insert;
+			CommandContext context = procEnv.getContext();
+			String cacheKey = null;
+			PreparedPlan pp = null;
+			if (context.getOptions().isDynamicSqlPlanCache()) {
+				cacheKey = getPlanCacheKey(sql);
+				if (cacheKey != null) {
+					pp = context.getPlan(cacheKey);
+				}
+			}
+			
+			Command command = null;
+			ProcessorPlan commandPlan = null;
+			if (pp != null) {
+				//the cached plan does not depend upon the variable values, so only the recursion check is needed
+				pushCall(context);
+			} else {
+				command = resolveDynamicCommand(procEnv, sql);
+				
+				if (dynamicCommand.getAsColumns() != null
+						&& !dynamicCommand.getAsColumns().isEmpty()) {
+					command = QueryRewriter.createInlineViewQuery(new GroupSymbol("X"), command, metadata, dynamicCommand.getAsColumns()); //$NON-NLS-1$
+					if (dynamicCommand.getIntoGroup() != null) {
+						Insert insert = new Insert(dynamicCommand.getIntoGroup(), dynamicCommand.getAsColumns(), Collections.emptyList());
+						insert.setQueryExpression((Query)command);
+						command = insert;
+					}
+				}
+				
+				//check the final command so that the into temp group is considered
+				if (cacheKey != null && isCacheable(command)) {
+					pp = planAndCache(command, context, cacheKey);
+				} else {
+					// create a new set of variables including vars
+					Map<ElementSymbol, Expression> nameValueMap = createVariableValuesMap(localContext);
+					
+					command = QueryRewriter.rewrite(command, metadata, context,
+							nameValueMap);
+					
+					commandPlan = QueryOptimizer.optimizePlan(command, metadata,
+							idGenerator, capFinder, AnalysisRecord
+							.createNonRecordingRecord(), context);
+				}
+			}
+			
+			if (pp != null) {
+				command = pp.getCommand();
+				commandPlan = pp.getPlan().clone();
+				for (Object id : pp.getAccessInfo().getObjectsAccessed()) {
+					context.accessedPlanningObject(id);
 				}
 			}
-            
-			command = QueryRewriter.rewrite(command, metadata, procEnv.getContext(),
-					nameValueMap);
-
-            ProcessorPlan commandPlan = QueryOptimizer.optimizePlan(command, metadata,
-					idGenerator, capFinder, AnalysisRecord
-							.createNonRecordingRecord(), procEnv
-							.getContext());
             
 			CreateCursorResultSetInstruction inst = new CreateCursorResultSetInstruction(null, commandPlan, dynamicCommand.getIntoGroup() != null?Mode.UPDATE:returnable?Mode.HOLD:Mode.NOHOLD) {
 				@Override
@@ -224,6 +237,129 @@ public class ExecDynamicSqlInstruction extends ProgramInstruction {
 		} 
 	}
 
+	/**
+	 * Parse, resolve, and validate the dynamic sql string.
+	 */
+	private Command resolveDynamicCommand(ProcedurePlan procEnv, String sql)
+			throws TeiidComponentException, TeiidProcessingException {
+		Command command = QueryParser.getQueryParser().parseCommand(sql);
+		command.setExternalGroupContexts(dynamicCommand.getExternalGroupContexts());
+		command.setTemporaryMetadata(dynamicCommand.getTemporaryMetadata().clone());
+		
+		TempMetadataStore metadataStore = command.getTemporaryMetadata();
+        
+        if (dynamicCommand.getUsing() != null
+                        && !dynamicCommand.getUsing().isEmpty()) {
+            metadataStore.addTempGroup(Reserved.USING, new LinkedList<ElementSymbol>(dynamicCommand.getUsing().getClauseMap().keySet()));
+            GroupSymbol using = new GroupSymbol(Reserved.USING);
+            using.setMetadataID(metadataStore.getTempGroupID(Reserved.USING));
+            command.addExternalGroupToContext(using);
+            metadataStore.addTempGroup(ProcedureReservedWords.DVARS, new LinkedList<ElementSymbol>(dynamicCommand.getUsing().getClauseMap().keySet()));
+            using = new GroupSymbol(ProcedureReservedWords.DVARS);
+            using.setMetadataID(metadataStore.getTempGroupID(ProcedureReservedWords.DVARS));
+            command.addExternalGroupToContext(using);
+        }
+
+		QueryResolver.resolveCommand(command, metadata.getDesignTimeMetadata());
+
+		validateDynamicCommand(procEnv, command);
+
+        ValidationVisitor visitor = new ValidationVisitor();
+        Request.validateWithVisitor(visitor, metadata, command);
+        return command;
+	}
+	
+	/**
+	 * Plan the command without variable values, so that the plan may be reused
+	 * by later executions of the same dynamic sql string.
+	 */
+	private PreparedPlan planAndCache(Command command, CommandContext context,
+			String cacheKey) throws TeiidComponentException,
+			TeiidProcessingException {
+		Determinism determinismLevel = context.resetDeterminismLevel();
+		try {
+			CommandContext clone = context.clone();
+			command = QueryRewriter.rewrite(command, metadata, clone, null);
+			ProcessorPlan plan = QueryOptimizer.optimizePlan(command, metadata,
+					idGenerator, capFinder, AnalysisRecord
+					.createNonRecordingRecord(), clone);
+			PreparedPlan pp = new PreparedPlan();
+			pp.setCommand(command);
+			pp.setPlan(plan, clone);
+			context.putPlan(cacheKey, pp, context.getDeterminismLevel());
+			return pp;
+		} finally {
+			context.setDeterminismLevel(determinismLevel);
+		}
+	}
+	
+	/**
+	 * The plan cache key includes the procedure, the dynamic statement, 
+	 * the expected result shape, and the types of the variables in scope.
+	 * @return the key or null if the plan should not be cached
+	 */
+	private String getPlanCacheKey(String sql) {
+		if (parentProcCommand.getVirtualGroup() == null) {
+			//anonymous blocks do not have a stable scope
+			return null;
+		}
+		StringBuilder key = new StringBuilder("dynamic sql cache:"); //$NON-NLS-1$
+		if (parentProcCommand.getUpdateType() != Command.TYPE_UNKNOWN) {
+			key.append(Command.getCommandToken(parentProcCommand.getUpdateType())).append(' ');
+		}
+		key.append(parentProcCommand.getVirtualGroup());
+		//the same sql string in a different statement may see different variables
+		key.append(' ').append(dynamicCommand);
+		if (dynamicCommand.getAsColumns() != null) {
+			key.append(" AS"); //$NON-NLS-1$
+			for (ElementSymbol es : (List<ElementSymbol>)dynamicCommand.getAsColumns()) {
+				key.append(' ').append(es.getShortName()).append(' ').append(DataTypeManager.getDataTypeName(es.getType()));
+			}
+		}
+		if (dynamicCommand.getIntoGroup() != null) {
+			key.append(" INTO ").append(dynamicCommand.getIntoGroup().getName()); //$NON-NLS-1$
+		}
+		if (dynamicCommand.getUsing() != null) {
+			key.append(" USING"); //$NON-NLS-1$
+			for (ElementSymbol es : dynamicCommand.getUsing().getClauseMap().keySet()) {
+				key.append(' ').append(es.getShortName()).append(' ').append(DataTypeManager.getDataTypeName(es.getType()));
+			}
+		}
+		if (dynamicCommand.getExternalGroupContexts() != null) {
+			key.append(" SCOPE"); //$NON-NLS-1$
+			for (GroupSymbol group : dynamicCommand.getExternalGroupContexts().getAllGroups()) {
+				key.append(' ').append(group.getName());
+				if (group.getMetadataID() instanceof TempMetadataID) {
+					for (TempMetadataID element : ((TempMetadataID)group.getMetadataID()).getElements()) {
+						key.append(' ').append(element.getName()).append(' ').append(DataTypeManager.getDataTypeName(element.getType()));
+					}
+				}
+			}
+		}
+		key.append(':').append(sql);
+		return key.toString();
+	}
+	
+	private boolean isCacheable(Command command) {
+		switch (command.getType()) {
+		case Command.TYPE_QUERY:
+		case Command.TYPE_INSERT:
+		case Command.TYPE_UPDATE:
+		case Command.TYPE_DELETE:
+		case Command.TYPE_STORED_PROCEDURE:
+			break;
+		default:
+			return false;
+		}
+		for (GroupSymbol group : GroupCollectorVisitor.getGroupsIgnoreInlineViews(command, true)) {
+			if (group.isTempTable()) {
+				//temp table definitions are not stable across executions
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * @param procEnv
 	 * @param localContext
@@ -318,9 +454,14 @@ public class ExecDynamicSqlInstruction extends ProgramInstruction {
 			}
 		}
 
-		// do a recursion check
-		// Add group to recursion stack
-		CommandContext context = procEnv.getContext();
+		pushCall(procEnv.getContext());
+	}
+
+	/**
+	 * do a recursion check
+	 * Add group to recursion stack
+	 */
+	private void pushCall(CommandContext context) throws QueryProcessingException {
 		if (parentProcCommand.getUpdateType() != Command.TYPE_UNKNOWN) {
 			context.pushCall(Command.getCommandToken(parentProcCommand.getUpdateType()) + " " + parentProcCommand.getVirtualGroup()); //$NON-NLS-1$
 		} else {
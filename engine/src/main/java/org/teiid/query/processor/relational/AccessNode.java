@@ -42,8 +42,12 @@ import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.DataTypeManager;
 import org.teiid.dqp.internal.process.multisource.MultiSourceElementReplacementVisitor;
 import org.teiid.language.SQLConstants.NonReserved;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Table;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.eval.Evaluator;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedback.ColumnStatisticsCollector;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.optimizer.relational.RowBasedSecurityHelper;
 import org.teiid.query.processor.ProcessorDataManager;
@@ -57,6 +61,7 @@ import org.teiid.query.sql.lang.*;
 import org.teiid.query.sql.navigator.PreOrPostOrderNavigator;
 import org.teiid.query.sql.symbol.AggregateSymbol;
 import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.symbol.ScalarSubquery;
@@ -83,6 +88,8 @@ public class AccessNode extends SubqueryAwareRelationalNode {
 	private ArrayList<TupleSource> tupleSources = new ArrayList<TupleSource>();
 	private boolean isUpdate = false;
     private boolean returnedRows = false;
+    private long rowCount;
+    private ColumnStatisticsCollector[] columnStatistics;
     protected Command nextCommand;
     private int reserved;
     private int schemaSize;
@@ -118,6 +125,8 @@ public class AccessNode extends SubqueryAwareRelationalNode {
         this.tupleSources.clear();
 		isUpdate = false;
         returnedRows = false;
+        rowCount = 0;
+        columnStatistics = null;
         nextCommand = null;
         if (connectorBindingExpression != null) {
         	connectorBindingId = null;
@@ -236,6 +245,10 @@ public class AccessNode extends SubqueryAwareRelationalNode {
         	}
         }
         
+        if (getObservableTable() != null) {
+        	this.columnStatistics = createColumnStatistics();
+        }
+        
         do {
 			Command atomicCommand = nextCommand();
         	if(shouldEvaluate) {
@@ -368,6 +381,10 @@ public class AccessNode extends SubqueryAwareRelationalNode {
 	        		
 	        		while ((tuple = tupleSource.nextTuple()) != null) {
 	                    returnedRows = true;
+	                    rowCount++;
+	                    if (this.columnStatistics != null) {
+	                    	collectColumnStatistics(tuple);
+	                    }
 	                    if (this.projection != null && this.projection.length > 0) {
 	                    	List<Object> newTuple = new ArrayList<Object>(this.projection.length);
 	                    	for (Object object : this.projection) {
@@ -429,10 +446,86 @@ public class AccessNode extends SubqueryAwareRelationalNode {
             // Add tuple to current batch
             addBatchRow(tuple);
         }
+        observeCardinality();
         terminateBatches();
         return pullBatch();
 	}
 	
+	/**
+	 * If cardinality feedback is enabled, record the row count and column statistics 
+	 * of an unrestricted scan of a single physical table.
+	 */
+	private void observeCardinality() {
+		Table table = getObservableTable();
+		if (table == null || !shouldExecute) {
+			return;
+		}
+		CardinalityFeedback feedback = CardinalityFeedback.getCardinalityFeedback(getContext().getVdb());
+		feedback.observe(table, rowCount);
+		if (this.columnStatistics != null) {
+			for (ColumnStatisticsCollector collector : this.columnStatistics) {
+				if (collector != null) {
+					feedback.observe(collector);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return the physical table if this node performs an unrestricted scan 
+	 * that can be observed, or null
+	 */
+	private Table getObservableTable() {
+		CommandContext context = getContext();
+		if (!context.getOptions().isCardinalityFeedback() || multiSource 
+				|| getParent() instanceof LimitNode || context.getDQPWorkContext() == null || context.getVdb() == null 
+				|| !(command instanceof Query)) {
+			return null;
+		}
+		Query query = (Query)command;
+		if (query.getCriteria() != null || query.getGroupBy() != null || query.getHaving() != null 
+				|| query.getLimit() != null || query.getInto() != null || query.getSelect().isDistinct() || query.hasAggregates()
+				|| query.getFrom() == null || query.getFrom().getClauses().size() != 1 
+				|| !(query.getFrom().getClauses().get(0) instanceof UnaryFromClause)) {
+			return null;
+		}
+		Object groupID = ((UnaryFromClause)query.getFrom().getClauses().get(0)).getGroup().getMetadataID();
+		if (groupID instanceof Table) {
+			return (Table)groupID;
+		}
+		return null;
+	}
+	
+	/**
+	 * Create the collectors for the projected physical columns, positionally 
+	 * matching the source tuples
+	 */
+	private ColumnStatisticsCollector[] createColumnStatistics() {
+		List<Expression> symbols = ((Query)command).getSelect().getSymbols();
+		ColumnStatisticsCollector[] result = new ColumnStatisticsCollector[symbols.size()];
+		boolean any = false;
+		for (int i = 0; i < result.length; i++) {
+			Expression ex = SymbolMap.getExpression(symbols.get(i));
+			if (ex instanceof ElementSymbol && ((ElementSymbol)ex).getMetadataID() instanceof Column) {
+				result[i] = new ColumnStatisticsCollector((Column)((ElementSymbol)ex).getMetadataID());
+				any = true;
+			}
+		}
+		if (!any) {
+			return null;
+		}
+		return result;
+	}
+	
+	private void collectColumnStatistics(List<?> tuple) {
+		for (int i = 0; i < this.columnStatistics.length && i < tuple.size(); i++) {
+			ColumnStatisticsCollector collector = this.columnStatistics[i];
+			if (collector != null) {
+				collector.collect(tuple.get(i));
+			}
+		}
+	}
+	
 	@Override
 	protected void addBatchRow(List<?> row) {
 		if (this.getOutputElements().isEmpty()) {
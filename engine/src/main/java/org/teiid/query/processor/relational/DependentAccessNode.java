@@ -22,8 +22,12 @@
 
 package org.teiid.query.processor.relational;
 
+import static org.teiid.query.analysis.AnalysisRecord.*;
+
+import java.util.ArrayList;
 import java.util.Collections;
 
+import org.teiid.client.plan.PlanNode;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.util.Assertion;
@@ -182,6 +186,15 @@ public class DependentAccessNode extends AccessNode {
 		this.pushdown = pushdown;
 	}
 	
+	@Override
+	public synchronized PlanNode getDescriptionProperties() {
+		PlanNode props = super.getDescriptionProperties();
+		if (this.criteriaProcessor != null && !this.criteriaProcessor.getDecisions().isEmpty()) {
+			props.addProperty(PROP_DEPENDENT_DECISIONS, new ArrayList<String>(this.criteriaProcessor.getDecisions()));
+		}
+		return props;
+	}
+	
 	@Override
 	public Boolean requiresTransaction(boolean transactionalReads) {
 		if (transactionalReads || !(this.getCommand() instanceof QueryCommand)) {
@@ -46,6 +46,7 @@ import org.teiid.query.sql.symbol.Array;
 import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.util.ValueIterator;
+import org.teiid.query.util.Options;
 
 
 public class DependentCriteriaProcessor {
@@ -124,7 +125,9 @@ public class DependentCriteriaProcessor {
                     	continue;
                     }
                 	if (!setState.overMax && distinctCount > setState.maxNdv) {
-                		LogManager.logWarning(LogConstants.CTX_DQP, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30011, valueSource, setState.valueExpression, setState.maxNdv));
+                		String msg = QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30011, valueSource, setState.valueExpression, setState.maxNdv);
+                		LogManager.logWarning(LogConstants.CTX_DQP, msg);
+                		decisions.add(msg);
                 		setState.overMax = true;
                 	}
     			}
@@ -174,6 +177,8 @@ public class DependentCriteriaProcessor {
 	
 	private int totalPredicates;
 	private long maxSize;
+	
+	private List<String> decisions = new ArrayList<String>(1);
 
     public DependentCriteriaProcessor(int maxSetSize, int maxPredicates, RelationalNode dependentNode, Criteria dependentCriteria) throws ExpressionEvaluationException, TeiidComponentException {
         this.maxSetSize = maxSetSize;
@@ -261,6 +266,10 @@ public class DependentCriteriaProcessor {
         		}
         	}
         	
+        	if (!pushdown) {
+        		checkDependentQueries();
+        	}
+        	
         	//determine push down handling
 			if (pushdown) {
 	        	boolean pushed = false;
@@ -326,6 +335,52 @@ public class DependentCriteriaProcessor {
         return new CompoundCriteria(CompoundCriteria.AND, crits);
     }
     
+    /**
+     * Switch from dependent to full processing for each source whose independent side 
+     * is larger than expected, such that it would require too many dependent queries.
+     * This does not apply to sources that were requested with a MAKE_DEP hint.
+     */
+    private void checkDependentQueries() {
+    	int maxQueries = dependentNode.getContext().getOptions().getMaxDependentQueries();
+    	if (maxQueries <= 0 || maxSize == Integer.MAX_VALUE) {
+    		return;
+    	}
+    	Set<String> hinted = new HashSet<String>();
+    	for (Criteria criteria : queryCriteria) {
+    		if (criteria instanceof DependentSetCriteria && ((DependentSetCriteria)criteria).getMakeDepOptions() != null) {
+    			hinted.add(((DependentSetCriteria)criteria).getContextSymbol());
+    		}
+    	}
+    	for (TupleState ts : dependentState.values()) {
+    		if (hinted.contains(ts.valueSource)) {
+    			continue;
+    		}
+    		long rowCount = ts.dvs.getTupleBuffer().getRowCount();
+    		long queries = 0;
+    		for (SetState state : ts.getDepedentSetStates()) {
+    			if (!state.overMax) {
+    				queries = Math.max(queries, (rowCount * state.valueCount + maxSize - 1) / maxSize);
+    			}
+    		}
+    		if (queries <= maxQueries) {
+    			continue;
+    		}
+    		String msg = QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31152, ts.valueSource, rowCount, queries, Options.MAX_DEPENDENT_QUERIES, maxQueries);
+    		LogManager.logDetail(LogConstants.CTX_DQP, msg);
+    		decisions.add(msg);
+    		for (SetState state : ts.getDepedentSetStates()) {
+    			state.overMax = true;
+    		}
+    	}
+    }
+    
+    /**
+     * @return the runtime decisions made about the dependent criteria
+     */
+    public List<String> getDecisions() {
+		return decisions;
+	}
+    
     public void consumedCriteria() {
         // flush only the value iterators starting at the restart index
         // it is only safe to do this after the super call to prepare command
@@ -0,0 +1,509 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.processor.relational;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.teiid.common.buffer.BlockedException;
+import org.teiid.common.buffer.BufferManager;
+import org.teiid.common.buffer.TupleBatch;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.BlobType;
+import org.teiid.core.types.ClobImpl;
+import org.teiid.core.types.ClobType;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.TransformationException;
+import org.teiid.json.simple.ContentHandler;
+import org.teiid.json.simple.JSONParser;
+import org.teiid.json.simple.ParseException;
+import org.teiid.query.QueryPlugin;
+import org.teiid.query.function.source.XMLSystemFunctions;
+import org.teiid.query.processor.ProcessorDataManager;
+import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.lang.JSONTable;
+import org.teiid.query.sql.lang.JSONTable.JSONColumn;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.util.CommandContext;
+
+/**
+ * Handles JSONTABLE processing.
+ * <br>
+ * The document is consumed with the event based {@link JSONParser} and parsing is
+ * suspended as soon as a row is available, so only the current row is held in memory.
+ */
+public class JSONTableNode extends SubqueryAwareRelationalNode {
+	
+	/**
+	 * Tracks the location in the document and builds the values for the row that 
+	 * is currently in scope.  Paths use the same representation as {@link JSONTable#parsePath(String)}.
+	 */
+	private static class RowHandler implements ContentHandler {
+		
+		/**
+		 * Serializes a nested object/array value as json text
+		 */
+		private static class Capture {
+			int column;
+			StringBuilder value = new StringBuilder();
+			LinkedList<Boolean> first = new LinkedList<Boolean>();
+			boolean afterKey;
+			
+			Capture(int column) {
+				this.column = column;
+			}
+			
+			void valueSeparator() {
+				if (afterKey) {
+					afterKey = false;
+				} else if (!first.isEmpty()) {
+					if (!first.peek()) {
+						value.append(',');
+					}
+					first.set(0, Boolean.FALSE);
+				}
+			}
+			
+			void primitive(Object object) {
+				valueSeparator();
+				if (object instanceof String) {
+					quote((String)object);
+				} else {
+					value.append(object);
+				}
+			}
+			
+			void quote(String string) {
+				value.append('"');
+				try {
+					JSONParser.escape(string, new StringBuilderWriter(value));
+				} catch (IOException e) {
+					//not possible
+				}
+				value.append('"');
+			}
+			
+		}
+		
+		private static class StringBuilderWriter extends Writer {
+			private StringBuilder sb;
+			
+			StringBuilderWriter(StringBuilder sb) {
+				this.sb = sb;
+			}
+			
+			@Override
+			public void write(char[] cbuf, int off, int len) {
+				sb.append(cbuf, off, len);
+			}
+			
+			@Override
+			public void write(String str) {
+				sb.append(str);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		}
+		
+		private List<String> rowPath;
+		private List<List<String>> columnPaths;
+		
+		private ArrayList<String> path = new ArrayList<String>();
+		//true for an array container, false for an object
+		private LinkedList<Boolean> containers = new LinkedList<Boolean>();
+		private LinkedList<Capture> captures = new LinkedList<Capture>();
+		
+		private int rowDepth = -1;
+		private int rowContainers;
+		private Object[] rowValues;
+		private LinkedList<Object[]> rows = new LinkedList<Object[]>();
+		private boolean end;
+		
+		RowHandler(List<String> rowPath, List<List<String>> columnPaths) {
+			this.rowPath = rowPath;
+			this.columnPaths = columnPaths;
+		}
+		
+		private boolean inArray() {
+			return !containers.isEmpty() && containers.peek();
+		}
+		
+		/**
+		 * Called at the start of any value to maintain the path, detect the 
+		 * start of a row, and start any column value
+		 * @return true if the value is a column value
+		 */
+		private boolean valueStart(Object primitive, boolean isPrimitive) {
+			if (inArray()) {
+				path.add(null);
+			}
+			for (Capture capture : captures) {
+				if (isPrimitive) {
+					capture.primitive(primitive);
+				} else {
+					capture.valueSeparator();
+				}
+			}
+			if (rowDepth < 0) {
+				if (!matches(rowPath, 0)) {
+					return false;
+				}
+				rowDepth = path.size();
+				rowContainers = containers.size();
+				rowValues = new Object[columnPaths.size()];
+			}
+			boolean result = false;
+			for (int i = 0; i < columnPaths.size(); i++) {
+				List<String> columnPath = columnPaths.get(i);
+				if (columnPath == null || rowValues[i] != null || !matches(columnPath, rowDepth)) {
+					continue;
+				}
+				if (isPrimitive) {
+					rowValues[i] = primitive;
+				} else {
+					captures.add(new Capture(i));
+				}
+				result = true;
+			}
+			if (isPrimitive && path.size() == rowDepth) {
+				endRow();
+			}
+			return result;
+		}
+		
+		private boolean matches(List<String> expected, int offset) {
+			if (path.size() - offset != expected.size()) {
+				return false;
+			}
+			for (int i = 0; i < expected.size(); i++) {
+				String step = expected.get(i);
+				String actual = path.get(i + offset);
+				if (step == null) {
+					if (actual != null) {
+						return false;
+					}
+				} else if (!step.equals(actual)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		private void endRow() {
+			rows.add(rowValues);
+			rowValues = null;
+			rowDepth = -1;
+		}
+		
+		private void valueEnd() {
+			if (inArray()) {
+				path.remove(path.size() - 1);
+			}
+		}
+		
+		private void containerEnd(char c) {
+			containers.pop();
+			for (Iterator<Capture> iter = captures.iterator(); iter.hasNext();) {
+				Capture capture = iter.next();
+				capture.value.append(c);
+				capture.first.pop();
+				if (capture.first.isEmpty()) {
+					if (rowValues != null) {
+						rowValues[capture.column] = capture.value.toString();
+					}
+					iter.remove();
+				}
+			}
+			if (rowDepth >= 0 && containers.size() == rowContainers) {
+				endRow();
+			}
+			valueEnd();
+		}
+		
+		private void containerStart(char c, boolean array) {
+			valueStart(null, false);
+			containers.push(array);
+			for (Capture capture : captures) {
+				capture.value.append(c);
+				capture.first.push(Boolean.TRUE);
+			}
+		}
+		
+		@Override
+		public void startJSON() throws ParseException, IOException {
+		}
+
+		@Override
+		public void endJSON() throws ParseException, IOException {
+			end = true;
+		}
+
+		@Override
+		public boolean startObject() throws ParseException, IOException {
+			containerStart('{', false);
+			return true;
+		}
+
+		@Override
+		public boolean endObject() throws ParseException, IOException {
+			containerEnd('}');
+			return rows.isEmpty();
+		}
+
+		@Override
+		public boolean startObjectEntry(String key) throws ParseException,
+				IOException {
+			path.add(key);
+			for (Capture capture : captures) {
+				capture.valueSeparator();
+				capture.quote(key);
+				capture.value.append(':');
+				capture.afterKey = true;
+			}
+			return true;
+		}
+
+		@Override
+		public boolean endObjectEntry() throws ParseException, IOException {
+			path.remove(path.size() - 1);
+			return rows.isEmpty();
+		}
+
+		@Override
+		public boolean startArray() throws ParseException, IOException {
+			containerStart('[', true);
+			return true;
+		}
+
+		@Override
+		public boolean endArray() throws ParseException, IOException {
+			containerEnd(']');
+			return rows.isEmpty();
+		}
+
+		@Override
+		public boolean primitive(Object value) throws ParseException,
+				IOException {
+			valueStart(value, true);
+			boolean array = inArray();
+			valueEnd();
+			//returning false outside of an array would skip the endObjectEntry event
+			return !array || rows.isEmpty();
+		}
+		
+	}
+
+	private JSONTable table;
+	
+	//initialized state
+    private int[] projectionIndexes;
+    private List<String> rowPath;
+    private List<List<String>> columnPaths;
+    
+    //per document state
+    private Reader reader;
+    private JSONParser parser;
+    private RowHandler handler;
+    private int rowCount;
+	private String systemId;
+	
+	public JSONTableNode(int nodeID) {
+		super(nodeID);
+	}
+	
+	@Override
+	public void initialize(CommandContext context, BufferManager bufferManager,
+			ProcessorDataManager dataMgr) {
+		super.initialize(context, bufferManager, dataMgr);
+		if (projectionIndexes != null) {
+			return;
+		}
+        Map<Expression, Integer> elementMap = createLookupMap(table.getProjectedSymbols());
+        this.projectionIndexes = getProjectionIndexes(elementMap, getElements());
+        this.rowPath = JSONTable.parsePath(table.getRowPath());
+        //only track the paths for projected columns
+        this.columnPaths = new ArrayList<List<String>>(Collections.<List<String>>nCopies(table.getColumns().size(), null));
+        for (int output : projectionIndexes) {
+        	JSONColumn col = table.getColumns().get(output);
+        	if (col.isOrdinal()) {
+        		continue;
+        	}
+        	if (col.getPath() == null) {
+        		this.columnPaths.set(output, Arrays.asList(col.getName()));
+        	} else {
+        		this.columnPaths.set(output, JSONTable.parsePath(col.getPath()));
+        	}
+        }
+	}
+	
+	@Override
+	public void closeDirect() {
+		super.closeDirect();
+		reset();
+	}
+	
+	@Override
+	public void reset() {
+		super.reset();
+		closeReader();
+		this.parser = null;
+		this.handler = null;
+		this.rowCount = 0;
+	}
+	
+	private void closeReader() {
+		if (this.reader != null) {
+			try {
+				this.reader.close();
+			} catch (IOException e) {
+			}
+			this.reader = null;
+		}
+	}
+	
+	public void setTable(JSONTable table) {
+		this.table = table;
+	}
+
+	@Override
+	public JSONTableNode clone() {
+		JSONTableNode clone = new JSONTableNode(getID());
+		this.copyTo(clone);
+		clone.setTable(table);
+		return clone;
+	}
+
+	@Override
+	protected TupleBatch nextBatchDirect() throws BlockedException,
+			TeiidComponentException, TeiidProcessingException {
+		if (handler == null) {
+			initReader();
+		}
+		
+		if (handler == null) {
+			terminateBatches();
+			return pullBatch();
+		}
+		
+		while (!isBatchFull()) {
+			Object[] values = nextRow();
+			if (values == null) {
+				terminateBatches();
+				break;
+			}
+			rowCount++;
+			List<Object> tuple = new ArrayList<Object>(projectionIndexes.length);
+			for (int output : projectionIndexes) {
+				JSONColumn col = table.getColumns().get(output);
+				if (col.isOrdinal()) {
+					tuple.add(rowCount);
+					continue;
+				}
+				try {
+					tuple.add(DataTypeManager.transformValue(values[output], col.getSymbol().getType()));
+				} catch (TransformationException e) {
+					throw new TeiidProcessingException(QueryPlugin.Event.TEIID31151, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31151, col.getName(), rowCount, systemId));
+				}
+			}
+			addBatchRow(tuple);
+		}
+		
+		return pullBatch();
+	}
+	
+	/**
+	 * Resume parsing until the next row is available
+	 * @return the row values or null if the document has been exhausted
+	 */
+	private Object[] nextRow() throws TeiidProcessingException {
+		try {
+			while (handler.rows.isEmpty() && !handler.end) {
+				parser.parse(reader, handler, true);
+			}
+			if (handler.end) {
+				//release the source as soon as the document has been consumed
+				closeReader();
+			}
+		} catch (IOException e) {
+			throw new TeiidProcessingException(QueryPlugin.Event.TEIID31150, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31150, systemId, e.getMessage()));
+		} catch (ParseException e) {
+			throw new TeiidProcessingException(QueryPlugin.Event.TEIID31150, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31150, systemId, e.getMessage()));
+		}
+		if (handler.rows.isEmpty()) {
+			return null;
+		}
+		return handler.rows.remove();
+	}
+
+	private void initReader() throws BlockedException, TeiidComponentException, TeiidProcessingException {
+		setReferenceValues(this.table);
+		Object value = getEvaluator(Collections.emptyMap()).evaluate(table.getJson(), null);
+		if (value == null) {
+			return;
+		}
+		this.systemId = "Unknown"; //$NON-NLS-1$
+		try {
+			if (value instanceof BlobType) {
+				this.reader = XMLSystemFunctions.getJsonReader((BlobType)value);
+			} else {
+				ClobType clob = (ClobType)value;
+				if (clob.getReference() instanceof ClobImpl) {
+					String id = ((ClobImpl)clob.getReference()).getStreamFactory().getSystemId();
+					if (id != null) {
+						this.systemId = id;
+					}
+				}
+				this.reader = clob.getCharacterStream();
+			}
+		} catch (SQLException e) {
+			throw new TeiidProcessingException(QueryPlugin.Event.TEIID31150, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31150, systemId, e.getMessage()));
+		} catch (IOException e) {
+			throw new TeiidProcessingException(QueryPlugin.Event.TEIID31150, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31150, systemId, e.getMessage()));
+		}
+		this.parser = new JSONParser();
+		this.handler = new RowHandler(rowPath, columnPaths);
+	}
+	
+	@Override
+	protected Collection<? extends LanguageObject> getObjects() {
+		return Arrays.asList(this.table.getJson());
+	}
+	
+}
@@ -28,11 +28,14 @@ import static org.teiid.query.analysis.AnalysisRecord.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.teiid.api.exception.query.QueryProcessingException;
 import org.teiid.client.plan.PlanNode;
 import org.teiid.common.buffer.BlockedException;
+import org.teiid.common.buffer.BufferManager;
+import org.teiid.common.buffer.BufferManager.BufferReserveMode;
 import org.teiid.common.buffer.BufferManager.TupleSourceType;
 import org.teiid.common.buffer.TupleBatch;
 import org.teiid.common.buffer.TupleBuffer;
@@ -77,7 +80,9 @@ public class ProjectIntoNode extends RelationalNode {
     private TupleBuffer buffer;
     private TupleBatch currentBatch;
         	
-    private TupleSource tupleSource;
+    private LinkedList<TupleSource> tupleSources = new LinkedList<TupleSource>();
+    private int maxInFlight = 1;
+    private int reserved;
     
     private Criteria constraint;
     private Evaluator eval;
@@ -99,6 +104,18 @@ public class ProjectIntoNode extends RelationalNode {
         this.requestsRegistered = 0;
         this.currentBatch=null;
         this.sourceDone=false;
+        this.maxInFlight = 1;
+    }
+    
+    @Override
+    public void open() throws TeiidComponentException, TeiidProcessingException {
+    	super.open();
+    	if (this.mode == Mode.BATCH) {
+    		//without a transaction a failed batch may leave later batches that were already in flight applied.
+    		//transactional source work is executed serially by the data tier, so in that case the requests 
+    		//are still registered ahead, but do not overlap
+    		this.maxInFlight = Math.max(1, getContext().getOptions().getInsertPipelineDepth());
+    	}
     }
 
     public void setIntoGroup(GroupSymbol group) { 
@@ -126,7 +143,7 @@ public class ProjectIntoNode extends RelationalNode {
         
         while(phase == REQUEST_CREATION) {
             
-            checkExitConditions();
+            checkExitConditions(getAllowedInFlight());
             
             /* If we don't have a batch to work, get the next
              */
@@ -205,7 +222,7 @@ public class ProjectIntoNode extends RelationalNode {
             this.requestsRegistered+=requests;
         }
         
-        checkExitConditions();
+        checkExitConditions(0);
         
         // End this node's work
         addBatchRow(Arrays.asList(insertCount));
@@ -213,13 +230,31 @@ public class ProjectIntoNode extends RelationalNode {
         return pullBatch();                                                           
     }
 
-    private void checkExitConditions()  throws TeiidComponentException, BlockedException, TeiidProcessingException {
-    	if (tupleSource != null) {
-	    	Integer count = (Integer)tupleSource.nextTuple().get(0);
+    /**
+     * Process the update counts of the outstanding requests in the order they were registered.
+     * @param allowed the number of outstanding requests that may remain without blocking
+     */
+    private void checkExitConditions(int allowed)  throws TeiidComponentException, BlockedException, TeiidProcessingException {
+    	while (!tupleSources.isEmpty()) {
+    		List<?> tuple = null;
+    		try {
+    			tuple = tupleSources.getFirst().nextTuple();
+    		} catch (BlockedException e) {
+    			if (tupleSources.size() < allowed) {
+    				return;
+    			}
+    			throw e;
+    		}
+	    	Integer count = (Integer)tuple.get(0);
 	        insertCount += count.intValue();
-	        closeRequest();
+	        tupleSources.removeFirst().closeSource();
+	        if (this.buffer != null) {
+	    		this.buffer.remove();
+	    		this.buffer = null;
+	    	}
 	        // Mark as processed
 	        tupleSourcesProcessed++; // This should set tupleSourcesProcessed to be the same as requestsRegistered
+	        releaseReserved(Math.max(0, tupleSources.size() - 1));
     	}
         // RESPONSE_PROCESSING: process tuple sources
         if (tupleSourcesProcessed < requestsRegistered) {
@@ -227,9 +262,38 @@ public class ProjectIntoNode extends RelationalNode {
         }
                 
     }
+    
+    /**
+     * Determine how many requests may be outstanding when another is registered.  Each batch 
+     * beyond the first in flight must be covered by buffers reserved from the {@link BufferManager},
+     * otherwise we wait for the oldest request to complete.
+     */
+    private int getAllowedInFlight() {
+    	if (this.maxInFlight <= 1 || tupleSources.isEmpty()) {
+    		return this.maxInFlight;
+    	}
+    	int batchSize = getBufferManager().getSchemaSize(this.intoElements);
+    	int needed = tupleSources.size() * batchSize - reserved;
+    	if (needed > 0) {
+    		int result = getBufferManager().reserveBuffers(needed, BufferReserveMode.NO_WAIT);
+    		reserved += result;
+    		if (result < needed) {
+    			return tupleSources.size();
+    		}
+    	}
+    	return this.maxInFlight;
+    }
+    
+    private void releaseReserved(int batches) {
+    	int toRelease = reserved - batches * getBufferManager().getSchemaSize(this.intoElements);
+    	if (toRelease > 0) {
+    		getBufferManager().releaseBuffers(toRelease);
+    		reserved -= toRelease;
+    	}
+    }
 
     private void registerRequest(Command command) throws TeiidComponentException, TeiidProcessingException {
-    	tupleSource = getDataManager().registerRequest(getContext(), command, this.modelName, new RegisterRequestParameter(null, getID(), -1));        
+    	tupleSources.add(getDataManager().registerRequest(getContext(), command, this.modelName, new RegisterRequestParameter(null, getID(), -1)));        
     }
     
     private void closeRequest() {
@@ -237,10 +301,11 @@ public class ProjectIntoNode extends RelationalNode {
     		this.buffer.remove();
     		this.buffer = null;
     	}
-        if (this.tupleSource != null) {
-            tupleSource.closeSource();
-            this.tupleSource = null;
-        }
+    	for (TupleSource tupleSource : tupleSources) {
+    		tupleSource.closeSource();
+		}
+    	tupleSources.clear();
+    	releaseReserved(0);
     }
     
     protected void getNodeString(StringBuffer str) {
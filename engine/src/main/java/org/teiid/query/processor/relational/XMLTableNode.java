@@ -28,9 +28,13 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import net.sf.saxon.om.Item;
 import net.sf.saxon.om.NodeInfo;
@@ -71,7 +75,9 @@ import org.teiid.query.xquery.saxon.XQueryEvaluator;
  * Handles xml table processing.
  * 
  * When streaming the results will be fully built and stored in a buffer
- * before being returned
+ * before being returned.  If {@link org.teiid.query.util.Options#getXmlTableParallelism()}
+ * is greater than 1, streamed rows will be copied and have their column paths evaluated
+ * concurrently.  Rows are still added to the buffer in document order.
  */
 public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProcessor {
 
@@ -88,6 +94,7 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 	}
 	
 	private static TeiidRuntimeException EARLY_TERMINATION = new TeiidRuntimeException();
+	private static final Object DEFAULT_VALUE = new Object();
 	
 	private XMLTable table;
 	private List<XMLColumn> projectedColumns;
@@ -111,6 +118,10 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 	
 	private int rowLimit = -1;
 	
+	private int parallelism = 1;
+	private LinkedList<FutureTask<List<Object>>> pendingRows;
+	private int submittedRows;
+	
 	public XMLTableNode(int nodeID) {
 		super(nodeID);
 	}
@@ -197,7 +208,8 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 					break;
 				}
 			}
-			addBatchRow(processRow());
+			addBatchRow(processRow(item, rowCount, true));
+			item = null;
 		}
 		return pullBatch();
 	}
@@ -220,11 +232,18 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 					this.buffer.setForwardOnly(true);
 				}
 			}
+			this.parallelism = Math.max(1, getContext().getOptions().getXmlTableParallelism());
+			this.pendingRows = null;
+			this.submittedRows = 0;
+			if (this.parallelism > 1) {
+				this.pendingRows = new LinkedList<FutureTask<List<Object>>>();
+			}
 			Runnable r = new Runnable() {
 				@Override
 				public void run() {
 					try {
 						XQueryEvaluator.evaluateXQuery(table.getXQueryExpression(), contextItem, parameters, XMLTableNode.this, getContext());
+						finishPendingRows();
 					} catch (TeiidRuntimeException e) {
 						if (e != EARLY_TERMINATION) {
 							asynchException = e;
@@ -232,6 +251,7 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 					} catch (Throwable e) {
 						asynchException = new TeiidRuntimeException(e);
 					} finally {
+						cancelPendingRows();
 						synchronized (XMLTableNode.this) {
 							if (buffer != null && asynchException == null) {
 								try {
@@ -256,12 +276,17 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 		}
 	}
 	
-	private List<?> processRow() throws ExpressionEvaluationException, BlockedException,
+	/**
+	 * Evaluate the column paths against the given row item.  When evaluateDefaults is false
+	 * default expressions are not evaluated and {@link #DEFAULT_VALUE} is used as a placeholder,
+	 * which allows this method to be called from a thread other than the processing thread.
+	 */
+	private List<Object> processRow(Item item, int rowNumber, boolean evaluateDefaults) throws ExpressionEvaluationException, BlockedException,
 			TeiidComponentException, TeiidProcessingException {
 		List<Object> tuple = new ArrayList<Object>(projectedColumns.size());
 		for (XMLColumn proColumn : projectedColumns) {
 			if (proColumn.isOrdinal()) {
-				tuple.add(rowCount);
+				tuple.add(rowNumber);
 			} else {
 				try {
 					XPathExpression path = proColumn.getPathExpression();
@@ -270,6 +295,10 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 					Item colItem = pathIter.next();
 					if (colItem == null) {
 						if (proColumn.getDefaultExpression() != null) {
+							if (!evaluateDefaults) {
+								tuple.add(DEFAULT_VALUE);
+								continue;
+							}
 							tuple.add(getEvaluator(Collections.emptyMap()).evaluate(proColumn.getDefaultExpression(), null));
 						} else {
 							tuple.add(null);
@@ -312,7 +341,6 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 				}
 			}
 		}
-		item = null;
 		return tuple;
 	}
 
@@ -334,24 +362,101 @@ public class XMLTableNode extends SubqueryAwareRelationalNode implements RowProc
 	}
 	
 	@Override
-	public synchronized void processRow(NodeInfo row) {
+	public void processRow(NodeInfo row) {
+		if (this.pendingRows == null) {
+			synchronized (this) {
+				if (isClosed()) {
+					throw EARLY_TERMINATION;
+				}
+				assert this.state != State.DONE;
+				try {
+					addTuple(processRow(row, rowCount + 1, true));
+				} catch (TeiidException e) {
+					 throw new TeiidRuntimeException(e);
+				}
+			}
+			return;
+		}
 		if (isClosed()) {
 			throw EARLY_TERMINATION;
 		}
-		assert this.state != State.DONE;
-		this.item = row;
-		rowCount++;
+		//the streamed document is modified after this call, so a detached copy is needed
+		final Item copy = XQueryEvaluator.copyRow(row);
+		final int rowNumber = ++submittedRows;
+		FutureTask<List<Object>> task = new FutureTask<List<Object>>(new Callable<List<Object>>() {
+			@Override
+			public List<Object> call() throws Exception {
+				return processRow(copy, rowNumber, false);
+			}
+		});
+		this.pendingRows.add(task);
+		this.getContext().getExecutor().execute(task);
+		//add rows in document order, waiting on the oldest once the parallelism is exceeded
+		while (!this.pendingRows.isEmpty() && (this.pendingRows.size() > this.parallelism || this.pendingRows.getFirst().isDone())) {
+			addPendingRow(this.pendingRows.removeFirst());
+		}
+	}
+	
+	private void finishPendingRows() {
+		if (this.pendingRows == null) {
+			return;
+		}
+		while (!this.pendingRows.isEmpty()) {
+			addPendingRow(this.pendingRows.removeFirst());
+		}
+	}
+	
+	private void cancelPendingRows() {
+		if (this.pendingRows == null) {
+			return;
+		}
+		for (FutureTask<List<Object>> task : this.pendingRows) {
+			task.cancel(false);
+		}
+		this.pendingRows.clear();
+	}
+	
+	private void addPendingRow(FutureTask<List<Object>> task) {
+		//run the task in this thread if it has not yet started, so that a saturated executor cannot stall the document read
+		task.run();
+		List<Object> tuple = null;
 		try {
-			this.buffer.addTuple(processRow());
-			if (this.buffer.getRowCount() == rowLimit) {
+			tuple = task.get();
+		} catch (InterruptedException e) {
+			throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30169, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof TeiidRuntimeException) {
+				throw (TeiidRuntimeException)e.getCause();
+			}
+			throw new TeiidRuntimeException(e.getCause());
+		}
+		synchronized (this) {
+			if (isClosed()) {
 				throw EARLY_TERMINATION;
 			}
-			if (state == State.BUILDING && hasNextBatch()) {
-				this.state = State.AVAILABLE;
-				this.notifyAll();
+			assert this.state != State.DONE;
+			try {
+				for (int i = 0; i < tuple.size(); i++) {
+					if (tuple.get(i) == DEFAULT_VALUE) {
+						tuple.set(i, getEvaluator(Collections.emptyMap()).evaluate(projectedColumns.get(i).getDefaultExpression(), null));
+					}
+				}
+				addTuple(tuple);
+			} catch (TeiidException e) {
+				 throw new TeiidRuntimeException(e);
 			}
-		} catch (TeiidException e) {
-			 throw new TeiidRuntimeException(e);
+		}
+	}
+
+	private void addTuple(List<Object> tuple) throws TeiidComponentException {
+		rowCount++;
+		this.buffer.addTuple(tuple);
+		if (this.buffer.getRowCount() == rowLimit) {
+			throw EARLY_TERMINATION;
+		}
+		if (state == State.BUILDING && hasNextBatch()) {
+			this.state = State.AVAILABLE;
+			this.notifyAll();
 		}
 	}
 
@@ -316,6 +316,20 @@ public class SimpleQueryResolver implements CommandResolver {
 			postTableFunctionReference(obj, saved);
         }
         
+        @Override
+        public void visit(JSONTable obj) {
+        	LinkedHashSet<GroupSymbol> saved = preTableFunctionReference(obj);
+        	this.visitNode(obj.getJson());
+        	if (obj.getJson().getType() != DataTypeManager.DefaultDataClasses.BLOB) {
+	        	try {
+					obj.setJson(ResolverUtil.convertExpression(obj.getJson(), DataTypeManager.DefaultDataTypes.CLOB, metadata));
+				} catch (QueryResolverException e) {
+					 throw new TeiidRuntimeException(e);
+				}
+        	}
+			postTableFunctionReference(obj, saved);
+        }
+        
         @Override
         public void visit(XMLTable obj) {
         	LinkedHashSet<GroupSymbol> saved = preTableFunctionReference(obj);
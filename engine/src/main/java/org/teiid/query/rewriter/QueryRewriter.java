@@ -748,6 +748,9 @@ public class QueryRewriter {
         } else if (clause instanceof ArrayTable) {
         	ArrayTable at = (ArrayTable)clause;
         	at.setArrayValue(rewriteExpressionDirect(at.getArrayValue()));
+        } else if (clause instanceof JSONTable) {
+        	JSONTable jt = (JSONTable)clause;
+        	jt.setJson(rewriteExpressionDirect(jt.getJson()));
         }
         return clause;
 	}
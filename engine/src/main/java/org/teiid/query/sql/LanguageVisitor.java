@@ -135,6 +135,7 @@ public abstract class LanguageVisitor {
     public void visit(WithQueryCommand obj) {}
     public void visit(TriggerAction obj) {}
     public void visit(ArrayTable obj) {}
+    public void visit(JSONTable obj) {}
 
 	public void visit(AlterView obj) {}
 	public void visit(AlterProcedure obj) {}
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.sql.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.util.EquivalenceUtil;
+import org.teiid.query.sql.LanguageVisitor;
+import org.teiid.query.sql.symbol.Expression;
+
+/**
+ * Represents the JSONTABLE table function.
+ * <br>
+ * Paths are a simple subset of JSONPath - a leading $ followed by
+ * steps of .name, ['name'], or [*] for all array elements.
+ */
+public class JSONTable extends TableFunctionReference {
+	
+	public static class JSONColumn extends ProjectedColumn {
+		private boolean ordinal;
+		private String path;
+		
+		public JSONColumn(String name) {
+			super(name, DataTypeManager.DefaultDataTypes.INTEGER);
+			this.ordinal = true;
+		}
+		
+		public JSONColumn(String name, String type, String path) {
+			super(name, type);
+			this.path = path;
+		}
+		
+		protected JSONColumn() {
+			
+		}
+		
+		public String getPath() {
+			return path;
+		}
+		
+		public void setPath(String path) {
+			this.path = path;
+		}
+		
+		public boolean isOrdinal() {
+			return ordinal;
+		}
+		
+		public void setOrdinal(boolean ordinal) {
+			this.ordinal = ordinal;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!super.equals(obj) || !(obj instanceof JSONColumn)) {
+				return false;
+			}
+			JSONColumn other = (JSONColumn)obj;
+			return this.ordinal == other.ordinal 
+				&& EquivalenceUtil.areEqual(this.path, other.path);
+		}
+		
+		@Override
+		public JSONColumn clone() {
+			JSONColumn clone = new JSONColumn();
+			super.copyTo(clone);
+			clone.ordinal = this.ordinal;
+			clone.path = this.path;
+			return clone;
+		}
+	}
+	
+    private Expression json;
+    private String rowPath;
+    private List<JSONColumn> columns = new ArrayList<JSONColumn>();
+    
+    public Expression getJson() {
+		return json;
+	}
+    
+    public void setJson(Expression json) {
+		this.json = json;
+	}
+    
+    public String getRowPath() {
+		return rowPath;
+	}
+    
+    public void setRowPath(String rowPath) {
+		this.rowPath = rowPath;
+	}
+    
+    public List<JSONColumn> getColumns() {
+		return columns;
+	}
+    
+    public void setColumns(List<JSONColumn> columns) {
+		this.columns = columns;
+	}
+    
+    /**
+     * Parse the path into a list of steps.  Array wildcard steps are represented by null.
+     * A path that does not start with $ is taken as relative, such that 'a.b' is the same as '$.a.b'.
+     * @return the steps or null if the path is not valid
+     */
+    public static List<String> parsePath(String path) {
+    	List<String> result = new ArrayList<String>();
+    	int i = 0;
+    	boolean relative = true;
+    	if (path.startsWith("$")) { //$NON-NLS-1$
+    		i++;
+    		relative = false;
+    	}
+    	while (i < path.length()) {
+    		char c = path.charAt(i);
+    		if (c == '.' || (relative && i == 0)) {
+    			if (c == '.') {
+    				i++;
+    			}
+    			int end = i;
+    			while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+    				end++;
+    			}
+    			if (end == i) {
+    				return null;
+    			}
+    			result.add(path.substring(i, end));
+    			i = end;
+    		} else if (c == '[') {
+    			if (path.startsWith("[*]", i)) { //$NON-NLS-1$
+    				result.add(null);
+    				i += 3;
+    			} else if (path.startsWith("['", i)) { //$NON-NLS-1$
+    				int end = path.indexOf("']", i + 2); //$NON-NLS-1$
+    				if (end < 0) {
+    					return null;
+    				}
+    				result.add(path.substring(i + 2, end));
+    				i = end + 2;
+    			} else {
+    				return null;
+    			}
+    		} else {
+    			return null;
+    		}
+    	}
+    	return result;
+    }
+    
+	@Override
+	public void acceptVisitor(LanguageVisitor visitor) {
+		visitor.visit(this);
+	}
+
+	@Override
+	protected JSONTable cloneDirect() {
+		JSONTable clone = new JSONTable();
+		this.copy(clone);
+		clone.setJson((Expression)this.json.clone());
+		clone.setRowPath(this.rowPath);
+		for (JSONColumn column : columns) {
+			clone.getColumns().add(column.clone());
+		}
+		return clone;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!super.equals(obj) || !(obj instanceof JSONTable)) {
+			return false;
+		}
+		JSONTable other = (JSONTable)obj;
+		return this.columns.equals(other.columns) 
+			&& EquivalenceUtil.areEqual(json, other.json)
+			&& EquivalenceUtil.areEqual(rowPath, other.rowPath);
+	}
+	
+}
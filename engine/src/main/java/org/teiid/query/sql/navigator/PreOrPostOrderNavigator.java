@@ -590,6 +590,14 @@ public class PreOrPostOrderNavigator extends AbstractNavigator {
         postVisitVisitor(obj);
     }
     
+    @Override
+    public void visit(JSONTable obj) {
+        preVisitVisitor(obj);
+        visitNode(obj.getJson());
+        visitNode(obj.getGroupSymbol());
+        postVisitVisitor(obj);
+    }
+    
     @Override
     public void visit(AlterProcedure obj) {
     	preVisitVisitor(obj);
@@ -32,12 +32,18 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.api.exception.query.QueryMetadataException;
@@ -85,6 +91,11 @@ import org.teiid.query.tempdata.TempTableStore.TransactionMode;
 public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<String> {
 	
 	private static final String TEIID_FBI = "teiid:fbi"; //$NON-NLS-1$
+	private static final int STREAM_BUFFER_SIZE = 1 << 16;
+	/**
+	 * Leads the full state so that members using a different format fail fast
+	 */
+	private static final Integer STATE_FORMAT_VERSION = 2;
 
 	public enum MatState {
 		NEEDS_LOADING,
@@ -205,6 +216,7 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 	private QueryMetadataInterface metadata;
 	private Serializable localAddress;
 	private VDBMetaData vdbMetaData;
+	private Set<String> pendingStates = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 	
 	public GlobalTableStoreImpl(BufferManager bufferManager, VDBMetaData vdbMetaData, QueryMetadataInterface metadata) {
 		this.bufferManager = bufferManager;
@@ -491,19 +503,30 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 		return localAddress;
 	}
 	
+	/**
+	 * The full state only describes the valid tables and their update times.  The
+	 * table contents are then pulled individually as pending states, so that each table is 
+	 * usable as soon as it is received and tables that are already current are not sent.
+	 */
 	@Override
 	public void getState(OutputStream ostream) {
 		try {
 			ObjectOutputStream oos = new ObjectOutputStream(ostream);
-			for (Map.Entry<String, TempTable> entry : tableStore.getTempTables().entrySet()) {
-				sendTable(entry.getKey(), oos, true);
+			oos.writeObject(STATE_FORMAT_VERSION);
+			for (String tableName : tableStore.getTempTables().keySet()) {
+				MatTableInfo info = getMatTableInfo(tableName);
+				synchronized (info) {
+					if (!info.isValid()) {
+						continue;
+					}
+					oos.writeObject(tableName);
+					oos.writeLong(info.updateTime);
+				}
 			}
 			oos.writeObject(null);
 			oos.close();
 		} catch (IOException e) {
 			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30217, e);
-		} catch (TeiidComponentException e) {
-			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30218, e);
 		}
 	}
 
@@ -511,33 +534,69 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 	public void setState(InputStream istream) {
 		try {
 			ObjectInputStream ois = new ObjectInputStream(istream);
+			Object version = ois.readObject();
+			if (!STATE_FORMAT_VERSION.equals(version)) {
+				throw new TeiidRuntimeException(QueryPlugin.Event.TEIID31155, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31155, version, STATE_FORMAT_VERSION));
+			}
 			while (true) {
 				String tableName = (String)ois.readObject();
 				if (tableName == null) {
 					break;
 				}
-				loadTable(tableName, ois);
+				long updateTime = ois.readLong();
+				MatTableInfo info = getMatTableInfo(tableName);
+				synchronized (info) {
+					if (info.state == MatState.LOADED && info.updateTime == updateTime && hasState(tableName)) {
+						continue;
+					}
+					//queries will wait for the table to be pulled
+					info.setState(MatState.LOADING, null);
+					info.loadingAddress = null;
+				}
+				pendingStates.add(tableName);
 			}
 			ois.close();
+		} catch (TeiidRuntimeException e) {
+			throw e;
 		} catch (Exception e) {
 			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30219, e);
 		}
 	}
+	
+	@Override
+	public Collection<String> getPendingStates() {
+		return new ArrayList<String>(pendingStates);
+	}
+	
+	@Override
+	public void pendingStateFailed(String stateId) {
+		pendingStates.remove(stateId);
+		MatTableInfo info = getMatTableInfo(stateId);
+		synchronized (info) {
+			//a table still waiting on the transfer has no loading address, so it must be failed here
+			if (info.state == MatState.LOADING && info.loadingAddress == null) {
+				info.setState(MatState.FAILED_LOAD, null);
+			}
+		}
+	}
 
 	@Override
 	public void getState(String stateId, OutputStream ostream) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
 		try {
-			ObjectOutputStream oos = new ObjectOutputStream(ostream);
-			sendTable(stateId, oos, false);
+			ObjectOutputStream oos = new ObjectOutputStream(new DeflaterOutputStream(ostream, deflater, STREAM_BUFFER_SIZE));
+			sendTable(stateId, oos);
 			oos.close();
 		} catch (IOException e) {
 			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30220, e);
 		} catch (TeiidComponentException e) {
 			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30221, e);
+		} finally {
+			deflater.end();
 		}
 	}
 
-	private void sendTable(String stateId, ObjectOutputStream oos, boolean writeName)
+	private void sendTable(String stateId, ObjectOutputStream oos)
 			throws IOException, TeiidComponentException {
 		TempTable tempTable = this.tableStore.getTempTable(stateId);
 		if (tempTable == null) {
@@ -547,9 +606,6 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 		if (!info.isValid()) {
 			return;
 		}
-		if (writeName) {
-			oos.writeObject(stateId);
-		}
 		oos.writeLong(info.updateTime);
 		oos.writeObject(info.loadingAddress);
 		oos.writeObject(info.state);
@@ -558,14 +614,18 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 
 	@Override
 	public void setState(String stateId, InputStream istream) {
+		Inflater inflater = new Inflater();
 		try {
-			ObjectInputStream ois = new ObjectInputStream(istream);
+			ObjectInputStream ois = new ObjectInputStream(new InflaterInputStream(istream, inflater, STREAM_BUFFER_SIZE));
 			loadTable(stateId, ois);
 			ois.close();
 		} catch (Exception e) {
+			pendingStates.remove(stateId);
 			MatTableInfo info = this.getMatTableInfo(stateId);
 			info.setState(MatState.FAILED_LOAD, null);	
 			 throw new TeiidRuntimeException(QueryPlugin.Event.TEIID30222, e);
+		} finally {
+			inflater.end();
 		}
 	}
 
@@ -601,6 +661,7 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 			info.updateTime = updateTime;
 			info.loadingAddress = loadingAddress;
 		}
+		pendingStates.remove(stateId);
 	}
 
 	@Override
@@ -617,7 +678,8 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
 	
 	@Override
 	public boolean hasState(String stateId) {
-		return this.tableStore.getTempTable(stateId) != null;
+		//a pending table may be stale, so it should not be offered to or counted as pulled by others
+		return this.tableStore.getTempTable(stateId) != null && !pendingStates.contains(stateId);
 	}
 	
 	@Override
@@ -60,9 +60,14 @@ import org.teiid.language.SQLConstants;
 import org.teiid.language.SQLConstants.Reserved;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.Column;
 import org.teiid.metadata.FunctionMethod.Determinism;
+import org.teiid.metadata.Table;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.eval.Evaluator;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedback.ColumnStatisticsCollector;
+import org.teiid.query.metadata.CardinalityFeedback.ObservedCardinality;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempMetadataAdapter;
 import org.teiid.query.metadata.TempMetadataID;
@@ -80,6 +85,7 @@ import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.symbol.Reference;
+import org.teiid.query.sql.visitor.SQLStringVisitor;
 import org.teiid.query.tempdata.GlobalTableStoreImpl.MatTableInfo;
 import org.teiid.query.util.CommandContext;
 import org.teiid.translator.CacheDirective.Scope;
@@ -122,6 +128,7 @@ public class TempTableDataManager implements ProcessorDataManager {
 	
 	private static final String REFRESHMATVIEWROW = ".refreshmatviewrow"; //$NON-NLS-1$
 	private static final String REFRESHMATVIEW = ".refreshmatview"; //$NON-NLS-1$
+	private static final String COLLECTTABLESTATS = ".collecttablestats"; //$NON-NLS-1$
 	public static final String CODE_PREFIX = "#CODE_"; //$NON-NLS-1$
 	private static String REFRESH_SQL = SQLConstants.Reserved.CALL + ' ' + CoreConstants.SYSTEM_ADMIN_MODEL + REFRESHMATVIEW + "(?, ?)"; //$NON-NLS-1$
 
@@ -422,9 +429,93 @@ public class TempTableDataManager implements ProcessorDataManager {
 				}
 				
 			};
+		} else if (StringUtil.endsWithIgnoreCase(proc.getProcedureCallableName(), COLLECTTABLESTATS)) {
+			return collectTableStats(context, proc);
 		}
 		return null;
 	}
+	
+	/**
+	 * Read up to sampleSize rows of a physical table through its source, with the limit pushed down
+	 * if supported, and record the column statistics with the vdb {@link CardinalityFeedback}.
+	 * The cardinality is also recorded if the whole table was read, otherwise the column
+	 * statistics are scaled to the observed, or else the metadata, cardinality of the table.
+	 */
+	private TupleSource collectTableStats(final CommandContext context, StoredProcedure proc) 
+			throws TeiidComponentException, TeiidProcessingException {
+		final QueryMetadataInterface metadata = context.getMetadata();
+		String tableName = (String)((Constant)proc.getParameter(2).getExpression()).getValue();
+		Integer size = (Integer)((Constant)proc.getParameter(3).getExpression()).getValue();
+		Object groupID = metadata.getGroupID(tableName);
+		if (!(groupID instanceof Table) || metadata.isVirtualGroup(groupID) || ((Table)groupID).isSystem()) {
+			 throw new QueryProcessingException(QueryPlugin.Event.TEIID31156, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31156, tableName));
+		}
+		if (size == null || size < 1) {
+			 throw new QueryProcessingException(QueryPlugin.Event.TEIID31157, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31157, size));
+		}
+		final int sampleSize = size;
+		final Table table = (Table)groupID;
+		final List<ColumnStatisticsCollector> collectors = new ArrayList<ColumnStatisticsCollector>();
+		StringBuilder queryString = new StringBuilder(Reserved.SELECT);
+		for (Column column : table.getColumns()) {
+			if (!column.isSelectable()) {
+				continue;
+			}
+			queryString.append(collectors.isEmpty()?" ":", "); //$NON-NLS-1$ //$NON-NLS-2$
+			queryString.append(SQLStringVisitor.escapeSinglePart(column.getName()));
+			collectors.add(new ColumnStatisticsCollector(column));
+		}
+		if (collectors.isEmpty()) {
+			 throw new QueryProcessingException(QueryPlugin.Event.TEIID31156, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31156, tableName));
+		}
+		queryString.append(' ').append(Reserved.FROM).append(' ');
+		queryString.append(SQLStringVisitor.escapeSinglePart(table.getParent().getName())).append('.').append(SQLStringVisitor.escapeSinglePart(table.getName()));
+		queryString.append(' ').append(Reserved.LIMIT).append(' ').append(sampleSize);
+		queryString.append(' ').append(Reserved.OPTION).append(' ').append(Reserved.NOCACHE);
+		String fullName = metadata.getFullName(groupID);
+		LogManager.logDetail(LogConstants.CTX_DQP, "collecting statistics for", fullName, "from", queryString); //$NON-NLS-1$ //$NON-NLS-2$
+		final QueryProcessor qp = context.getQueryProcessorFactory().createQueryProcessor(queryString.toString(), fullName.toUpperCase(), context);
+		final TupleSource ts = new BatchCollector.BatchProducerTupleSource(qp);
+		return new ProxyTupleSource() {
+			int rows;
+
+			@Override
+			protected TupleSource createTupleSource()
+					throws TeiidComponentException,
+					TeiidProcessingException {
+				List<?> tuple = null;
+				while ((tuple = ts.nextTuple()) != null) {
+					rows++;
+					for (int i = 0; i < collectors.size(); i++) {
+						collectors.get(i).collect(tuple.get(i));
+					}
+				}
+				CardinalityFeedback feedback = CardinalityFeedback.getCardinalityFeedback(context.getVdb());
+				long cardinality = rows;
+				if (rows < sampleSize) {
+					feedback.observe(table, rows);
+				} else {
+					ObservedCardinality observed = feedback.getObservedCardinality(table);
+					if (observed != null) {
+						cardinality = Math.max(rows, observed.getCardinality());
+					} else {
+						cardinality = Math.max(rows, (long)metadata.getCardinality(table));
+					}
+				}
+				for (ColumnStatisticsCollector collector : collectors) {
+					feedback.observe(collector, cardinality);
+				}
+				return CollectionTupleSource.createUpdateCountTupleSource(rows);
+			}
+			
+			@Override
+			public void closeSource() {
+				super.closeSource();
+				qp.closeProcessing();
+			}
+			
+		};
+	}
 
 	private Object validateMatView(QueryMetadataInterface metadata,	String viewName) throws TeiidComponentException,
 			TeiidProcessingException {
@@ -195,6 +195,8 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     private TupleSourceCache tupleSourceCache;
     private VDBState vdbState = new VDBState();
     private Determinism[] determinismLevel = new Determinism[] {Determinism.DETERMINISTIC};
+    /* whether user determinism came from the data roles and whether it came from anything else */
+    private boolean[] userDeterminism = new boolean[2];
 
     /**
      * Construct a new context.
@@ -236,8 +238,11 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     	Determinism result = determinismLevel[0];
     	if (detach) {
     		determinismLevel = new Determinism[1];
+    		userDeterminism = new boolean[2];
     	}
     	determinismLevel[0] = Determinism.DETERMINISTIC;
+    	userDeterminism[0] = false;
+    	userDeterminism[1] = false;
     	return result;
     	
     }
@@ -247,11 +252,33 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     }
     
     public void setDeterminismLevel(Determinism level) {
+    	if (level == Determinism.USER_DETERMINISTIC) {
+    		userDeterminism[1] = true;
+    	}
     	if (determinismLevel[0] == null || level.compareTo(determinismLevel[0]) < 0) {
     		determinismLevel[0] = level;
     	}
     }
     
+    /**
+     * Set the determinism to {@link Determinism#USER_DETERMINISTIC} because of the allowed
+     * data roles, such as for row filters and column masks, rather than the user.
+     */
+    public void setDataRoleDeterministic() {
+    	userDeterminism[0] = true;
+    	if (determinismLevel[0] == null || Determinism.USER_DETERMINISTIC.compareTo(determinismLevel[0]) < 0) {
+    		determinismLevel[0] = Determinism.USER_DETERMINISTIC;
+    	}
+    }
+    
+    /**
+     * @return true if the determinism is {@link Determinism#USER_DETERMINISTIC} only because of 
+     * the allowed data roles, so that the results are the same for users with the same data roles.
+     */
+    public boolean isDataRoleDeterministic() {
+    	return determinismLevel[0] == Determinism.USER_DETERMINISTIC && userDeterminism[0] && !userDeterminism[1];
+    }
+    
     /**
      * @return
      */
@@ -278,6 +305,7 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     	clone.tupleSourceCache = this.tupleSourceCache;
     	clone.vdbState = this.vdbState;
     	clone.determinismLevel = this.determinismLevel; 
+    	clone.userDeterminism = this.userDeterminism;
     	return clone;
     }
     
@@ -567,9 +595,12 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     		return null;
     	}
     	CacheID id = new CacheID(new ParseInfo(), key, getVdbName(), getVdbVersion(), getConnectionId(), getUserName());
+    	id.setOriginalDataRoles(getDataRolesKey());
     	PreparedPlan pp = this.globalState.planCache.get(id);
     	if (pp != null) {
-    		if (id.getSessionId() != null) {
+    		if (id.getDataRoles() != null) {
+    			setDataRoleDeterministic();
+    		} else if (id.getSessionId() != null) {
     			setDeterminismLevel(Determinism.USER_DETERMINISTIC);
     		} else if (id.getUserName() != null) {
     			setDeterminismLevel(Determinism.SESSION_DETERMINISTIC);
@@ -584,9 +615,18 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
     		return;
     	}
     	CacheID id = new CacheID(new ParseInfo(), key, getVdbName(), getVdbVersion(), getConnectionId(), getUserName());
+    	id.setOriginalDataRoles(getDataRolesKey());
+    	id.setDataRoleScoped(determinismLevel == Determinism.USER_DETERMINISTIC && isDataRoleDeterministic());
     	this.globalState.planCache.put(id, determinismLevel, plan, null);
     }
     
+    private String getDataRolesKey() {
+    	if (this.vdbState.dqpWorkContext == null) {
+    		return null;
+    	}
+    	return this.vdbState.dqpWorkContext.getDataRolesKey();
+    }
+    
     public boolean isResultSetCacheEnabled() {
 		return globalState.resultSetCacheEnabled;
 	}
@@ -33,12 +33,32 @@ public class Options {
 	public static final String PUSHDOWN_DEFAULT_NULL_ORDER = "org.teiid.pushdownDefaultNullOrder"; //$NON-NLS-1$
 	public static final String IMPLICIT_MULTISOURCE_JOIN = "org.teiid.implicitMultiSourceJoin"; //$NON-NLS-1$
 	public static final String JOIN_PREFETCH_BATCHES = "org.teiid.joinPrefetchBatches"; //$NON-NLS-1$
+	public static final String XML_TABLE_PARALLELISM = "org.teiid.xmlTableParallelism"; //$NON-NLS-1$
+	public static final String CARDINALITY_FEEDBACK = "org.teiid.cardinalityFeedback"; //$NON-NLS-1$
+	public static final String MAX_DEPENDENT_QUERIES = "org.teiid.maxDependentQueries"; //$NON-NLS-1$
+	public static final String JOIN_ENUMERATION_TIME_LIMIT = "org.teiid.joinEnumerationTimeLimit"; //$NON-NLS-1$
+	public static final String AUTO_PARAMETERIZE = "org.teiid.autoParameterize"; //$NON-NLS-1$
+	public static final String PLANNING_PROFILE = "org.teiid.planningProfile"; //$NON-NLS-1$
+	public static final String INSERT_PIPELINE_DEPTH = "org.teiid.insertPipelineDepth"; //$NON-NLS-1$
+	public static final String DYNAMIC_SQL_PLAN_CACHE = "org.teiid.dynamicSqlPlanCache"; //$NON-NLS-1$
+	public static final String PROCEDURE_LOOP_BATCH_SIZE = "org.teiid.procedureLoopBatchSize"; //$NON-NLS-1$
+	public static final String AUTHORIZATION_CACHE_SIZE = "org.teiid.authorizationCacheSize"; //$NON-NLS-1$
 
 	private Properties properties;
 	private boolean subqueryUnnestDefault;
 	private boolean pushdownDefaultNullOrder;
 	private boolean implicitMultiSourceJoin = true;
 	private int joinPrefetchBatches = 10;
+	private int xmlTableParallelism = 1;
+	private boolean cardinalityFeedback;
+	private int maxDependentQueries;
+	private int joinEnumerationTimeLimit;
+	private boolean autoParameterize;
+	private boolean planningProfile;
+	private int insertPipelineDepth = 1;
+	private boolean dynamicSqlPlanCache;
+	private int procedureLoopBatchSize;
+	private int authorizationCacheSize;
 	
 	public Properties getProperties() {
 		return properties;
@@ -99,5 +119,135 @@ public class Options {
 		this.joinPrefetchBatches = i;
 		return this;
 	}
+	
+	public void setXmlTableParallelism(int xmlTableParallelism) {
+		this.xmlTableParallelism = xmlTableParallelism;
+	}
+	
+	public int getXmlTableParallelism() {
+		return xmlTableParallelism;
+	}
+	
+	public Options xmlTableParallelism(int i) {
+		this.xmlTableParallelism = i;
+		return this;
+	}
+
+	public void setCardinalityFeedback(boolean cardinalityFeedback) {
+		this.cardinalityFeedback = cardinalityFeedback;
+	}
+	
+	public boolean isCardinalityFeedback() {
+		return cardinalityFeedback;
+	}
+	
+	public Options cardinalityFeedback(boolean b) {
+		this.cardinalityFeedback = b;
+		return this;
+	}
+	
+	public void setMaxDependentQueries(int maxDependentQueries) {
+		this.maxDependentQueries = maxDependentQueries;
+	}
+	
+	public int getMaxDependentQueries() {
+		return maxDependentQueries;
+	}
+	
+	public Options maxDependentQueries(int i) {
+		this.maxDependentQueries = i;
+		return this;
+	}
+	
+	public void setJoinEnumerationTimeLimit(int joinEnumerationTimeLimit) {
+		this.joinEnumerationTimeLimit = joinEnumerationTimeLimit;
+	}
+	
+	public int getJoinEnumerationTimeLimit() {
+		return joinEnumerationTimeLimit;
+	}
+	
+	public Options joinEnumerationTimeLimit(int i) {
+		this.joinEnumerationTimeLimit = i;
+		return this;
+	}
+	
+	public void setAutoParameterize(boolean autoParameterize) {
+		this.autoParameterize = autoParameterize;
+	}
+	
+	public boolean isAutoParameterize() {
+		return autoParameterize;
+	}
+	
+	public Options autoParameterize(boolean b) {
+		this.autoParameterize = b;
+		return this;
+	}
+	
+	public void setPlanningProfile(boolean planningProfile) {
+		this.planningProfile = planningProfile;
+	}
+	
+	public boolean isPlanningProfile() {
+		return planningProfile;
+	}
+	
+	public Options planningProfile(boolean b) {
+		this.planningProfile = b;
+		return this;
+	}
+	
+	public void setInsertPipelineDepth(int insertPipelineDepth) {
+		this.insertPipelineDepth = insertPipelineDepth;
+	}
+	
+	public int getInsertPipelineDepth() {
+		return insertPipelineDepth;
+	}
+	
+	public Options insertPipelineDepth(int i) {
+		this.insertPipelineDepth = i;
+		return this;
+	}
+	
+	public void setDynamicSqlPlanCache(boolean dynamicSqlPlanCache) {
+		this.dynamicSqlPlanCache = dynamicSqlPlanCache;
+	}
+	
+	public boolean isDynamicSqlPlanCache() {
+		return dynamicSqlPlanCache;
+	}
+	
+	public Options dynamicSqlPlanCache(boolean b) {
+		this.dynamicSqlPlanCache = b;
+		return this;
+	}
+	
+	public void setProcedureLoopBatchSize(int procedureLoopBatchSize) {
+		this.procedureLoopBatchSize = procedureLoopBatchSize;
+	}
+	
+	public int getProcedureLoopBatchSize() {
+		return procedureLoopBatchSize;
+	}
+	
+	public Options procedureLoopBatchSize(int i) {
+		this.procedureLoopBatchSize = i;
+		return this;
+	}
+	
+	public void setAuthorizationCacheSize(int authorizationCacheSize) {
+		this.authorizationCacheSize = authorizationCacheSize;
+	}
+	
+	public int getAuthorizationCacheSize() {
+		return authorizationCacheSize;
+	}
+	
+	public Options authorizationCacheSize(int i) {
+		this.authorizationCacheSize = i;
+		return this;
+	}
 
 }
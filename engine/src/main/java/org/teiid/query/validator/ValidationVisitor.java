@@ -1379,6 +1379,31 @@ public class ValidationVisitor extends AbstractValidationVisitor {
 		}
     }
     
+    @Override
+    public void visit(JSONTable obj) {
+    	List<String> rowPath = JSONTable.parsePath(obj.getRowPath());
+    	if (rowPath == null) {
+    		handleValidationError(QueryPlugin.Util.getString("ValidationVisitor.json_table_path", obj.getRowPath()), obj); //$NON-NLS-1$
+    	}
+    	boolean hasOrdinal = false;
+    	for (JSONTable.JSONColumn column : obj.getColumns()) {
+    		if (!column.isOrdinal()) {
+    			if (column.getPath() != null) {
+    				List<String> path = JSONTable.parsePath(column.getPath());
+    				if (path == null || path.contains(null)) {
+    					handleValidationError(QueryPlugin.Util.getString("ValidationVisitor.json_table_path", column.getPath()), obj); //$NON-NLS-1$
+    				}
+    			}
+    			continue;
+    		}
+			if (hasOrdinal) {
+				handleValidationError(QueryPlugin.Util.getString("ValidationVisitor.one_ordinal"), obj); //$NON-NLS-1$
+				break;
+			}
+			hasOrdinal = true;
+		}
+    }
+    
     @Override
     public void visit(TextTable obj) {
     	boolean widthSet = false;
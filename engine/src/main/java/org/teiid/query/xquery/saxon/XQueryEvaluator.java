@@ -42,11 +42,14 @@ import net.sf.saxon.om.NodeInfo;
 import net.sf.saxon.query.DynamicQueryContext;
 import net.sf.saxon.trans.XPathException;
 import net.sf.saxon.value.HexBinaryValue;
+import nu.xom.Attribute;
 import nu.xom.Builder;
 import nu.xom.DocType;
+import nu.xom.Document;
 import nu.xom.Element;
 import nu.xom.Node;
 import nu.xom.Nodes;
+import nu.xom.ParentNode;
 import nu.xom.ParsingException;
 import nux.xom.xquery.StreamingPathFilter;
 import nux.xom.xquery.StreamingTransform;
@@ -189,6 +192,38 @@ public class XQueryEvaluator {
 		return value;
 	}
 
+	/**
+	 * Create a copy of a streamed row that is detached from the document being built,
+	 * so that it may be safely evaluated by another thread.  Ancestors are copied 
+	 * without their other children so that parent attributes remain available.
+	 */
+	public static NodeInfo copyRow(NodeInfo row) {
+		Node node = (Node)((NodeWrapper)row).getUnderlyingNode();
+		Node copy = node.copy();
+		Node top = copy;
+		ParentNode parent = node.getParent();
+		while (parent instanceof Element) {
+			Element ancestor = (Element)parent;
+			Element ancestorCopy = new Element(ancestor.getQualifiedName(), ancestor.getNamespaceURI());
+			for (int i = 0; i < ancestor.getNamespaceDeclarationCount(); i++) {
+				String prefix = ancestor.getNamespacePrefix(i);
+				if (!prefix.equals(ancestor.getNamespacePrefix())) {
+					ancestorCopy.addNamespaceDeclaration(prefix, ancestor.getNamespaceURI(prefix));
+				}
+			}
+			for (int i = 0; i < ancestor.getAttributeCount(); i++) {
+				ancestorCopy.addAttribute((Attribute)ancestor.getAttribute(i).copy());
+			}
+			ancestorCopy.appendChild(top);
+			top = ancestorCopy;
+			parent = ancestor.getParent();
+		}
+		if (parent instanceof Document) {
+			new Document((Element)top);
+		}
+		return wrap(copy, row.getConfiguration());
+	}
+	
 	/**
 	 * Converts a xom node into something readable by Saxon
 	 * @param node
@@ -286,4 +286,32 @@ BEGIN
     END
 
 	RETURN  rowsUpdated;
-END
\ No newline at end of file
+END
+
+CREATE FOREIGN TABLE ObservedCardinalities (
+	VDBName string(255) NOT NULL,
+	SchemaName string(255) NOT NULL,
+	TableName string(255) NOT NULL,
+	Cardinality integer NOT NULL,
+	Observations integer NOT NULL,
+	LastObserved timestamp NOT NULL,
+	TableUID string(50) NOT NULL,
+	PRIMARY KEY (VDBName, SchemaName, TableName)
+);
+
+CREATE FOREIGN PROCEDURE clearObservedStats(IN tableName string)
+OPTIONS (UPDATECOUNT 0)
+
+CREATE FOREIGN PROCEDURE collectTableStats(OUT RowsSampled integer NOT NULL RESULT, IN tableName string NOT NULL, IN sampleSize integer NOT NULL DEFAULT '10000')
+OPTIONS (UPDATECOUNT 0)
+
+CREATE FOREIGN TABLE PlanningProfiles (
+	VDBName string(255) NOT NULL,
+	Type string(20) NOT NULL,
+	Name string(255) NOT NULL,
+	Plans integer NOT NULL,
+	Executions integer NOT NULL,
+	TotalTime long NOT NULL,
+	MaxTime long NOT NULL,
+	PRIMARY KEY (VDBName, Type, Name)
+);
\ No newline at end of file
@@ -127,4 +127,33 @@ public class TestLobManager {
 		assertEquals(StorageMode.MEMORY, InputStreamFactory.getStorageMode(clob));
 	}
 	
-}
+	@Test public void testPersistDeduplication() throws Exception{
+		BufferManager buffMgr = BufferManagerFactory.getStandaloneBufferManager();
+		FileStore fs = buffMgr.createFileStore("temp");
+		
+		InputStreamFactory isf = new InputStreamFactory() {
+			@Override
+			public InputStream getInputStream() throws IOException {
+				return new ReaderInputStream(new StringReader("duplicate contents"),  Charset.forName(Streamable.ENCODING)); 
+			}
+		};
+		
+		ClobType clob = new ClobType(new ClobImpl(isf, -1));
+		ClobType clob1 = new ClobType(new ClobImpl(isf, -1));
+		
+		Streamable<?> persisted = LobManager.persistLob(clob, fs, new byte[1 << 10], false, 0);
+		long length = fs.getLength();
+		assertTrue(length > 0);
+		Streamable<?> persisted1 = LobManager.persistLob(clob1, fs, new byte[1 << 10], false, 0);
+		assertEquals(length, fs.getLength());
+		
+		assertEquals(StorageMode.PERSISTENT, InputStreamFactory.getStorageMode(persisted1));
+		assertEquals(ClobType.getString((ClobType)persisted), ClobType.getString((ClobType)persisted1));
+		
+		//content is not shared across stores
+		FileStore fs1 = buffMgr.createFileStore("temp1");
+		LobManager.persistLob(new ClobType(new ClobImpl(isf, -1)), fs1, new byte[1 << 10], false, 0);
+		assertEquals(length, fs1.getLength());
+	}
+	
+}
\ No newline at end of file
@@ -38,7 +38,10 @@ import java.util.concurrent.TimeUnit;
 import javax.resource.spi.work.Work;
 
 import org.junit.Test;
+import org.teiid.adminapi.impl.SessionMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.adminapi.impl.WorkerPoolStatisticsMetadata;
+import org.teiid.dqp.internal.process.DQPWorkContext;
 import org.teiid.dqp.internal.process.FutureWork;
 import org.teiid.dqp.internal.process.TeiidExecutor;
 import org.teiid.dqp.internal.process.ThreadReuseExecutor;
@@ -161,4 +164,97 @@ public class TestThreadReuseExecutor {
     	assertEquals(Integer.valueOf(4), order.remove());
     }
         
+    @Test public void testFairness() throws Exception {
+    	final ThreadReuseExecutor pool = new ThreadReuseExecutor("test", 1); //$NON-NLS-1$
+    	final ConcurrentLinkedQueue<Integer> order = new ConcurrentLinkedQueue<Integer>();
+    	DQPWorkContext previous = DQPWorkContext.getWorkContext();
+    	List<FutureWork<Boolean>> work = new ArrayList<FutureWork<Boolean>>();
+    	try {
+    		DQPWorkContext.setWorkContext(buildTenantContext("a"));
+    		work.add(new FutureWork<Boolean>(new Callable<Boolean>() {
+        		public Boolean call() throws Exception {
+        			synchronized (pool) {
+        				while (pool.getSubmittedCount() < 4) {
+        					pool.wait();
+        				}
+    				}
+        			Thread.sleep(50); //use more time than the other tenant
+        			return true;
+        		}
+    		}, 1));
+    		work.add(addOrder(order, 2));
+    		work.add(addOrder(order, 3));
+    		DQPWorkContext.setWorkContext(buildTenantContext("b"));
+    		work.add(addOrder(order, 4));
+    	} finally {
+    		DQPWorkContext.setWorkContext(previous);
+    	}
+    	for (FutureWork<Boolean> futureWork : work) {
+			pool.execute(futureWork);
+		}
+    	synchronized (pool) {
+        	pool.notifyAll();
+		}
+    	for (FutureWork<Boolean> futureWork : work) {
+			futureWork.get();
+		}
+    	//the other tenant is not made to wait for all of the queued work
+    	assertEquals(Integer.valueOf(4), order.remove());
+    	assertEquals(Integer.valueOf(2), order.remove());
+    	assertEquals(Integer.valueOf(3), order.remove());
+    	assertTrue(pool.getMaxQueueWaitTime() >= 50);
+    	assertEquals(pool.getMaxQueueWaitTime(), pool.getStats().getMaxQueueWaitTime());
+    	assertEquals(pool.getAverageQueueWaitTime(), pool.getStats().getAverageQueueWaitTime(), 0);
+    }
+    
+    @Test public void testQueueFull() throws Exception {
+    	ThreadReuseExecutor pool = new ThreadReuseExecutor("test", 1); //$NON-NLS-1$
+    	pool.setMaxQueuedPerTenant(1);
+    	DQPWorkContext tenant = buildTenantContext("a");
+    	assertFalse(pool.isQueueFull(tenant));
+    	final Semaphore signal = new Semaphore(0);
+    	DQPWorkContext previous = DQPWorkContext.getWorkContext();
+    	try {
+    		DQPWorkContext.setWorkContext(tenant);
+    		pool.execute(new FutureWork<Boolean>(new Callable<Boolean>() {
+        		public Boolean call() throws Exception {
+        			signal.acquire();
+        			return true;
+        		}
+    		}, 1));
+    		pool.execute(new FutureWork<Boolean>(new Callable<Boolean>() {
+        		public Boolean call() throws Exception {
+        			return true;
+        		}
+    		}, 1));
+    	} finally {
+    		DQPWorkContext.setWorkContext(previous);
+    	}
+    	assertTrue(pool.isQueueFull(tenant));
+    	assertFalse(pool.isQueueFull(buildTenantContext("b")));
+    	signal.release();
+    	pool.shutdown();
+    	pool.awaitTermination(2, TimeUnit.SECONDS);
+    }
+
+	private FutureWork<Boolean> addOrder(final ConcurrentLinkedQueue<Integer> order, final int i) {
+		return new FutureWork<Boolean>(new Callable<Boolean>() {
+    		public Boolean call() throws Exception {
+    			order.add(i);
+    			return true;
+    		}
+		}, 1);
+	}
+    
+    private static DQPWorkContext buildTenantContext(String user) {
+    	DQPWorkContext workContext = new DQPWorkContext();
+    	SessionMetadata session = new SessionMetadata();
+    	session.setUserName(user);
+    	session.setVDBName("vdb"); //$NON-NLS-1$
+    	session.setVDBVersion(1);
+    	session.setVdb(new VDBMetaData());
+    	workContext.setSession(session);
+    	return workContext;
+    }
+        
 }
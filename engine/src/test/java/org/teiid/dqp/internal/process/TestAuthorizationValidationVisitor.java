@@ -40,7 +40,10 @@ import org.teiid.adminapi.impl.SessionMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.api.exception.query.QueryParserException;
 import org.teiid.api.exception.query.QueryResolverException;
+import org.teiid.api.exception.query.QueryValidatorException;
 import org.teiid.core.TeiidComponentException;
+import org.teiid.dqp.internal.process.AuthorizationCache.DataRolePermissions;
+import org.teiid.dqp.internal.process.AuthorizationValidator.CommandType;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.resolver.QueryResolver;
@@ -49,6 +52,7 @@ import org.teiid.query.sql.lang.Command;
 import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 import org.teiid.query.validator.Validator;
 import org.teiid.query.validator.ValidatorFailure;
 import org.teiid.query.validator.ValidatorReport;
@@ -366,4 +370,48 @@ public class TestAuthorizationValidationVisitor {
     }
     
     
+    @Test public void testMergedPermissions() throws Exception {
+    	DataPolicyMetadata other = exampleAuthSvc2();
+    	other.setName("other");
+    	DataRolePermissions permissions = new DataRolePermissions(Arrays.asList(exampleAuthSvc1, other));
+    	assertEquals(Boolean.TRUE, permissions.allows("PM1.G2", PermissionType.READ)); //$NON-NLS-1$
+    	assertEquals(Boolean.FALSE, permissions.allows("pm1.g1.e2", PermissionType.READ)); //$NON-NLS-1$
+    	assertEquals(Boolean.FALSE, permissions.allows("pm1.g2.e1", PermissionType.UPDATE)); //$NON-NLS-1$
+    	assertNull(permissions.allows("pm1.g3", PermissionType.READ)); //$NON-NLS-1$
+    }
+    
+    @Test public void testAuthorizationCache() throws Exception {
+    	QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+    	VDBMetaData vdb = RealMetadataFactory.example1VDB();
+    	vdb.addDataPolicy(exampleAuthSvc1);
+    	context.getDQPWorkContext().getSession().setVdb(vdb);
+    	context.setOptions(new Options().authorizationCacheSize(10));
+    	HashMap<String, DataPolicy> policies = new HashMap<String, DataPolicy>();
+    	policies.put(exampleAuthSvc1.getName(), exampleAuthSvc1);
+    	context.getDQPWorkContext().setPolicies(policies);
+    	DefaultAuthorizationValidator validator = new DefaultAuthorizationValidator();
+    	validator.setPolicyDecider(new DataRolePolicyDecider());
+    	
+    	String sql = "SELECT e1 FROM pm1.g1"; //$NON-NLS-1$
+    	Command command = QueryParser.getQueryParser().parseCommand(sql);
+    	QueryResolver.resolveCommand(command, metadata);
+    	validator.validate(new String[] {sql}, command, metadata, context, CommandType.USER);
+    	AuthorizationCache cache = vdb.getAttachment(AuthorizationCache.class);
+    	assertEquals(1, cache.getAuthorizedCommandCount());
+    	validator.validate(new String[] {sql}, command, metadata, context, CommandType.USER);
+    	assertEquals(1, cache.getAuthorizedCommandCount());
+    	
+    	//failures are not cached
+    	sql = "SELECT e2 FROM pm1.g1"; //$NON-NLS-1$
+    	command = QueryParser.getQueryParser().parseCommand(sql);
+    	QueryResolver.resolveCommand(command, metadata);
+    	try {
+    		validator.validate(new String[] {sql}, command, metadata, context, CommandType.USER);
+    		fail();
+    	} catch (QueryValidatorException e) {
+    		
+    	}
+    	assertEquals(1, cache.getAuthorizedCommandCount());
+    }
+    
 }
@@ -25,7 +25,9 @@ package org.teiid.dqp.internal.process;
 import static org.junit.Assert.*;
 
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +40,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.adminapi.DataPolicy;
 import org.teiid.adminapi.impl.DataPolicyMetadata;
+import org.teiid.adminapi.impl.WorkerPoolStatisticsMetadata;
 import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.cache.CacheConfiguration;
 import org.teiid.cache.DefaultCacheFactory;
@@ -140,6 +143,12 @@ public class TestDQPCore {
     	core.stop();
     }
 
+    @Test public void testWorkerPoolStatistics() throws Exception {
+    	List<WorkerPoolStatisticsMetadata> stats = core.getWorkerPoolStatistics();
+    	assertEquals(1, stats.size());
+    	assertEquals(DQPConfiguration.PROCESS_PLAN_QUEUE_NAME, stats.get(0).getQueueName());
+    }
+
     public RequestMessage exampleRequestMessage(String sql) {
         RequestMessage msg = new RequestMessage(sql);
         msg.setCursorType(ResultSet.TYPE_SCROLL_INSENSITIVE);
@@ -748,6 +757,40 @@ public class TestDQPCore {
 	}
 
     ///////////////////////////Helper method///////////////////////////////////
+    /**
+     * Compares the throughput of 1,000 concurrent queries against a source that blocks
+     * with and without virtual threads for source work.  Run manually with a JRE that 
+     * supports virtual threads.
+     */
+    @Ignore("benchmark")
+    @Test public void testSourceThroughputBenchmark() throws Exception {
+    	agds.setSleep(50);
+    	for (boolean virtual : new boolean[] {false, true}) {
+    		core.stop();
+    		config.setMaxActivePlans(config.getMaxThreads());
+    		config.setUserRequestSourceConcurrency(0);
+    		config.setUseVirtualThreadsForSources(virtual);
+    		core.start(config);
+    		
+    		DQPWorkContext.getWorkContext().getSession().setSessionId("1"); //$NON-NLS-1$
+    		DQPWorkContext.getWorkContext().getSession().setUserName("a"); //$NON-NLS-1$
+    		int queries = 1000;
+    		List<Future<ResultsMessage>> results = new ArrayList<Future<ResultsMessage>>(queries);
+    		long start = System.nanoTime();
+    		for (int i = 0; i < queries; i++) {
+    			RequestMessage reqMsg = exampleRequestMessage("SELECT IntKey FROM BQT1.SmallA"); //$NON-NLS-1$
+    			reqMsg.setExecutionId(i);
+    			results.add(core.executeRequest(i, reqMsg));
+    		}
+    		for (Future<ResultsMessage> result : results) {
+    			assertNull(result.get(500000, TimeUnit.MILLISECONDS).getException());
+    		}
+    		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    		core.terminateSession("1"); //$NON-NLS-1$
+    		System.out.println("virtual threads " + virtual + ": " + queries + " queries in " + elapsed + " ms, " + (queries * 1000l / Math.max(1, elapsed)) + " queries/sec"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    	}
+    }
+
     private ResultsMessage helpExecute(String sql, String userName) throws Exception {
     	return helpExecute(sql, userName, 1, false);
     }
@@ -322,6 +322,28 @@ public class TestDataTierManager {
     	assertFalse(rrp.doNotCache);
     }
     
+    @Test public void testInsertsInFlight() throws Exception {
+    	QueryMetadataInterface metadata = RealMetadataFactory.exampleBQTCached();
+    	this.connectorManager.setRows(1);
+    	this.connectorManager.setSleep(200);
+    	helpSetupDataTierManager();
+    	Command command = helpSetupRequest("INSERT INTO bqt1.smalla (intkey) VALUES (1)", 1, metadata).getCommand();
+    	RegisterRequestParameter rrp = new RegisterRequestParameter();
+    	rrp.connectorBindingId = "x";
+    	TupleSource ts = dtm.registerRequest(context, command, "foo", rrp);
+    	rrp = new RegisterRequestParameter();
+    	rrp.connectorBindingId = "x";
+    	TupleSource ts1 = dtm.registerRequest(context, helpGetCommand("INSERT INTO bqt1.smalla (intkey) VALUES (2)", metadata), "foo", rrp);
+    	
+    	//non-transactional inserts are executed asynchronously, so both are executing before either result is read
+    	assertEquals(1, pullTuples(ts, -1));
+    	assertEquals(1, pullTuples(ts1, -1));
+    	assertEquals(2, connectorManager.getExecuteCount().get());
+    	assertEquals(2, connectorManager.getMaxExecuting());
+    	ts.closeSource();
+    	ts1.closeSource();
+    }
+    
     @Test public void testCancelWithCaching() throws Exception {
     	QueryMetadataInterface metadata = RealMetadataFactory.exampleBQTCached();
     	CacheDirective cd = new CacheDirective();
@@ -42,17 +42,23 @@ import org.teiid.core.TeiidProcessingException;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
 import org.teiid.dqp.internal.datamgr.FakeTransactionService;
 import org.teiid.dqp.service.AutoGenDataService;
+import org.teiid.metadata.Column;
 import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.TestOptimizer;
 import org.teiid.query.optimizer.capabilities.BasicSourceCapabilities;
 import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.FakeCapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
+import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.FakeDataManager;
 import org.teiid.query.processor.HardcodedDataManager;
 import org.teiid.query.processor.ProcessorDataManager;
 import org.teiid.query.processor.TestProcessor;
+import org.teiid.query.resolver.QueryResolver;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
 import org.teiid.query.unittest.RealMetadataFactory;
 
 @SuppressWarnings({"nls", "unchecked"})
@@ -497,4 +503,122 @@ public class TestPreparedStatement {
 		helpTestProcessing(preparedSql, values, expected, dataManager, new DefaultCapabilitiesFinder(caps), metadata, null, false, false, false, RealMetadataFactory.example1VDB());
     }
     
+    @Test public void testAutoParameterize() throws Exception {
+    	SessionAwareCache<PreparedPlan> planCache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0); //$NON-NLS-1$
+    	FakeDataManager dataManager = new FakeDataManager();
+    	TestProcessor.sampleData1(dataManager);
+    	
+    	PreparedStatementRequest request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 0", planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("a"), Arrays.asList("a")}, request.context); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEquals(0, planCache.getCacheHitCount());
+    	
+    	request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 3", planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("a")}, request.context); //$NON-NLS-1$
+    	assertEquals(1, planCache.getCacheHitCount());
+    	
+    	//the literal cannot be converted to the reference type, so the literal form is planned
+    	request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 'x'", planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {}, request.context);
+    	assertEquals(2, planCache.getCacheHitCount());
+    	
+    	//nothing to parameterize
+    	request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = e2 + 1", planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {}, request.context);
+    	assertEquals(2, planCache.getCacheHitCount());
+    }
+    
+    @Test public void testParameterize() throws Exception {
+    	Command command = QueryParser.getQueryParser().parseCommand("SELECT e1, 'a' FROM pm1.g1 WHERE e2 BETWEEN 1 AND 2 AND e1 = 'b' AND 1 = 1 AND e3 = null AND e2 IN (SELECT 1 FROM pm1.g2 WHERE e1 = 'c') LIMIT 1"); //$NON-NLS-1$
+    	assertEquals(Arrays.asList(1, 2, "b", "c"), PreparedStatementRequest.parameterize(command)); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEquals(4, ReferenceCollectorVisitor.getReferences(command).size());
+    	
+    	assertNull(PreparedStatementRequest.parameterize(QueryParser.getQueryParser().parseCommand("SELECT e1 FROM pm1.g1 WHERE e2 = ? AND e1 = 'a'"))); //$NON-NLS-1$
+    	assertNull(PreparedStatementRequest.parameterize(QueryParser.getQueryParser().parseCommand("DELETE FROM pm1.g1 WHERE e1 = 'a'"))); //$NON-NLS-1$
+    	assertNull(PreparedStatementRequest.parameterize(QueryParser.getQueryParser().parseCommand("SELECT e1 FROM pm1.g1 WHERE e1 = 'a' OPTION NOCACHE"))); //$NON-NLS-1$
+    	
+    	command = QueryParser.getQueryParser().parseCommand("SELECT e1 FROM pm1.g1 AS x INNER JOIN pm1.g2 AS y ON x.e1 = y.e1 AND NOT (y.e2 = 1) WHERE x.e3 = true GROUP BY e1 HAVING max(x.e2) > 2 ORDER BY CASE WHEN e1 = 'a' THEN 1 END"); //$NON-NLS-1$
+    	assertEquals(Arrays.asList(true, 2, 1), PreparedStatementRequest.parameterize(command));
+    	assertNull(PreparedStatementRequest.parameterize(QueryParser.getQueryParser().parseCommand("SELECT CASE WHEN e2 = 1 THEN 'a' END FROM pm1.g1 GROUP BY CASE WHEN e2 = 1 THEN 'a' END"))); //$NON-NLS-1$
+    }
+    
+    @Test public void testAutoParameterizeGroupByCase() throws Exception {
+    	SessionAwareCache<PreparedPlan> planCache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0); //$NON-NLS-1$
+    	FakeDataManager dataManager = new FakeDataManager();
+    	TestProcessor.sampleData1(dataManager);
+    	
+    	String sql = "SELECT CASE WHEN e2 = 0 THEN 'x' ELSE 'y' END FROM pm1.g1 WHERE e1 = '%s' GROUP BY CASE WHEN e2 = 0 THEN 'x' ELSE 'y' END"; //$NON-NLS-1$
+    	assertEquals(Arrays.asList("a"), PreparedStatementRequest.parameterize(QueryParser.getQueryParser().parseCommand(String.format(sql, "a")))); //$NON-NLS-1$
+    	
+    	//the group by expression must still match the select expression
+    	PreparedStatementRequest request = helpGetAutoParameterizedPlan(String.format(sql, "a"), planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("x"), Arrays.asList("y")}, request.context); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEquals(0, planCache.getCacheHitCount());
+    	
+    	request = helpGetAutoParameterizedPlan(String.format(sql, "c"), planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("y")}, request.context); //$NON-NLS-1$
+    	assertEquals(1, planCache.getCacheHitCount());
+    }
+    
+    @Test public void testAutoParameterizeRowLimit() throws Exception {
+    	SessionAwareCache<PreparedPlan> planCache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0); //$NON-NLS-1$
+    	FakeDataManager dataManager = new FakeDataManager();
+    	TestProcessor.sampleData1(dataManager);
+    	
+    	PreparedStatementRequest request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 0", planCache, 1); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("a")}, request.context); //$NON-NLS-1$
+    	
+    	//the plan with the limit should not be shared
+    	request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 0", planCache); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("a"), Arrays.asList("a")}, request.context); //$NON-NLS-1$ //$NON-NLS-2$
+    	assertEquals(0, planCache.getCacheHitCount());
+    	
+    	request = helpGetAutoParameterizedPlan("SELECT e1 FROM pm1.g1 WHERE e2 = 0", planCache, 1); //$NON-NLS-1$
+    	TestProcessor.doProcess(request.processPlan, dataManager, new List<?>[] {Arrays.asList("a")}, request.context); //$NON-NLS-1$
+    	assertEquals(1, planCache.getCacheHitCount());
+    }
+    
+    @Test public void testLiteralSensitive() throws Exception {
+    	TransformationMetadata metadata = RealMetadataFactory.example1();
+    	Column e2 = metadata.getElementID("pm1.g1.e2"); //$NON-NLS-1$
+    	e2.setMinimumValue("0"); //$NON-NLS-1$
+    	e2.setMaximumValue("100"); //$NON-NLS-1$
+    	
+    	assertFalse(helpTestLiteralSensitive("SELECT e1 FROM pm1.g1 WHERE e2 = 1", metadata)); //$NON-NLS-1$
+    	assertTrue(helpTestLiteralSensitive("SELECT e1 FROM pm1.g1 WHERE e2 < 1", metadata)); //$NON-NLS-1$
+    	assertTrue(helpTestLiteralSensitive("SELECT e1 FROM pm1.g1 WHERE e2 BETWEEN 1 AND 2", metadata)); //$NON-NLS-1$
+    	assertFalse(helpTestLiteralSensitive("SELECT e1 FROM pm1.g1 WHERE e1 < 'a'", metadata)); //$NON-NLS-1$
+    	//partitioned inline view
+    	assertTrue(helpTestLiteralSensitive("SELECT x.e1 FROM (SELECT 1 as p, e1 FROM pm1.g1 UNION ALL SELECT 2, e1 FROM pm1.g2) as x WHERE x.p = 1", metadata)); //$NON-NLS-1$
+    	assertFalse(helpTestLiteralSensitive("SELECT x.e1 FROM (SELECT 1 as p, e1 FROM pm1.g1 UNION ALL SELECT 2, e1 FROM pm1.g2) as x WHERE x.e1 = 'a'", metadata)); //$NON-NLS-1$
+    	assertTrue(helpTestLiteralSensitive("SELECT x.e1 FROM (SELECT e2, e1 FROM pm1.g1 WHERE e2 = 1 UNION ALL SELECT e2, e1 FROM pm1.g2 WHERE e2 = 2) as x", metadata)); //$NON-NLS-1$
+    }
+
+	private boolean helpTestLiteralSensitive(String sql, QueryMetadataInterface metadata) throws Exception {
+		Command command = QueryParser.getQueryParser().parseCommand(sql);
+    	assertNotNull(PreparedStatementRequest.parameterize(command));
+    	QueryResolver.resolveCommand(command, metadata);
+    	return PreparedStatementRequest.isLiteralSensitive(command, metadata, null);
+	}
+    
+	private PreparedStatementRequest helpGetAutoParameterizedPlan(String sql, SessionAwareCache<PreparedPlan> planCache)
+			throws TeiidComponentException, TeiidProcessingException {
+		return helpGetAutoParameterizedPlan(sql, planCache, 0);
+	}
+    
+	private PreparedStatementRequest helpGetAutoParameterizedPlan(String sql, SessionAwareCache<PreparedPlan> planCache, int rowLimit)
+			throws TeiidComponentException, TeiidProcessingException {
+		RequestMessage request = new RequestMessage(sql);
+		request.setRowLimit(rowLimit);
+		QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+		DQPWorkContext workContext = RealMetadataFactory.buildWorkContext(metadata, RealMetadataFactory.example1VDB());
+		workContext.getSession().setSessionId(String.valueOf(SESSION_ID)); 
+		
+		PreparedStatementRequest serverRequest = new PreparedStatementRequest(planCache, true);
+		serverRequest.initialize(request, BufferManagerFactory.getStandaloneBufferManager(), null, new FakeTransactionService(), null, workContext, planCache);
+		serverRequest.setMetadata(new DefaultCapabilitiesFinder(), metadata);
+		serverRequest.setAuthorizationValidator(new DefaultAuthorizationValidator());
+		serverRequest.processRequest();
+		return serverRequest;
+	}
+    
 }
@@ -25,11 +25,14 @@ package org.teiid.dqp.internal.process;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.client.RequestMessage;
+import org.teiid.client.RequestMessage.ShowPlan;
 import org.teiid.client.RequestMessage.StatementType;
 import org.teiid.common.buffer.BufferManager;
 import org.teiid.common.buffer.BufferManagerFactory;
@@ -39,6 +42,7 @@ import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
 import org.teiid.dqp.internal.datamgr.FakeTransactionService;
 import org.teiid.dqp.internal.process.AuthorizationValidator.CommandType;
 import org.teiid.dqp.service.AutoGenDataService;
+import org.teiid.query.analysis.PlanningProfile;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.FakeDataManager;
@@ -47,6 +51,7 @@ import org.teiid.query.sql.lang.Command;
 import org.teiid.query.tempdata.TempTableStore;
 import org.teiid.query.tempdata.TempTableStore.TransactionMode;
 import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.query.util.Options;
 
 @SuppressWarnings("nls")
 public class TestRequest {
@@ -120,12 +125,18 @@ public class TestRequest {
 
     private Request helpProcessMessage(RequestMessage message, SessionAwareCache<PreparedPlan> cache, DQPWorkContext workContext) throws TeiidComponentException,
                                                            TeiidProcessingException {
+    	return helpProcessMessage(message, cache, workContext, null);
+    }
+
+    private Request helpProcessMessage(RequestMessage message, SessionAwareCache<PreparedPlan> cache, DQPWorkContext workContext, Options options) throws TeiidComponentException,
+                                                           TeiidProcessingException {
         Request request = null;
         if (cache != null) {
         	request = new PreparedStatementRequest(cache);
         } else {
         	request = new Request();
         }
+        request.setOptions(options);
         ConnectorManagerRepository repo = Mockito.mock(ConnectorManagerRepository.class);
         workContext.getVDB().addAttchment(ConnectorManagerRepository.class, repo);
         Mockito.stub(repo.getConnectorManager(Mockito.anyString())).toReturn(new AutoGenDataService());
@@ -167,4 +178,81 @@ public class TestRequest {
 
         helpProcessMessage(message, cache, workContext);
     }
+    
+    @Test public void testParsedCommandCache() throws Exception {
+        QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+        DQPWorkContext workContext = RealMetadataFactory.buildWorkContext(metadata, RealMetadataFactory.example1VDB());
+        ParsedCommandCache cache = new ParsedCommandCache(10);
+        workContext.getVDB().addAttchment(ParsedCommandCache.class, cache);
+        
+        Request request = helpProcessMessage(new RequestMessage(QUERY), null, workContext);
+        Command first = request.userCommand;
+        request = helpProcessMessage(new RequestMessage(QUERY), null, workContext);
+        assertEquals(first, request.userCommand);
+        assertNotSame(first, request.userCommand);
+        
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(.5, cache.getHitRatio(), 0);
+        
+        //ansi quoting is part of the key
+        RequestMessage message = new RequestMessage(QUERY);
+        message.setAnsiQuotedIdentifiers(false);
+        helpProcessMessage(message, null, workContext);
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getMissCount());
+    }
+    
+    @Test public void testPlanningProfile() throws Exception {
+        QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+        DQPWorkContext workContext = RealMetadataFactory.buildWorkContext(metadata, RealMetadataFactory.example1VDB());
+        
+        Request request = helpProcessMessage(new RequestMessage(QUERY), null, workContext, new Options().planningProfile(true));
+        assertNull(request.analysisRecord.getPlanningProfile());
+        
+        RequestMessage message = new RequestMessage(QUERY);
+        message.setShowPlan(ShowPlan.ON);
+        request = helpProcessMessage(message, null, workContext, new Options().planningProfile(true));
+        assertTrue(request.analysisRecord.recordPlanningProfile());
+        List<String> phases = new ArrayList<String>();
+        for (PlanningProfile.Timing timing : request.analysisRecord.getPlanningProfile().getPhaseTimings()) {
+        	phases.add(timing.getName());
+        }
+        assertEquals(Arrays.asList("Parse", "Resolve", "Authorize", "Validate", "Rewrite", "Plan Conversion", "Optimize"), phases);
+        for (PlanningProfile.Timing timing : request.analysisRecord.getPlanningProfile().getRuleTimings()) {
+        	assertTrue(timing.getPlanNodes() > 0);
+        }
+        assertTrue(request.planningProfile.getPhaseTimings().get(0).getObjects() > 0);
+    }
+    
+    @Test public void testPlanningProfilePreparedPlanCache() throws Exception {
+        QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+        DQPWorkContext workContext = RealMetadataFactory.buildWorkContext(metadata, RealMetadataFactory.example1VDB());
+        SessionAwareCache<PreparedPlan> cache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0);
+        
+        RequestMessage message = new RequestMessage(QUERY);
+        message.setStatementType(StatementType.PREPARED);
+        message.setParameterValues(new ArrayList<Object>());
+        message.setShowPlan(ShowPlan.ON);
+        Request request = helpProcessMessage(message, cache, workContext, new Options().planningProfile(true));
+        List<String> phases = new ArrayList<String>();
+        for (PlanningProfile.Timing timing : request.planningProfile.getPhaseTimings()) {
+        	phases.add(timing.getName());
+        }
+        assertEquals(Arrays.asList("Plan Cache Lookup", "Parse", "Resolve", "Authorize", "Validate", "Rewrite", "Plan Conversion", "Optimize", "Plan Cache Put", "Parameter Resolution"), phases);
+        
+        //the cached plan should not reuse the profile of the planning request
+        message = new RequestMessage(QUERY);
+        message.setStatementType(StatementType.PREPARED);
+        message.setParameterValues(new ArrayList<Object>());
+        message.setShowPlan(ShowPlan.ON);
+        request = helpProcessMessage(message, cache, workContext, new Options().planningProfile(true));
+        phases.clear();
+        for (PlanningProfile.Timing timing : request.planningProfile.getPhaseTimings()) {
+        	phases.add(timing.getName());
+        }
+        assertEquals(Arrays.asList("Plan Cache Lookup", "Authorize", "Plan Clone", "Parameter Resolution"), phases);
+        assertTrue(request.planningProfile.getRuleTimings().isEmpty());
+    }
 }
@@ -164,6 +164,36 @@ public class TestSessionAwareCache {
 		assertNull(cache.get(id));
 	}
 
+	@Test public void testDataRoleSpecific() {
+		
+		SessionAwareCache<Cachable> cache = new SessionAwareCache<Cachable>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0);
+		
+		CacheID id = new CacheID(new ParseInfo(), "SELECT * FROM FOO", "vdb-name", 1, "1", "foo");
+		id.setOriginalDataRoles("role1");
+		id.setDataRoleScoped(true);
+		
+		Cachable result = Mockito.mock(Cachable.class);
+		Mockito.stub(result.prepare((BufferManager)anyObject())).toReturn(true);
+		Mockito.stub(result.restore((BufferManager)anyObject())).toReturn(true);
+		
+		cache.put(id, Determinism.USER_DETERMINISTIC, result, null);
+		
+		//another user with the same roles
+		id = new CacheID(new ParseInfo(), "SELECT * FROM FOO", "vdb-name", 1, "2", "bar");
+		id.setOriginalDataRoles("role1");
+		assertTrue(result == cache.get(id));
+		assertEquals("role1", id.getDataRoles());
+		
+		//different roles
+		id = new CacheID(new ParseInfo(), "SELECT * FROM FOO", "vdb-name", 1, "2", "bar");
+		id.setOriginalDataRoles("role2");
+		assertNull(cache.get(id));
+		
+		//no roles
+		id = new CacheID(new ParseInfo(), "SELECT * FROM FOO", "vdb-name", 1, "2", "bar");
+		assertNull(cache.get(id));
+	}
+
 	public static DQPWorkContext buildWorkContext() {
 		DQPWorkContext workContext = new DQPWorkContext();
 		SessionMetadata session = new SessionMetadata();
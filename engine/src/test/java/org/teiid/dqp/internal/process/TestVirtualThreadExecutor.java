@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.dqp.internal.process;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+@SuppressWarnings("nls")
+public class TestVirtualThreadExecutor {
+	
+	@Test public void testNewInstance() throws Exception {
+		boolean supported = true;
+		try {
+			Thread.class.getMethod("ofVirtual");
+		} catch (NoSuchMethodException e) {
+			supported = false;
+		}
+		VirtualThreadExecutor executor = VirtualThreadExecutor.newInstance("test");
+		assertEquals(supported, executor != null);
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test public void testWorkContextAndStats() throws Exception {
+		//the wrapping and statistics do not depend upon virtual thread support
+		helpTestWorkContext(new VirtualThreadExecutor("test", Executors.newCachedThreadPool()));
+	}
+	
+	@Test public void testWorkContext() throws Exception {
+		VirtualThreadExecutor executor = VirtualThreadExecutor.newInstance("test");
+		Assume.assumeNotNull(executor);
+		helpTestWorkContext(executor);
+	}
+
+	@Test public void testSourceExecutorReuse() throws Exception {
+		DQPConfiguration config = new DQPConfiguration();
+		assertNull(config.getSourceExecutor());
+		config.setUseVirtualThreadsForSources(true);
+		TeiidExecutor executor = config.getSourceExecutor();
+		assertSame(executor, config.getSourceExecutor());
+		Assume.assumeNotNull(executor);
+		//a stopped executor is replaced
+		executor.shutdownNow();
+		TeiidExecutor next = config.getSourceExecutor();
+		assertNotSame(executor, next);
+		next.shutdownNow();
+	}
+
+	private void helpTestWorkContext(VirtualThreadExecutor executor) throws Exception {
+		final DQPWorkContext workContext = new DQPWorkContext();
+		DQPWorkContext previous = DQPWorkContext.getWorkContext();
+		FutureWork<Boolean> work = null;
+		try {
+			DQPWorkContext.setWorkContext(workContext);
+			work = new FutureWork<Boolean>(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					return DQPWorkContext.getWorkContext() == workContext;
+				}
+			}, 1);
+		} finally {
+			DQPWorkContext.setWorkContext(previous);
+		}
+		executor.execute(work);
+		assertTrue(work.get());
+		executor.shutdownNow();
+		assertTrue(executor.awaitTermination(2, TimeUnit.SECONDS));
+		assertEquals(1, executor.getStats().getTotalSubmitted());
+		assertEquals(1, executor.getStats().getTotalCompleted());
+		assertEquals(0, executor.getStats().getActiveThreads());
+		assertEquals("test", executor.getStats().getQueueName());
+	}
+
+}
@@ -69,6 +69,8 @@ public class AutoGenDataService extends ConnectorManager{
 	public int sleep;
     private final AtomicInteger executeCount = new AtomicInteger();
     private final AtomicInteger closeCount = new AtomicInteger();
+    private final AtomicInteger executing = new AtomicInteger();
+    private int maxExecuting;
     private boolean useIntCounter;
 	public boolean addWarning;
 	public CacheDirective cacheDirective;
@@ -142,12 +144,20 @@ public class AutoGenDataService extends ConnectorManager{
 			@Override
 			public void execute() throws TranslatorException {
 				executeCount.incrementAndGet();
-				if (sleep > 0) {
-					try {
-						Thread.sleep(sleep);
-					} catch (InterruptedException e) {
-						throw new RuntimeException(e);
+				int current = executing.incrementAndGet();
+				synchronized (AutoGenDataService.this) {
+					maxExecuting = Math.max(maxExecuting, current);
+				}
+				try {
+					if (sleep > 0) {
+						try {
+							Thread.sleep(sleep);
+						} catch (InterruptedException e) {
+							throw new RuntimeException(e);
+						}
 					}
+				} finally {
+					executing.decrementAndGet();
 				}
 				if (throwExceptionOnExecute) {
 		    		throw new TranslatorException("Connector Exception"); //$NON-NLS-1$
@@ -190,6 +200,13 @@ public class AutoGenDataService extends ConnectorManager{
 		return closeCount;
 	}
     
+    /**
+     * @return the maximum number of executions that overlapped
+     */
+    public synchronized int getMaxExecuting() {
+		return maxExecuting;
+	}
+    
     private List[] createResults(List symbols) {
         List[] rows = new List[this.rows];
 
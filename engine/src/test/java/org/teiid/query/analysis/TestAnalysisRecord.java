@@ -23,6 +23,7 @@
 package org.teiid.query.analysis;
 
 import java.util.Collection;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -71,5 +72,33 @@ public class TestAnalysisRecord extends TestCase {
         String log = rec.getDebugLog();
         assertEquals("a" + StringUtil.LINE_SEPARATOR + "b" + StringUtil.LINE_SEPARATOR, log); //$NON-NLS-1$ //$NON-NLS-2$
     }
+    
+    public void testPlanningProfile() {
+        assertNull(new AnalysisRecord(true, false).getPlanningProfile());
+        PlanningProfile profile = new AnalysisRecord(false, true).getPlanningProfile();
+        
+        profile.startRule();
+        profile.startRule();
+        profile.endRule("b"); //$NON-NLS-1$
+        profile.startRule();
+        profile.endRule("b"); //$NON-NLS-1$
+        profile.endRule("a"); //$NON-NLS-1$
+        
+        List<PlanningProfile.Timing> timings = profile.getRuleTimings();
+        assertEquals(2, timings.size());
+        long total = 0;
+        for (PlanningProfile.Timing timing : timings) {
+        	assertEquals("a".equals(timing.getName())?1:2, timing.getCount()); //$NON-NLS-1$
+        	assertTrue(timing.getTime() >= 0);
+        	total += timing.getTime();
+        }
+        //nested time is not double counted
+        assertEquals(total, profile.getTotalRuleTime());
+        
+        profile.addPhaseTime("Parse", 1000); //$NON-NLS-1$
+        profile.addPhaseTime("Parse", 2000); //$NON-NLS-1$
+        assertEquals(3000, profile.getPhaseTimings().get(0).getTime());
+        assertEquals("Parse count=2 time=3us", profile.getDescriptionProperties().getProperties().get(0).getValues().get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
 
 }
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.metadata;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.teiid.query.sql.lang.CompareCriteria;
+
+@SuppressWarnings("nls")
+public class TestHistogram {
+	
+	@Test public void testSelectivity() {
+		double[] values = new double[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		Histogram histogram = Histogram.build(values, 10);
+		assertEquals(.25, histogram.getSelectivity(CompareCriteria.LT, 250), .001);
+		assertEquals(.75, histogram.getSelectivity(CompareCriteria.GE, 250), .001);
+		assertEquals(0, histogram.getSelectivity(CompareCriteria.LT, -1), 0);
+		assertEquals(0, histogram.getSelectivity(CompareCriteria.GT, 1000), 0);
+		assertEquals(-1, histogram.getSelectivity(CompareCriteria.EQ, 1), 0);
+	}
+	
+	@Test public void testSkew() {
+		Histogram histogram = Histogram.build(new double[] {0, 0, 0, 0, 0, 0, 1, 2, 50, 100}, 5);
+		assertEquals(.6, histogram.getSelectivity(CompareCriteria.LE, 1), .001);
+	}
+	
+	@Test public void testParse() {
+		Histogram histogram = Histogram.build(new double[] {1, 2, 3, 4}, 2);
+		assertEquals("1.0,3.0,4.0", histogram.toString());
+		assertArrayEquals(histogram.getBoundaries(), Histogram.parse(histogram.toString()).getBoundaries(), 0);
+		assertNull(Histogram.parse("1"));
+		assertNull(Histogram.parse("2,1"));
+		assertNull(Histogram.parse("a,b"));
+	}
+	
+	@Test public void testGetReusesParsed() {
+		Histogram histogram = Histogram.get("1,2,3");
+		assertSame(histogram, Histogram.get(new String("1,2,3")));
+		assertNotSame(histogram, Histogram.get("1,2,4"));
+		assertNull(Histogram.get("a,b"));
+		assertNull(Histogram.get(null));
+	}
+	
+	@Test public void testDistinctEstimate() {
+		HyperLogLog hll = new HyperLogLog();
+		for (int i = 0; i < 100000; i++) {
+			hll.add("x" + (i%20000));
+		}
+		assertEquals(20000, hll.estimate(), 1000);
+	}
+
+}
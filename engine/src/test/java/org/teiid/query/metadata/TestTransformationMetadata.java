@@ -185,4 +185,20 @@ public class TestTransformationMetadata {
 		assertNotNull(mf1.getEnterpriseDatatype("unknown"));
 	}
 	
+	@Test public void testCachedLookups() throws Exception {
+		TransformationMetadata tm = RealMetadataFactory.example1();
+		Table t = tm.getGroupID("pm1.g1");
+		assertSame(t, tm.getGroupID("pm1.g1"));
+		assertSame(t, tm.getGroupID("PM1.G1"));
+		assertSame(t.getColumns().get(0), tm.getElementID("pm1.g1.e1"));
+		assertEquals("pm1.g1.e1", tm.getFullName(t.getColumns().get(0)));
+		assertEquals("pm1.g1.e1", tm.getFullName(t.getColumns().get(0)));
+		try {
+			tm.getGroupID("pm1.missing");
+			fail();
+		} catch (QueryMetadataException e) {
+			//expected
+		}
+	}
+	
 }
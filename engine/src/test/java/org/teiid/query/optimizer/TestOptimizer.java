@@ -44,6 +44,7 @@ import org.teiid.metadata.MetadataStore;
 import org.teiid.metadata.Schema;
 import org.teiid.metadata.Table;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.analysis.PlanningProfile;
 import org.teiid.query.mapping.relational.QueryNode;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TransformationMetadata;
@@ -6702,6 +6703,18 @@ public class TestOptimizer {
     	assertEquals("[QueryAnnotation<Relational Planner, LOW,hello pm1,world Unknown: 0(groups=[]>]", record.getAnnotations().toString());
     }
     
+	@Test public void testRuleTimings() throws Exception {
+		AnalysisRecord record = new AnalysisRecord(false, true);
+		QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
+		getPlan(helpGetCommand("select e1 from vm1.g1 where e2 = 1", metadata, null), metadata, getGenericFinder(), record, true, new CommandContext()); //$NON-NLS-1$
+		List<String> names = new ArrayList<String>();
+		for (PlanningProfile.Timing timing : record.getPlanningProfile().getRuleTimings()) {
+			names.add(timing.getName());
+		}
+		assertTrue(names.contains("RaiseAccess")); //$NON-NLS-1$
+		assertTrue(names.contains("PlaceAccess")); //$NON-NLS-1$
+	}
+    
 	@Test public void testRecursiveView() throws Exception {
 		String ddl = "CREATE view x (y string) as (select * from x)";
 
@@ -32,6 +32,7 @@ import org.teiid.api.exception.query.QueryMetadataException;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.metadata.Column;
+import org.teiid.query.metadata.Histogram;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.TestOptimizer;
@@ -108,6 +109,19 @@ public class TestCalculateCostUtil {
         helpTestEstimateCost(critString, NewCalculateCostUtil.UNKNOWN_VALUE, 1, metadata);    
     }  
     
+    @Test public void testEstimateCostWithHistogram() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.example1();
+        Column e2 = metadata.getElementID("pm1.g1.e2"); //$NON-NLS-1$
+        e2.setProperty(Histogram.HISTOGRAM, "0,10,20,30,40"); //$NON-NLS-1$
+        e2.setDistinctValues(40);
+        
+        helpTestEstimateCost("pm1.g1.e2 < 10", 400, 100, metadata); //$NON-NLS-1$
+        helpTestEstimateCost("pm1.g1.e2 < -5", 400, 1, metadata); //$NON-NLS-1$
+        helpTestEstimateCost("pm1.g1.e2 in (5, 15, 100)", 400, 20, metadata); //$NON-NLS-1$
+        helpTestEstimateCost("pm1.g1.e2 in (100, 200)", 400, 1, metadata); //$NON-NLS-1$
+        helpTestEstimateCost("pm1.g1.e2 not in (100, 200)", 400, 399, metadata); //$NON-NLS-1$
+    }
+    
     @Test public void testEstimateCostOfCompareCriteria1() throws Exception {
         QueryMetadataInterface metadata = RealMetadataFactory.example4();
         String critString = "pm1.g1.e1 < '3'"; //$NON-NLS-1$
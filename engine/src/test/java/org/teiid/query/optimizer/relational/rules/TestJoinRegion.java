@@ -23,6 +23,7 @@
 package org.teiid.query.optimizer.relational.rules;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.teiid.query.optimizer.relational.plantree.NodeConstants;
@@ -31,6 +32,10 @@ import org.teiid.query.optimizer.relational.plantree.PlanNode;
 import org.teiid.query.optimizer.relational.rules.JoinRegion;
 import org.teiid.query.optimizer.relational.rules.RulePlanJoins;
 import org.teiid.query.sql.lang.JoinType;
+import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
+import org.teiid.query.util.Permutation;
 
 
 import junit.framework.TestCase;
@@ -118,4 +123,86 @@ public class TestJoinRegion extends TestCase {
         assertEquals(NodeConstants.Types.ACCESS, region.getJoinRoot().getType());
     }
     
+    /**
+     * The dynamic search should find the best scoring left linear order
+     */
+    public void testDynamicJoinOrder() throws Exception {
+        int count = 8;
+        float[] cardinalities = new float[] {1000, 10, 50000, 200, 7, 3000, 100, 20};
+        JoinRegion region = new JoinRegion();
+        PlanNode[] sources = new PlanNode[count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = NodeFactory.getNewNode(NodeConstants.Types.ACCESS);
+            sources[i].addGroup(new GroupSymbol("g" + i)); //$NON-NLS-1$
+            sources[i].setProperty(NodeConstants.Info.EST_CARDINALITY, cardinalities[i]);
+            sources[i].setProperty(NodeConstants.Info.MAKE_NOT_DEP, Boolean.TRUE);
+            region.addJoinSourceNode(sources[i]);
+        }
+        //a chain with a hub
+        for (int i = 1; i < count; i++) {
+            PlanNode crit = NodeFactory.getNewNode(NodeConstants.Types.SELECT);
+            crit.addGroups(sources[i].getGroups());
+            crit.addGroups(sources[i%2==0?0:i-1].getGroups());
+            crit.setProperty(NodeConstants.Info.EST_SELECTIVITY, 1f/(i * 10));
+            region.getCriteriaNodes().add(crit);
+        }
+        
+        double best = Double.MAX_VALUE;
+        for (Iterator<?> iter = new Permutation(new Object[] {0, 1, 2, 3, 4, 5, 6, 7}).generate(count); iter.hasNext();) {
+            best = Math.min(best, region.scoreRegion((Object[])iter.next(), 0, null, null, null));
+        }
+        
+        RulePlanJoins rule = new RulePlanJoins();
+        CommandContext cc = new CommandContext();
+        cc.setOptions(new Options().joinEnumerationTimeLimit(10000));
+        Object[] order = rule.findBestJoinOrder(region, null, null, cc);
+        assertEquals(best, region.scoreRegion(order, 0, null, null, null), 0);
+        
+        Object[] heuristicOrder = rule.findBestJoinOrder(region, null, null, new CommandContext());
+        assertTrue(region.scoreRegion(heuristicOrder, 0, null, null, null) >= best);
+    }
+    
+    /**
+     * With dependent join candidates the dynamic search is not exact, but should 
+     * never be worse than the partially greedy search
+     */
+    public void testDynamicJoinOrderWithDependentJoins() throws Exception {
+        int count = 8;
+        float[] cardinalities = new float[] {1000, 10, 50000, 200, 7, 3000, 100, 20};
+        JoinRegion region = new JoinRegion();
+        PlanNode[] sources = new PlanNode[count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = NodeFactory.getNewNode(NodeConstants.Types.ACCESS);
+            sources[i].addGroup(new GroupSymbol("g" + i)); //$NON-NLS-1$
+            sources[i].setProperty(NodeConstants.Info.EST_CARDINALITY, cardinalities[i]);
+            region.addJoinSourceNode(sources[i]);
+        }
+        for (int i = 1; i < count; i++) {
+            PlanNode crit = NodeFactory.getNewNode(NodeConstants.Types.SELECT);
+            crit.addGroups(sources[i].getGroups());
+            crit.addGroups(sources[i%2==0?0:i-1].getGroups());
+            crit.setProperty(NodeConstants.Info.EST_SELECTIVITY, 1f/(i * 10));
+            region.getCriteriaNodes().add(crit);
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                region.setDependentJoinCost(i, j, null);
+            }
+        }
+        //the large sources are cheap to access dependently from the small ones
+        region.setDependentJoinCost(4, 0, 5f);
+        region.setDependentJoinCost(1, 2, 8f);
+        region.setDependentJoinCost(7, 6, 2f);
+        
+        RulePlanJoins rule = new RulePlanJoins();
+        Object[] heuristicOrder = rule.findBestJoinOrder(region, null, null, new CommandContext());
+        
+        CommandContext cc = new CommandContext();
+        cc.setOptions(new Options().joinEnumerationTimeLimit(10000));
+        Object[] order = rule.findBestJoinOrder(region, null, null, cc);
+        double score = region.scoreRegion(order, 0, null, null, null);
+        assertTrue(score <= region.scoreRegion(heuristicOrder, 0, null, null, null));
+        assertTrue(score <= region.scoreRegion(rule.findBestJoinOrderDynamic(region, null, null, cc, 10000), 0, null, null, null));
+    }
+    
 }
@@ -5043,6 +5043,22 @@ public class TestParser {
         helpTest(sql, "SELECT * FROM XMLTABLE(XMLNAMESPACES(NO DEFAULT), '/' COLUMNS x FOR ORDINALITY, y date DEFAULT {d'2000-01-01'} PATH '@date') AS x", query);
     }
     
+    @Test public void testJSONTable() throws Exception {
+    	String sql = "SELECT * from jsontable(doc, '$.a[*]' columns x for ordinality, y date path 'b.c') as x"; //$NON-NLS-1$
+        Query query = new Query();
+        query.setSelect(new Select(Arrays.asList(new MultipleElementSymbol())));
+        JSONTable jt = new JSONTable();
+        jt.setName("x");
+        jt.setJson(new ElementSymbol("doc"));
+        jt.setRowPath("$.a[*]");
+        List<JSONTable.JSONColumn> columns = new ArrayList<JSONTable.JSONColumn>();
+        columns.add(new JSONTable.JSONColumn("x"));
+        columns.add(new JSONTable.JSONColumn("y", "date", "b.c"));
+        jt.setColumns(columns);
+        query.setFrom(new From(Arrays.asList(jt)));
+        helpTest(sql, "SELECT * FROM JSONTABLE(doc, '$.a[*]' COLUMNS x FOR ORDINALITY, y date PATH 'b.c') AS x", query);
+    }
+    
     @Test public void testObjectTable() throws Exception {
     	Query actualCommand = (Query)QueryParser.getQueryParser().parseCommand("SELECT * from objecttable(LANGUAGE 'foo' 'x' columns y date 'row.date' default {d'2000-01-01'}) as x", new ParseInfo());
 		assertEquals("SELECT * FROM OBJECTTABLE(LANGUAGE 'foo' 'x' COLUMNS y date 'row.date' DEFAULT {d'2000-01-01'}) AS x", actualCommand.toString());
@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.query.processor;
+
+import static org.junit.Assert.*;
+import static org.teiid.query.processor.TestProcessor.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.dqp.internal.process.DQPWorkContext;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Table;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedbackMetadataWrapper;
+import org.teiid.query.metadata.Histogram;
+import org.teiid.query.metadata.TransformationMetadata;
+import org.teiid.query.optimizer.TestOptimizer;
+import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
+import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
+
+@SuppressWarnings({"nls"})
+public class TestCardinalityFeedback {
+	
+	private CommandContext createContext(VDBMetaData vdb) {
+		CommandContext cc = createCommandContext();
+		cc.setDQPWorkContext(new DQPWorkContext());
+		cc.getDQPWorkContext().getSession().setVdb(vdb);
+		cc.setOptions(new Options().cardinalityFeedback(true));
+		return cc;
+	}
+
+	@Test public void testObserveFullScan() throws Exception {
+		TransformationMetadata metadata = RealMetadataFactory.example1Cached();
+		VDBMetaData vdb = RealMetadataFactory.example1VDB();
+		Table table = metadata.getGroupID("pm1.g1");
+		
+		FakeDataManager dataManager = new FakeDataManager();
+		sampleData1(dataManager);
+		
+		CommandContext cc = createContext(vdb);
+		ProcessorPlan plan = helpGetPlan(helpParse("select e2 from pm1.g1 where e1 = 'b'"), metadata, TestOptimizer.getGenericFinder(), cc);
+		helpProcess(plan, cc, dataManager, new List[] {Arrays.asList(2)});
+		
+		CardinalityFeedback feedback = CardinalityFeedback.getCardinalityFeedback(vdb);
+		assertNull(feedback.getObservedCardinality(table));
+		
+		cc = createContext(vdb);
+		plan = helpGetPlan(helpParse("select e1 from pm1.g1"), metadata, new DefaultCapabilitiesFinder(), cc);
+		helpProcess(plan, cc, dataManager, new List[] {
+				Arrays.asList("a"),
+				Arrays.asList((String)null),
+				Arrays.asList("a"),
+				Arrays.asList("c"),
+				Arrays.asList("b"),
+				Arrays.asList("a"),
+		});
+		
+		assertEquals(6, feedback.getObservedCardinality(table).getCardinality());
+		assertEquals(6, new CardinalityFeedbackMetadataWrapper(metadata, feedback).getCardinality(table), 0);
+		assertEquals("6", feedback.getProperties(table).get(CardinalityFeedback.OBSERVED_CARDINALITY));
+		assertEquals("1", feedback.getProperties(table).get(CardinalityFeedback.OBSERVATIONS));
+		assertNull(table.getProperty(CardinalityFeedback.OBSERVED_CARDINALITY, false));
+		
+		feedback.reset(table);
+		assertTrue(feedback.getProperties(table).isEmpty());
+		assertEquals(metadata.getCardinality(table), new CardinalityFeedbackMetadataWrapper(metadata, feedback).getCardinality(table), 0);
+	}
+	
+	@Test public void testObserveColumnStatistics() throws Exception {
+		TransformationMetadata metadata = RealMetadataFactory.example1Cached();
+		VDBMetaData vdb = RealMetadataFactory.example1VDB();
+		Column e1 = metadata.getElementID("pm1.g1.e1");
+		Column e2 = metadata.getElementID("pm1.g1.e2");
+		
+		FakeDataManager dataManager = new FakeDataManager();
+		sampleData1(dataManager);
+		
+		CommandContext cc = createContext(vdb);
+		ProcessorPlan plan = helpGetPlan(helpParse("select e1, e2 from pm1.g1"), metadata, new DefaultCapabilitiesFinder(), cc);
+		helpProcess(plan, cc, dataManager, new List[] {
+				Arrays.asList("a", 0),
+				Arrays.asList(null, 1),
+				Arrays.asList("a", 3),
+				Arrays.asList("c", 1),
+				Arrays.asList("b", 2),
+				Arrays.asList("a", 0),
+		});
+		
+		CardinalityFeedback feedback = CardinalityFeedback.getCardinalityFeedback(vdb);
+		assertEquals(3, feedback.getObservedColumnStatistics(e1).getDistinctValues());
+		assertEquals(1, feedback.getObservedColumnStatistics(e1).getNullValues());
+		assertNull(feedback.getObservedColumnStatistics(e1).getHistogram());
+		assertEquals(4, feedback.getObservedColumnStatistics(e2).getDistinctValues());
+		assertEquals(0, feedback.getObservedColumnStatistics(e2).getNullValues());
+		
+		CardinalityFeedbackMetadataWrapper wrapper = new CardinalityFeedbackMetadataWrapper(metadata, feedback);
+		assertEquals(4, wrapper.getDistinctValues(e2), 0);
+		assertEquals("0.0,0.0,1.0,1.0,2.0,3.0,3.0", wrapper.getExtensionProperty(e2, Histogram.HISTOGRAM, false));
+		assertEquals("0.0,0.0,1.0,1.0,2.0,3.0,3.0", feedback.getProperties(e2).get(CardinalityFeedback.OBSERVED_HISTOGRAM));
+		assertEquals("1", feedback.getProperties(e1).get(CardinalityFeedback.OBSERVED_NULL_VALUES));
+		
+		feedback.reset(metadata.getGroupID("pm1.g1"));
+		assertNull(feedback.getObservedColumnStatistics(e2));
+		assertNull(wrapper.getExtensionProperty(e2, Histogram.HISTOGRAM, false));
+	}
+
+}
@@ -36,6 +36,7 @@ import org.teiid.language.Array;
 import org.teiid.language.Comparison;
 import org.teiid.language.Parameter;
 import org.teiid.language.Select;
+import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.TestOptimizer;
@@ -50,6 +51,7 @@ import org.teiid.query.processor.relational.RelationalPlan;
 import org.teiid.query.sql.lang.Command;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 import org.teiid.translator.ExecutionFactory.NullOrder;
 
 @SuppressWarnings({"rawtypes", "unchecked", "nls"})
@@ -921,6 +923,18 @@ public class TestDependentJoins {
         assertEquals(4, new HashSet<String>(dataManager.getQueries()).size());
     }
     
+    @Test public void testDependentJoinSwitch() throws Exception {
+        FakeDataManager dataManager = new FakeDataManager();
+        CommandContext cc = TestProcessor.createCommandContext();
+        cc.setOptions(new Options().maxDependentQueries(1));
+        ProcessorPlan plan = helpTestBackoff(false, dataManager, cc);
+        
+        //the independent side would have required more than 1 dependent query
+        assertEquals(new HashSet<String>(Arrays.asList("SELECT pm6.g1.e1, pm6.g1.e2 FROM pm6.g1 ORDER BY pm6.g1.e1, pm6.g1.e2", "SELECT pm1.g1.e1, pm1.g1.e2 FROM pm1.g1")), 
+        		new HashSet<String>(dataManager.getQueries()));
+        assertTrue(plan.getDescriptionProperties().toString().contains(AnalysisRecord.PROP_DEPENDENT_DECISIONS));
+    }
+    
     @Test public void testIssue1899() throws Exception {
     	String sql = "SELECT pm1.g1.e1 FROM pm1.g1, pm3.g1 WHERE pm1.g1.e1=pm3.g1.e1"; //$NON-NLS-1$
 
@@ -964,11 +978,18 @@ public class TestDependentJoins {
 	private FakeDataManager helpTestBackoff(boolean setNdv) throws Exception,
 			QueryMetadataException, TeiidComponentException,
 			TeiidProcessingException {
+        FakeDataManager dataManager = new FakeDataManager();
+        helpTestBackoff(setNdv, dataManager, TestProcessor.createCommandContext());
+        return dataManager;
+	}
+	
+	private ProcessorPlan helpTestBackoff(boolean setNdv, FakeDataManager dataManager, CommandContext cc) throws Exception,
+			QueryMetadataException, TeiidComponentException,
+			TeiidProcessingException {
 		// Create query 
         String sql = "SELECT pm1.g1.e1 FROM pm1.g1, pm6.g1 WHERE pm1.g1.e1=pm6.g1.e1 and pm1.g1.e2=pm6.g1.e2"; //$NON-NLS-1$
 
         // Construct data manager with data
-        FakeDataManager dataManager = new FakeDataManager();
         sampleData4(dataManager);
 
         TransformationMetadata fakeMetadata = RealMetadataFactory.example1();
@@ -1006,8 +1027,8 @@ public class TestDependentJoins {
         }, capFinder, ComparisonMode.EXACT_COMMAND_STRING);
 
         // Run query
-        TestProcessor.helpProcess(plan, dataManager, expected);
-		return dataManager;
+        TestProcessor.helpProcess(plan, cc, dataManager, expected);
+		return plan;
 	}
     
     @Test public void testDjHint() { 
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.query.processor;
+
+import static org.teiid.query.processor.TestProcessor.*;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.junit.Test;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.BlobType;
+import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
+import org.teiid.query.unittest.RealMetadataFactory;
+
+@SuppressWarnings({"nls"})
+public class TestJSONTable {
+    
+	@Test public void testJSONTable() throws Exception {
+    	String sql = "select x.* from jsontable('{\"a\":[{\"b\":1, \"c\":{\"d\":\"x\"}}, {\"b\":2.5, \"e\":[1,\"y\",null]}, {\"b\":true}]}', '$.a[*]' COLUMNS i FOR ORDINALITY, b string, d string path 'c.d', e string path '$.e') x";
+    	
+        List<?>[] expected = new List<?>[] {
+        		Arrays.asList(1, "1", "x", null),
+        		Arrays.asList(2, "2.5", null, "[1,\"y\",null]"),
+        		Arrays.asList(3, "true", null, null),
+        };    
+
+        process(sql, expected);
+    }
+	
+	@Test public void testJSONTableRootArray() throws Exception {
+    	String sql = "select x.* from jsontable('[[1,2],[3]]', '$[*][*]' COLUMNS val integer path '$') x";
+    	
+        List<?>[] expected = new List<?>[] {
+        		Arrays.asList(1),
+        		Arrays.asList(2),
+        		Arrays.asList(3),
+        };    
+
+        process(sql, expected);
+    }
+	
+	@Test public void testJSONTableNoMatch() throws Exception {
+    	String sql = "select x.* from jsontable('{\"a\":{\"b\":1}}', '$.b[*]' COLUMNS b integer) x";
+    	
+        List<?>[] expected = new List<?>[] {};    
+
+        process(sql, expected);
+    }
+	
+	@Test public void testCorrelatedJSONTable() throws Exception {
+    	String sql = "select x.* from pm1.g1, jsontable('{\"v\":' || e2 || '}', '$' COLUMNS v integer) x";
+    	
+        List<?>[] expected = new List<?>[] {
+        		Arrays.asList(0),
+        		Arrays.asList(3),
+        };    
+
+        HardcodedDataManager dataManager = new HardcodedDataManager();
+        dataManager.addData("SELECT pm1.g1.e2 FROM pm1.g1", new List<?>[] {Arrays.asList(0), Arrays.asList(3)});
+        ProcessorPlan plan = helpGetPlan(helpParse(sql), RealMetadataFactory.example1Cached());
+        helpProcess(plan, createCommandContext(), dataManager, expected);
+    }
+	
+	@Test public void testJSONTableBlob() throws Exception {
+    	String sql = "select x.* from jsontable(cast(? as blob), '$.a' COLUMNS b string) x";
+    	String json = "{\"a\":{\"b\":\"\u00e9\"}}";
+    	
+        List<?>[] expected = new List<?>[] {
+        		Arrays.asList("\u00e9"),
+        };    
+
+        processPreparedStatement(sql, expected, new HardcodedDataManager(), new DefaultCapabilitiesFinder(), RealMetadataFactory.example1Cached(), Arrays.asList(new BlobType(new SerialBlob(json.getBytes(Charset.forName("UTF-16LE"))))));
+    }
+	
+	@Test(expected=TeiidProcessingException.class) public void testJSONTableInvalidJSON() throws Exception {
+    	String sql = "select x.* from jsontable('{\"a\":[1,}', '$.a[*]' COLUMNS b integer path '$') x";
+    	
+        process(sql, new List<?>[] {});
+    }
+	
+	@Test(expected=TeiidProcessingException.class) public void testJSONTableInvalidConversion() throws Exception {
+    	String sql = "select x.* from jsontable('[\"a\"]', '$[*]' COLUMNS b integer path '$') x";
+    	
+        process(sql, new List<?>[] {});
+    }
+	
+	public static void process(String sql, List<?>[] expectedResults) throws Exception {    
+    	HardcodedDataManager dataManager = new HardcodedDataManager();
+    	ProcessorPlan plan = helpGetPlan(helpParse(sql), RealMetadataFactory.example1Cached());
+        helpProcess(plan, createCommandContext(), dataManager, expectedResults);
+    }
+	
+}
@@ -27,6 +27,7 @@ import static org.junit.Assert.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,6 +37,7 @@ import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.common.buffer.BufferManager;
 import org.teiid.common.buffer.BufferManagerFactory;
 import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.TeiidRuntimeException;
 import org.teiid.dqp.internal.process.CachedResults;
 import org.teiid.dqp.internal.process.QueryProcessorFactoryImpl;
 import org.teiid.dqp.internal.process.SessionAwareCache;
@@ -46,6 +48,7 @@ import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
 import org.teiid.query.optimizer.relational.RelationalPlanner;
 import org.teiid.query.tempdata.GlobalTableStoreImpl;
+import org.teiid.query.tempdata.GlobalTableStoreImpl.MatState;
 import org.teiid.query.tempdata.GlobalTableStoreImpl.MatTableInfo;
 import org.teiid.query.tempdata.TempTableDataManager;
 import org.teiid.query.tempdata.TempTableStore;
@@ -62,11 +65,12 @@ public class TestMaterialization {
 	private GlobalTableStoreImpl globalStore;
 	private ProcessorPlan previousPlan;
 	private HardcodedDataManager hdm;
+	private TransformationMetadata actualMetadata;
 	
 	@Before public void setUp() {
 		tempStore = new TempTableStore("1", TransactionMode.ISOLATE_WRITES); //$NON-NLS-1$
 	    BufferManager bm = BufferManagerFactory.getStandaloneBufferManager();
-	    TransformationMetadata actualMetadata = RealMetadataFactory.exampleMaterializedView();
+	    actualMetadata = RealMetadataFactory.exampleMaterializedView();
 	    globalStore = new GlobalTableStoreImpl(bm, actualMetadata.getVdbMetaData(), actualMetadata);
 		metadata = new TempMetadataAdapter(actualMetadata, tempStore.getMetadataStore());
 		hdm = new HardcodedDataManager();
@@ -116,6 +120,89 @@ public class TestMaterialization {
 		this.globalStore.setState(codeTableName, new ByteArrayInputStream(baos.toByteArray()));
 	}
 	
+	@Test public void testFullStateManifest() throws Exception {
+		execute("SELECT * from vgroup3 where x = 'one'", Arrays.asList("one", "zne"));
+		String matTableName = RelationalPlanner.MAT_PREFIX + "MATVIEW.VGROUP3";
+		GlobalTableStoreImpl other = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+		
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		this.globalStore.getState(baos);
+		other.setState(new ByteArrayInputStream(baos.toByteArray()));
+		
+		//only the manifest is sent, so the table must be pulled
+		assertEquals(Arrays.asList(matTableName), other.getPendingStates());
+		assertEquals(MatState.LOADING, other.getMatTableInfo(matTableName).getState());
+		assertFalse(other.hasState(matTableName));
+		
+		baos = new ByteArrayOutputStream();
+		this.globalStore.getState(matTableName, baos);
+		other.setState(matTableName, new ByteArrayInputStream(baos.toByteArray()));
+		
+		MatTableInfo info = other.getMatTableInfo(matTableName);
+		assertEquals(MatState.LOADED, info.getState());
+		assertTrue(info.isValid());
+		assertEquals(this.globalStore.getMatTableInfo(matTableName).getUpdateTime(), info.getUpdateTime());
+		assertTrue(other.getPendingStates().isEmpty());
+		assertTrue(other.hasState(matTableName));
+		
+		//a current table is not pulled again
+		baos = new ByteArrayOutputStream();
+		this.globalStore.getState(baos);
+		other.setState(new ByteArrayInputStream(baos.toByteArray()));
+		assertTrue(other.getPendingStates().isEmpty());
+		assertEquals(MatState.LOADED, info.getState());
+	}
+	
+	@Test public void testPendingStateFailed() throws Exception {
+		execute("SELECT * from vgroup3 where x = 'one'", Arrays.asList("one", "zne"));
+		String matTableName = RelationalPlanner.MAT_PREFIX + "MATVIEW.VGROUP3";
+		GlobalTableStoreImpl other = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+		
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		this.globalStore.getState(baos);
+		other.setState(new ByteArrayInputStream(baos.toByteArray()));
+		assertEquals(MatState.LOADING, other.getMatTableInfo(matTableName).getState());
+		
+		other.pendingStateFailed(matTableName);
+		
+		//the table should now be loaded from the source
+		assertEquals(MatState.FAILED_LOAD, other.getMatTableInfo(matTableName).getState());
+		assertTrue(other.getPendingStates().isEmpty());
+	}
+	
+	@Test public void testStalePendingStateFailed() throws Exception {
+		execute("SELECT * from vgroup3 where x = 'one'", Arrays.asList("one", "zne"));
+		String matTableName = RelationalPlanner.MAT_PREFIX + "MATVIEW.VGROUP3";
+		
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		this.globalStore.getState(baos);
+		byte[] manifest = baos.toByteArray();
+		
+		//make the local copy stale
+		MatTableInfo info = this.globalStore.getMatTableInfo(matTableName);
+		Thread.sleep(5);
+		this.globalStore.loaded(matTableName, this.globalStore.getTempTable(matTableName));
+		assertTrue(this.globalStore.hasState(matTableName));
+		
+		this.globalStore.setState(new ByteArrayInputStream(manifest));
+		
+		//the stale table should not be offered to others
+		assertFalse(this.globalStore.hasState(matTableName));
+		assertEquals(MatState.LOADING, info.getState());
+		
+		this.globalStore.pendingStateFailed(matTableName);
+		assertEquals(MatState.FAILED_LOAD, info.getState());
+	}
+	
+	@Test(expected=TeiidRuntimeException.class) public void testFullStateFormat() throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(baos);
+		//the old format started with the table name
+		oos.writeObject(RelationalPlanner.MAT_PREFIX + "MATVIEW.VGROUP3");
+		oos.close();
+		this.globalStore.setState(new ByteArrayInputStream(baos.toByteArray()));
+	}
+	
     @Test(expected=TeiidProcessingException.class) public void testCodeTableResponseException() throws Exception {
     	//duplicate key
     	execute("select lookup('mattable.info', 'e2', 'e1', 'a')");
@@ -36,6 +36,8 @@ import java.util.List;
 import java.util.TimeZone;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -62,6 +64,7 @@ import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.unittest.TimestampUtil;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 
 @SuppressWarnings({"nls", "unchecked"})
 public class TestSQLXMLProcessing {
@@ -657,6 +660,26 @@ public class TestSQLXMLProcessing {
         process(sql, expected);
     }
     
+    @Test public void testXmlTableStreamingParallel() throws Exception {
+        String sql = "select * from xmltable('/a/b' passing xmlparse(document '<a x=''1''><b>foo</b><b/><b>bar</b><b>baz</b></a>') columns o for ordinality, y string default 'none' path 'text()', x integer path '../@x') as x"; //$NON-NLS-1$
+        List<?>[] expected = new List<?>[] {
+        		Arrays.asList(1, "foo", 1),
+        		Arrays.asList(2, "none", 1),
+        		Arrays.asList(3, "bar", 1),
+        		Arrays.asList(4, "baz", 1),
+        };    
+        CommandContext cc = createCommandContext();
+        cc.setOptions(new Options().xmlTableParallelism(2));
+        ExecutorService ex = Executors.newFixedThreadPool(2);
+        try {
+        	cc.setExecutor(ex);
+        	ProcessorPlan plan = helpGetPlan(helpParse(sql), RealMetadataFactory.example1Cached(), new DefaultCapabilitiesFinder(), cc);
+        	helpProcess(plan, cc, dataManager, expected);
+        } finally {
+        	ex.shutdownNow();
+        }
+    }
+    
     /**
      * Highlights that the PathMapFilter needs to be selective in calling startContent
      * @throws Exception
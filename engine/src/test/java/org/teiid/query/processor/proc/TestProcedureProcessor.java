@@ -31,12 +31,15 @@ import java.util.List;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.api.exception.query.QueryPlannerException;
+import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.api.exception.query.QueryProcessingException;
 import org.teiid.api.exception.query.QueryValidatorException;
 import org.teiid.client.metadata.ParameterInfo;
 import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.DataTypeManager;
+import org.teiid.dqp.internal.process.PreparedPlan;
+import org.teiid.dqp.internal.process.SessionAwareCache;
 import org.teiid.dqp.service.TransactionContext;
 import org.teiid.dqp.service.TransactionService;
 import org.teiid.metadata.ColumnSet;
@@ -52,8 +55,11 @@ import org.teiid.query.metadata.TempMetadataStore;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.QueryOptimizer;
 import org.teiid.query.optimizer.TestOptimizer;
+import org.teiid.query.optimizer.capabilities.BasicSourceCapabilities;
 import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
+import org.teiid.query.optimizer.capabilities.FakeCapabilitiesFinder;
+import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.FakeDataManager;
 import org.teiid.query.processor.HardcodedDataManager;
@@ -65,10 +71,12 @@ import org.teiid.query.processor.xml.TestXMLProcessor;
 import org.teiid.query.resolver.QueryResolver;
 import org.teiid.query.resolver.TestProcedureResolving;
 import org.teiid.query.rewriter.QueryRewriter;
+import org.teiid.query.sql.lang.BatchedUpdateCommand;
 import org.teiid.query.sql.lang.Command;
 import org.teiid.query.sql.lang.SPParameter;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 import org.teiid.query.validator.Validator;
 import org.teiid.query.validator.ValidatorFailure;
 import org.teiid.query.validator.ValidatorReport;
@@ -81,6 +89,10 @@ public class TestProcedureProcessor {
     }
     
     public static ProcessorPlan getProcedurePlan(String userQuery, QueryMetadataInterface metadata, CapabilitiesFinder capabilitiesFinder) throws Exception {
+    	return getProcedurePlan(userQuery, metadata, capabilitiesFinder, null);
+    }
+    
+    public static ProcessorPlan getProcedurePlan(String userQuery, QueryMetadataInterface metadata, CapabilitiesFinder capabilitiesFinder, CommandContext context) throws Exception {
         Command userCommand = QueryParser.getQueryParser().parseCommand(userQuery);
         QueryResolver.resolveCommand(userCommand, metadata);
         ValidatorReport report = Validator.validate(userCommand, metadata);
@@ -96,7 +108,7 @@ public class TestProcedureProcessor {
         	if ( capabilitiesFinder == null ) {
 				capabilitiesFinder = new DefaultCapabilitiesFinder();
 			}
-        	ProcessorPlan plan = QueryOptimizer.optimizePlan(userCommand, metadata, null, capabilitiesFinder, analysisRecord, null);
+        	ProcessorPlan plan = QueryOptimizer.optimizePlan(userCommand, metadata, null, capabilitiesFinder, analysisRecord, context);
 
             return plan;
         } finally {
@@ -938,6 +950,86 @@ public class TestProcedureProcessor {
         helpTestProcess(plan, expected, dataMgr, metadata);
     }
     
+    @Test public void testDynamicCommandPlanCache() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.example1();
+        
+        addProc(metadata, "sq2", "CREATE VIRTUAL PROCEDURE BEGIN\n" //$NON-NLS-1$ //$NON-NLS-2$
+				        + "execute string 'SELECT e1, e2 FROM pm1.g1 WHERE e1=using.id' using id=pm1.sq2.in; END", new String[] { "e1", "e2" }
+        , new String[] { DataTypeManager.DefaultDataTypes.STRING, DataTypeManager.DefaultDataTypes.INTEGER }, new String[] {"in"}, new String[] {DataTypeManager.DefaultDataTypes.STRING});
+        
+        SessionAwareCache<PreparedPlan> planCache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0); //$NON-NLS-1$
+        
+        List[] expected = new List[] {
+                Arrays.asList(new Object[] { "First", Integer.valueOf(5) }),  //$NON-NLS-1$
+                Arrays.asList(new Object[] { "Second", Integer.valueOf(15) }),  //$NON-NLS-1$
+        };
+        
+        for (int i = 0; i < expected.length; i++) {
+        	ProcessorPlan plan = getProcedurePlan("EXEC pm1.sq2('" + expected[i].get(0) + "')", metadata); //$NON-NLS-1$ //$NON-NLS-2$
+        	CommandContext context = new CommandContext("pID", "1", "user", "myvdb", 1); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        	context.setMetadata(new TempMetadataAdapter(metadata, new TempMetadataStore()));
+        	context.setPreparedPlanCache(planCache);
+        	context.setOptions(new Options().dynamicSqlPlanCache(true));
+        	TestProcessor.helpProcess(plan, context, exampleDataManager(metadata), new List[] {expected[i]});
+        }
+        
+        //the second execution should reuse the plan with a different using value
+        assertEquals(1, planCache.getTotalCacheEntries());
+        assertEquals(1, planCache.getCacheHitCount());
+    }
+    
+    @Test public void testDynamicCommandPlanCacheIntoTemp() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.example1();
+        
+        addProc(metadata, "sq2", "CREATE VIRTUAL PROCEDURE BEGIN\n" //$NON-NLS-1$ //$NON-NLS-2$
+				        + "execute string 'SELECT e1, e2 FROM pm1.g1 WHERE e1=using.id' as e1 string, e2 integer into #t using id=pm1.sq2.in; select e1, e2 from #t; END", new String[] { "e1", "e2" }
+        , new String[] { DataTypeManager.DefaultDataTypes.STRING, DataTypeManager.DefaultDataTypes.INTEGER }, new String[] {"in"}, new String[] {DataTypeManager.DefaultDataTypes.STRING});
+        
+        SessionAwareCache<PreparedPlan> planCache = new SessionAwareCache<PreparedPlan>("preparedplan", DefaultCacheFactory.INSTANCE, SessionAwareCache.Type.PREPAREDPLAN, 0); //$NON-NLS-1$
+        
+        ProcessorPlan plan = getProcedurePlan("EXEC pm1.sq2('First')", metadata); //$NON-NLS-1$
+        CommandContext context = new CommandContext("pID", "1", "user", "myvdb", 1); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        context.setMetadata(new TempMetadataAdapter(metadata, new TempMetadataStore()));
+        context.setPreparedPlanCache(planCache);
+        context.setOptions(new Options().dynamicSqlPlanCache(true));
+        TestProcessor.helpProcess(plan, context, exampleDataManager(metadata), new List[] {Arrays.asList("First", 5)}); //$NON-NLS-1$
+        
+        //the insert into the temp table should not be cached
+        assertEquals(0, planCache.getTotalCacheEntries());
+    }
+    
+    @Test public void testLoopBatchedUpdate() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.example1();
+        
+        addProc(metadata, "sq2", "CREATE VIRTUAL PROCEDURE BEGIN\n" //$NON-NLS-1$ //$NON-NLS-2$
+        				+ "LOOP ON (SELECT e1, e2 FROM pm1.g1) AS c BEGIN INSERT INTO pm1.g2 (e1, e2) VALUES (c.e1, c.e2); END\n"
+				        + "SELECT VARIABLES.ROWCOUNT; END", new String[] { "e1" }
+        , new String[] { DataTypeManager.DefaultDataTypes.INTEGER }, new String[0], new String[0]);
+        
+        FakeCapabilitiesFinder capFinder = new FakeCapabilitiesFinder();
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setCapabilitySupport(Capability.BATCHED_UPDATES, true);
+        caps.setCapabilitySupport(Capability.QUERY_FROM_GROUP_ALIAS, false);
+        capFinder.addCapabilities("pm1", caps); //$NON-NLS-1$
+        
+        CommandContext context = new CommandContext();
+        context.setOptions(new Options().procedureLoopBatchSize(2));
+        ProcessorPlan plan = getProcedurePlan("EXEC pm1.sq2()", metadata, capFinder, context); //$NON-NLS-1$
+        
+        HardcodedDataManager dataMgr = new HardcodedDataManager();
+        dataMgr.addData("SELECT pm1.g1.e1, pm1.g1.e2 FROM pm1.g1", //$NON-NLS-1$ 
+        		Arrays.asList("a", 1), Arrays.asList("b", 2), Arrays.asList("c", 3)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        dataMgr.addData("BatchedUpdate{I,I}", Arrays.asList(1), Arrays.asList(1)); //$NON-NLS-1$
+        dataMgr.addData("BatchedUpdate{I}", Arrays.asList(1)); //$NON-NLS-1$
+        
+        helpTestProcess(plan, new List[] {Arrays.asList(1)}, dataMgr, metadata);
+        
+        //one query for the cursor and two batches rather than three inserts
+        assertEquals(3, dataMgr.getCommandHistory().size());
+        BatchedUpdateCommand buc = (BatchedUpdateCommand)dataMgr.getCommandHistory().get(2);
+        assertEquals("INSERT INTO pm1.g2 (e1, e2) VALUES ('c', 3)", buc.getStringForm(true)); //$NON-NLS-1$
+    }
+    
     @Test public void testDynamicCommandWithVariable() throws Exception {
         TransformationMetadata metadata = RealMetadataFactory.example1();
         
@@ -50,7 +50,10 @@ import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.dqp.service.TransactionContext;
+import org.teiid.dqp.service.TransactionContext.Scope;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 
 /** 
  * @since 4.2
@@ -61,6 +64,10 @@ public class TestProjectIntoNode {
     private static final int NUM_ROWS = 1000;
 
     private void helpTestNextBatch(int tupleBatchSize, Mode mode) throws Exception {
+    	helpTestNextBatch(tupleBatchSize, mode, new FakePDM(tupleBatchSize), new CommandContext(), BufferManagerFactory.getTestBufferManager(tupleBatchSize, tupleBatchSize));
+    }
+    
+    private void helpTestNextBatch(int tupleBatchSize, Mode mode, ProcessorDataManager dataManager, CommandContext context, BufferManager bm) throws Exception {
         
         ProjectIntoNode node = new ProjectIntoNode(2);
         
@@ -78,10 +85,6 @@ public class TestProjectIntoNode {
         node.setMode(mode);
         node.setModelName("myModel"); //$NON-NLS-1$
         
-        CommandContext context = new CommandContext();
-        BufferManager bm = BufferManagerFactory.getTestBufferManager(tupleBatchSize, tupleBatchSize);
-        ProcessorDataManager dataManager = new FakePDM(tupleBatchSize);
-        
         child.initialize(context, bm, dataManager);
         node.initialize(context, bm, dataManager);
         node.open();
@@ -122,9 +125,39 @@ public class TestProjectIntoNode {
         helpTestNextBatch(100, Mode.ITERATOR);
     }
     
+    @Test public void testNextBatch_Pipelined() throws Exception {
+    	FakePDM dataManager = new FakePDM(100);
+    	dataManager.blockResults = true;
+    	CommandContext context = new CommandContext();
+    	context.setOptions(new Options().insertPipelineDepth(3));
+    	TransactionContext tc = new TransactionContext();
+    	tc.setTransactionType(Scope.REQUEST);
+    	context.setTransactionContext(tc);
+        helpTestNextBatch(100, Mode.BATCH, dataManager, context, BufferManagerFactory.getStandaloneBufferManager());
+        assertEquals(NUM_ROWS/100, dataManager.callCount);
+        assertTrue(dataManager.maxOutstanding > 1);
+        assertTrue(dataManager.maxOutstanding <= 3);
+        assertEquals(0, dataManager.outstanding);
+    }
+    
+    @Test public void testNextBatch_PipelinedNonTransactional() throws Exception {
+    	FakePDM dataManager = new FakePDM(100);
+    	dataManager.blockResults = true;
+    	CommandContext context = new CommandContext();
+    	context.setOptions(new Options().insertPipelineDepth(3));
+        helpTestNextBatch(100, Mode.BATCH, dataManager, context, BufferManagerFactory.getStandaloneBufferManager());
+        assertEquals(NUM_ROWS/100, dataManager.callCount);
+        assertTrue(dataManager.maxOutstanding > 1);
+        assertTrue(dataManager.maxOutstanding <= 3);
+        assertEquals(0, dataManager.outstanding);
+    }
+    
     private static final class FakePDM implements ProcessorDataManager {
         private int expectedBatchSize;
         private int callCount = 0;
+        private boolean blockResults;
+        private int outstanding;
+        private int maxOutstanding;
         private FakePDM(int expectedBatchSize) {
             this.expectedBatchSize = expectedBatchSize;
         }
@@ -166,8 +199,30 @@ public class TestProjectIntoNode {
                 fail("Unexpected command type"); //$NON-NLS-1$
             }
             List counts = Arrays.asList(new Object[] { new Integer(batchSize)});
-            FakeTupleSource fakeTupleSource = new FakeTupleSource(null, new List[] {counts});
-            return fakeTupleSource;
+            final FakeTupleSource fakeTupleSource = new FakeTupleSource(null, new List[] {counts});
+            if (!blockResults) {
+            	return fakeTupleSource;
+            }
+            outstanding++;
+            maxOutstanding = Math.max(outstanding, maxOutstanding);
+            //simulate an asynch source that is not yet complete on the first access
+            return new TupleSource() {
+            	boolean blocked;
+				
+				@Override
+				public List<?> nextTuple() throws TeiidComponentException, TeiidProcessingException {
+					if (!blocked) {
+						blocked = true;
+						throw BlockedException.INSTANCE;
+					}
+					return fakeTupleSource.nextTuple();
+				}
+				
+				@Override
+				public void closeSource() {
+					outstanding--;
+				}
+			};
         }
 
         private void ensureValue(Insert command, int size, int value) {
@@ -1547,6 +1547,10 @@ public class TestValidator {
         helpValidate(userSql, new String[] {"xpathValue('<?xml version=\"1.0\" encoding=\"utf-8\" ?><a><b><c>test</c></b></a>', '//*[local-name()=''bookName\"]')"}, RealMetadataFactory.exampleBQTCached());
     }
     
+    @Test public void testJSONTableInvalidPath() {        
+        helpValidate("SELECT * from jsontable(null, '$.a' columns x string path 'b[*]') as x", new String[] {"JSONTABLE(null, '$.a' COLUMNS x string PATH 'b[*]') AS x"}, RealMetadataFactory.exampleBQTCached()); 
+	}
+    
     @Test public void testTextTableNoWidth() {        
         helpValidate("SELECT * from texttable(null columns x string width 1, y integer) as x", new String[] {"TEXTTABLE(null COLUMNS x string WIDTH 1, y integer) AS x"}, RealMetadataFactory.exampleBQTCached()); 
 	}
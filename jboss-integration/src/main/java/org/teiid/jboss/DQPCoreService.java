@@ -49,6 +49,7 @@ import org.teiid.dqp.internal.datamgr.TranslatorRepository;
 import org.teiid.dqp.internal.process.AuthorizationValidator;
 import org.teiid.dqp.internal.process.DQPConfiguration;
 import org.teiid.dqp.internal.process.DQPCore;
+import org.teiid.dqp.internal.process.ParsedCommandCache;
 import org.teiid.dqp.internal.process.SessionAwareCache;
 import org.teiid.dqp.internal.process.TransactionServerImpl;
 import org.teiid.dqp.service.TransactionService;
@@ -136,6 +137,9 @@ public class DQPCoreService extends DQPConfiguration implements Serializable, Se
 
 			@Override
 			public void finishedDeployment(String name, int version, CompositeVDB cvdb, boolean reloading) {
+				if (getParseCacheSize() > 0) {
+					cvdb.getVDB().addAttchment(ParsedCommandCache.class, new ParsedCommandCache(getParseCacheSize()));
+				}
 			}			
 			
 			@Override
@@ -48,6 +48,8 @@ enum Element {
 	DETECTING_CHANGE_EVENTS_ELEMENT("detect-change-events", "detect-change-events"),
     QUERY_TIMEOUT("query-timeout", "query-timeout"),
     WORKMANAGER("workmanager", "workmanager"),
+    PARSE_CACHE_SIZE_ELEMENT("parse-cache-size", "parse-cache-size"),
+    MAX_QUEUED_WORK_PER_TENANT_ELEMENT("max-queued-work-per-tenant", "max-queued-work-per-tenant"),
     
     POLICY_DECIDER_MODULE_ELEMENT("policy-decider-module", "policy-decider-module"),
     AUTHORIZATION_VALIDATOR_MODULE_ELEMENT("authorization-validator-module", "authorization-validator-module"),
@@ -100,6 +102,8 @@ enum Element {
 	AUTHENTICATION_MAX_SESSIONS_ALLOWED_ATTRIBUTE("max-sessions-allowed", "authentication-max-sessions-allowed"),
 	AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE("sessions-expiration-timelimit", "authentication-sessions-expiration-timelimit"),
 	AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE("krb5-domain", "authentication-krb5-domain"),
+	AUTHENTICATION_CACHE_SIZE_ATTRIBUTE("cache-size", "authentication-cache-size"),
+	AUTHENTICATION_CACHE_TTL_ATTRIBUTE("cache-ttl", "authentication-cache-ttl"),
 	
 	PG_ELEMENT("pg"), //$NON-NLS-1$
 	PG_MAX_LOB_SIZE_ALLOWED_ELEMENT("max-lob-size-in-bytes", "pg-max-lob-size-in-bytes"), //$NON-NLS-1$ //$NON-NLS-2$
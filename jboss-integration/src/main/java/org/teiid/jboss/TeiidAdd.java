@@ -121,6 +121,8 @@ class TeiidAdd extends AbstractAddStepHandler {
 		TeiidConstants.DETECTING_CHANGE_EVENTS_ELEMENT,
 		TeiidConstants.QUERY_TIMEOUT,
 		TeiidConstants.WORKMANAGER,
+		TeiidConstants.PARSE_CACHE_SIZE_ELEMENT,
+		TeiidConstants.MAX_QUEUED_WORK_PER_TENANT_ELEMENT,
 		TeiidConstants.AUTHORIZATION_VALIDATOR_MODULE_ELEMENT,
 		TeiidConstants.POLICY_DECIDER_MODULE_ELEMENT,
 		
@@ -547,6 +549,12 @@ class TeiidAdd extends AbstractAddStepHandler {
     	}	 
     	if (QUERY_TIMEOUT.isDefined(node, context)) {
     		engine.setQueryTimeout(QUERY_TIMEOUT.asLong(node, context));
+    	}
+    	if (PARSE_CACHE_SIZE_ELEMENT.isDefined(node, context)) {
+    		engine.setParseCacheSize(PARSE_CACHE_SIZE_ELEMENT.asInt(node, context));
+    	}
+    	if (MAX_QUEUED_WORK_PER_TENANT_ELEMENT.isDefined(node, context)) {
+    		engine.setMaxQueuedWorkPerTenant(MAX_QUEUED_WORK_PER_TENANT_ELEMENT.asInt(node, context));
     	}
 		return engine;
 	}    
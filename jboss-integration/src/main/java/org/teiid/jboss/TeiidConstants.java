@@ -51,6 +51,8 @@ public class TeiidConstants {
 	public static TeiidAttribute DETECTING_CHANGE_EVENTS_ELEMENT = new TeiidAttribute("detect-change-events", "detect-change-events", new ModelNode(true), ModelType.BOOLEAN, true, false, MeasurementUnit.NONE);
     public static TeiidAttribute QUERY_TIMEOUT = new TeiidAttribute(Element.QUERY_TIMEOUT, new ModelNode(0), ModelType.LONG, true, false, MeasurementUnit.NONE);
     public static TeiidAttribute WORKMANAGER = new TeiidAttribute(Element.WORKMANAGER, new ModelNode("default"), ModelType.STRING, true, false, MeasurementUnit.NONE);
+    public static TeiidAttribute PARSE_CACHE_SIZE_ELEMENT = new TeiidAttribute(Element.PARSE_CACHE_SIZE_ELEMENT, new ModelNode(0), ModelType.INT, true, false, MeasurementUnit.NONE);
+    public static TeiidAttribute MAX_QUEUED_WORK_PER_TENANT_ELEMENT = new TeiidAttribute(Element.MAX_QUEUED_WORK_PER_TENANT_ELEMENT, new ModelNode(0), ModelType.INT, true, false, MeasurementUnit.NONE);
 
     public static TeiidAttribute POLICY_DECIDER_MODULE_ELEMENT = new TeiidAttribute(Element.POLICY_DECIDER_MODULE_ELEMENT, null, ModelType.STRING, true, false, MeasurementUnit.NONE);
     public static TeiidAttribute AUTHORIZATION_VALIDATOR_MODULE_ELEMENT = new TeiidAttribute(Element.AUTHORIZATION_VALIDATOR_MODULE_ELEMENT, null, ModelType.STRING, true, false, MeasurementUnit.NONE);
@@ -103,6 +105,8 @@ public class TeiidConstants {
 	public static TeiidAttribute AUTHENTICATION_MAX_SESSIONS_ALLOWED_ATTRIBUTE = new TeiidAttribute(Element.AUTHENTICATION_MAX_SESSIONS_ALLOWED_ATTRIBUTE, new ModelNode(5000), ModelType.INT, true, false, MeasurementUnit.NONE);
 	public static TeiidAttribute AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE = new TeiidAttribute(Element.AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE, new ModelNode(0), ModelType.INT, true, false, MeasurementUnit.NONE);
 	public static TeiidAttribute AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE = new TeiidAttribute(Element.AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE, null, ModelType.STRING, true, false, MeasurementUnit.NONE);
+	public static TeiidAttribute AUTHENTICATION_CACHE_SIZE_ATTRIBUTE = new TeiidAttribute(Element.AUTHENTICATION_CACHE_SIZE_ATTRIBUTE, new ModelNode(0), ModelType.INT, true, false, MeasurementUnit.NONE);
+	public static TeiidAttribute AUTHENTICATION_CACHE_TTL_ATTRIBUTE = new TeiidAttribute(Element.AUTHENTICATION_CACHE_TTL_ATTRIBUTE, new ModelNode(300000), ModelType.INT, true, false, MeasurementUnit.NONE);
 	
 	//PG_ELEMENT("pg"), //$NON-NLS-1$
 	public static TeiidAttribute PG_MAX_LOB_SIZE_ALLOWED_ELEMENT = new TeiidAttribute(Element.PG_MAX_LOB_SIZE_ALLOWED_ELEMENT, new ModelNode(5242880), ModelType.INT, true, false, MeasurementUnit.NONE); //$NON-NLS-1$ //$NON-NLS-2$
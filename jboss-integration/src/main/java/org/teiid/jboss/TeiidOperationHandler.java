@@ -93,6 +93,7 @@ import org.teiid.deployers.VDBStatusChecker;
 import org.teiid.dqp.internal.datamgr.TranslatorRepository;
 import org.teiid.dqp.internal.process.DQPCore;
 import org.teiid.dqp.internal.process.DQPWorkContext;
+import org.teiid.dqp.internal.process.ParsedCommandCache;
 import org.teiid.dqp.internal.process.SessionAwareCache;
 import org.teiid.jboss.TeiidServiceNames.InvalidServiceNameException;
 import org.teiid.logging.LogConstants;
@@ -102,6 +103,7 @@ import org.teiid.metadata.Schema;
 import org.teiid.query.metadata.DDLStringVisitor;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.tempdata.TempTableDataManager;
+import org.teiid.services.AuthenticationCache;
 import org.teiid.vdb.runtime.VDBKey;
 
 /**
@@ -646,6 +648,10 @@ abstract class BaseCachehandler extends BaseOperationHandler<SessionAwareCache>{
 			cacheType = operation.get(OperationsConstants.CACHE_TYPE.getName()).asString();
 		}
 
+		if (isParsedCommandCache(cacheType) || isAuthenticationCache(cacheType)) {
+			return null;
+		}
+		
 		ServiceController<?> sc;
 		if (SessionAwareCache.isResultsetCache(cacheType)) {
 			sc = context.getServiceRegistry(false).getRequiredService(TeiidServiceNames.CACHE_RESULTSET);
@@ -659,6 +665,46 @@ abstract class BaseCachehandler extends BaseOperationHandler<SessionAwareCache>{
 		}
 		return null;
 	}
+	
+	static boolean isParsedCommandCache(String cacheType) {
+		return Admin.Cache.PARSED_COMMAND_CACHE.name().equals(cacheType);
+	}
+	
+	/**
+	 * The parsed command caches are scoped to each vdb
+	 */
+	static List<ParsedCommandCache> getParsedCommandCaches(OperationContext context) {
+		ServiceController<?> sc = context.getServiceRegistry(false).getRequiredService(TeiidServiceNames.VDB_REPO);
+		VDBRepository repo = VDBRepository.class.cast(sc.getValue());
+		List<ParsedCommandCache> caches = new ArrayList<ParsedCommandCache>();
+		for (VDBMetaData vdb : repo.getVDBs()) {
+			ParsedCommandCache cache = vdb.getAttachment(ParsedCommandCache.class);
+			if (cache != null) {
+				caches.add(cache);
+			}
+		}
+		return caches;
+	}
+	
+	static boolean isAuthenticationCache(String cacheType) {
+		return Admin.Cache.AUTHENTICATION_CACHE.name().equals(cacheType);
+	}
+	
+	/**
+	 * The authentication caches are scoped to each transport
+	 */
+	static List<AuthenticationCache> getAuthenticationCaches(OperationContext context) {
+		List<AuthenticationCache> caches = new ArrayList<AuthenticationCache>();
+		for (ServiceName name : context.getServiceRegistry(false).getServiceNames()) {
+			if (TeiidServiceNames.TRANSPORT_BASE.isParentOf(name)) {
+				ServiceController<?> transport = context.getServiceRegistry(false).getService(name);
+				if (transport != null) {
+					caches.add(TransportService.class.cast(transport.getValue()).getAuthenticationCache());
+				}
+			}
+		}
+		return caches;
+	}
 }
 
 
@@ -696,20 +742,42 @@ class ClearCache extends BaseCachehandler {
 		}
 
 		String cacheType = operation.get(OperationsConstants.CACHE_TYPE.getName()).asString();
-		if (cache == null) {
+		if (cache == null && !isParsedCommandCache(cacheType) && !isAuthenticationCache(cacheType)) {
 			throw new OperationFailedException(new ModelNode().set(IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50071, cacheType)));
 		}
+		
+		if (isAuthenticationCache(cacheType)) {
+			//authentications are not vdb scoped
+			LogManager.logInfo(LogConstants.CTX_DQP, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50098, cacheType));
+			for (AuthenticationCache authCache : getAuthenticationCaches(context)) {
+				authCache.clear();
+			}
+			return;
+		}
 
 		if (operation.hasDefined(OperationsConstants.VDB_NAME.getName()) && operation.hasDefined(OperationsConstants.VDB_VERSION.getName())) {
 			String vdbName = operation.get(OperationsConstants.VDB_NAME.getName()).asString();
 			int vdbVersion = operation.get(OperationsConstants.VDB_VERSION.getName()).asInt();
-			TeiidOperationHandler.checkVDB(context, vdbName, vdbVersion);
+			VDBMetaData vdb = TeiidOperationHandler.checkVDB(context, vdbName, vdbVersion);
 			LogManager.logInfo(LogConstants.CTX_DQP, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50005, cacheType, vdbName, vdbVersion));
-			cache.clearForVDB(vdbName, vdbVersion);
+			if (cache == null) {
+				ParsedCommandCache parsedCache = vdb.getAttachment(ParsedCommandCache.class);
+				if (parsedCache != null) {
+					parsedCache.clear();
+				}
+			} else {
+				cache.clearForVDB(vdbName, vdbVersion);
+			}
 		}
 		else {
 			LogManager.logInfo(LogConstants.CTX_DQP, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50098, cacheType));
-			cache.clearAll();
+			if (cache == null) {
+				for (ParsedCommandCache parsedCache : getParsedCommandCaches(context)) {
+					parsedCache.clear();
+				}
+			} else {
+				cache.clearAll();
+			}
 		}
 	}
 
@@ -733,14 +801,55 @@ class CacheStatistics extends BaseCachehandler {
 			throw new OperationFailedException(new ModelNode().set(IntegrationPlugin.Util.getString(OperationsConstants.CACHE_TYPE.getName()+MISSING)));
 		}
 		String cacheType = operation.get(OperationsConstants.CACHE_TYPE.getName()).asString();
-		if (cache == null) {
-			throw new OperationFailedException(new ModelNode().set(IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50071, cacheType)));
+		CacheStatisticsMetadata stats = null;
+		if (isParsedCommandCache(cacheType)) {
+			stats = buildParsedCommandCacheStats(cacheType, getParsedCommandCaches(context));
+		} else if (isAuthenticationCache(cacheType)) {
+			stats = buildAuthenticationCacheStats(cacheType, getAuthenticationCaches(context));
+		} else {
+			if (cache == null) {
+				throw new OperationFailedException(new ModelNode().set(IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50071, cacheType)));
+			}
+			stats = buildCacheStats(cacheType, cache);
 		}
 
 		ModelNode result = context.getResult();
-		CacheStatisticsMetadata stats = buildCacheStats(cacheType, cache);
 		VDBMetadataMapper.CacheStatisticsMetadataMapper.INSTANCE.wrap(stats, result);
 	}
+	
+	private CacheStatisticsMetadata buildParsedCommandCacheStats(String name, List<ParsedCommandCache> caches) {
+		long hits = 0;
+		long requests = 0;
+		int entries = 0;
+		for (ParsedCommandCache cache : caches) {
+			hits += cache.getHitCount();
+			requests += cache.getHitCount() + cache.getMissCount();
+			entries += cache.getSize();
+		}
+		CacheStatisticsMetadata stats = new CacheStatisticsMetadata();
+		stats.setName(name);
+		stats.setHitRatio(requests == 0?0:((double)hits/requests)*100);
+		stats.setTotalEntries(entries);
+		stats.setRequestCount((int)Math.min(Integer.MAX_VALUE, requests));
+		return stats;
+	}
+
+	private CacheStatisticsMetadata buildAuthenticationCacheStats(String name, List<AuthenticationCache> caches) {
+		long hits = 0;
+		long requests = 0;
+		int entries = 0;
+		for (AuthenticationCache cache : caches) {
+			hits += cache.getCacheHitCount();
+			requests += cache.getRequestCount();
+			entries += cache.getTotalCacheEntries();
+		}
+		CacheStatisticsMetadata stats = new CacheStatisticsMetadata();
+		stats.setName(name);
+		stats.setHitRatio(requests == 0?0:((double)hits/requests)*100);
+		stats.setTotalEntries(entries);
+		stats.setRequestCount((int)Math.min(Integer.MAX_VALUE, requests));
+		return stats;
+	}
 
 	private CacheStatisticsMetadata buildCacheStats(String name, SessionAwareCache cache) {
 		CacheStatisticsMetadata stats = new CacheStatisticsMetadata();
@@ -789,8 +898,10 @@ class WorkerPoolStatistics extends TeiidOperationHandler{
 	@Override
 	protected void executeOperation(OperationContext context, DQPCore engine, ModelNode operation) throws OperationFailedException {
 		ModelNode result = context.getResult();
-		WorkerPoolStatisticsMetadata stats = engine.getWorkerPoolStatistics();
-		VDBMetadataMapper.WorkerPoolStatisticsMetadataMapper.INSTANCE.wrap(stats, result);
+		List<WorkerPoolStatisticsMetadata> stats = engine.getWorkerPoolStatistics();
+		for (WorkerPoolStatisticsMetadata stat : stats) {
+			VDBMetadataMapper.WorkerPoolStatisticsMetadataMapper.INSTANCE.wrap(stat, result.add());
+		}
 	}
 	@Override
 	protected void describeParameters(SimpleOperationDefinitionBuilder builder) {
@@ -72,6 +72,8 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
     	DETECTING_CHANGE_EVENTS_ELEMENT.marshallAsElement(node, false, writer);
     	QUERY_TIMEOUT.marshallAsElement(node, false, writer);
     	WORKMANAGER.marshallAsElement(node, false, writer);
+    	PARSE_CACHE_SIZE_ELEMENT.marshallAsElement(node, false, writer);
+    	MAX_QUEUED_WORK_PER_TENANT_ELEMENT.marshallAsElement(node, false, writer);
 
     	AUTHORIZATION_VALIDATOR_MODULE_ELEMENT.marshallAsElement(node, writer);
     	POLICY_DECIDER_MODULE_ELEMENT.marshallAsElement(node, writer);
@@ -144,6 +146,8 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
 			AUTHENTICATION_MAX_SESSIONS_ALLOWED_ATTRIBUTE.marshallAsAttribute(node, false, writer);
 			AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE.marshallAsAttribute(node, false, writer);
 			AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE.marshallAsAttribute(node, false, writer);
+			AUTHENTICATION_CACHE_SIZE_ATTRIBUTE.marshallAsAttribute(node, false, writer);
+			AUTHENTICATION_CACHE_TTL_ATTRIBUTE.marshallAsAttribute(node, false, writer);
 			writer.writeEndElement();
     	}
     	
@@ -268,7 +272,9 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
     				case LOB_CHUNK_SIZE_IN_KB_ELEMENT:
     				case QUERY_THRESHOLD_IN_SECS_ELEMENT:
     				case MAX_SOURCE_ROWS_ELEMENT:
-    				case QUERY_TIMEOUT:    					
+    				case QUERY_TIMEOUT:
+    				case PARSE_CACHE_SIZE_ELEMENT:
+    				case MAX_QUEUED_WORK_PER_TENANT_ELEMENT:
     					bootServices.get(reader.getLocalName()).set(Integer.parseInt(reader.getElementText()));
     					break;
 
@@ -438,6 +444,11 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
     			case AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE:
     				node.get(element.getModelName()).set(Integer.parseInt(attrValue));
     				break;
+    				
+    			case AUTHENTICATION_CACHE_SIZE_ATTRIBUTE:
+    			case AUTHENTICATION_CACHE_TTL_ATTRIBUTE:
+    				node.get(element.getModelName()).set(Integer.parseInt(attrValue));
+    				break;
 
     			default:
     				throw ParseUtils.unexpectedAttribute(reader, i);    			
@@ -73,6 +73,8 @@ class TransportAdd extends AbstractAddStepHandler {
 		TeiidConstants.AUTHENTICATION_MAX_SESSIONS_ALLOWED_ATTRIBUTE,
 		TeiidConstants.AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE,
 		TeiidConstants.AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE,
+		TeiidConstants.AUTHENTICATION_CACHE_SIZE_ATTRIBUTE,
+		TeiidConstants.AUTHENTICATION_CACHE_TTL_ATTRIBUTE,
 		
 		TeiidConstants.PG_MAX_LOB_SIZE_ALLOWED_ELEMENT,
 		
@@ -133,6 +135,12 @@ class TransportAdd extends AbstractAddStepHandler {
    		if (AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE.isDefined(operation, context)) {
    			transport.setSessionExpirationTimeLimit(AUTHENTICATION_SESSION_EXPIRATION_TIME_LIMIT_ATTRIBUTE.asLong(operation, context));
    		}   		
+   		if (AUTHENTICATION_CACHE_SIZE_ATTRIBUTE.isDefined(operation, context)) {
+   			transport.setAuthenticationCacheSize(AUTHENTICATION_CACHE_SIZE_ATTRIBUTE.asInt(operation, context));
+   		}
+   		if (AUTHENTICATION_CACHE_TTL_ATTRIBUTE.isDefined(operation, context)) {
+   			transport.setAuthenticationCacheTtl(AUTHENTICATION_CACHE_TTL_ATTRIBUTE.asLong(operation, context));
+   		}
    		if (AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE.isDefined(operation, context)) {
    			transport.setAuthenticationType(AuthenticationType.GSS);
    			transport.setKrb5Domain(AUTHENTICATION_KRB5_DOMAIN_ATTRIBUTE.asString(operation, context));
@@ -65,6 +65,7 @@ import org.teiid.net.CommunicationException;
 import org.teiid.net.ConnectionException;
 import org.teiid.net.socket.AuthenticationType;
 import org.teiid.security.SecurityHelper;
+import org.teiid.services.AuthenticationCache;
 import org.teiid.services.SessionServiceImpl;
 import org.teiid.transport.ClientServiceRegistry;
 import org.teiid.transport.ClientServiceRegistryImpl;
@@ -83,6 +84,8 @@ public class TransportService implements Service<ClientServiceRegistry>, ClientS
 	private List<String> authenticationDomains;;	
 	private long sessionMaxLimit;
 	private long sessionExpirationTimeLimit;
+	private int authenticationCacheSize;
+	private long authenticationCacheTtl = AuthenticationCache.DEFAULT_TTL;
 	private SocketListener socketListener;
 	private transient SessionServiceImpl sessionService;
 	private AuthenticationType authenticationType;
@@ -144,6 +147,8 @@ public class TransportService implements Service<ClientServiceRegistry>, ClientS
 		}
 		this.sessionService.setSessionExpirationTimeLimit(this.sessionExpirationTimeLimit);
 		this.sessionService.setSessionMaxLimit(this.sessionMaxLimit);
+		this.sessionService.setAuthenticationCacheSize(this.authenticationCacheSize);
+		this.sessionService.setAuthenticationCacheTtl(this.authenticationCacheTtl);
 		this.sessionService.setDqp(getDQP());
 		this.sessionService.setVDBRepository(getVdbRepository());
 		this.sessionService.setSecurityHelper(this.csr.getSecurityHelper());
@@ -313,6 +318,18 @@ public class TransportService implements Service<ClientServiceRegistry>, ClientS
 	public void setSessionExpirationTimeLimit(long limit) {
 		this.sessionExpirationTimeLimit = limit;
 	}
+	
+	public void setAuthenticationCacheSize(int size) {
+		this.authenticationCacheSize = size;
+	}
+	
+	public void setAuthenticationCacheTtl(long ttl) {
+		this.authenticationCacheTtl = ttl;
+	}
+	
+	public AuthenticationCache getAuthenticationCache() {
+		return this.sessionService.getAuthenticationCache();
+	}
 
 	public AuthenticationType getAuthenticationType() {
 		return authenticationType;
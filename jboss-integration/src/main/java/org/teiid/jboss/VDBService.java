@@ -30,6 +30,7 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.TreeMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -54,6 +55,7 @@ import org.teiid.adminapi.Translator;
 import org.teiid.adminapi.VDB.Status;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.ModelMetaData.Message.Severity;
+import org.teiid.adminapi.impl.SourceMappingMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.adminapi.impl.VDBMetadataParser;
 import org.teiid.adminapi.impl.VDBTranslatorMetaData;
@@ -108,6 +110,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 	private VDBLifeCycleListener restEasyListener;
 	private VDBResources vdbResources;
 	private boolean reload;
+	private IdentityHashMap<Translator, ExecutionFactory<Object, Object>> executionFactories;
 	
 	public VDBService(VDBMetaData metadata, VDBResources vdbResources, boolean reload) {
 		this.vdb = metadata;
@@ -280,6 +283,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 		getVDBRepository().removeVDB(this.vdb.getName(), this.vdb.getVersion());
 		getVDBRepository().removeListener(this.vdbListener);
 		getVDBRepository().removeListener(this.restEasyListener);
+		stopExecutionFactories();
 		final ServiceController<?> controller = context.getController().getServiceContainer().getService(TeiidServiceNames.vdbFinishedServiceName(vdb.getName(), vdb.getVersion()));
         if (controller != null) {
             controller.setMode(ServiceController.Mode.REMOVE);
@@ -292,15 +296,37 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 		return this.runtimeVDB;
 	}
 	
+	/**
+	 * The translator instances were created for this vdb and may be released
+	 */
+	private void stopExecutionFactories() {
+		if (this.executionFactories == null) {
+			return;
+		}
+		synchronized (this.executionFactories) {
+			for (ExecutionFactory<Object, Object> ef : this.executionFactories.values()) {
+				try {
+					ef.stop();
+				} catch (RuntimeException e) {
+					LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not stop translator", ef); //$NON-NLS-1$
+				}
+			}
+			this.executionFactories.clear();
+		}
+	}
+	
 	private void createConnectorManagers(ConnectorManagerRepository cmr, final TranslatorRepository repo, final VDBMetaData deployment) throws StartException {
 		final IdentityHashMap<Translator, ExecutionFactory<Object, Object>> map = new IdentityHashMap<Translator, ExecutionFactory<Object, Object>>();
+		this.executionFactories = map;
 		
 		try {
 			ConnectorManagerRepository.ExecutionFactoryProvider provider = new ConnectorManagerRepository.ExecutionFactoryProvider() {
 				
 				@Override
 				public ExecutionFactory<Object, Object> getExecutionFactory(String name) throws ConnectorManagerException {
-					return VDBService.getExecutionFactory(name, repo, getTranslatorRepository(), deployment, map, new HashSet<String>());
+					synchronized (map) {
+						return VDBService.getExecutionFactory(name, repo, getTranslatorRepository(), deployment, map, new HashSet<String>());
+					}
 				}
 			};
 			cmr.setProvider(provider);
@@ -373,7 +399,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 				// designer based models define data types based on their built in data types, which are system vdb data types
 				Map<String, Datatype> datatypes = getVDBRepository().getRuntimeTypeMap();
 				Map<String, Datatype> builtin = getVDBRepository().getSystemStore().getDatatypes();
-				final File cachedFile = getSerializer().buildModelFile(vdb, model.getName());
+				final File cachedFile = getSerializer().buildModelFile(vdb, getModelCacheName(model));
 				MetadataFactory factory = getSerializer().loadSafe(cachedFile, MetadataFactory.class);
 				if (factory != null) {
 					factory.correctDatatypes(datatypes, builtin);
@@ -475,7 +501,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 		}
 				
 		if (cache) {
-			final File cachedFile = getSerializer().buildModelFile(vdb, model.getName());
+			final File cachedFile = getSerializer().buildModelFile(vdb, getModelCacheName(model));
 			try {
 				getSerializer().saveAttachment(cachedFile, schema, false);
 			} catch (IOException e) {
@@ -485,9 +511,32 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 	}    
 	
 	private void deleteModelCache(String modelName) {
-		final File cachedFile = getSerializer().buildModelFile(vdb, modelName);
+		ModelMetaData model = vdb.getModel(modelName);
+		if (model == null) {
+			return;
+		}
+		final File cachedFile = getSerializer().buildModelFile(vdb, getModelCacheName(model));
 		getSerializer().removeAttachment(cachedFile);
 	}
+	
+	/**
+	 * The cached metadata name includes a hash of everything that affects the import - the model 
+	 * properties and schema, and the sources with their translator overrides - so that a changed
+	 * model is not loaded from stale cached metadata after a restart.
+	 */
+	private String getModelCacheName(ModelMetaData model) {
+		StringBuilder key = new StringBuilder();
+		key.append(new TreeMap<String, String>(model.getPropertiesMap()));
+		key.append(model.getSchemaSourceType()).append(model.getSchemaText());
+		for (SourceMappingMetadata source : model.getSourceMappings()) {
+			key.append(source.getName()).append(source.getTranslatorName()).append(source.getConnectionJndiName());
+			VDBTranslatorMetaData translator = vdb.getOverrideTranslatorsMap().get(source.getTranslatorName());
+			if (translator != null) {
+				key.append(translator.getType()).append(new TreeMap<String, String>(translator.getPropertiesMap()));
+			}
+		}
+		return model.getName() + "_" + Integer.toHexString(key.toString().hashCode()); //$NON-NLS-1$
+	}
 
 	@Override
 	protected VDBRepository getVDBRepository() {
@@ -31,6 +31,7 @@ import org.teiid.adminapi.impl.SourceMappingMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.dqp.internal.datamgr.ConnectorManager;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
+import org.teiid.dqp.internal.process.AuthorizationCache;
 import org.teiid.runtime.RuntimePlugin;
 
 public abstract class RuntimeVDB {
@@ -61,7 +62,7 @@ public abstract class RuntimeVDB {
 			List<String> previous = policy.getMappedRoleNames();
 			policy.addMappedRoleName(mappedRole);
 			try {
-				this.listener.dataRoleChanged(policyName);
+				dataRoleChanged(policyName);
 			} catch(AdminProcessingException e) {
 				policy.setMappedRoleNames(previous);
 				throw e;
@@ -75,7 +76,7 @@ public abstract class RuntimeVDB {
 			List<String> previous = policy.getMappedRoleNames();
 			policy.removeMappedRoleName(mappedRole);
 			try {
-				this.listener.dataRoleChanged(policyName);
+				dataRoleChanged(policyName);
 			} catch(AdminProcessingException e) {
 				policy.setMappedRoleNames(previous);
 				throw e;
@@ -89,7 +90,7 @@ public abstract class RuntimeVDB {
 			boolean previous = policy.isAnyAuthenticated();
 			policy.setAnyAuthenticated(true);
 			try {
-				this.listener.dataRoleChanged(policyName);
+				dataRoleChanged(policyName);
 			} catch(AdminProcessingException e) {
 				policy.setAnyAuthenticated(previous);
 				throw e;
@@ -103,7 +104,7 @@ public abstract class RuntimeVDB {
 			boolean previous = policy.isAnyAuthenticated();
 			policy.setAnyAuthenticated(false);
 			try {
-				this.listener.dataRoleChanged(policyName);
+				dataRoleChanged(policyName);
 			} catch(AdminProcessingException e) {
 				policy.setAnyAuthenticated(previous);
 				throw e;
@@ -279,6 +280,18 @@ public abstract class RuntimeVDB {
 		}
 	}
 	
+	/**
+	 * Role mapping changes alter the data roles granted to users, so the cached 
+	 * authorizations for the vdb are discarded.
+	 */
+	private void dataRoleChanged(String policyName) throws AdminProcessingException {
+		AuthorizationCache cache = this.vdb.getAttachment(AuthorizationCache.class);
+		if (cache != null) {
+			cache.clear();
+		}
+		this.listener.dataRoleChanged(policyName);
+	}
+	
 	private DataPolicyMetadata getPolicy(String policyName)
 			throws AdminProcessingException {
 		DataPolicyMetadata policy = vdb.getDataPolicyMap().get(policyName);
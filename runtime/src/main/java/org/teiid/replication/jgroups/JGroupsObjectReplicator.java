@@ -43,6 +43,7 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import org.jgroups.Address;
 import org.jgroups.Channel;
@@ -63,7 +64,9 @@ import org.jgroups.util.RspList;
 import org.teiid.Replicated;
 import org.teiid.Replicated.ReplicationMode;
 import org.teiid.core.TeiidRuntimeException;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.ObjectInputStreamWithClassloader;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.query.ObjectReplicator;
@@ -74,6 +77,7 @@ import org.teiid.runtime.RuntimePlugin;
 public class JGroupsObjectReplicator implements ObjectReplicator, Serializable {
 
 	private static final int IO_TIMEOUT = 15000;
+	private static final int STATE_TRANSFER_THREADS = PropertiesUtils.getIntProperty(System.getProperties(), "org.teiid.replication.stateTransferThreads", 4); //$NON-NLS-1$
 
 	private final class ReplicatorRpcDispatcher<S> extends RpcDispatcher {
 		private final S object;
@@ -382,6 +386,8 @@ public class JGroupsObjectReplicator implements ObjectReplicator, Serializable {
 		/**
 		 * Pull the remote state.  The method and args are optional
 		 * to determine if the state has been made available.
+		 * @return the method result, or if there is no method then
+		 * TRUE if the state was pulled.  null if the state could not be pulled.
 		 */
 		Object pullState(Method method, Object[] args, Serializable stateId,
 				long timeout) throws Throwable {
@@ -431,15 +437,16 @@ public class JGroupsObjectReplicator implements ObjectReplicator, Serializable {
 					if (fetched != null) {
 						if (fetched) {
 							LogManager.logDetail(LogConstants.CTX_RUNTIME, object, "pulled state", stateId); //$NON-NLS-1$
-							if (method !=null) {
-								try {
-									result = method.invoke(object, args);
-								} catch (InvocationTargetException e) {
-									throw e.getCause();
-								}
-								if (result != null) {
-									return result;
-								}
+							if (method == null) {
+								return Boolean.TRUE;
+							}
+							try {
+								result = method.invoke(object, args);
+							} catch (InvocationTargetException e) {
+								throw e.getCause();
+							}
+							if (result != null) {
+								return result;
 							}
 							break;
 						} 
@@ -456,6 +463,40 @@ public class JGroupsObjectReplicator implements ObjectReplicator, Serializable {
 			return null; //could not fetch the remote state
 		}
 		
+		/**
+		 * Pull the partial states described by the full state in parallel.
+		 * Each state that cannot be pulled is reported back to the object.
+		 */
+		void pullPendingStates(final long timeout) {
+			pullPendingStates((ReplicatedObject<?>)object, timeout);
+		}
+		
+		private <K extends Serializable> void pullPendingStates(final ReplicatedObject<K> ro, final long timeout) {
+			Collection<K> pending = ro.getPendingStates();
+			if (pending.isEmpty()) {
+				return;
+			}
+			LogManager.logDetail(LogConstants.CTX_RUNTIME, object, "pulling pending states", pending); //$NON-NLS-1$
+			ExecutorService pool = ExecutorUtils.newFixedThreadPool(STATE_TRANSFER_THREADS, "State Transfer"); //$NON-NLS-1$
+			for (final K stateId : pending) {
+				pool.execute(new Runnable() {
+					@Override
+					public void run() {
+						boolean pulled = false;
+						try {
+							pulled = pullState(null, null, stateId, timeout) != null;
+						} catch (Throwable e) {
+							LogManager.logError(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40101, stateId));
+						}
+						if (!pulled) {
+							ro.pendingStateFailed(stateId);
+						}
+					}
+				});
+			}
+			pool.shutdown();
+		}
+		
 		@Override
 		public void viewAccepted(View newView) {
 			if (newView.getMembers() != null) {
@@ -564,6 +605,7 @@ public class JGroupsObjectReplicator implements ObjectReplicator, Serializable {
 			if (object instanceof ReplicatedObject) {
 				((ReplicatedObject)object).setAddress(new AddressWrapper(channel.getAddress()));
 				proxy.pullState(null, null, null, startTimeout);
+				proxy.pullPendingStates(startTimeout);
 			}
 			success = true;
 			return replicatedProxy;
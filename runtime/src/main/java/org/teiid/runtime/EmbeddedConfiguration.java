@@ -94,6 +94,7 @@ public class EmbeddedConfiguration extends DQPConfiguration {
 	private String jgroupsConfigFile;
 	private List<SocketConfiguration> transports;
 	private int maxODBCLobSizeAllowed = 5*1024*1024; // 5 MB
+	private int maxMetadataLoadThreads = Runtime.getRuntime().availableProcessors();
 	
 	private DefaultCacheManager manager;
 	private SimpleChannelFactory channelFactory;
@@ -242,6 +243,18 @@ public class EmbeddedConfiguration extends DQPConfiguration {
 		return this.maxODBCLobSizeAllowed;
 	}
 	
+	public int getMaxMetadataLoadThreads() {
+		return maxMetadataLoadThreads;
+	}
+	
+	/**
+	 * Set the maximum number of threads used to load the models of a vdb.  A value of 1 loads the models sequentially.
+	 * @param maxMetadataLoadThreads
+	 */
+	public void setMaxMetadataLoadThreads(int maxMetadataLoadThreads) {
+		this.maxMetadataLoadThreads = maxMetadataLoadThreads;
+	}
+	
 	public void setMaxODBCLobSizeAllowed(int lobSize) {
 		this.maxODBCLobSizeAllowed = lobSize;
 	}	
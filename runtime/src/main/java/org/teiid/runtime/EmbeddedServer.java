@@ -41,13 +41,18 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.transaction.TransactionManager;
 import javax.xml.stream.XMLStreamException;
 
 import org.jboss.vfs.VirtualFile;
+import org.teiid.adminapi.Model;
 import org.teiid.adminapi.VDB.Status;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.VDBMetaData;
@@ -59,6 +64,7 @@ import org.teiid.common.buffer.TupleBufferCache;
 import org.teiid.core.BundleUtil.Event;
 import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidRuntimeException;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.deployers.CompositeGlobalTableStore;
 import org.teiid.deployers.CompositeVDB;
@@ -72,6 +78,7 @@ import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository.ConnectorManage
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository.ExecutionFactoryProvider;
 import org.teiid.dqp.internal.process.CachedResults;
 import org.teiid.dqp.internal.process.DQPCore;
+import org.teiid.dqp.internal.process.ParsedCommandCache;
 import org.teiid.dqp.internal.process.PreparedPlan;
 import org.teiid.dqp.internal.process.SessionAwareCache;
 import org.teiid.dqp.internal.process.TransactionServerImpl;
@@ -244,6 +251,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 	};
 	protected boolean throwMetadataErrors = true;
 	private ConcurrentHashMap<String, ExecutionFactory<?, ?>> translators = new ConcurrentHashMap<String, ExecutionFactory<?, ?>>();
+	private List<ExecutionFactory<?, ?>> startedTranslators = Collections.synchronizedList(new ArrayList<ExecutionFactory<?, ?>>());
 	private ConcurrentHashMap<String, ConnectionFactoryProvider<?>> connectionFactoryProviders = new ConcurrentHashMap<String, ConnectionFactoryProvider<?>>();
 	protected SessionServiceImpl sessionService = new SessionServiceImpl();
 	protected ObjectReplicator replicator;
@@ -434,6 +442,9 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 				GlobalTableStore gts = CompositeGlobalTableStore.createInstance(vdb, dqp.getBufferManager(), replicator);
 				
 				vdb.getVDB().addAttchment(GlobalTableStore.class, gts);
+				if (config.getParseCacheSize() > 0) {
+					vdb.getVDB().addAttchment(ParsedCommandCache.class, new ParsedCommandCache(config.getParseCacheSize()));
+				}
 			}
 
 			@Override
@@ -483,6 +494,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 		try {
 			ExecutionFactory<?, ?> instance = clazz.newInstance();
 			instance.start();
+			startedTranslators.add(instance);
 			addTranslator(name, instance);
 		} catch (InstantiationException e) {
 			throw new TeiidRuntimeException(e);
@@ -509,7 +521,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 	}
 	
 	/**
-	 * Add a named {@link ExecutionFactory}.
+	 * Add a named {@link ExecutionFactory}.  The caller is responsible for stopping the instance.
 	 * @param name
 	 * @param ef the already started ExecutionFactory
 	 */
@@ -608,6 +620,59 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 		}
 	}
 	
+	/**
+	 * Loads the models using up to {@link EmbeddedConfiguration#getMaxMetadataLoadThreads()} threads.
+	 * The results are still merged in model order on the calling thread.
+	 */
+	@Override
+	protected void loadMetadata(final VDBMetaData vdb, final ConnectorManagerRepository cmr,
+			MetadataStore store, final VDBResources vdbResources, boolean reloading)
+			throws TranslatorException {
+		List<ModelMetaData> models = new ArrayList<ModelMetaData>();
+		for (ModelMetaData model: vdb.getModelMetaDatas().values()) {
+			if (model.getModelType() == Model.Type.PHYSICAL || model.getModelType() == Model.Type.VIRTUAL) {
+				models.add(model);
+			}
+		}
+		int threads = Math.min(models.size(), config.getMaxMetadataLoadThreads());
+		if (threads <= 1) {
+			super.loadMetadata(vdb, cmr, store, vdbResources, reloading);
+			return;
+		}
+		ExecutorService executor = ExecutorUtils.newFixedThreadPool(threads, "Metadata Load"); //$NON-NLS-1$
+		try {
+			List<Future<MetadataFactory>> futures = new ArrayList<Future<MetadataFactory>>(models.size());
+			for (final ModelMetaData model : models) {
+				futures.add(executor.submit(new Callable<MetadataFactory>() {
+					@Override
+					public MetadataFactory call() throws Exception {
+						return importMetadata(vdb, model, cmr, model.getAttachment(MetadataRepository.class), vdbResources);
+					}
+				}));
+			}
+			AtomicInteger loadCount = new AtomicInteger(models.size());
+			for (int i = 0; i < models.size(); i++) {
+				MetadataFactory factory = null;
+				try {
+					factory = futures.get(i).get();
+				} catch (InterruptedException e) {
+					throw new TeiidRuntimeException(e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof TranslatorException) {
+						throw (TranslatorException)e.getCause();
+					}
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException)e.getCause();
+					}
+					throw new TeiidRuntimeException(e.getCause());
+				}
+				metadataLoaded(vdb, models.get(i), store, loadCount, factory, true, reloading);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
 	/**
 	 * TODO: consolidate this logic more into the abstract deployer
 	 */
@@ -616,6 +681,13 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 			ConnectorManagerRepository cmr,
 			MetadataRepository metadataRepository, MetadataStore store,
 			AtomicInteger loadCount, VDBResources vdbResources) throws TranslatorException {
+		MetadataFactory factory = importMetadata(vdb, model, cmr, metadataRepository, vdbResources);
+		metadataLoaded(vdb, model, store, loadCount, factory, true, false);
+	}
+
+	private MetadataFactory importMetadata(VDBMetaData vdb, ModelMetaData model,
+			ConnectorManagerRepository cmr,
+			MetadataRepository metadataRepository, VDBResources vdbResources) throws TranslatorException {
 		MetadataFactory factory = createMetadataFactory(vdb, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
 		
 		ExecutionFactory ef = null;
@@ -650,7 +722,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 		if (te != null) {
 			throw te;
 		}
-		metadataLoaded(vdb, model, store, loadCount, factory, true, false);
+		return factory;
 	}
 	
 	public void undeployVDB(String vdbName) {
@@ -674,6 +746,12 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 		this.transports.clear();
 		dqp.stop();
 		eventDistributorFactoryService.stop();
+		synchronized (startedTranslators) {
+			for (ExecutionFactory<?, ?> ef : startedTranslators) {
+				ef.stop();
+			}
+			startedTranslators.clear();
+		}
 		config.getCacheFactory().destroy();
 		config.setCacheFactory(null);
 		if (this.bufferService != null) {
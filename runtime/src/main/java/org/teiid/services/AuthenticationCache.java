@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.services;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.auth.Subject;
+
+import org.teiid.core.TeiidRuntimeException;
+import org.teiid.core.util.LRUCache;
+import org.teiid.security.Credentials;
+
+/**
+ * A bounded cache of successful authentication results.
+ * <br/>
+ * Entries are keyed by the user name, the candidate security domains and a salted hash of the 
+ * credentials so that the credentials themselves are never retained.  Entries expire after the ttl.
+ * <br/>
+ * Only the outcome of the login is retained, not the subject or security context, 
+ * so that each session is given its own.
+ * <br/>
+ * Since only the principals are retained, a login that places private or public credentials 
+ * on the subject, such as for credential mapping to the sources, is not cached.  Pass-through 
+ * authentication also bypasses the cache as the existing calling subject is used.
+ */
+public class AuthenticationCache {
+	
+	public static final long DEFAULT_TTL = 300000;
+	
+	private static final Charset UTF_8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+	
+	/**
+	 * The outcome of a successful login
+	 */
+	public static class AuthenticationResult {
+		private String userName;
+		private String securityDomain;
+		private Set<Principal> principals;
+		
+		AuthenticationResult(TeiidLoginContext loginContext) {
+			this.userName = loginContext.getUserName();
+			this.securityDomain = loginContext.getSecurityDomain();
+			if (loginContext.getSubject() != null) {
+				this.principals = Collections.unmodifiableSet(new HashSet<Principal>(loginContext.getSubject().getPrincipals()));
+			}
+		}
+		
+		public String getUserName() {
+			return userName;
+		}
+		
+		public String getSecurityDomain() {
+			return securityDomain;
+		}
+		
+		/**
+		 * @return the principals of the authenticated subject or null if there was no subject
+		 */
+		public Set<Principal> getPrincipals() {
+			return principals;
+		}
+	}
+	
+	private static class CacheEntry {
+		AuthenticationResult result;
+		long expiration;
+		
+		public CacheEntry(AuthenticationResult result, long expiration) {
+			this.result = result;
+			this.expiration = expiration;
+		}
+	}
+
+	private Map<String, CacheEntry> cache;
+	private int maxEntries;
+	private long ttl = DEFAULT_TTL;
+	private byte[] salt = new byte[16];
+	
+	private AtomicInteger requestCount = new AtomicInteger();
+	private AtomicInteger cacheHitCount = new AtomicInteger();
+	private AtomicInteger loginCount = new AtomicInteger();
+	private AtomicLong loginTime = new AtomicLong();
+	
+	public AuthenticationCache() {
+		this(0);
+	}
+	
+	public AuthenticationCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.cache = new LRUCache<String, CacheEntry>(Math.max(maxEntries, 0));
+		new SecureRandom().nextBytes(salt);
+	}
+	
+	public boolean isEnabled() {
+		return maxEntries > 0;
+	}
+	
+	/**
+	 * Return the cached login outcome for the user or null if there is no valid entry
+	 */
+	public AuthenticationResult get(String userName, Credentials credentials, List<String> domains) {
+		if (!isEnabled() || credentials == null) {
+			return null;
+		}
+		requestCount.getAndIncrement();
+		String key = getKey(userName, credentials, domains);
+		synchronized (cache) {
+			CacheEntry entry = cache.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiration < System.currentTimeMillis()) {
+				cache.remove(key);
+				return null;
+			}
+			cacheHitCount.getAndIncrement();
+			return entry.result;
+		}
+	}
+	
+	/**
+	 * Cache the login outcome unless the subject holds credentials that would be lost on a cache hit
+	 * @return true if the outcome was cached
+	 */
+	public boolean put(String userName, Credentials credentials, List<String> domains, TeiidLoginContext loginContext) {
+		if (!isEnabled() || credentials == null || hasCredentials(loginContext.getSubject())) {
+			return false;
+		}
+		String key = getKey(userName, credentials, domains);
+		synchronized (cache) {
+			cache.put(key, new CacheEntry(new AuthenticationResult(loginContext), System.currentTimeMillis() + ttl));
+		}
+		return true;
+	}
+	
+	static boolean hasCredentials(Subject subject) {
+		return subject != null && (!subject.getPrivateCredentials().isEmpty() || !subject.getPublicCredentials().isEmpty());
+	}
+	
+	/**
+	 * Record the time taken by a login against the security domains
+	 */
+	public void recordLogin(long millis) {
+		loginCount.getAndIncrement();
+		loginTime.getAndAdd(millis);
+	}
+	
+	/**
+	 * Remove all entries for the given user, as either the authenticating name or the
+	 * qualified name of the result.
+	 */
+	public void invalidate(String userName) {
+		String prefix = userName + '\u0000';
+		synchronized (cache) {
+			for (Iterator<Map.Entry<String, CacheEntry>> iter = cache.entrySet().iterator(); iter.hasNext();) {
+				Map.Entry<String, CacheEntry> entry = iter.next();
+				if (entry.getKey().startsWith(prefix) || entry.getValue().result.getUserName().equals(userName)) {
+					iter.remove();
+				}
+			}
+		}
+	}
+	
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+	
+	private String getKey(String userName, Credentials credentials, List<String> domains) {
+		StringBuilder key = new StringBuilder();
+		key.append(userName).append('\u0000').append(domains).append('\u0000');
+		MessageDigest digest = null;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new TeiidRuntimeException(e);
+		}
+		digest.update(salt);
+		ByteBuffer bytes = UTF_8.encode(CharBuffer.wrap(credentials.getCredentialsAsCharArray()));
+		byte[] value = new byte[bytes.remaining()];
+		bytes.get(value);
+		digest.update(value);
+		Arrays.fill(value, (byte)0);
+		for (byte b : digest.digest()) {
+			key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return key.toString();
+	}
+	
+	public void setTtl(long ttl) {
+		this.ttl = ttl;
+	}
+	
+	public long getTtl() {
+		return ttl;
+	}
+	
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+	
+	public int getRequestCount() {
+		return requestCount.get();
+	}
+	
+	public int getCacheHitCount() {
+		return cacheHitCount.get();
+	}
+	
+	public int getTotalCacheEntries() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+	
+	/**
+	 * @return the number of logins performed against the security domains
+	 */
+	public int getLoginCount() {
+		return loginCount.get();
+	}
+	
+	/**
+	 * @return the average time in milliseconds of logins performed against the security domains
+	 */
+	public double getAverageLoginTime() {
+		int count = loginCount.get();
+		return count == 0?0:(double)loginTime.get()/count;
+	}
+
+}
@@ -82,6 +82,7 @@ public class SessionServiceImpl implements SessionService {
     private Map<String, SessionMetadata> sessionCache = new ConcurrentHashMap<String, SessionMetadata>();
     private Timer sessionMonitor = new Timer("SessionMonitor", true); //$NON-NLS-1$    
     private List<String> securityDomainNames;
+    private AuthenticationCache authenticationCache = new AuthenticationCache();
         
     public void setSecurityDomains(List<String> domainNames) {
     	this.securityDomainNames = domainNames;
@@ -152,9 +153,20 @@ public class SessionServiceImpl implements SessionService {
         	boolean onlyAllowPassthrough = Boolean.valueOf(properties.getProperty(TeiidURL.CONNECTION.PASSTHROUGH_AUTHENTICATION, "false")); //$NON-NLS-1$
         	TeiidLoginContext membership = null;
         	if (onlyAllowPassthrough) {
+        		//the calling subject is used as is, so the authentication cache is not consulted
                 membership = passThroughLogin(userName, domains);
         	} else {
-	        	membership = authenticate(userName, credentials, applicationName, domains);
+	        	AuthenticationCache.AuthenticationResult result = authenticationCache.get(userName, credentials, domains);
+	        	if (result == null) {
+	        		long start = System.currentTimeMillis();
+	        		membership = authenticate(userName, credentials, applicationName, domains);
+	        		authenticationCache.recordLogin(System.currentTimeMillis() - start);
+	        		//logins with subject credentials, such as for credential mapping, are not cached
+	        		authenticationCache.put(userName, credentials, domains, membership);
+	        	} else {
+	        		LogManager.logDetail(LogConstants.CTX_SECURITY, new Object[] {"Using cached authentication for", userName}); //$NON-NLS-1$
+	        		membership = createLoginContext(result, userName, credentials);
+	        	}
         	}
 	        userName = membership.getUserName();
 	        securityDomain = membership.getSecurityDomain();
@@ -215,6 +227,29 @@ public class SessionServiceImpl implements SessionService {
 		return getBaseUsername(userName);
 	}
 	
+	/**
+	 * Create the login context for a cached authentication.  A new subject and security context 
+	 * are created so that they are not shared between sessions.
+	 */
+	protected TeiidLoginContext createLoginContext(AuthenticationCache.AuthenticationResult result, String userName, Credentials credentials) {
+		Subject subject = null;
+		Object securityContext = null;
+		if (result.getPrincipals() != null) {
+			subject = new Subject(false, result.getPrincipals(), Collections.emptySet(), Collections.emptySet());
+			if (this.securityHelper != null) {
+				Principal principal = null;
+				for (Principal p : subject.getPrincipals()) {
+					if (!(p instanceof Group)) {
+						principal = p;
+						break;
+					}
+				}
+				securityContext = this.securityHelper.createSecurityContext(result.getSecurityDomain(), principal, new String(credentials.getCredentialsAsCharArray()), subject);
+			}
+		}
+		return new TeiidLoginContext(result.getUserName(), subject, result.getSecurityDomain(), securityContext);
+	}
+	
 	/**
 	 * 
 	 * @param userName
@@ -395,6 +430,52 @@ public class SessionServiceImpl implements SessionService {
 	public void stop(){
 		this.sessionMonitor.cancel();
 		this.sessionCache.clear();
+		this.authenticationCache.clear();
+	}
+	
+	public AuthenticationCache getAuthenticationCache() {
+		return authenticationCache;
+	}
+	
+	public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+		this.authenticationCache = authenticationCache;
+	}
+	
+	/**
+	 * Set the maximum number of cached authentications.  0 or less disables the cache.
+	 */
+	public void setAuthenticationCacheSize(int size) {
+		AuthenticationCache cache = new AuthenticationCache(size);
+		cache.setTtl(this.authenticationCache.getTtl());
+		this.authenticationCache = cache;
+	}
+	
+	public int getAuthenticationCacheSize() {
+		return this.authenticationCache.getMaxEntries();
+	}
+	
+	/**
+	 * Set the time in milliseconds that a cached authentication is valid
+	 */
+	public void setAuthenticationCacheTtl(long ttl) {
+		this.authenticationCache.setTtl(ttl);
+	}
+	
+	public long getAuthenticationCacheTtl() {
+		return this.authenticationCache.getTtl();
+	}
+	
+	/**
+	 * Remove any cached authentication for the user so that the next logon
+	 * is performed against the security domains.
+	 * @param userName the user name, or null to clear all entries
+	 */
+	public void invalidateAuthentication(String userName) {
+		if (userName == null) {
+			this.authenticationCache.clear();
+		} else {
+			this.authenticationCache.invalidate(userName);
+		}
 	}
 
 	public void setVDBRepository(VDBRepository repo) {
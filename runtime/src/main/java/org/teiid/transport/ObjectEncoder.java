@@ -26,17 +26,25 @@ import static org.jboss.netty.buffer.ChannelBuffers.*;
 import static org.jboss.netty.channel.Channels.*;
 
 import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.nio.channels.FileChannel;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBufferOutputStream;
 import org.jboss.netty.channel.ChannelDownstreamHandler;
 import org.jboss.netty.channel.ChannelEvent;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelPipelineCoverage;
 import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.DefaultFileRegion;
+import org.jboss.netty.channel.FileRegion;
 import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.handler.ssl.SslHandler;
 import org.jboss.netty.handler.stream.ChunkedInput;
 import org.jboss.netty.handler.stream.ChunkedStream;
 import org.teiid.core.util.ExternalizeUtil;
@@ -117,7 +125,7 @@ public class ObjectEncoder implements ChannelDownstreamHandler {
 
         MessageEvent e = (MessageEvent) evt;
         
-        if (e.getMessage() instanceof ChunkedInput) {
+        if (e.getMessage() instanceof ChunkedInput || e.getMessage() instanceof FileRegion) {
             ctx.sendDownstream(evt);
             return;
         }
@@ -138,11 +146,56 @@ public class ObjectEncoder implements ChannelDownstreamHandler {
         ChannelBuffer encoded = bout.buffer();
         encoded.setInt(0, encoded.writerIndex() - 4);
         write(ctx, e.getFuture(), encoded, e.getRemoteAddress());
+		boolean direct = ctx.getPipeline().get(SslHandler.class) == null;
 		for (InputStream is : oout.getStreams()) {
+			if (direct && is instanceof FileInputStream) {
+				writeFileRegions(ctx, (FileInputStream)is);
+				continue;
+			}
 			Channels.write(ctx.getChannel(), new AnonymousChunkedStream(new BufferedInputStream(is, CHUNK_SIZE)));
 		}
     }
     
+    /**
+     * Write the file contents using the same framing as {@link AnonymousChunkedStream}, 
+     * but with {@link FileRegion}s so that the bytes may be transferred without copying.
+     */
+    private void writeFileRegions(ChannelHandlerContext ctx, final FileInputStream fis) throws IOException {
+    	boolean success = false;
+    	try {
+	    	FileChannel fc = fis.getChannel();
+	    	long position = fc.position();
+	    	long remaining = fc.size() - position;
+	    	while (remaining > 0) {
+	    		int length = (int)Math.min(CHUNK_SIZE, remaining);
+	    		ChannelBuffer prefix = wrappedBuffer(new byte[2]);
+				prefix.setShort(0, (short)length);
+				write(ctx, future(ctx.getChannel()), prefix);
+				write(ctx, future(ctx.getChannel()), new DefaultFileRegion(fc, position, length, false));
+				position += length;
+				remaining -= length;
+	    	}
+	    	ChannelFuture last = future(ctx.getChannel());
+	    	last.addListener(new ChannelFutureListener() {
+				@Override
+				public void operationComplete(ChannelFuture future) throws Exception {
+					fis.close();
+				}
+			});
+	    	//terminate with a 0 short
+	    	write(ctx, last, wrappedBuffer(new byte[2]));
+	    	success = true;
+    	} finally {
+    		if (!success) {
+    			//the listener will not be called
+    			try {
+    				fis.close();
+    			} catch (IOException e) {
+    			}
+    		}
+    	}
+    }
+    
     static class AnonymousChunkedStream extends ChunkedStream {
 
 		public AnonymousChunkedStream(InputStream in) {
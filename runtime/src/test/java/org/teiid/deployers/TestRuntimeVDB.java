@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+
+package org.teiid.deployers;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teiid.adminapi.DataPolicy;
+import org.teiid.adminapi.impl.DataPolicyMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.deployers.RuntimeVDB.VDBModificationListener;
+import org.teiid.dqp.internal.process.AuthorizationCache;
+import org.teiid.dqp.internal.process.AuthorizationCache.DataRolePermissions;
+
+@SuppressWarnings("nls")
+public class TestRuntimeVDB {
+
+	@Test public void testDataRoleChangeClearsAuthorizationCache() throws Exception {
+		VDBMetaData vdb = new VDBMetaData();
+		vdb.setName("x");
+		vdb.setVersion(1);
+		DataPolicyMetadata policy = new DataPolicyMetadata();
+		policy.setName("policy");
+		vdb.addDataPolicy(policy);
+		
+		RuntimeVDB runtimeVDB = new RuntimeVDB(vdb, Mockito.mock(VDBModificationListener.class)) {
+			@Override
+			protected VDBStatusChecker getVDBStatusChecker() {
+				return null;
+			}
+		};
+		
+		AuthorizationCache cache = AuthorizationCache.getAuthorizationCache(vdb);
+		Map<String, DataPolicy> policies = Collections.<String, DataPolicy>singletonMap("policy", policy);
+		DataRolePermissions permissions = cache.getPermissions(policies);
+		cache.setAuthorized(policies.keySet(), "SELECT 1", 10);
+		assertSame(permissions, cache.getPermissions(policies));
+		
+		runtimeVDB.addDataRole("policy", "role");
+		assertEquals(0, cache.getAuthorizedCommandCount());
+		assertNotSame(permissions, cache.getPermissions(policies));
+		
+		cache.setAuthorized(policies.keySet(), "SELECT 1", 10);
+		runtimeVDB.addAnyAuthenticated("policy");
+		assertEquals(0, cache.getAuthorizedCommandCount());
+	}
+	
+}
@@ -443,6 +443,39 @@ public class TestEmbeddedServer {
 		}
 	}
 	
+	@Test public void testParallelMetadataLoad() throws Exception {
+		EmbeddedConfiguration ec = new EmbeddedConfiguration();
+		ec.setUseDisk(false);
+		ec.setMaxMetadataLoadThreads(3);
+		es.start(ec);
+		
+		ModelMetaData[] models = new ModelMetaData[3];
+		for (int i = 0; i < models.length; i++) {
+			models[i] = new ModelMetaData();
+			models[i].setName("m" + i);
+			models[i].setModelType(Type.VIRTUAL);
+			models[i].setSchemaSourceType("ddl");
+			models[i].setSchemaText(i == 0?"create view v0 as select 1 as x":"create view v" + i + " as select x + 1 as x from v" + (i - 1));
+		}
+		
+		//merged in model order, so validation is the same as a sequential load
+		es.deployVDB("test", models);
+		
+		Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+		ResultSet rs = c.createStatement().executeQuery("select x from v2");
+		rs.next();
+		assertEquals(3, rs.getInt(1));
+		
+		try {
+			es.deployVDB("test2", models[2], models[1], models[0]);
+			fail();
+		} catch (VirtualDatabaseException e) {
+			//the first model is still validated first, before the views it depends upon have columns
+			assertEquals(RuntimePlugin.Event.TEIID40095.name(), e.getCode());
+			assertTrue(e.getMessage(), e.getMessage().startsWith("TEIID31080 View m2.v2 validation error:"));
+		}
+	}
+	
 	@Test public void testTransactions() throws Exception {
 		EmbeddedConfiguration ec = new EmbeddedConfiguration();
 		MockTransactionManager tm = new MockTransactionManager();
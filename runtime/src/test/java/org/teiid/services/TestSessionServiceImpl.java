@@ -2,14 +2,19 @@ package org.teiid.services;
 
 import static org.junit.Assert.*;
 
+import java.security.Principal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 
+import javax.security.auth.Subject;
 import javax.security.auth.login.LoginException;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.adminapi.VDB.Status;
+import org.teiid.adminapi.impl.SessionMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.deployers.VDBRepository;
 import org.teiid.dqp.service.SessionServiceException;
@@ -143,4 +148,75 @@ public class TestSessionServiceImpl {
         
         assertEquals("@", SessionServiceImpl.getBaseUsername("@")); //$NON-NLS-1$ //$NON-NLS-2$
     }	
+	
+	@Test
+	public void testAuthenticationCache() throws Exception {
+		final int[] logins = new int[1];
+		ssi = new SessionServiceImpl() {
+			@Override
+			protected TeiidLoginContext authenticate(String userName,
+					Credentials credentials, String applicationName,
+					List<String> domains)
+					throws LoginException {
+				logins[0]++;
+				Subject subject = new Subject();
+				subject.getPrincipals().add(new Principal() {
+					@Override
+					public String getName() {
+						return "user";
+					}
+				});
+				return new TeiidLoginContext(userName+AT+domains.get(0), subject, domains.get(0), null);
+			}
+		};
+		ssi.setAuthenticationCacheSize(10);
+		ssi.setAuthenticationCacheTtl(60000);
+		ssi.setSecurityDomains(Arrays.asList("domain"));
+		
+		SessionMetadata session = ssi.createSession("user", new Credentials("pass".toCharArray()), "app", new Properties(), true);
+		SessionMetadata cached = ssi.createSession("user", new Credentials("pass".toCharArray()), "app", new Properties(), true);
+		assertEquals(1, logins[0]);
+		assertEquals(session.getUserName(), cached.getUserName());
+		//the subject should not be shared between sessions
+		assertNotSame(session.getSubject(), cached.getSubject());
+		assertEquals(session.getSubject().getPrincipals(), cached.getSubject().getPrincipals());
+		assertEquals(1, ssi.getAuthenticationCache().getCacheHitCount());
+		assertEquals(1, ssi.getAuthenticationCache().getLoginCount());
+		
+		//different credentials must not match
+		ssi.createSession("user", new Credentials("other".toCharArray()), "app", new Properties(), true);
+		assertEquals(2, logins[0]);
+		
+		ssi.invalidateAuthentication("user@domain");
+		assertEquals(0, ssi.getAuthenticationCache().getTotalCacheEntries());
+		ssi.createSession("user", new Credentials("pass".toCharArray()), "app", new Properties(), true);
+		assertEquals(3, logins[0]);
+	}
+	
+	@Test
+	public void testAuthenticationCacheBypassedWithCredentials() throws Exception {
+		final int[] logins = new int[1];
+		final Object credential = new Object();
+		ssi = new SessionServiceImpl() {
+			@Override
+			protected TeiidLoginContext authenticate(String userName,
+					Credentials credentials, String applicationName,
+					List<String> domains)
+					throws LoginException {
+				logins[0]++;
+				Subject subject = new Subject();
+				subject.getPrivateCredentials().add(credential);
+				return new TeiidLoginContext(userName+AT+domains.get(0), subject, domains.get(0), null);
+			}
+		};
+		ssi.setAuthenticationCacheSize(10);
+		ssi.setSecurityDomains(Arrays.asList("domain"));
+		
+		ssi.createSession("user", new Credentials("pass".toCharArray()), "app", new Properties(), true);
+		SessionMetadata session = ssi.createSession("user", new Credentials("pass".toCharArray()), "app", new Properties(), true);
+		//the credentials for mapping must be retained, so each logon goes to the domain
+		assertEquals(2, logins[0]);
+		assertEquals(0, ssi.getAuthenticationCache().getTotalCacheEntries());
+		assertTrue(session.getSubject().getPrivateCredentials().contains(credential));
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (C) 2008 Red Hat, Inc.
+ * Licensed to Red Hat, Inc. under one or more contributor 
+ * license agreements.  See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.transport;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.channels.WritableByteChannel;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBufferOutputStream;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.buffer.HeapChannelBufferFactory;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelConfig;
+import org.jboss.netty.channel.ChannelEvent;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.FileRegion;
+import org.jboss.netty.channel.MessageEvent;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teiid.common.buffer.impl.MemoryStorageManager;
+import org.teiid.core.types.BlobImpl;
+import org.teiid.core.types.InputStreamFactory;
+import org.teiid.core.util.ObjectConverterUtil;
+
+@SuppressWarnings("nls")
+public class TestObjectEncoder {
+	
+	@Test public void testFileRegionFraming() throws Exception {
+		//more than one chunk
+		byte[] bytes = new byte[100000];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte)i;
+		}
+		File f = File.createTempFile("blob", null);
+		f.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(f);
+		fos.write(bytes);
+		fos.close();
+		
+		ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+		Channel channel = Mockito.mock(Channel.class);
+		ChannelConfig config = Mockito.mock(ChannelConfig.class);
+		Mockito.stub(config.getBufferFactory()).toReturn(HeapChannelBufferFactory.getInstance());
+		Mockito.stub(channel.getConfig()).toReturn(config);
+		Mockito.stub(ctx.getChannel()).toReturn(channel);
+		Mockito.stub(ctx.getPipeline()).toReturn(Mockito.mock(ChannelPipeline.class));
+		
+		ObjectEncoder encoder = new ObjectEncoder();
+		BlobImpl blob = new BlobImpl(new InputStreamFactory.FileInputStreamFactory(f));
+		Channels.write(ctx, Channels.future(channel), blob);
+		ArgumentCaptor<ChannelEvent> events = ArgumentCaptor.forClass(ChannelEvent.class);
+		Mockito.verify(ctx).sendDownstream(events.capture());
+		encoder.handleDownstream(ctx, events.getValue());
+		
+		events = ArgumentCaptor.forClass(ChannelEvent.class);
+		Mockito.verify(ctx, Mockito.atLeast(2)).sendDownstream(events.capture());
+		ChannelBuffer written = ChannelBuffers.dynamicBuffer();
+		WritableByteChannel target = java.nio.channels.Channels.newChannel(new ChannelBufferOutputStream(written));
+		boolean region = false;
+		//skip the original event
+		for (ChannelEvent event : events.getAllValues().subList(1, events.getAllValues().size())) {
+			Object message = ((MessageEvent)event).getMessage();
+			if (message instanceof FileRegion) {
+				region = true;
+				FileRegion fr = (FileRegion)message;
+				long position = 0;
+				while (position < fr.getCount()) {
+					position += fr.transferTo(target, position);
+				}
+				fr.releaseExternalResources();
+			} else {
+				written.writeBytes((ChannelBuffer)message);
+			}
+			event.getFuture().setSuccess();
+		}
+		assertTrue(region);
+		
+		ObjectDecoder decoder = new ObjectDecoder(1 << 20, Thread.currentThread().getContextClassLoader(), new MemoryStorageManager());
+		Object result = decoder.decode(ctx, channel, written);
+		assertTrue(result instanceof BlobImpl);
+		assertArrayEquals(bytes, ObjectConverterUtil.convertToByteArray(((BlobImpl)result).getBinaryStream()));
+		assertFalse(written.readable());
+	}
+
+}
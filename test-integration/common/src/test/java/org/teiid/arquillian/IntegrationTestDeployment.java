@@ -244,7 +244,7 @@ public class IntegrationTestDeployment {
 	
 	@Test
 	public void testCacheTypes() throws Exception {
-		String[] array = {Admin.Cache.PREPARED_PLAN_CACHE.toString(), Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE.toString()};
+		String[] array = {Admin.Cache.PREPARED_PLAN_CACHE.toString(), Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE.toString(), Admin.Cache.PARSED_COMMAND_CACHE.toString(), Admin.Cache.AUTHENTICATION_CACHE.toString()};
 		Collection<String> types = admin.getCacheTypes();
 		assertArrayEquals(array, types.toArray());
 	}
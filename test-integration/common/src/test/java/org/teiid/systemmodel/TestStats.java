@@ -27,12 +27,22 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.teiid.adminapi.impl.ModelMetaData;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.util.UnitTestUtil;
 import org.teiid.jdbc.FakeServer;
+import org.teiid.jdbc.HardCodedExecutionFactory;
+import org.teiid.metadata.Table;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.analysis.PlanningStatistics;
+import org.teiid.query.metadata.CardinalityFeedback;
+import org.teiid.query.metadata.CardinalityFeedback.ObservedColumnStatistics;
+import org.teiid.query.metadata.TransformationMetadata;
 
 @SuppressWarnings("nls")
 public class TestStats {
@@ -84,6 +94,119 @@ public class TestStats {
     	assertEquals(0, rs.getInt(4));
     }
     
+    @Test public void testObservedCardinalities() throws Exception {
+    	VDBMetaData vdb = server.getVDB(VDB);
+    	Table table = vdb.getAttachment(TransformationMetadata.class).getGroupID("partssupplier.partssupplier.parts");
+    	CardinalityFeedback feedback = CardinalityFeedback.getCardinalityFeedback(vdb);
+    	feedback.observe(table, 100);
+    	feedback.observe(table, 120);
+    	Statement s = connection.createStatement();
+    	ResultSet rs = s.executeQuery("select VDBName, SchemaName, TableName, Cardinality, Observations, LastObserved, TableUID from sysadmin.observedcardinalities");
+    	assertTrue(rs.next());
+    	assertEquals(VDB, rs.getString(1));
+    	assertEquals("PartsSupplier", rs.getString(2));
+    	assertEquals("PARTSSUPPLIER.PARTS", rs.getString(3));
+    	assertEquals(120, rs.getInt(4));
+    	assertEquals(2, rs.getInt(5));
+    	assertNotNull(rs.getTimestamp(6));
+    	assertEquals(table.getUUID(), rs.getString(7));
+    	assertFalse(rs.next());
+    	
+    	s.execute("call clearObservedStats(tableName=>'partssupplier.partssupplier.parts')");
+    	rs = s.executeQuery("select count(*) from sysadmin.observedcardinalities");
+    	rs.next();
+    	assertEquals(0, rs.getInt(1));
+    	assertNull(feedback.getObservedCardinality(table));
+    	
+    	feedback.observe(table, 100);
+    	s.execute("call clearObservedStats(null)");
+    	assertTrue(feedback.getObservedCardinalities().isEmpty());
+    }
+    
+    @Test public void testPlanningProfiles() throws Exception {
+    	VDBMetaData vdb = server.getVDB(VDB);
+    	PlanningStatistics stats = PlanningStatistics.getPlanningStatistics(vdb);
+    	PlanningProfile profile = new PlanningProfile();
+    	profile.addPhaseTime("Parse", 3000);
+    	profile.startRule();
+    	profile.endRule("TestRule", 4);
+    	stats.add(profile);
+    	profile = new PlanningProfile();
+    	profile.addPhaseTime("Parse", 5000);
+    	profile.addPhaseTime("Parse", 1000);
+    	stats.add(profile);
+    	
+    	Statement s = connection.createStatement();
+    	ResultSet rs = s.executeQuery("select VDBName, Type, Name, Plans, Executions, TotalTime, MaxTime from sysadmin.planningprofiles where name in ('Parse', 'TestRule') order by name");
+    	assertTrue(rs.next());
+    	assertEquals(VDB, rs.getString(1));
+    	assertEquals("Phase", rs.getString(2));
+    	assertEquals("Parse", rs.getString(3));
+    	assertEquals(2, rs.getInt(4));
+    	assertEquals(3, rs.getInt(5));
+    	assertEquals(9, rs.getLong(6));
+    	assertEquals(6, rs.getLong(7));
+    	assertTrue(rs.next());
+    	assertEquals("Rule", rs.getString(2));
+    	assertEquals("TestRule", rs.getString(3));
+    	assertEquals(1, rs.getInt(4));
+    	assertEquals(1, rs.getInt(5));
+    	assertFalse(rs.next());
+    }
+    
+    @Test public void testCollectTableStats() throws Exception {
+    	FakeServer es = new FakeServer(true);
+    	try {
+	    	HardCodedExecutionFactory hcef = new HardCodedExecutionFactory();
+	    	hcef.addData("SELECT x.e1, x.e2 FROM x", Arrays.asList(Arrays.asList("a", 1), Arrays.asList("b", 2), Arrays.asList("b", null), Arrays.asList("c", 3)));
+	    	es.addTranslator("hc", hcef);
+	    	ModelMetaData mmd = new ModelMetaData();
+	    	mmd.setName("s");
+	    	mmd.setSchemaSourceType("ddl");
+	    	mmd.setSchemaText("create foreign table x (e1 string, e2 integer)");
+	    	mmd.addSourceMapping("hc", "hc", null);
+	    	es.deployVDB("stats", mmd);
+	    	Connection c = es.createConnection("jdbc:teiid:stats");
+	    	Statement s = c.createStatement();
+	    	
+	    	//the whole table is read
+	    	ResultSet rs = s.executeQuery("select * from (call collectTableStats('s.x')) p");
+	    	rs.next();
+	    	assertEquals(4, rs.getInt(1));
+	    	rs = s.executeQuery("select Cardinality, Observations from sysadmin.observedcardinalities where TableName = 'x'");
+	    	assertTrue(rs.next());
+	    	assertEquals(4, rs.getInt(1));
+	    	assertEquals(1, rs.getInt(2));
+	    	
+	    	VDBMetaData vdb = es.getVDB("stats");
+	    	Table table = vdb.getAttachment(TransformationMetadata.class).getGroupID("s.x");
+	    	CardinalityFeedback feedback = vdb.getAttachment(CardinalityFeedback.class);
+	    	ObservedColumnStatistics stats = feedback.getObservedColumnStatistics(table.getColumns().get(1));
+	    	assertEquals(3, stats.getDistinctValues());
+	    	assertEquals(1, stats.getNullValues());
+	    	assertEquals("1.0,2.0,3.0,3.0", stats.getHistogram().toString());
+	    	assertEquals(3, feedback.getObservedColumnStatistics(table.getColumns().get(0)).getDistinctValues());
+	    	assertNull(feedback.getObservedColumnStatistics(table.getColumns().get(0)).getHistogram());
+	    	
+	    	//only a sample is read, so the cardinality is not observed again
+	    	rs = s.executeQuery("select * from (call collectTableStats(tableName=>'s.x', sampleSize=>2)) p");
+	    	rs.next();
+	    	assertEquals(2, rs.getInt(1));
+	    	assertEquals(1, feedback.getObservedCardinality(table).getObservations());
+	    	stats = feedback.getObservedColumnStatistics(table.getColumns().get(1));
+	    	//scaled to the observed cardinality since every sampled value was distinct
+	    	assertEquals(4, stats.getDistinctValues());
+	    	assertEquals(0, stats.getNullValues());
+    	} finally {
+    		es.stop();
+    	}
+    }
+    
+    @Test(expected=SQLException.class) public void testCollectTableStatsView() throws Exception {
+    	Statement s = connection.createStatement();
+    	s.execute("call collectTableStats('SYS.Tables')");
+    }
+    
     @Test(expected=SQLException.class) public void testSetColumnStatsInvalidColumn() throws Exception {
     	Statement s = connection.createStatement();
     	s.execute("call setColumnStats(tableName=>'partssupplier.partssupplier.parts', columnName=>'foo', max=>32, nullcount=>0)");